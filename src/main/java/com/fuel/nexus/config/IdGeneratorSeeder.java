@@ -0,0 +1,43 @@
+package com.fuel.nexus.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves table-generated id pools past the ids already present in their tables.
+ * <p>
+ * Entities switched from IDENTITY to a pooled table generator keep their existing rows,
+ * so before the first insert each pool must start above the current maximum id. The
+ * margin of one allocation covers both hi and lo interpretations of the stored value.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorSeeder {
+
+    private static final String SEED_SQL =
+            "INSERT INTO id_generators (sequence_name, next_val) " +
+                    "SELECT ?, COALESCE(MAX(id), 0) + ? + 1 FROM %s " +
+                    "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Declared so the schema (including id_generators) is in place before seeding
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void seed() {
+        seed("bookings", "bookings", 50);
+    }
+
+    private void seed(String sequenceName, String table, int allocationSize) {
+        jdbcTemplate.update(String.format(SEED_SQL, table), sequenceName, allocationSize);
+        Long next = jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_generators WHERE sequence_name = ?", Long.class, sequenceName);
+        log.info("Id pool '{}' starts at {}", sequenceName, next);
+    }
+}
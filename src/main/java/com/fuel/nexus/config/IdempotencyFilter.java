@@ -0,0 +1,240 @@
+package com.fuel.nexus.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fuel.nexus.exception.entity.ApiErrorResponse;
+import com.fuel.nexus.service.impl.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Makes the configured POST endpoints idempotent for clients sending an Idempotency-Key.
+ * <p>
+ * Keys are scoped per authenticated caller and endpoint. The first request with a key runs
+ * normally and its response is stored; a retry by the same caller with the same key and body
+ * gets the stored response without reaching the controller, and a retry arriving while the
+ * first one still runs waits for it. Responses with a 5xx or 429 status are not stored, so
+ * the client can retry them. Requests without the header are untouched.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final byte[] SEPARATOR = {'\n'};
+    private static final String ANONYMOUS = "anonymous";
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Set<String> paths;
+    private final long retryAfterSeconds;
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             @Value("${fuelnexus.idempotency.paths:/api/bookings/create,/api/bookings/bulk,/api/bookings/intake,/api/payments,/api/v1/billings}")
+                             List<String> paths,
+                             @Value("${fuelnexus.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.paths = Set.copyOf(paths);
+        this.retryAfterSeconds = Math.max(1, waitTimeoutMs / 1000);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        String path = request.getServletPath();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        // Keys are scoped per caller, so another client reusing a key neither gets this one's response nor learns it is taken
+        String scope = sha256(callerOf(request).getBytes(StandardCharsets.UTF_8), SEPARATOR,
+                path.getBytes(StandardCharsets.UTF_8), SEPARATOR, key.getBytes(StandardCharsets.UTF_8));
+        String requestHash = sha256(String.valueOf(request.getQueryString()).getBytes(StandardCharsets.UTF_8),
+                cachedRequest.body);
+
+        IdempotencyStore.Claim claim = store.claim(scope, key, path, requestHash);
+        switch (claim.outcome()) {
+            case REPLAY -> {
+                log.info("Replaying stored response for {} {}={}", path, HEADER, key);
+                IdempotencyStore.StoredResponse stored = claim.response();
+                response.setStatus(stored.status());
+                if (stored.contentType() != null) {
+                    response.setContentType(stored.contentType());
+                }
+                response.setHeader(REPLAYED_HEADER, "true");
+                if (stored.body() != null) {
+                    response.setContentLength(stored.body().length);
+                    response.getOutputStream().write(stored.body());
+                }
+                return;
+            }
+            case MISMATCH -> {
+                writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        HEADER + " " + key + " was already used for a different request");
+                return;
+            }
+            case IN_PROGRESS -> {
+                response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+                writeError(request, response, HttpStatus.CONFLICT,
+                        "A request with " + HEADER + " " + key + " is still in progress");
+                return;
+            }
+            case ACQUIRED -> {
+                // Run the request below
+            }
+        }
+
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(cachedRequest, cachedResponse);
+            int status = cachedResponse.getStatus();
+            if (status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                store.complete(scope, claim.token(), new IdempotencyStore.StoredResponse(requestHash, status,
+                        cachedResponse.getContentType(), cachedResponse.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(scope, claim.token());
+            }
+            cachedResponse.copyBodyToResponse();
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        ApiErrorResponse error = ApiErrorResponse.builder()
+                .path(request.getRequestURI())
+                .time(LocalDateTime.now())
+                .message(message)
+                .api(request.getMethod())
+                .statusCode(status.value())
+                .className(getClass().getName())
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // Name of the authenticated principal; the filter runs after the security filter chain
+    private static String callerOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null && principal.getName() != null ? principal.getName() : ANONYMOUS;
+    }
+
+    private static String sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Request whose body is read once up front, so it can be hashed and still be read by the controller
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.fuel.nexus.exception.exceptions.BillingNotFoundException;
 import com.fuel.nexus.service.services.BillingService;
 import com.fuel.nexus.utility.BillingStatus;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -46,6 +48,8 @@ public class BillingController {
                     @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
             }
     )
+    @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key", required = false,
+            description = "Optional client key; a retry with the same key returns the original response")
     public ResponseEntity<Billing> createBilling(@RequestBody Billing billing) {
         log.info("REST request to create new billing record for customer: {}", billing.getCustomerEmail());
         Billing created = billingService.createBilling(billing);
@@ -1,23 +1,42 @@
 package com.fuel.nexus.controller;
 
+import com.fuel.nexus.dto.BookingIntakeDTO;
+import com.fuel.nexus.dto.BookingRequestDTO;
+import com.fuel.nexus.dto.BookingSearchCriteria;
+import com.fuel.nexus.dto.BulkBookingResultDTO;
+import com.fuel.nexus.dto.BulkStatusTransitionRequestDTO;
+import com.fuel.nexus.dto.BulkStatusTransitionResultDTO;
 import com.fuel.nexus.entity.Booking;
+import com.fuel.nexus.entity.BookingAllocation;
+import com.fuel.nexus.service.services.AdmissionService;
+import com.fuel.nexus.service.services.BookingIntakeService;
 import com.fuel.nexus.service.services.BookingService;
 import com.fuel.nexus.utility.BookingStatus;
+import com.fuel.nexus.utility.FuelType;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * REST Controller for Booking & Order Management
  * Handles booking creation, status updates, inventory updates, and retrieval
@@ -31,6 +50,8 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingIntakeService bookingIntakeService;
+    private final AdmissionService admissionService;
 
     // ------------------------------------------------------------------------
     // Create Booking
@@ -39,31 +60,107 @@ public class BookingController {
     @Operation(
             summary = "Create Booking",
             description = "Allows customers to book gas cylinders or liquid fuel. " +
-                    "Booking status defaults to PENDING. Publishes event to Kafka.",
+                    "Booking status defaults to PENDING. Publishes event to Kafka. " +
+                    "Requests are limited per customer by a token bucket sized by customer type.",
             responses = {
                     @ApiResponse(responseCode = "201", description = "Booking created successfully",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Booking.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid booking request", content = @Content)
+                    @ApiResponse(responseCode = "400", description = "Invalid booking request", content = @Content),
+                    @ApiResponse(responseCode = "409", description = "Same booking made moments ago", content = @Content),
+                    @ApiResponse(responseCode = "429", description = "Customer booking rate limit reached", content = @Content)
             }
     )
+    @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key", required = false,
+            description = "Optional client key; a retry with the same key returns the original response")
     public ResponseEntity<Booking> createBooking(@RequestBody Booking booking) {
         log.info("Received request to create booking for customer={}", booking.getCustomer());
+        if (booking.getCustomer() != null && booking.getCustomer().getId() != null) {
+            admissionService.admit(booking.getCustomer().getId());
+        }
         Booking createdBooking = bookingService.createBooking(booking);
         log.info("Booking created successfully with ID={}", createdBooking.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdBooking);
     }
 
+    // ------------------------------------------------------------------------
+    // Create Bookings In Bulk
+    // ------------------------------------------------------------------------
+    @PostMapping("/bulk")
+    @Operation(
+            summary = "Create Bookings In Bulk",
+            description = "Creates up to fuelnexus.booking.bulk.max-size bookings in one call, all or nothing. " +
+                    "Rows are inserted in JDBC batches and one Kafka event is published per batch.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Bookings created",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkBookingResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid row, unknown customer or product, or too many rows", content = @Content)
+            }
+    )
+    @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key", required = false,
+            description = "Optional client key; a retry with the same key returns the original response")
+    public ResponseEntity<BulkBookingResultDTO> createBookings(@RequestBody List<@Valid BookingRequestDTO> requests) {
+        log.info("Received bulk booking request with {} rows", requests.size());
+        BulkBookingResultDTO result = bookingService.createBookings(requests);
+        log.info("Bulk booking created {} bookings in {} batches", result.getCreated(), result.getBatches());
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    // ------------------------------------------------------------------------
+    // Queued Booking Intake
+    // ------------------------------------------------------------------------
+    @PostMapping("/intake")
+    @Operation(
+            summary = "Submit Booking To Intake Queue",
+            description = "Validates the booking and queues it for creation by background workers in batches. " +
+                    "Pending bookings are served fairly across customer types. Returns 202 with a tracking id, " +
+                    "or 429 with Retry-After when the customer's rate limit is reached or its tier queue is full. " +
+                    "Delivery is at most once: the queue is held in memory by the accepting node, so a booking " +
+                    "still QUEUED when that node stops is lost and its tracking id becomes unknown (404). " +
+                    "Clients that need the booking must poll the status and resubmit when it is unknown or FAILED, " +
+                    "or use POST /api/bookings/create, which returns only once the booking is stored.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Booking queued",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookingIntakeDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid booking request or unknown product", content = @Content),
+                    @ApiResponse(responseCode = "429", description = "Rate limit reached or intake queue full", content = @Content)
+            }
+    )
+    @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key", required = false,
+            description = "Optional client key; a retry with the same key returns the original response")
+    public ResponseEntity<BookingIntakeDTO> submitBooking(@Valid @RequestBody BookingRequestDTO request) {
+        log.info("Received queued booking for customer ID={} product ID={}", request.getCustomerId(), request.getProductId());
+        BookingIntakeDTO ticket = bookingIntakeService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/bookings/intake/" + ticket.getTrackingId())
+                .body(ticket);
+    }
+
+    @GetMapping("/intake/{trackingId}")
+    @Operation(
+            summary = "Get Queued Booking Status",
+            description = "Returns the state of a queued booking (QUEUED, CREATED with the booking id, or FAILED with the reason).",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Status found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookingIntakeDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Unknown tracking id", content = @Content)
+            }
+    )
+    public ResponseEntity<BookingIntakeDTO> getIntakeStatus(@PathVariable String trackingId) {
+        return ResponseEntity.ok(bookingIntakeService.getStatus(trackingId));
+    }
+
     // ------------------------------------------------------------------------
     // Update Booking Status
     // ------------------------------------------------------------------------
     @PutMapping("/{id}/status")
     @Operation(
             summary = "Update Booking Status",
-            description = "Updates the status of a booking (PENDING, APPROVED, DELIVERED). Publishes event to Kafka.",
+            description = "Updates the status of a booking along the allowed transitions (PENDING -> APPROVED -> DELIVERED, PENDING or APPROVED -> CANCELLED). Publishes event to Kafka.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Booking status updated successfully",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Booking.class))),
-                    @ApiResponse(responseCode = "404", description = "Booking not found", content = @Content)
+                    @ApiResponse(responseCode = "404", description = "Booking not found", content = @Content),
+                    @ApiResponse(responseCode = "409", description = "Transition not allowed from the current status", content = @Content)
             }
     )
     public ResponseEntity<Booking> updateBookingStatus(@PathVariable Long id, @RequestParam BookingStatus status) {
@@ -73,6 +170,29 @@ public class BookingController {
         return ResponseEntity.ok(updatedBooking);
     }
 
+    // ------------------------------------------------------------------------
+    // Transition Booking Statuses In Bulk
+    // ------------------------------------------------------------------------
+    @PutMapping("/status/bulk")
+    @Operation(
+            summary = "Transition Booking Statuses In Bulk",
+            description = "Moves a set of bookings to one status. Each booking is checked against the allowed " +
+                    "transitions; valid ones are updated with one UPDATE per source status, and one aggregated event " +
+                    "is published. The response lists the outcome of every booking ID.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Transition applied; see per-booking outcomes",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkStatusTransitionResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request or too many booking IDs", content = @Content)
+            }
+    )
+    public ResponseEntity<BulkStatusTransitionResultDTO> transitionStatuses(
+            @Valid @RequestBody BulkStatusTransitionRequestDTO request) {
+        log.info("Received bulk status transition of {} bookings to {}", request.getBookingIds().size(), request.getTargetStatus());
+        BulkStatusTransitionResultDTO result = bookingService.transitionStatuses(request);
+        log.info("Bulk status transition moved {} bookings to {}", result.getTransitioned(), request.getTargetStatus());
+        return ResponseEntity.ok(result);
+    }
+
     // ------------------------------------------------------------------------
     // Get Booking by ID (Cache-enabled)
     // ------------------------------------------------------------------------
@@ -113,6 +233,47 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    // ------------------------------------------------------------------------
+    // Search Bookings (Keyset)
+    // ------------------------------------------------------------------------
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search Bookings",
+            description = "Filters bookings by status, fuel type, customer, product and booking date range [from, to), " +
+                    "newest first. For the next slice pass the bookingDate and id of the last booking returned as " +
+                    "afterDate and afterId; hasNext tells whether there is one. No total count is computed.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Slice of matching bookings",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Invalid range or incomplete keyset position")
+            }
+    )
+    public ResponseEntity<Slice<Booking>> searchBookings(
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) FuelType fuelType,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size
+    ) {
+        BookingSearchCriteria criteria = BookingSearchCriteria.builder()
+                .status(status)
+                .fuelType(fuelType)
+                .customerId(customerId)
+                .productId(productId)
+                .from(from)
+                .to(to)
+                .afterDate(afterDate)
+                .afterId(afterId)
+                .build();
+        Slice<Booking> bookings = bookingService.searchBookings(criteria, size);
+        log.info("Search returned {} bookings, hasNext={}", bookings.getNumberOfElements(), bookings.hasNext());
+        return ResponseEntity.ok(bookings);
+    }
+
     // ------------------------------------------------------------------------
     // Update Inventory on Delivery
     // ------------------------------------------------------------------------
@@ -123,7 +284,8 @@ public class BookingController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Inventory updated successfully"),
                     @ApiResponse(responseCode = "400", description = "Booking is not marked as DELIVERED", content = @Content),
-                    @ApiResponse(responseCode = "404", description = "Booking not found", content = @Content)
+                    @ApiResponse(responseCode = "404", description = "Booking not found", content = @Content),
+                    @ApiResponse(responseCode = "409", description = "Insufficient inventory for delivery", content = @Content)
             }
     )
     @CacheEvict(value = "bookings", key = "#id")
@@ -133,4 +295,21 @@ public class BookingController {
         log.info("Inventory updated successfully for booking ID={}", id);
         return ResponseEntity.ok("Inventory updated successfully for booking ID: " + id);
     }
+
+    // ------------------------------------------------------------------------
+    // Per-batch allocations of a delivered booking
+    // ------------------------------------------------------------------------
+    @GetMapping("/{id}/allocations")
+    @Operation(
+            summary = "Get Booking Allocations",
+            description = "List the inventory batches and quantities a delivered booking was taken from",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Allocations returned",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookingAllocation.class)))
+            }
+    )
+    public ResponseEntity<List<BookingAllocation>> getAllocations(@PathVariable Long id) {
+        log.info("Fetching batch allocations for booking ID={}", id);
+        return ResponseEntity.ok(bookingService.getAllocations(id));
+    }
 }
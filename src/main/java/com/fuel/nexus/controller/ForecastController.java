@@ -0,0 +1,100 @@
+package com.fuel.nexus.controller;
+
+import com.fuel.nexus.dto.DemandForecastDTO;
+import com.fuel.nexus.entity.ReorderSuggestion;
+import com.fuel.nexus.service.services.ForecastService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.requests.ApiError;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for depletion forecasts
+ * Exposes demand rates, time-to-empty and reorder suggestions per depot
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/forecast")
+@RequiredArgsConstructor
+@Tag(name = "Forecast Controller", description = "APIs for depletion forecasts and reorder suggestions")
+public class ForecastController {
+
+    private final ForecastService forecastService;
+
+    // ------------------------------------------------------------------------
+    // Forecast per depot
+    // ------------------------------------------------------------------------
+    @GetMapping("/depots")
+    @Operation(
+            summary = "Depot Forecasts",
+            description = "Demand rate and time-to-empty per fuel type and storage location",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Forecasts returned",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = DemandForecastDTO.class)))
+            }
+    )
+    public ResponseEntity<List<DemandForecastDTO>> getDepotForecasts() {
+        return ResponseEntity.ok(forecastService.getDepotForecasts());
+    }
+
+    // ------------------------------------------------------------------------
+    // Forecast of one inventory record
+    // ------------------------------------------------------------------------
+    @GetMapping("/inventory/{inventoryId}")
+    @Operation(
+            summary = "Inventory Forecast",
+            description = "Demand rate and time-to-empty of a single fuel inventory record",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Forecast returned",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = DemandForecastDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Fuel inventory not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<DemandForecastDTO> getInventoryForecast(@PathVariable Long inventoryId) {
+        return ResponseEntity.ok(forecastService.getInventoryForecast(inventoryId));
+    }
+
+    // ------------------------------------------------------------------------
+    // Open reorder suggestions
+    // ------------------------------------------------------------------------
+    @GetMapping("/reorders")
+    @Operation(
+            summary = "Open Reorder Suggestions",
+            description = "List open reorder suggestions, most urgent first",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Suggestions returned",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReorderSuggestion.class)))
+            }
+    )
+    public ResponseEntity<List<ReorderSuggestion>> getOpenSuggestions() {
+        return ResponseEntity.ok(forecastService.getOpenSuggestions());
+    }
+
+    // ------------------------------------------------------------------------
+    // Close a reorder suggestion
+    // ------------------------------------------------------------------------
+    @PutMapping("/reorders/{id}/close")
+    @Operation(
+            summary = "Close Reorder Suggestion",
+            description = "Mark a reorder suggestion as handled",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Suggestion closed",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReorderSuggestion.class))),
+                    @ApiResponse(responseCode = "404", description = "Suggestion not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<ReorderSuggestion> closeSuggestion(@PathVariable Long id) {
+        log.info("Closing reorder suggestion ID={}", id);
+        return ResponseEntity.ok(forecastService.closeSuggestion(id));
+    }
+}
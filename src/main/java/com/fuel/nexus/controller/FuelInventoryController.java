@@ -1,9 +1,19 @@
 package com.fuel.nexus.controller;
 
 import com.fuel.nexus.dto.FuelInventoryDTO;
+import com.fuel.nexus.dto.FuelStockSummaryDTO;
+import com.fuel.nexus.dto.InventoryImportReportDTO;
+import com.fuel.nexus.dto.StockTransferDTO;
 import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.InventoryMovement;
+import com.fuel.nexus.entity.StockTransfer;
 import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
 import com.fuel.nexus.service.services.FuelInventoryService;
+import com.fuel.nexus.service.services.FuelStockAggregateService;
+import com.fuel.nexus.service.services.InventoryImportService;
+import com.fuel.nexus.service.services.InventoryMovementService;
+import com.fuel.nexus.utility.FuelType;
+import com.fuel.nexus.utility.ImportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,10 +25,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.requests.ApiError;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -33,6 +49,9 @@ import java.util.Optional;
 public class FuelInventoryController {
 
     private final FuelInventoryService fuelInventoryService;
+    private final InventoryMovementService inventoryMovementService;
+    private final FuelStockAggregateService aggregateService;
+    private final InventoryImportService inventoryImportService;
 
     // ------------------------------------------------------------------------
     // Create a new fuel inventory record
@@ -100,11 +119,13 @@ public class FuelInventoryController {
     @PutMapping("/update/{id}")
     @Operation(
             summary = "Update Fuel Inventory",
-            description = "Update details like available quantity and storage location",
+            description = "Update details like available quantity and storage location. The body must carry the version last read",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Fuel inventory updated successfully",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = FuelInventory.class))),
                     @ApiResponse(responseCode = "404", description = "Fuel inventory not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
+                    @ApiResponse(responseCode = "409", description = "Fuel inventory changed since the given version",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
             }
     )
@@ -168,7 +189,8 @@ public class FuelInventoryController {
     @GetMapping("/low-stock/{id}")
     @Operation(
             summary = "Low Stock Alert",
-            description = "Check if the fuel inventory is below the defined threshold",
+            description = "Check if the fuel inventory is below the given threshold, or the configured threshold when none is given. " +
+                    "Alerts are pushed to Kafka by the low stock engine, polling is not required.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Low stock status returned",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Boolean.class))),
@@ -178,10 +200,143 @@ public class FuelInventoryController {
     )
     public ResponseEntity<Boolean> checkLowStock(
             @PathVariable Long id,
-            @RequestParam(defaultValue = "50") Double threshold
+            @RequestParam(required = false) Double threshold
     ) {
         log.info("Checking low stock for inventory ID={} with threshold={}", id, threshold);
         boolean isLow = fuelInventoryService.isLowStock(id, threshold);
         return ResponseEntity.ok(isLow);
     }
+
+    // ------------------------------------------------------------------------
+    // Stock movement history
+    // ------------------------------------------------------------------------
+    @GetMapping("/{id}/movements")
+    @Operation(
+            summary = "Get Stock Movements",
+            description = "List restock, delivery, adjustment and transfer movements of an inventory record in a time window",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Paged movements returned successfully",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+            }
+    )
+    public ResponseEntity<Page<InventoryMovement>> getMovements(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            Pageable pageable
+    ) {
+        log.info("Fetching movements for inventory ID={} from={} to={}", id, from, to);
+        return ResponseEntity.ok(inventoryMovementService.getMovements(id, from, to, pageable));
+    }
+
+    // ------------------------------------------------------------------------
+    // Stock as of a point in time
+    // ------------------------------------------------------------------------
+    @GetMapping("/{id}/stock-as-of")
+    @Operation(
+            summary = "Stock As Of",
+            description = "Derive the stock of an inventory record at a given time from the latest snapshot and the movements after it",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Derived stock returned",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Double.class))),
+                    @ApiResponse(responseCode = "404", description = "Fuel inventory not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<Double> getStockAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        log.info("Deriving stock for inventory ID={} as of {}", id, at);
+        return ResponseEntity.ok(inventoryMovementService.getQuantityAsOf(id, at));
+    }
+
+    // ------------------------------------------------------------------------
+    // Aggregated stock per fuel type (optionally for one storage location)
+    // ------------------------------------------------------------------------
+    @GetMapping("/summary/{fuelType}")
+    @Operation(
+            summary = "Fuel Stock Summary",
+            description = "Total stock and batch count of a fuel type, from the incrementally maintained aggregates",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Stock summary returned",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = FuelStockSummaryDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "No stock recorded at the given location",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<FuelStockSummaryDTO> getStockSummary(
+            @PathVariable FuelType fuelType,
+            @RequestParam(required = false) String location
+    ) {
+        log.info("Fetching stock summary for fuelType={} location={}", fuelType, location);
+        FuelStockSummaryDTO summary = location == null
+                ? aggregateService.getSummary(fuelType)
+                : aggregateService.getSummary(fuelType, location);
+        return ResponseEntity.ok(summary);
+    }
+
+    // ------------------------------------------------------------------------
+    // Rebuild the stock aggregates from the inventory table
+    // ------------------------------------------------------------------------
+    @PostMapping("/summary/rebuild")
+    @Operation(
+            summary = "Rebuild Stock Summaries",
+            description = "Recompute all fuel stock aggregates from the inventory table (full scan, for repair only)",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Number of aggregates rebuilt",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Integer.class)))
+            }
+    )
+    public ResponseEntity<Integer> rebuildStockSummaries() {
+        log.warn("Rebuilding fuel stock aggregates");
+        return ResponseEntity.ok(aggregateService.rebuild());
+    }
+
+    // ------------------------------------------------------------------------
+    // Transfer stock between two inventory records
+    // ------------------------------------------------------------------------
+    @PostMapping("/transfer")
+    @Operation(
+            summary = "Transfer Stock",
+            description = "Atomically move quantity between two inventory records of the same fuel type. Repeating a transfer id returns the original result.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Transfer applied (or already applied)",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = StockTransfer.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid transfer or transfer id reused with different parameters",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
+                    @ApiResponse(responseCode = "404", description = "Fuel inventory not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
+                    @ApiResponse(responseCode = "409", description = "Insufficient stock in the source inventory",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<StockTransfer> transferStock(@Valid @RequestBody StockTransferDTO dto) {
+        log.info("Received stock transfer request {}", dto);
+        return ResponseEntity.ok(fuelInventoryService.transferStock(dto));
+    }
+
+    // ------------------------------------------------------------------------
+    // Streaming bulk import (CSV or NDJSON body)
+    // ------------------------------------------------------------------------
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(
+            summary = "Import Fuel Inventory",
+            description = "Stream an end-of-day stock file (text/csv with header, or application/x-ndjson) and upsert rows by batch number",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import finished, per-row errors are listed in the report",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = InventoryImportReportDTO.class)))
+            }
+    )
+    public ResponseEntity<InventoryImportReportDTO> importFuelInventory(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException {
+        ImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+        log.info("Received {} fuel inventory import", format);
+        InventoryImportReportDTO report = inventoryImportService.importInventory(body, format);
+        return ResponseEntity.ok(report);
+    }
 }
@@ -6,6 +6,8 @@ import com.fuel.nexus.service.services.PaymentService;
 import com.fuel.nexus.utility.PaymentStatus;
 import com.fuel.nexus.utility.PaymentMethod;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -44,6 +46,8 @@ public class PaymentController {
                     @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content)
             }
     )
+    @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key", required = false,
+            description = "Optional client key; a retry with the same key returns the original response")
     public ResponseEntity<Payment> createPayment(@RequestBody Payment payment) {
         log.info("Request to create new payment for billingId: {}", payment.getBillingId());
         Payment created = paymentService.createPayment(payment);
@@ -0,0 +1,109 @@
+package com.fuel.nexus.controller;
+
+import com.fuel.nexus.dto.DailyPricingDTO;
+import com.fuel.nexus.dto.PriceQuoteDTO;
+import com.fuel.nexus.dto.PriceQuoteRequestDTO;
+import com.fuel.nexus.service.services.PricingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.requests.ApiError;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for pricing
+ * Derives amounts from product prices, quantities and customer-type discounts
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/pricing")
+@RequiredArgsConstructor
+@Tag(name = "Pricing Controller", description = "APIs for pricing quantities and bookings")
+public class PricingController {
+
+    private final PricingService pricingService;
+
+    // ------------------------------------------------------------------------
+    // Quote a quantity
+    // ------------------------------------------------------------------------
+    @PostMapping("/quote")
+    @Operation(
+            summary = "Quote Price",
+            description = "Price a quantity of a product for a customer type, optionally given in another unit (Litre, Kg, Gallon)",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Price quoted",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PriceQuoteDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request or units cannot be converted",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
+                    @ApiResponse(responseCode = "404", description = "Product or price not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<PriceQuoteDTO> quote(@Valid @RequestBody PriceQuoteRequestDTO request) {
+        return ResponseEntity.ok(pricingService.quote(request));
+    }
+
+    // ------------------------------------------------------------------------
+    // Quote several quantities
+    // ------------------------------------------------------------------------
+    @PostMapping("/quotes")
+    @Operation(
+            summary = "Quote Prices",
+            description = "Price several product quantities in one call, in request order",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Prices quoted",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PriceQuoteDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request or units cannot be converted",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<List<PriceQuoteDTO>> quoteAll(@RequestBody List<@Valid PriceQuoteRequestDTO> requests) {
+        return ResponseEntity.ok(pricingService.quoteAll(requests));
+    }
+
+    // ------------------------------------------------------------------------
+    // Price a booking
+    // ------------------------------------------------------------------------
+    @GetMapping("/bookings/{bookingId}")
+    @Operation(
+            summary = "Price Booking",
+            description = "Total of a booking from the product price in effect on its booking date, its quantity and the customer's type",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Booking priced",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PriceQuoteDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Booking, product or price not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<PriceQuoteDTO> priceBooking(@PathVariable Long bookingId) {
+        return ResponseEntity.ok(pricingService.priceBooking(bookingId));
+    }
+
+    // ------------------------------------------------------------------------
+    // Price a day's bookings
+    // ------------------------------------------------------------------------
+    @GetMapping("/bookings")
+    @Operation(
+            summary = "Price Bookings Of Day",
+            description = "Price every non-cancelled booking made on the given day, with totals per customer type",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Bookings priced",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = DailyPricingDTO.class)))
+            }
+    )
+    public ResponseEntity<DailyPricingDTO> priceBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Pricing bookings of {}", date);
+        return ResponseEntity.ok(pricingService.priceBookings(date));
+    }
+}
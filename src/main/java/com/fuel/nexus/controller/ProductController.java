@@ -1,23 +1,34 @@
 package com.fuel.nexus.controller;
 
 import com.fuel.nexus.dto.ProductDTO;
+import com.fuel.nexus.dto.ProductPriceDTO;
+import com.fuel.nexus.dto.StockReconciliationReportDTO;
 import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.entity.ProductPrice;
 import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.service.services.ProductPriceService;
 import com.fuel.nexus.service.services.ProductService;
+import com.fuel.nexus.service.services.StockReconciliationService;
+import com.fuel.nexus.utility.FuelType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.requests.ApiError;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -28,6 +39,8 @@ import java.util.Optional;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductPriceService productPriceService;
+    private final StockReconciliationService reconciliationService;
 
     /**
      * Save a new product
@@ -64,11 +77,13 @@ public class ProductController {
      * Update product
      */
     @PutMapping("/{id}")
-    @Operation(summary = "Update Product", description = "Update product details (price, type, unit, etc.)")
+    @Operation(summary = "Update Product", description = "Update product details (price, type, unit, etc.). The body must carry the version last read")
     @ApiResponse(responseCode = "200", description = "Product updated successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Product.class)))
     @ApiResponse(responseCode = "404", description = "Product not found",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+    @ApiResponse(responseCode = "409", description = "Product changed since the given version",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
     public ResponseEntity<Product> updateProduct(@PathVariable Long id, @RequestBody ProductDTO dto) {
         log.info("API Request: Update product ID={}", id);
         Product updated = productService.updateProduct(id, dto);
@@ -105,6 +120,18 @@ public class ProductController {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with name: " + name));
     }
 
+    /**
+     * List products of a fuel type
+     */
+    @GetMapping("/fuel-type/{fuelType}")
+    @Operation(summary = "Find Products by Fuel Type", description = "List all products of a given fuel type")
+    @ApiResponse(responseCode = "200", description = "Products returned",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Product.class)))
+    public ResponseEntity<List<Product>> findByFuelType(@PathVariable FuelType fuelType) {
+        log.info("API Request: List products of fuelType={}", fuelType);
+        return ResponseEntity.ok(productService.findByFuelType(fuelType));
+    }
+
     /**
      * Track stock level
      */
@@ -130,9 +157,64 @@ public class ProductController {
     @ApiResponse(responseCode = "404", description = "Product not found",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
     public ResponseEntity<Boolean> isLowStock(@PathVariable Long id,
-                                              @RequestParam(defaultValue = "50") Double threshold) {
+                                              @RequestParam(required = false) Double threshold) {
         log.info("API Request: Low stock check for product ID={} with threshold={}", id, threshold);
         boolean result = productService.isLowStock(id, threshold);
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * Schedule a price change
+     */
+    @PostMapping("/{id}/prices")
+    @Operation(summary = "Schedule Price", description = "Add a price to the product's history, effective now or at a future time")
+    @ApiResponse(responseCode = "201", description = "Price scheduled",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductPrice.class)))
+    @ApiResponse(responseCode = "404", description = "Product not found",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+    public ResponseEntity<ProductPrice> schedulePrice(@PathVariable Long id, @Valid @RequestBody ProductPriceDTO dto) {
+        log.info("API Request: Schedule price {} for product ID={}", dto, id);
+        return ResponseEntity.status(HttpStatus.CREATED).body(productPriceService.schedulePrice(id, dto));
+    }
+
+    /**
+     * Price history
+     */
+    @GetMapping("/{id}/prices")
+    @Operation(summary = "Price History", description = "List the product's past, current and scheduled prices")
+    @ApiResponse(responseCode = "200", description = "Price history returned",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductPrice.class)))
+    public ResponseEntity<List<ProductPrice>> getPriceHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(productPriceService.getPriceHistory(id));
+    }
+
+    /**
+     * Effective price at a point in time
+     */
+    @GetMapping("/{id}/price")
+    @Operation(summary = "Price At", description = "Price of the product effective at the given time (now when omitted)")
+    @ApiResponse(responseCode = "200", description = "Price returned",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BigDecimal.class)))
+    @ApiResponse(responseCode = "404", description = "No price at that time",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+    public ResponseEntity<BigDecimal> getPriceAt(@PathVariable Long id,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(productPriceService.getPriceAt(id, at != null ? at : LocalDateTime.now()));
+    }
+
+    /**
+     * Reconcile product stock with fuel inventory
+     */
+    @PostMapping("/stock/reconcile")
+    @Operation(summary = "Reconcile Stock",
+            description = "Compare each product's stock quantity with its summed available inventory. " +
+                    "Only products changed since the last run are checked unless full=true; " +
+                    "with correct=true the stock quantity is set to the inventory total")
+    @ApiResponse(responseCode = "200", description = "Reconciliation report",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = StockReconciliationReportDTO.class)))
+    public ResponseEntity<StockReconciliationReportDTO> reconcileStock(@RequestParam(defaultValue = "false") boolean correct,
+                                                                       @RequestParam(defaultValue = "false") boolean full) {
+        log.info("API Request: Reconcile product stock correct={} full={}", correct, full);
+        return ResponseEntity.ok(reconciliationService.reconcile(correct, full));
+    }
 }
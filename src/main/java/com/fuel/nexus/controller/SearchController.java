@@ -0,0 +1,50 @@
+package com.fuel.nexus.controller;
+
+import com.fuel.nexus.dto.SearchResultDTO;
+import com.fuel.nexus.service.services.SearchService;
+import com.fuel.nexus.utility.SearchTarget;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for typeahead search
+ * Serves call-centre lookups of products and customers from an in-memory index
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search Controller", description = "APIs for typeahead search over products and customers")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    // ------------------------------------------------------------------------
+    // Typeahead search
+    // ------------------------------------------------------------------------
+    @GetMapping
+    @Operation(
+            summary = "Typeahead Search",
+            description = "Top matches whose product name, or customer name, e-mail, mobile number or pincode " +
+                    "start with every word of the query; words shorter than three characters must match a whole word",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Matches returned, best first",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SearchResultDTO.class)))
+            }
+    )
+    public ResponseEntity<List<SearchResultDTO>> search(@RequestParam("q") String query,
+                                                        @RequestParam(required = false) SearchTarget target,
+                                                        @RequestParam(required = false) Integer limit) {
+        log.debug("Typeahead search q={} target={}", query, target);
+        return ResponseEntity.ok(searchService.search(query, target, limit));
+    }
+}
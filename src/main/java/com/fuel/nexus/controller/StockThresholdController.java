@@ -0,0 +1,106 @@
+package com.fuel.nexus.controller;
+
+import com.fuel.nexus.dto.StockThresholdDTO;
+import com.fuel.nexus.entity.StockThreshold;
+import com.fuel.nexus.service.services.StockThresholdService;
+import com.fuel.nexus.utility.FuelType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.requests.ApiError;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for low stock thresholds
+ * Thresholds drive the push-based low stock alerts published to Kafka
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/stock-thresholds")
+@RequiredArgsConstructor
+@Tag(name = "Stock Threshold Controller", description = "APIs for managing low stock thresholds per inventory record and fuel type")
+public class StockThresholdController {
+
+    private final StockThresholdService stockThresholdService;
+
+    // ------------------------------------------------------------------------
+    // Set threshold of an inventory record
+    // ------------------------------------------------------------------------
+    @PutMapping("/inventory/{inventoryId}")
+    @Operation(
+            summary = "Set Inventory Threshold",
+            description = "Create or replace the low and clear levels of a single inventory record",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Threshold saved",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = StockThreshold.class))),
+                    @ApiResponse(responseCode = "404", description = "Fuel inventory not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<StockThreshold> setInventoryThreshold(@PathVariable Long inventoryId,
+                                                                @Valid @RequestBody StockThresholdDTO dto) {
+        log.info("Received request to set threshold for inventory ID={}", inventoryId);
+        return ResponseEntity.ok(stockThresholdService.setInventoryThreshold(inventoryId, dto));
+    }
+
+    // ------------------------------------------------------------------------
+    // Set threshold of a fuel type
+    // ------------------------------------------------------------------------
+    @PutMapping("/fuel-type/{fuelType}")
+    @Operation(
+            summary = "Set Fuel Type Threshold",
+            description = "Create or replace the low and clear levels applied to every inventory record of a fuel type",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Threshold saved",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = StockThreshold.class)))
+            }
+    )
+    public ResponseEntity<StockThreshold> setFuelTypeThreshold(@PathVariable FuelType fuelType,
+                                                               @Valid @RequestBody StockThresholdDTO dto) {
+        log.info("Received request to set threshold for fuel type={}", fuelType);
+        return ResponseEntity.ok(stockThresholdService.setFuelTypeThreshold(fuelType, dto));
+    }
+
+    // ------------------------------------------------------------------------
+    // List thresholds
+    // ------------------------------------------------------------------------
+    @GetMapping
+    @Operation(
+            summary = "Get Thresholds",
+            description = "List all configured low stock thresholds",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Thresholds returned",
+                            content = @Content(mediaType = "application/json"))
+            }
+    )
+    public ResponseEntity<List<StockThreshold>> getAllThresholds() {
+        return ResponseEntity.ok(stockThresholdService.getAllThresholds());
+    }
+
+    // ------------------------------------------------------------------------
+    // Delete threshold
+    // ------------------------------------------------------------------------
+    @DeleteMapping("/{id}")
+    @Operation(
+            summary = "Delete Threshold",
+            description = "Delete a low stock threshold; affected records fall back to the fuel type or default threshold",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Threshold deleted"),
+                    @ApiResponse(responseCode = "404", description = "Threshold not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<Void> deleteThreshold(@PathVariable Long id) {
+        log.info("Received request to delete threshold ID={}", id);
+        stockThresholdService.deleteThreshold(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.fuel.nexus.controller;
+
+import com.fuel.nexus.dto.SubscriptionDTO;
+import com.fuel.nexus.dto.SubscriptionRequestDTO;
+import com.fuel.nexus.dto.SubscriptionRunDTO;
+import com.fuel.nexus.service.services.SubscriptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for recurring subscription bookings
+ * Handles subscription management and the daily generation runs
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/subscriptions")
+@RequiredArgsConstructor
+@Tag(name = "Subscription Controller", description = "APIs for recurring bookings and their generation runs")
+public class SubscriptionController {
+
+    private final SubscriptionService subscriptionService;
+
+    // ------------------------------------------------------------------------
+    // Create Subscription
+    // ------------------------------------------------------------------------
+    @PostMapping
+    @Operation(
+            summary = "Create Subscription",
+            description = "Subscribes a customer to a product, booked every intervalDays starting on firstDueDate " +
+                    "(default: one interval from today).",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Subscription created",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubscriptionDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "404", description = "Customer or product not found")
+            }
+    )
+    public ResponseEntity<SubscriptionDTO> createSubscription(@Valid @RequestBody SubscriptionRequestDTO request) {
+        log.info("Received subscription request for customer ID={}", request.getCustomerId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(subscriptionService.createSubscription(request));
+    }
+
+    // ------------------------------------------------------------------------
+    // Get Subscription
+    // ------------------------------------------------------------------------
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Get Subscription",
+            description = "Fetches a subscription by ID.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Subscription found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubscriptionDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Subscription not found")
+            }
+    )
+    public ResponseEntity<SubscriptionDTO> getSubscription(@PathVariable Long id) {
+        return ResponseEntity.ok(subscriptionService.getSubscription(id));
+    }
+
+    // ------------------------------------------------------------------------
+    // Get Customer Subscriptions
+    // ------------------------------------------------------------------------
+    @GetMapping("/customer/{customerId}")
+    @Operation(
+            summary = "Get Customer Subscriptions",
+            description = "Fetches all subscriptions of a customer, active or cancelled.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Subscriptions retrieved")
+            }
+    )
+    public ResponseEntity<List<SubscriptionDTO>> getCustomerSubscriptions(@PathVariable Long customerId) {
+        return ResponseEntity.ok(subscriptionService.getCustomerSubscriptions(customerId));
+    }
+
+    // ------------------------------------------------------------------------
+    // Cancel Subscription
+    // ------------------------------------------------------------------------
+    @PutMapping("/{id}/cancel")
+    @Operation(
+            summary = "Cancel Subscription",
+            description = "Stops generating bookings for the subscription; bookings already generated are kept.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Subscription cancelled"),
+                    @ApiResponse(responseCode = "404", description = "Subscription not found")
+            }
+    )
+    public ResponseEntity<SubscriptionDTO> cancelSubscription(@PathVariable Long id) {
+        log.info("Cancelling subscription ID={}", id);
+        return ResponseEntity.ok(subscriptionService.cancelSubscription(id));
+    }
+
+    // ------------------------------------------------------------------------
+    // Generation Runs
+    // ------------------------------------------------------------------------
+    @PostMapping("/runs/{runDate}")
+    @Operation(
+            summary = "Start Subscription Run",
+            description = "Generates the bookings of subscriptions due on the day, in the background. Runs also start " +
+                    "on schedule on every node; starting one that is already planned only adds this node's workers.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Run started",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubscriptionRunDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Run date in the future")
+            }
+    )
+    public ResponseEntity<SubscriptionRunDTO> startRun(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate runDate) {
+        return ResponseEntity.accepted().body(subscriptionService.startRun(runDate));
+    }
+
+    @GetMapping("/runs/{runDate}")
+    @Operation(
+            summary = "Get Subscription Run",
+            description = "Partitions completed and bookings generated so far for the day, across all nodes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Run progress",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubscriptionRunDTO.class)))
+            }
+    )
+    public ResponseEntity<SubscriptionRunDTO> getRun(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate runDate) {
+        return ResponseEntity.ok(subscriptionService.getRun(runDate));
+    }
+}
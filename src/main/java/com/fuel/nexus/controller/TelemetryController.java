@@ -0,0 +1,111 @@
+package com.fuel.nexus.controller;
+
+import com.fuel.nexus.dto.TankStatusDTO;
+import com.fuel.nexus.dto.TelemetryIngestResultDTO;
+import com.fuel.nexus.dto.TelemetryRollupDTO;
+import com.fuel.nexus.dto.TelemetrySampleDTO;
+import com.fuel.nexus.service.services.TelemetryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.requests.ApiError;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST Controller for tank level telemetry
+ * Readings are buffered in memory and stored as 1-minute and 1-hour rollups
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/telemetry")
+@RequiredArgsConstructor
+@Tag(name = "Tank Telemetry Controller", description = "APIs for ingesting tank sensor readings and querying downsampled telemetry")
+public class TelemetryController {
+
+    private final TelemetryService telemetryService;
+
+    // ------------------------------------------------------------------------
+    // Ingest a batch of readings
+    // ------------------------------------------------------------------------
+    @PostMapping("/readings")
+    @Operation(
+            summary = "Ingest Readings",
+            description = "Accept a batch of tank level / temperature readings; rollups are written asynchronously",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Readings buffered",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TelemetryIngestResultDTO.class)))
+            }
+    )
+    public ResponseEntity<TelemetryIngestResultDTO> ingestReadings(@RequestBody List<TelemetrySampleDTO> samples) {
+        log.debug("Received {} telemetry samples", samples.size());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(telemetryService.ingest(samples));
+    }
+
+    // ------------------------------------------------------------------------
+    // 1-minute rollups
+    // ------------------------------------------------------------------------
+    @GetMapping("/{inventoryId}/minutes")
+    @Operation(
+            summary = "Minute Rollups",
+            description = "1-minute average / min / max tank level and temperature in a time window",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Rollups returned",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TelemetryRollupDTO.class)))
+            }
+    )
+    public ResponseEntity<List<TelemetryRollupDTO>> getMinuteRollups(
+            @PathVariable Long inventoryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return ResponseEntity.ok(telemetryService.getMinuteRollups(inventoryId, from, to));
+    }
+
+    // ------------------------------------------------------------------------
+    // 1-hour rollups
+    // ------------------------------------------------------------------------
+    @GetMapping("/{inventoryId}/hours")
+    @Operation(
+            summary = "Hour Rollups",
+            description = "1-hour average / min / max tank level and temperature in a time window",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Rollups returned",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TelemetryRollupDTO.class)))
+            }
+    )
+    public ResponseEntity<List<TelemetryRollupDTO>> getHourRollups(
+            @PathVariable Long inventoryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return ResponseEntity.ok(telemetryService.getHourRollups(inventoryId, from, to));
+    }
+
+    // ------------------------------------------------------------------------
+    // Latest reading next to the booked stock
+    // ------------------------------------------------------------------------
+    @GetMapping("/{inventoryId}/status")
+    @Operation(
+            summary = "Tank Status",
+            description = "Latest sensor reading of a tank together with its booked stock quantity",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tank status returned",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TankStatusDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Fuel inventory not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    public ResponseEntity<TankStatusDTO> getTankStatus(@PathVariable Long inventoryId) {
+        return ResponseEntity.ok(telemetryService.getTankStatus(inventoryId));
+    }
+}
@@ -0,0 +1,29 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.IntakeStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@ToString
+public class BookingIntakeDTO {
+
+    private String trackingId;
+
+    private IntakeStatus status;
+
+    // Set once the booking is created
+    private Long bookingId;
+
+    // Reason when the booking could not be created
+    private String message;
+
+    private LocalDateTime acceptedAt;
+
+    // Bookings of the same customer type waiting in the intake queue when this one was accepted
+    private Integer queueDepth;
+}
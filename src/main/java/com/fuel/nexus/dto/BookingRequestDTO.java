@@ -0,0 +1,27 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.FuelType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BookingRequestDTO {
+
+    @NotNull(message = "Customer ID is required")
+    private Long customerId;
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Booking quantity cannot be null")
+    @Min(value = 1, message = "Minimum booking quantity is 1")
+    private Double quantity;
+
+    // Defaults to the product's fuel type
+    private FuelType fuelType;
+}
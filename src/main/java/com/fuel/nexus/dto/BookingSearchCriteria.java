@@ -0,0 +1,38 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.BookingStatus;
+import com.fuel.nexus.utility.FuelType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters and keyset position of a booking search; every filter is optional.
+ * Results are ordered newest first by (bookingDate, id); to get the next slice pass the
+ * bookingDate and id of the last booking received as afterDate and afterId.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BookingSearchCriteria {
+
+    private BookingStatus status;
+
+    private FuelType fuelType;
+
+    private Long customerId;
+
+    private Long productId;
+
+    // Booking date range, from inclusive and to exclusive
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    // Keyset position: the last booking of the previous slice
+    private LocalDateTime afterDate;
+
+    private Long afterId;
+}
@@ -0,0 +1,21 @@
+package com.fuel.nexus.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BulkBookingResultDTO {
+
+    private int created;
+
+    // JDBC insert batches (and booking-events messages) the upload was written in
+    private int batches;
+
+    // Ids of the created bookings, in request order
+    private List<Long> bookingIds;
+}
@@ -0,0 +1,22 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.BookingStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BulkStatusTransitionRequestDTO {
+
+    @NotEmpty(message = "Booking IDs are required")
+    private List<@NotNull(message = "Booking ID cannot be null") Long> bookingIds;
+
+    @NotNull(message = "Target status is required")
+    private BookingStatus targetStatus;
+}
@@ -0,0 +1,41 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.BookingStatus;
+import com.fuel.nexus.utility.TransitionOutcome;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BulkStatusTransitionResultDTO {
+
+    private BookingStatus targetStatus;
+
+    private int transitioned;
+
+    // Number of bookings per outcome
+    private Map<TransitionOutcome, Integer> summary;
+
+    // One entry per distinct booking id, in request order
+    private List<Outcome> outcomes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @ToString
+    public static class Outcome {
+
+        private Long bookingId;
+
+        // Status read before the update; null when the booking does not exist
+        private BookingStatus previousStatus;
+
+        private TransitionOutcome outcome;
+    }
+}
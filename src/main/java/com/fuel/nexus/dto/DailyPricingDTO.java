@@ -0,0 +1,26 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.CustomerType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DailyPricingDTO {
+
+    private LocalDate date;
+
+    private int bookingCount;
+
+    private Double totalAmount;
+
+    private Map<CustomerType, Double> totalByCustomerType;
+
+    private List<PriceQuoteDTO> bookings;
+}
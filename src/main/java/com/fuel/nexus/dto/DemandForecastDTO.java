@@ -0,0 +1,30 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.FuelType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DemandForecastDTO {
+
+    private FuelType fuelType;
+
+    private String storageLocation;
+
+    // Set for a single inventory row forecast, null for a depot forecast
+    private Long inventoryId;
+
+    private Double stock;
+
+    private Double dailyDemand;
+
+    // Null when there is no recent demand
+    private Double hoursToEmpty;
+
+    private LocalDateTime projectedEmptyAt;
+}
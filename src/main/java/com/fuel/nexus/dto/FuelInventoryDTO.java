@@ -33,5 +33,8 @@ public class FuelInventoryDTO {
 
     @NotNull(message = "Fuel type is required")
     private FuelType fuelType;
+
+    // Version the client last read; required on update, ignored on create
+    private Long version;
 }
 
@@ -0,0 +1,26 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.FuelType;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class FuelStockSummaryDTO {
+
+    private FuelType fuelType;
+
+    // Null for a fuel type wide summary
+    private String storageLocation;
+
+    private Double totalQuantity;
+
+    private Long batchCount;
+
+    // Per-location breakdown of a fuel type wide summary
+    private List<FuelStockSummaryDTO> locations;
+}
@@ -0,0 +1,38 @@
+package com.fuel.nexus.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class InventoryImportReportDTO {
+
+    private long totalRows;
+
+    private long inserted;
+
+    private long updated;
+
+    private long failed;
+
+    // Only the first errors are listed; failed counts all of them
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long line;
+
+        private String batchNumber;
+
+        private String message;
+    }
+}
@@ -0,0 +1,32 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.CustomerType;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class PriceQuoteDTO {
+
+    // Set when a booking was priced
+    private Long bookingId;
+
+    private Long productId;
+
+    private CustomerType customerType;
+
+    // Quantity in the product's unit
+    private Double quantity;
+
+    private String unit;
+
+    private Double listPrice;
+
+    private Double discountPercent;
+
+    private Double unitPrice;
+
+    private Double amount;
+}
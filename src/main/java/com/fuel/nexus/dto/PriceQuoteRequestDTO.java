@@ -0,0 +1,33 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.CustomerType;
+import com.fuel.nexus.utility.QuantityUnit;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class PriceQuoteRequestDTO {
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Customer type is required")
+    private CustomerType customerType;
+
+    @NotNull(message = "Quantity is required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Quantity must be greater than zero")
+    private Double quantity;
+
+    // Defaults to the product's own unit
+    private QuantityUnit unit;
+
+    // Defaults to now
+    private LocalDateTime at;
+}
@@ -40,5 +40,9 @@ public class ProductDTO {
     private FuelType fuelType;
 
     @NotNull(message = "Stock Quant is required")
-    private Long stockQuantity;}
+    private Long stockQuantity;
+
+    // Version the client last read; required on update, ignored on create
+    private Long version;
+}
 
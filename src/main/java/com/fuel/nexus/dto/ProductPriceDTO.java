@@ -0,0 +1,25 @@
+package com.fuel.nexus.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ProductPriceDTO {
+
+    @NotNull(message = "Price cannot be null")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than zero")
+    private BigDecimal price;
+
+    // Defaults to now; history cannot be rewritten retroactively
+    @FutureOrPresent(message = "Effective from cannot be in the past")
+    private LocalDateTime effectiveFrom;
+}
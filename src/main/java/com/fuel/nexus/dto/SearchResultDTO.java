@@ -0,0 +1,24 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.SearchTarget;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SearchResultDTO {
+
+    private SearchTarget target;
+
+    private Long id;
+
+    // Product name or customer full name
+    private String label;
+
+    // Short secondary line (fuel type and unit, or e-mail, mobile and pincode)
+    private String detail;
+
+    private int score;
+}
@@ -0,0 +1,51 @@
+package com.fuel.nexus.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class StockReconciliationReportDTO {
+
+    // False when only products changed since the previous high-water mark were compared
+    private boolean full;
+
+    private boolean corrected;
+
+    // Changes at or before this time were not considered by the run
+    private LocalDateTime since;
+
+    private LocalDateTime highWaterMark;
+
+    private long productsChecked;
+
+    private long mismatchCount;
+
+    // Mismatches whose correction lost a race with a concurrent product update
+    private long skipped;
+
+    // First mismatches found, in product id order (capped)
+    private List<Mismatch> mismatches;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @ToString
+    public static class Mismatch {
+
+        private Long productId;
+
+        private Long stockQuantity;
+
+        private Double inventoryQuantity;
+
+        // inventoryQuantity rounded minus stockQuantity
+        private Long difference;
+    }
+}
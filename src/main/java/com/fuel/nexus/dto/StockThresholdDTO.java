@@ -0,0 +1,21 @@
+package com.fuel.nexus.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class StockThresholdDTO {
+
+    @NotNull(message = "Low level cannot be null")
+    @DecimalMin(value = "0.0", message = "Low level cannot be negative")
+    private Double lowLevel;
+
+    // Optional; defaults to the low level (no hysteresis band)
+    @DecimalMin(value = "0.0", message = "Clear level cannot be negative")
+    private Double clearLevel;
+}
@@ -0,0 +1,30 @@
+package com.fuel.nexus.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class StockTransferDTO {
+
+    // Caller generated; repeating a transfer with the same id returns the original result
+    @NotBlank(message = "Transfer ID is required")
+    @Size(max = 64, message = "Transfer ID must be at most 64 characters")
+    private String transferId;
+
+    @NotNull(message = "Source inventory ID cannot be null")
+    private Long fromInventoryId;
+
+    @NotNull(message = "Target inventory ID cannot be null")
+    private Long toInventoryId;
+
+    @NotNull(message = "Transfer quantity cannot be null")
+    @Positive(message = "Transfer quantity must be positive")
+    private Double quantity;
+}
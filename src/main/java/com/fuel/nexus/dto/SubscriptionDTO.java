@@ -0,0 +1,35 @@
+package com.fuel.nexus.dto;
+
+import com.fuel.nexus.utility.FuelType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SubscriptionDTO {
+
+    private Long id;
+
+    private Long customerId;
+
+    private Long productId;
+
+    private FuelType fuelType;
+
+    private Double quantity;
+
+    private Integer intervalDays;
+
+    private LocalDate nextDueDate;
+
+    private LocalDate lastGeneratedOn;
+
+    private boolean active;
+
+    private LocalDateTime createdAt;
+}
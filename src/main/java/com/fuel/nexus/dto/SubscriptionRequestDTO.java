@@ -0,0 +1,36 @@
+package com.fuel.nexus.dto;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SubscriptionRequestDTO {
+
+    @NotNull(message = "Customer ID is required")
+    private Long customerId;
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Booking quantity cannot be null")
+    @Min(value = 1, message = "Minimum booking quantity is 1")
+    private Double quantity;
+
+    @NotNull(message = "Interval is required")
+    @Min(value = 1, message = "Interval must be at least 1 day")
+    @Max(value = 365, message = "Interval must not exceed 365 days")
+    private Integer intervalDays;
+
+    // Defaults to one interval from today
+    @FutureOrPresent(message = "First due date cannot be in the past")
+    private LocalDate firstDueDate;
+}
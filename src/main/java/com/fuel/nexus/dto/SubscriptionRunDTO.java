@@ -0,0 +1,30 @@
+package com.fuel.nexus.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SubscriptionRunDTO {
+
+    private LocalDate runDate;
+
+    private int partitions;
+
+    private int completedPartitions;
+
+    // Partitions currently leased by a worker on some node
+    private int leasedPartitions;
+
+    // Bookings generated so far
+    private long generated;
+
+    // Due subscriptions left for the next run
+    private long deferred;
+
+    private boolean completed;
+}
@@ -0,0 +1,25 @@
+package com.fuel.nexus.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class TankStatusDTO {
+
+    private Long inventoryId;
+
+    // Latest sensor reading seen by this node (null when none is buffered)
+    private LocalDateTime readingAt;
+
+    private Double measuredLevel;
+
+    private Double temperature;
+
+    // Booked stock figure of the same inventory record
+    private Double bookedQuantity;
+}
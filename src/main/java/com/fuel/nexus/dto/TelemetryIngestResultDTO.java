@@ -0,0 +1,16 @@
+package com.fuel.nexus.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class TelemetryIngestResultDTO {
+
+    private int accepted;
+
+    // Samples for unknown tanks, with missing or non-finite fields, or recorded in the future
+    private int rejected;
+}
@@ -0,0 +1,29 @@
+package com.fuel.nexus.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class TelemetryRollupDTO {
+
+    private LocalDateTime bucketStart;
+
+    private Long samples;
+
+    private Double averageLevel;
+
+    private Double minLevel;
+
+    private Double maxLevel;
+
+    private Double averageTemperature;
+
+    private Double minTemperature;
+
+    private Double maxTemperature;
+}
@@ -0,0 +1,27 @@
+package com.fuel.nexus.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class TelemetrySampleDTO {
+
+    // Tank = fuel inventory record
+    @NotNull(message = "Inventory ID cannot be null")
+    private Long inventoryId;
+
+    @NotNull(message = "Reading time is required")
+    private LocalDateTime recordedAt;
+
+    @NotNull(message = "Tank level is required")
+    private Double level;
+
+    @NotNull(message = "Temperature is required")
+    private Double temperature;
+}
@@ -9,15 +9,31 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(
+        name = "bookings",
+        indexes = {
+                // Pricing and reporting read a day's bookings by date range
+                @Index(name = "idx_booking_date", columnList = "bookingDate"),
+                // Booking search seeks on (bookingDate, id) behind each equality filter; InnoDB
+                // already appends id to idx_booking_date, which serves the unfiltered search
+                @Index(name = "idx_booking_customer_date", columnList = "customer_id, bookingDate, id"),
+                @Index(name = "idx_booking_product_date", columnList = "product_id, bookingDate, id"),
+                @Index(name = "idx_booking_status_date", columnList = "status, bookingDate, id"),
+                @Index(name = "idx_booking_fuel_type_date", columnList = "fuelType, bookingDate, id")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Booking {
 
+    // Pooled table generator instead of IDENTITY, so Hibernate can batch booking inserts;
+    // IdGeneratorSeeder moves the pool past the ids already in the table
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "booking_ids")
+    @TableGenerator(name = "booking_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "bookings", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Customer must not be null")
@@ -38,10 +54,14 @@ public class Booking {
     @PastOrPresent(message = "Booking date cannot be in the future")
     private LocalDateTime bookingDate;
 
-    @NotBlank(message = "Status cannot be blank")
-    @Pattern(regexp = "PENDING|CONFIRMED|CANCELLED", message = "Invalid booking status")
+    @NotNull(message = "Status cannot be null")
     private BookingStatus status;
 
-    @NotBlank(message = "Type  cannot be blank")
+    @NotNull(message = "Fuel type cannot be null")
     private FuelType fuelType;
+
+    // Optimistic lock column, bumped on every update
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
 }
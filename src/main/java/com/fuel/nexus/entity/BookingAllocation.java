@@ -0,0 +1,48 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Quantity of a delivered booking taken from one fuel inventory batch.
+ * A booking spanning several batches has one row per batch.
+ */
+@Entity
+@Table(
+        name = "booking_allocations",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_allocation_booking_inventory", columnNames = {"bookingId", "inventoryId"})
+        },
+        indexes = {
+                @Index(name = "idx_allocation_inventory", columnList = "inventoryId")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingAllocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Booking ID cannot be null")
+    @Column(nullable = false)
+    private Long bookingId;
+
+    @NotNull(message = "Inventory ID cannot be null")
+    @Column(nullable = false)
+    private Long inventoryId;
+
+    @NotNull(message = "Allocated quantity cannot be null")
+    @Column(nullable = false)
+    private Double quantity;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime allocatedAt;
+}
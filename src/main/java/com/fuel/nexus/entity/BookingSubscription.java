@@ -0,0 +1,69 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Recurring booking of one product by one customer, generated as a PENDING Booking every
+ * {@code intervalDays} by SubscriptionBookingGenerator.
+ */
+@Entity
+@Table(
+        name = "booking_subscriptions",
+        indexes = {
+                @Index(name = "idx_subscription_customer", columnList = "customer_id")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingSubscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Customer must not be null")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", nullable = false)
+    private Customer customer;
+
+    @NotNull(message = "Product must not be null")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @NotNull(message = "Booking quantity cannot be null")
+    @Min(value = 1, message = "Minimum booking quantity is 1")
+    private Double quantity;
+
+    @NotNull(message = "Interval cannot be null")
+    @Min(value = 1, message = "Interval must be at least 1 day")
+    @Max(value = 365, message = "Interval must not exceed 365 days")
+    private Integer intervalDays;
+
+    // Day on which the next booking is generated
+    @NotNull(message = "Next due date cannot be null")
+    private LocalDate nextDueDate;
+
+    // Day of the run that generated the latest booking
+    private LocalDate lastGeneratedOn;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Bumped by the generator's set-based update as well
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+}
@@ -0,0 +1,31 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Persisted state of one exponentially decayed demand rate, so forecasts survive restarts.
+ * Epoch millisecond columns keep the decay arithmetic free of time zone conversions.
+ */
+@Entity
+@Table(name = "demand_rates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DemandRate {
+
+    // "depot:<FUEL_TYPE>|<location>" or "inventory:<id>"
+    @Id
+    @Column(length = 150)
+    private String rateKey;
+
+    @Column(nullable = false)
+    private Double decayedSum;
+
+    @Column(nullable = false)
+    private Long firstEventMillis;
+
+    @Column(nullable = false)
+    private Long lastEventMillis;
+}
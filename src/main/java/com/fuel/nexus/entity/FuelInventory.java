@@ -8,7 +8,19 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "fuel_inventory")
+@Table(
+        name = "fuel_inventory",
+        uniqueConstraints = {
+                // Imports upsert and row-lock by batch number; without the index the lock covers the whole table
+                @UniqueConstraint(name = "uk_inventory_batch_number", columnNames = "batchNumber")
+        },
+        indexes = {
+                // FIFO allocation scans and locks the batches of one fuel type in id order
+                @Index(name = "idx_inventory_fuel_type", columnList = "fuelType, id"),
+                // Stock reconciliation sums and change-checks the batches of one product
+                @Index(name = "idx_inventory_product_updated", columnList = "product_id, lastUpdated")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,5 +55,20 @@ public class FuelInventory {
 
     @NotNull(message = "Fuel type is required")
     private FuelType fuelType;
-}
 
+    // Quantity promised to open reservations, maintained by the stock reservation ledger
+    @Column(columnDefinition = "DOUBLE DEFAULT 0")
+    private Double reservedQuantity;
+
+    // Optimistic lock column, bumped on every update
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
+    @PrePersist
+    void applyDefaults() {
+        if (reservedQuantity == null) {
+            reservedQuantity = 0.0;
+        }
+    }
+}
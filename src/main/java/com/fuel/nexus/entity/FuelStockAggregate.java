@@ -0,0 +1,49 @@
+package com.fuel.nexus.entity;
+
+import com.fuel.nexus.utility.FuelType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running stock total per fuel type and storage location, maintained in the same
+ * transaction as every fuel_inventory write so totals never need a table scan.
+ * The fuel type column uses the same (ordinal) mapping as fuel_inventory.fuel_type.
+ */
+@Entity
+@Table(
+        name = "fuel_stock_aggregates",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_aggregate_type_location", columnNames = {"fuelType", "storageLocation"})
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FuelStockAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Fuel type is required")
+    @Column(nullable = false)
+    private FuelType fuelType;
+
+    @NotNull(message = "Storage location is required")
+    @Column(nullable = false, length = 100)
+    private String storageLocation;
+
+    @NotNull
+    @Column(nullable = false)
+    private Double totalQuantity;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long batchCount;
+
+    private LocalDateTime lastUpdated;
+}
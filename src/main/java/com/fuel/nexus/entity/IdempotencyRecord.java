@@ -0,0 +1,62 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a request sent with an Idempotency-Key header. The row is claimed
+ * (IN_PROGRESS) before the request runs and holds the response once it completed, so
+ * retries with the same key get the original response back until the row expires.
+ */
+@Entity
+@Table(
+        name = "idempotency_keys",
+        indexes = {
+                @Index(name = "idx_idempotency_expires", columnList = "expiresAt")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    // SHA-256 of caller, request path and key, so keys are scoped per caller and endpoint
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(nullable = false)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private String requestPath;
+
+    // SHA-256 of the request body; a retry with a different body is rejected
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // IN_PROGRESS or COMPLETED
+    @Column(nullable = false, length = 20)
+    private String state;
+
+    // Random token of the claim holding the row; only that claim may complete or release it
+    @Column(length = 36)
+    private String claimToken;
+
+    private Integer responseStatus;
+
+    private String contentType;
+
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,51 @@
+package com.fuel.nexus.entity;
+
+import com.fuel.nexus.utility.MovementType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a single change to a fuel inventory row's available quantity.
+ * Rows are written in JDBC batches by InventoryMovementRecorder and never updated.
+ */
+@Entity
+@Table(
+        name = "inventory_movements",
+        indexes = {
+                @Index(name = "idx_movement_inventory_time", columnList = "inventoryId, occurredAt"),
+                @Index(name = "idx_movement_inventory_id", columnList = "inventoryId, id")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Inventory ID cannot be null")
+    @Column(nullable = false)
+    private Long inventoryId;
+
+    @NotNull(message = "Movement type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MovementType movementType;
+
+    @NotNull(message = "Quantity delta cannot be null")
+    @Column(nullable = false)
+    private Double quantityDelta;
+
+    @Column(length = 100)
+    private String reference;
+
+    @NotNull(message = "Movement time is required")
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
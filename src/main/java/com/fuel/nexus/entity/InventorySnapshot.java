@@ -0,0 +1,56 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodic snapshot of a fuel inventory row: the quantity after applying every movement
+ * up to and including {@code lastMovementId}. Stock at any time is the latest snapshot
+ * at or before that time plus the (few) movements that follow it.
+ */
+@Entity
+@Table(
+        name = "inventory_snapshots",
+        indexes = {
+                @Index(name = "idx_snapshot_inventory_asof", columnList = "inventoryId, asOf"),
+                @Index(name = "idx_snapshot_covered", columnList = "coveredUpTo")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Inventory ID cannot be null")
+    @Column(nullable = false)
+    private Long inventoryId;
+
+    @NotNull(message = "Quantity cannot be null")
+    @Column(nullable = false)
+    private Double quantity;
+
+    // Highest movement id of this inventory folded into the quantity
+    @NotNull
+    @Column(nullable = false)
+    private Long lastMovementId;
+
+    // Latest movement time folded into the quantity
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime asOf;
+
+    // Global movement id the snapshot run scanned up to
+    @NotNull
+    @Column(nullable = false)
+    private Long coveredUpTo;
+
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,27 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shared alert state per inventory row. Nodes flip it with conditional updates, so only
+ * the node that wins the flip publishes the alert.
+ */
+@Entity
+@Table(name = "low_stock_states")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LowStockState {
+
+    @Id
+    private Long inventoryId;
+
+    @Column(nullable = false)
+    private boolean alerted;
+
+    private LocalDateTime changedAt;
+}
@@ -6,9 +6,16 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(
+        name = "products",
+        indexes = {
+                // Incremental stock reconciliation picks up products changed since its last pass
+                @Index(name = "idx_product_last_modified", columnList = "lastModified")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -50,4 +57,17 @@ public class Product {
     @NotNull(message = "Stock Quant is required")
     private Long stockQuantity;
 
+    // Optimistic lock column, bumped on every update
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
+    // Time of the last change; also set by ProductRepository.markModified for stock changes made elsewhere
+    private LocalDateTime lastModified;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        lastModified = LocalDateTime.now();
+    }
 }
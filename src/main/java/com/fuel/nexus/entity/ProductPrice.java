@@ -0,0 +1,47 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a product's price history; the price applies from effectiveFrom until the
+ * next entry of the same product. Entries in the future are scheduled price changes.
+ */
+@Entity
+@Table(
+        name = "product_prices",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_product_price_effective", columnNames = {"productId", "effectiveFrom"})
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductPrice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Product ID cannot be null")
+    @Column(nullable = false)
+    private Long productId;
+
+    @NotNull(message = "Price cannot be null")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than zero")
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal price;
+
+    @NotNull(message = "Effective from is required")
+    @Column(nullable = false)
+    private LocalDateTime effectiveFrom;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
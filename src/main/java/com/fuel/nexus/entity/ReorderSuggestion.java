@@ -0,0 +1,59 @@
+package com.fuel.nexus.entity;
+
+import com.fuel.nexus.utility.FuelType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Suggested replenishment of one fuel type at one depot, raised by the depletion forecaster.
+ * While the suggestion is open, openKey holds "<FUEL_TYPE>|<location>"; the unique constraint
+ * on it allows at most one open suggestion per depot across all nodes. A suggestion closed by
+ * an operator keeps its openKey, which suppresses new suggestions for the depot until it has
+ * recovered or a restock arrives.
+ */
+@Entity
+@Table(
+        name = "reorder_suggestions",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_reorder_open_key", columnNames = "openKey")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReorderSuggestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private FuelType fuelType;
+
+    @Column(nullable = false, length = 100)
+    private String storageLocation;
+
+    @Column(nullable = false)
+    private Double currentStock;
+
+    @Column(nullable = false)
+    private Double dailyDemand;
+
+    @Column(nullable = false)
+    private Double suggestedQuantity;
+
+    // When stock is projected to fall below the low stock level
+    @Column(nullable = false)
+    private LocalDateTime projectedThresholdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(length = 150)
+    private String openKey;
+
+    private LocalDateTime closedAt;
+}
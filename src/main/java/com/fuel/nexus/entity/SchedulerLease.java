@@ -0,0 +1,29 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time-limited ownership of a cluster-wide scheduled job. The node named in leaseOwner runs
+ * the job until leaseUntil; it renews the lease on every run, and once it stops renewing any
+ * node may take it over.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(length = 100)
+    private String leaseOwner;
+
+    private LocalDateTime leaseUntil;
+}
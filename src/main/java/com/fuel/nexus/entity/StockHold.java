@@ -0,0 +1,51 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock reserved on one inventory batch for an open booking; a booking no single batch
+ * covers has one row per batch it draws on. The rows exist while the hold is active and
+ * are deleted when the booking is delivered or cancelled, or when the hold expires; the
+ * reserved quantity itself is kept by the stock reservation ledger.
+ */
+@Entity
+@Table(
+        name = "stock_holds",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_stock_hold_booking_inventory", columnNames = {"bookingId", "inventoryId"})
+        },
+        indexes = {
+                @Index(name = "idx_stock_hold_expires", columnList = "expiresAt"),
+                // Reserved quantity reconcile sums the holds of one inventory row
+                @Index(name = "idx_stock_hold_inventory", columnList = "inventoryId")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Booking ID cannot be null")
+    private Long bookingId;
+
+    @NotNull(message = "Inventory ID cannot be null")
+    private Long inventoryId;
+
+    @NotNull(message = "Quantity cannot be null")
+    private Double quantity;
+
+    @NotNull(message = "Created at cannot be null")
+    private LocalDateTime createdAt;
+
+    @NotNull(message = "Expiry cannot be null")
+    private LocalDateTime expiresAt;
+}
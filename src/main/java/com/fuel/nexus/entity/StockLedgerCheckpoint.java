@@ -0,0 +1,29 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last journal sequence of a node's stock reservation ledger that has been flushed
+ * to fuel_inventory. Journal entries at or below this sequence are never replayed.
+ */
+@Entity
+@Table(name = "stock_ledger_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLedgerCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String nodeId;
+
+    @NotNull(message = "Last sequence cannot be null")
+    private Long lastSequence;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * High-water mark of the product stock reconciliation. Products and inventory batches
+ * not modified after the mark were already compared and are skipped by incremental runs.
+ */
+@Entity
+@Table(name = "stock_reconciliation_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReconciliationCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    private LocalDateTime highWaterMark;
+
+    private LocalDateTime lastRunAt;
+
+    private Long lastMismatches;
+}
@@ -0,0 +1,47 @@
+package com.fuel.nexus.entity;
+
+import com.fuel.nexus.utility.FuelType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * Low stock threshold, either for a single inventory row or for every row of a fuel type.
+ * An alert fires when stock drops below {@code lowLevel} and is re-armed only once stock
+ * recovers to {@code clearLevel} (hysteresis band), so a tank hovering at the threshold
+ * does not raise repeated alerts.
+ */
+@Entity
+@Table(
+        name = "stock_thresholds",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"inventoryId"}),
+                @UniqueConstraint(columnNames = {"fuelType"})
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockThreshold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Set for a per-inventory threshold
+    private Long inventoryId;
+
+    // Set for a per-fuel-type threshold
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private FuelType fuelType;
+
+    @NotNull(message = "Low level cannot be null")
+    @DecimalMin(value = "0.0", message = "Low level cannot be negative")
+    private Double lowLevel;
+
+    @NotNull(message = "Clear level cannot be null")
+    @DecimalMin(value = "0.0", message = "Clear level cannot be negative")
+    private Double clearLevel;
+}
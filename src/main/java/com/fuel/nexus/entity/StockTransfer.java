@@ -0,0 +1,50 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Completed movement of stock between two fuel inventory rows.
+ * The caller supplied transfer id is unique, which makes retries of the same transfer idempotent.
+ */
+@Entity
+@Table(
+        name = "stock_transfers",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_stock_transfer_id", columnNames = "transferId")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Transfer ID is required")
+    @Column(nullable = false, length = 64)
+    private String transferId;
+
+    @NotNull(message = "Source inventory ID cannot be null")
+    @Column(nullable = false)
+    private Long fromInventoryId;
+
+    @NotNull(message = "Target inventory ID cannot be null")
+    @Column(nullable = false)
+    private Long toInventoryId;
+
+    @NotNull(message = "Transfer quantity cannot be null")
+    @Column(nullable = false)
+    private Double quantity;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime transferredAt;
+}
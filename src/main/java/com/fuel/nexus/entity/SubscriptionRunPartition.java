@@ -0,0 +1,64 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One id range of a day's subscription run. A worker on any node leases the partition,
+ * generates its due bookings page by page and moves the checkpoint in the same transaction
+ * as each page, so a partition abandoned by a crash resumes after the last committed page.
+ */
+@Entity
+@Table(
+        name = "subscription_run_partitions",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_subscription_run_partition", columnNames = {"run_date", "partition_no"})
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubscriptionRunPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+
+    // Subscription ids in (fromId, toId]
+    @Column(nullable = false)
+    private Long fromId;
+
+    @Column(nullable = false)
+    private Long toId;
+
+    // Last subscription id handled by a committed page
+    @Column(nullable = false)
+    private Long checkpointId;
+
+    @Column(nullable = false)
+    private Long generated;
+
+    // Due subscriptions left for the next run, e.g. out of stock
+    @Column(nullable = false)
+    private Long deferred;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    private LocalDateTime completedAt;
+
+    @Column(length = 100)
+    private String leaseOwner;
+
+    private LocalDateTime leaseUntil;
+}
@@ -0,0 +1,20 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 1-hour tank telemetry rollup, written in batches by TankTelemetryBuffer
+ */
+@Entity
+@Table(
+        name = "tank_telemetry_hour",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_telemetry_hour_tank_bucket", columnNames = {"inventoryId", "bucketStart"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class TankTelemetryHour extends TankTelemetryRollup {
+}
@@ -0,0 +1,20 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 1-minute tank telemetry rollup, written in batches by TankTelemetryBuffer
+ */
+@Entity
+@Table(
+        name = "tank_telemetry_minute",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_telemetry_minute_tank_bucket", columnNames = {"inventoryId", "bucketStart"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class TankTelemetryMinute extends TankTelemetryRollup {
+}
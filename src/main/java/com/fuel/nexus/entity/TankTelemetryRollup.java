@@ -0,0 +1,49 @@
+package com.fuel.nexus.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Downsampled tank sensor readings of one tank over one bucket.
+ * Sums and counts (rather than averages) are stored so late samples can be merged in.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@NoArgsConstructor
+public abstract class TankTelemetryRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long inventoryId;
+
+    // Start of the bucket (minute or hour)
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private Long sampleCount;
+
+    @Column(nullable = false)
+    private Double levelSum;
+
+    @Column(nullable = false)
+    private Double levelMin;
+
+    @Column(nullable = false)
+    private Double levelMax;
+
+    @Column(nullable = false)
+    private Double temperatureSum;
+
+    @Column(nullable = false)
+    private Double temperatureMin;
+
+    @Column(nullable = false)
+    private Double temperatureMax;
+}
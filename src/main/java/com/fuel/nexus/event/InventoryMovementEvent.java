@@ -0,0 +1,27 @@
+package com.fuel.nexus.event;
+
+import com.fuel.nexus.utility.MovementType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published (in-process) whenever the available quantity of a fuel inventory row changes.
+ * Listeners run inside the publishing transaction, so anything they write commits or
+ * rolls back together with the stock change itself.
+ *
+ * @param inventoryId   affected fuel_inventory row
+ * @param type          kind of movement
+ * @param quantityDelta signed change of available quantity
+ * @param reference     free-form origin of the movement (booking id, transfer id, ...)
+ * @param occurredAt    time of the change
+ */
+public record InventoryMovementEvent(Long inventoryId,
+                                     MovementType type,
+                                     double quantityDelta,
+                                     String reference,
+                                     LocalDateTime occurredAt) {
+
+    public static InventoryMovementEvent of(Long inventoryId, MovementType type, double quantityDelta, String reference) {
+        return new InventoryMovementEvent(inventoryId, type, quantityDelta, reference, LocalDateTime.now());
+    }
+}
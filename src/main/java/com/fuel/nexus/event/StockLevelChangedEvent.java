@@ -0,0 +1,14 @@
+package com.fuel.nexus.event;
+
+import com.fuel.nexus.utility.FuelType;
+
+/**
+ * Published (in-process) by the stock reservation ledger whenever it observes a new
+ * physical quantity for an inventory row, whether from a local write or a table refresh.
+ *
+ * @param inventoryId affected fuel_inventory row
+ * @param fuelType    fuel type of the row
+ * @param quantity    available quantity after the change
+ */
+public record StockLevelChangedEvent(Long inventoryId, FuelType fuelType, double quantity) {
+}
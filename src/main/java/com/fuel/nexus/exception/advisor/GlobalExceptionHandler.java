@@ -8,13 +8,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -89,6 +95,89 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, request, HttpStatus.CONFLICT);
     }
 
+    // Handle concurrent update conflicts
+    @Operation(
+            summary = "Handles concurrent update conflicts",
+            description = "Catches ConcurrentUpdateException (optimistic lock retries exhausted) and maps it to HTTP 409 (conflict)",
+            responses = {
+                    @ApiResponse(responseCode = "409", description = "Concurrent update conflict")
+            }
+    )
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ApiErrorResponse> handleConcurrentUpdate(
+            ConcurrentUpdateException ex,
+            HttpServletRequest request
+    ) {
+        return buildErrorResponse(ex, request, HttpStatus.CONFLICT);
+    }
+
+    // Handle duplicate bookings
+    @Operation(
+            summary = "Handles duplicate bookings",
+            description = "Catches DuplicateBookingException (same customer, product and quantity within the duplicate window) and maps it to HTTP 409 (conflict)",
+            responses = {
+                    @ApiResponse(responseCode = "409", description = "Duplicate booking")
+            }
+    )
+    @ExceptionHandler(DuplicateBookingException.class)
+    public ResponseEntity<ApiErrorResponse> handleDuplicateBooking(
+            DuplicateBookingException ex,
+            HttpServletRequest request
+    ) {
+        return buildErrorResponse(ex, request, HttpStatus.CONFLICT);
+    }
+
+    // Handle booking status changes not allowed by the transition table
+    @Operation(
+            summary = "Handles invalid status transitions",
+            description = "Catches InvalidStatusTransitionException (a booking status change not allowed from its current status) and maps it to HTTP 409 (conflict)",
+            responses = {
+                    @ApiResponse(responseCode = "409", description = "Invalid status transition")
+            }
+    )
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidStatusTransition(
+            InvalidStatusTransitionException ex,
+            HttpServletRequest request
+    ) {
+        return buildErrorResponse(ex, request, HttpStatus.CONFLICT);
+    }
+
+    // Handle saturation (intake queue full, rate limits)
+    @Operation(
+            summary = "Handles saturation errors",
+            description = "Catches TooManyRequestsException and maps it to HTTP 429 (too many requests) with a Retry-After header",
+            responses = {
+                    @ApiResponse(responseCode = "429", description = "Too many requests")
+            }
+    )
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiErrorResponse> handleTooManyRequests(
+            TooManyRequestsException ex,
+            HttpServletRequest request
+    ) {
+        ResponseEntity<ApiErrorResponse> response = buildErrorResponse(ex, request, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    // Handle invalid stock transfers
+    @Operation(
+            summary = "Handles invalid stock transfers",
+            description = "Catches InvalidStockTransferException (bad rows, fuel type mismatch or reused transfer id) and maps it to HTTP 400 (bad request)",
+            responses = {
+                    @ApiResponse(responseCode = "400", description = "Invalid stock transfer")
+            }
+    )
+    @ExceptionHandler(InvalidStockTransferException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidStockTransfer(
+            InvalidStockTransferException ex,
+            HttpServletRequest request
+    ) {
+        return buildErrorResponse(ex, request, HttpStatus.BAD_REQUEST);
+    }
+
     // Handle duplicate username
     @Operation(
             summary = "Handles duplicate username errors",
@@ -166,6 +255,30 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(new RuntimeException(message), HttpStatus.BAD_REQUEST, request);
     }
 
+    // -------------------------
+    // Handle invalid request bodies (@Valid on a body or on the elements of a list body)
+    // -------------------------
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiErrorResponse> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
+                                                                      HttpServletRequest request) {
+        return buildErrorResponse(new RuntimeException(firstError(ex.getAllErrors())), HttpStatus.BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ApiErrorResponse> handleHandlerMethodValidation(HandlerMethodValidationException ex,
+                                                                       HttpServletRequest request) {
+        return buildErrorResponse(new RuntimeException(firstError(ex.getAllErrors())), HttpStatus.BAD_REQUEST, request);
+    }
+
+    private static String firstError(List<? extends MessageSourceResolvable> errors) {
+        return errors.stream()
+                .map(error -> error instanceof FieldError fieldError
+                        ? fieldError.getField() + ": " + fieldError.getDefaultMessage()
+                        : error.getDefaultMessage())
+                .findFirst()
+                .orElse("Validation failed");
+    }
+
     // -------------------------
     // Generic Exception Fallback
     // -------------------------
@@ -0,0 +1,7 @@
+package com.fuel.nexus.exception.exceptions;
+
+public class ConcurrentUpdateException extends FuelNexusRuntimeException {
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
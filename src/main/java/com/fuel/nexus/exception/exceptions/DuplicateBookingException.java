@@ -0,0 +1,7 @@
+package com.fuel.nexus.exception.exceptions;
+
+public class DuplicateBookingException extends FuelNexusRuntimeException {
+    public DuplicateBookingException(String message) {
+        super(message);
+    }
+}
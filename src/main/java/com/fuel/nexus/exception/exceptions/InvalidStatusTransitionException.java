@@ -0,0 +1,7 @@
+package com.fuel.nexus.exception.exceptions;
+
+public class InvalidStatusTransitionException extends FuelNexusRuntimeException {
+    public InvalidStatusTransitionException(String message) {
+        super(message);
+    }
+}
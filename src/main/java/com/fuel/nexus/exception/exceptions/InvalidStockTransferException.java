@@ -0,0 +1,7 @@
+package com.fuel.nexus.exception.exceptions;
+
+public class InvalidStockTransferException extends FuelNexusRuntimeException {
+    public InvalidStockTransferException(String message) {
+        super(message);
+    }
+}
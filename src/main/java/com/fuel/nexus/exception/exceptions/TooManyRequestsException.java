@@ -0,0 +1,17 @@
+package com.fuel.nexus.exception.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Request refused because the service is saturated; the client should retry after the given delay
+ */
+@Getter
+public class TooManyRequestsException extends FuelNexusRuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
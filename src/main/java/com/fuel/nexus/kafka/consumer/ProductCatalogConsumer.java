@@ -0,0 +1,45 @@
+package com.fuel.nexus.kafka.consumer;
+
+import com.fuel.nexus.service.impl.PriceHistory;
+import com.fuel.nexus.service.impl.ProductCatalog;
+import com.fuel.nexus.service.services.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Applies product changes made on any node to this node's catalog snapshot, price timelines and
+ * search index.
+ * Each node uses its own consumer group, so every node receives every message. The group id is
+ * stable per node, so a restart resumes from its committed offset; a new group starts at the end
+ * of the topic because the catalog loads a full snapshot on startup anyway.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductCatalogConsumer {
+
+    private final ProductCatalog productCatalog;
+    private final PriceHistory priceHistory;
+    private final SearchService searchService;
+
+    @KafkaListener(topics = "product-topic",
+            groupId = "product-catalog-${fuelnexus.catalog.node-id:${HOSTNAME:local}}",
+            properties = "auto.offset.reset=latest")
+    public void listen(ConsumerRecord<String, String> record) {
+        if (record.key() == null) {
+            // Message without a product id: fall back to a full reload
+            productCatalog.reload();
+            priceHistory.reload();
+            return;
+        }
+        log.debug("Refreshing product ID={} in catalog after: {}", record.key(), record.value());
+        Long productId = Long.valueOf(record.key());
+        productCatalog.refresh(productId);
+        priceHistory.refresh(productId);
+        productCatalog.findById(productId).ifPresentOrElse(searchService::indexProduct,
+                () -> searchService.removeProduct(productId));
+    }
+}
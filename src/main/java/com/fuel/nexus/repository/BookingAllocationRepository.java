@@ -0,0 +1,15 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.BookingAllocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingAllocationRepository extends JpaRepository<BookingAllocation, Long> {
+
+    List<BookingAllocation> findByBookingIdOrderByInventoryIdAsc(Long bookingId);
+
+    boolean existsByBookingId(Long bookingId);
+}
@@ -2,20 +2,31 @@ package com.fuel.nexus.repository;
 
 import com.fuel.nexus.entity.Booking;
 import com.fuel.nexus.utility.BookingStatus;
+import com.fuel.nexus.utility.CustomerType;
+import com.fuel.nexus.utility.FuelType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Booking entity.
  * Provides CRUD operations and custom queries for booking management.
  */
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSearchRepository {
 
     
     // Find bookings by customer name
-    List<Booking> findByCustomerName(String customerName);
+    List<Booking> findByCustomerFullName(String fullName);
 
     
     // Find bookings by status
@@ -23,5 +34,53 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     
     // Find bookings by fuel type
-    List<Booking> findByFuelType(String fuelType);
+    List<Booking> findByFuelType(FuelType fuelType);
+
+    // Row-level write lock (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    // Just the columns needed to price a booking, without loading customer or product
+    interface BookingPricingView {
+        Long getId();
+
+        Long getProductId();
+
+        CustomerType getCustomerType();
+
+        Double getQuantity();
+
+        LocalDateTime getBookingDate();
+    }
+
+    @Query("SELECT b.id AS id, b.product.id AS productId, c.customerType AS customerType, " +
+            "b.quantity AS quantity, b.bookingDate AS bookingDate FROM Booking b JOIN b.customer c WHERE b.id = :id")
+    Optional<BookingPricingView> findPricingViewById(@Param("id") Long id);
+
+    // Bookings made in [from, to), cancelled ones excluded
+    @Query("SELECT b.id AS id, b.product.id AS productId, c.customerType AS customerType, " +
+            "b.quantity AS quantity, b.bookingDate AS bookingDate FROM Booking b JOIN b.customer c " +
+            "WHERE b.bookingDate >= :from AND b.bookingDate < :to AND b.status <> :excluded ORDER BY b.id")
+    List<BookingPricingView> findPricingViewsBetween(@Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to,
+                                                     @Param("excluded") BookingStatus excluded);
+
+    interface BookingStatusView {
+        Long getId();
+
+        BookingStatus getStatus();
+    }
+
+    @Query("SELECT b.id AS id, b.status AS status FROM Booking b WHERE b.id IN :ids")
+    List<BookingStatusView> findStatusViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Set-based transition; only rows still in the source state change, and the version is
+    // bumped so concurrent entity updates fail their optimistic check
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :target, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = :source")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("source") BookingStatus source,
+                         @Param("target") BookingStatus target);
 }
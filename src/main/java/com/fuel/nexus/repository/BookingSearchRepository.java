@@ -0,0 +1,17 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.dto.BookingSearchCriteria;
+import com.fuel.nexus.entity.Booking;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Booking queries built from optional filters, mixed into BookingRepository
+ */
+public interface BookingSearchRepository {
+
+    /**
+     * One slice of bookings matching the criteria, newest first, seeking past the keyset
+     * position instead of skipping rows; no count query is run
+     */
+    Slice<Booking> search(BookingSearchCriteria criteria, int size);
+}
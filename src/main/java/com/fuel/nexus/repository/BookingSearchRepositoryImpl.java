@@ -0,0 +1,81 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.dto.BookingSearchCriteria;
+import com.fuel.nexus.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset (seek) pagination over bookings ordered by (bookingDate, id) descending.
+ * <p>
+ * Only the filters that are set become predicates, so every combination reads one of the
+ * composite (filter column, bookingDate, id) indexes declared on Booking in order and
+ * stops after {@code size + 1} rows; the extra row tells whether another slice follows.
+ * The cost of a slice does not depend on how deep it is.
+ */
+public class BookingSearchRepositoryImpl implements BookingSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Booking> search(BookingSearchCriteria criteria, int size) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT b FROM Booking b JOIN FETCH b.customer JOIN FETCH b.product WHERE 1 = 1");
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (criteria.getStatus() != null) {
+            jpql.append(" AND b.status = :status");
+            params.put("status", criteria.getStatus());
+        }
+        if (criteria.getFuelType() != null) {
+            jpql.append(" AND b.fuelType = :fuelType");
+            params.put("fuelType", criteria.getFuelType());
+        }
+        if (criteria.getCustomerId() != null) {
+            jpql.append(" AND b.customer.id = :customerId");
+            params.put("customerId", criteria.getCustomerId());
+        }
+        if (criteria.getProductId() != null) {
+            jpql.append(" AND b.product.id = :productId");
+            params.put("productId", criteria.getProductId());
+        }
+        if (criteria.getFrom() != null) {
+            jpql.append(" AND b.bookingDate >= :from");
+            params.put("from", criteria.getFrom());
+        }
+        if (criteria.getTo() != null) {
+            jpql.append(" AND b.bookingDate < :to");
+            params.put("to", criteria.getTo());
+        }
+        if (criteria.getAfterDate() != null && criteria.getAfterId() != null) {
+            // Seek past the last row of the previous slice
+            jpql.append(" AND (b.bookingDate < :afterDate OR (b.bookingDate = :afterDate AND b.id < :afterId))");
+            params.put("afterDate", criteria.getAfterDate());
+            params.put("afterId", criteria.getAfterId());
+        }
+        jpql.append(" ORDER BY b.bookingDate DESC, b.id DESC");
+
+        TypedQuery<Booking> query = entityManager.createQuery(jpql.toString(), Booking.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(size + 1);
+
+        List<Booking> rows = new ArrayList<>(query.getResultList());
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows.remove(size);
+        }
+        return new SliceImpl<>(rows, PageRequest.of(0, size,
+                Sort.by(Sort.Order.desc("bookingDate"), Sort.Order.desc("id"))), hasNext);
+    }
+}
@@ -0,0 +1,13 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.BookingSubscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingSubscriptionRepository extends JpaRepository<BookingSubscription, Long> {
+
+    List<BookingSubscription> findByCustomerIdOrderByIdAsc(Long customerId);
+}
@@ -3,8 +3,11 @@ package com.fuel.nexus.repository;
 import com.fuel.nexus.entity.Customer;
 import com.fuel.nexus.utility.CustomerType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,5 +29,13 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     boolean existsByEmail(String email);
 
     boolean existsByMobileNumber(String mobileNumber);
+
+    // Which of the given ids exist, in one query
+    @Query("SELECT c.id FROM Customer c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Customer type alone, for per-tier admission control
+    @Query("SELECT c.customerType FROM Customer c WHERE c.id = :id")
+    Optional<CustomerType> findCustomerTypeById(@Param("id") Long id);
 }
 
@@ -0,0 +1,9 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.DemandRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DemandRateRepository extends JpaRepository<DemandRate, String> {
+}
@@ -2,11 +2,18 @@ package com.fuel.nexus.repository;
 
 import com.fuel.nexus.entity.FuelInventory;
 import com.fuel.nexus.utility.FuelType;
-import jakarta.validation.constraints.NotBlank;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.ScopedValue;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FuelInventoryRepository extends JpaRepository<FuelInventory, Long> {
@@ -15,6 +22,50 @@ public interface FuelInventoryRepository extends JpaRepository<FuelInventory, Lo
 
     boolean existsByBatchNumber(String batchNumber);
 
-    <T> ScopedValue<T> findByFuelType(@NotBlank(message = "Type  cannot be blank") FuelType fuelType);
-}
+    // Lightweight stock projection used to (re)build the in-memory reservation ledger
+    interface StockLevelView {
+        Long getId();
+
+        FuelType getFuelType();
+
+        Double getAvailableQuantity();
+
+        Double getReservedQuantity();
+    }
+
+    @Query("SELECT f.id AS id, f.fuelType AS fuelType, f.availableQuantity AS availableQuantity, " +
+            "f.reservedQuantity AS reservedQuantity FROM FuelInventory f")
+    List<StockLevelView> findAllStockLevels();
+
+    @Query("SELECT f.id FROM FuelInventory f")
+    List<Long> findAllIds();
 
+    // Depot (fuel type + storage location) of every row, used to attribute demand per depot
+    interface DepotKeyView {
+        Long getId();
+
+        FuelType getFuelType();
+
+        String getStorageLocation();
+    }
+
+    @Query("SELECT f.id AS id, f.fuelType AS fuelType, f.storageLocation AS storageLocation FROM FuelInventory f")
+    List<DepotKeyView> findAllDepotKeys();
+
+    // Row-level write lock (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FuelInventory f WHERE f.id = :id")
+    Optional<FuelInventory> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Atomic stock increment, evaluated by the database instead of a Java read-modify-write.
+     *
+     * @return number of rows updated (0 when the row does not exist)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FuelInventory f SET f.availableQuantity = f.availableQuantity + :quantity, f.lastUpdated = :now, " +
+            "f.version = f.version + 1 " +
+            "WHERE f.id = :id")
+    int addStock(@Param("id") Long id, @Param("quantity") Double quantity, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,17 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.FuelStockAggregate;
+import com.fuel.nexus.utility.FuelType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FuelStockAggregateRepository extends JpaRepository<FuelStockAggregate, Long> {
+
+    List<FuelStockAggregate> findByFuelType(FuelType fuelType);
+
+    Optional<FuelStockAggregate> findByFuelTypeAndStorageLocation(FuelType fuelType, String storageLocation);
+}
@@ -0,0 +1,52 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.InventoryMovement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+
+    // Newest movement older than the given time; scans the primary key backwards
+    Optional<InventoryMovement> findFirstByOccurredAtBeforeOrderByIdDesc(LocalDateTime before);
+
+    Page<InventoryMovement> findByInventoryIdAndOccurredAtBetween(Long inventoryId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    // Net change after a snapshot, bounded by time (uses idx_movement_inventory_id)
+    @Query("SELECT COALESCE(SUM(m.quantityDelta), 0) FROM InventoryMovement m " +
+            "WHERE m.inventoryId = :inventoryId AND m.id > :afterId AND m.occurredAt <= :at")
+    Double sumAfter(@Param("inventoryId") Long inventoryId, @Param("afterId") Long afterId, @Param("at") LocalDateTime at);
+
+    // Net change after a snapshot, bounded by movement id
+    @Query("SELECT COALESCE(SUM(m.quantityDelta), 0) FROM InventoryMovement m " +
+            "WHERE m.inventoryId = :inventoryId AND m.id > :afterId AND m.id <= :upTo")
+    Double sumBetweenIds(@Param("inventoryId") Long inventoryId, @Param("afterId") Long afterId, @Param("upTo") Long upTo);
+
+    @Query("SELECT COALESCE(MAX(m.id), 0) FROM InventoryMovement m WHERE m.inventoryId = :inventoryId AND m.id <= :upTo")
+    Long findMaxIdUpTo(@Param("inventoryId") Long inventoryId, @Param("upTo") Long upTo);
+
+    // Net change, last movement id and latest time per inventory over a global id range
+    interface MovementTotalView {
+        Long getInventoryId();
+
+        Double getTotal();
+
+        Long getLastMovementId();
+
+        LocalDateTime getLatest();
+    }
+
+    // One primary key range scan for all inventories that moved in the range
+    @Query("SELECT m.inventoryId AS inventoryId, SUM(m.quantityDelta) AS total, MAX(m.id) AS lastMovementId, " +
+            "MAX(m.occurredAt) AS latest FROM InventoryMovement m WHERE m.id > :afterId AND m.id <= :upTo " +
+            "GROUP BY m.inventoryId")
+    List<MovementTotalView> sumByInventoryBetween(@Param("afterId") Long afterId, @Param("upTo") Long upTo);
+}
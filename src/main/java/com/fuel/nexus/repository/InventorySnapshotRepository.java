@@ -0,0 +1,33 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    Optional<InventorySnapshot> findFirstByInventoryIdOrderByIdDesc(Long inventoryId);
+
+    Optional<InventorySnapshot> findFirstByInventoryIdAndAsOfLessThanEqualOrderByAsOfDescIdDesc(Long inventoryId, LocalDateTime at);
+
+    // Latest snapshot of each of the given inventory rows
+    @Query("SELECT s FROM InventorySnapshot s WHERE s.inventoryId IN :inventoryIds AND s.id = " +
+            "(SELECT MAX(l.id) FROM InventorySnapshot l WHERE l.inventoryId = s.inventoryId)")
+    List<InventorySnapshot> findLatestByInventoryIdIn(@Param("inventoryIds") Collection<Long> inventoryIds);
+
+    @Query("SELECT COALESCE(MAX(s.coveredUpTo), 0) FROM InventorySnapshot s")
+    Long findHighWaterMark();
+
+    // Inventory rows that have never been snapshotted
+    @Query("SELECT f.id FROM FuelInventory f WHERE NOT EXISTS " +
+            "(SELECT 1 FROM InventorySnapshot s WHERE s.inventoryId = f.id)")
+    List<Long> findInventoryIdsWithoutSnapshot();
+}
@@ -0,0 +1,19 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.ProductPrice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductPriceRepository extends JpaRepository<ProductPrice, Long> {
+
+    List<ProductPrice> findByProductIdOrderByEffectiveFromAsc(Long productId);
+
+    List<ProductPrice> findAllByOrderByProductIdAscEffectiveFromAsc();
+
+    Optional<ProductPrice> findByProductIdAndEffectiveFrom(Long productId, LocalDateTime effectiveFrom);
+}
@@ -2,8 +2,13 @@ package com.fuel.nexus.repository;
 
 import com.fuel.nexus.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +19,13 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     boolean existsByManufacturerEmail(String manufacturerEmail);
 
     Optional<Product> findByName(String name);
+
+    /**
+     * Mark a product as changed without a version bump, for changes to its stock that leave
+     * no other trace (such as a deleted inventory batch), so incremental reconciliation sees it
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.lastModified = :now WHERE p.id = :id")
+    int markModified(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,13 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.StockHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockHoldRepository extends JpaRepository<StockHold, Long> {
+
+    List<StockHold> findByBookingId(Long bookingId);
+}
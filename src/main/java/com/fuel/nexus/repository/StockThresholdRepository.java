@@ -0,0 +1,16 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.StockThreshold;
+import com.fuel.nexus.utility.FuelType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockThresholdRepository extends JpaRepository<StockThreshold, Long> {
+
+    Optional<StockThreshold> findByInventoryId(Long inventoryId);
+
+    Optional<StockThreshold> findByFuelType(FuelType fuelType);
+}
@@ -0,0 +1,13 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.StockTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockTransferRepository extends JpaRepository<StockTransfer, Long> {
+
+    Optional<StockTransfer> findByTransferId(String transferId);
+}
@@ -0,0 +1,19 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.SubscriptionRunPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SubscriptionRunPartitionRepository extends JpaRepository<SubscriptionRunPartition, Long> {
+
+    // Runs that still have partitions to finish, oldest first
+    @Query("SELECT DISTINCT p.runDate FROM SubscriptionRunPartition p " +
+            "WHERE p.completed = false AND p.runDate >= :since ORDER BY p.runDate")
+    List<LocalDate> findIncompleteRunDates(@Param("since") LocalDate since);
+}
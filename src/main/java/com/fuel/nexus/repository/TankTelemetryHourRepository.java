@@ -0,0 +1,14 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.TankTelemetryHour;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TankTelemetryHourRepository extends JpaRepository<TankTelemetryHour, Long> {
+
+    List<TankTelemetryHour> findByInventoryIdAndBucketStartBetweenOrderByBucketStartAsc(Long inventoryId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,14 @@
+package com.fuel.nexus.repository;
+
+import com.fuel.nexus.entity.TankTelemetryMinute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TankTelemetryMinuteRepository extends JpaRepository<TankTelemetryMinute, Long> {
+
+    List<TankTelemetryMinute> findByInventoryIdAndBucketStartBetweenOrderByBucketStartAsc(Long inventoryId, LocalDateTime from, LocalDateTime to);
+}
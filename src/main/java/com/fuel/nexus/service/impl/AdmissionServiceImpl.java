@@ -0,0 +1,190 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.exception.exceptions.CustomerNotFoundException;
+import com.fuel.nexus.exception.exceptions.TooManyRequestsException;
+import com.fuel.nexus.repository.CustomerRepository;
+import com.fuel.nexus.service.services.AdmissionService;
+import com.fuel.nexus.utility.CustomerType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-customer token buckets for booking requests, sized by CustomerType.
+ * <p>
+ * Buckets use the generic cell rate algorithm: a bucket is a single long, the time at
+ * which it will be full again. A request is admitted when that time is at most
+ * {@code (burst - 1)} emission intervals ahead of now, and pushes it one interval
+ * further. This is exactly a token bucket with {@code burst} tokens refilled at the
+ * configured rate, with no refill bookkeeping. Locally a bucket is one AtomicLong updated
+ * by compare-and-set; buckets that are full again are swept out periodically.
+ * <p>
+ * In shared mode the same long lives in Redis and is updated by a Lua script using the
+ * Redis clock, so all nodes draw from one bucket per customer. If Redis is unreachable
+ * the local bucket is used, which at worst admits one bucket's worth per node.
+ */
+@Slf4j
+@Service
+@Tag(name = "Admission Service", description = "Service implementation for per-customer booking rate limits")
+public class AdmissionServiceImpl implements AdmissionService {
+
+    private static final String KEY_PREFIX = "fuelnexus:admission:";
+
+    // Returns 0 when admitted, otherwise the milliseconds until a token is available
+    private static final DefaultRedisScript<Long> GCRA_SCRIPT = new DefaultRedisScript<>(
+            "local interval = tonumber(ARGV[1]) " +
+                    "local tolerance = tonumber(ARGV[2]) " +
+                    "local time = redis.call('TIME') " +
+                    "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+                    "local tat = tonumber(redis.call('GET', KEYS[1]) or now) " +
+                    "if tat < now then tat = now end " +
+                    "if tat - now > tolerance then return tat - now - tolerance end " +
+                    "redis.call('SET', KEYS[1], tat + interval, 'PX', tat + interval - now) " +
+                    "return 0",
+            Long.class);
+
+    private final CustomerRepository customerRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean shared;
+    private final Map<CustomerType, Long> intervalMs = new EnumMap<>(CustomerType.class);
+    private final Map<CustomerType, Long> toleranceMs = new EnumMap<>(CustomerType.class);
+    private final Map<CustomerType, Counter> admitted = new EnumMap<>(CustomerType.class);
+    private final Map<CustomerType, Counter> rejected = new EnumMap<>(CustomerType.class);
+
+    // Theoretical arrival time per customer, in epoch millis
+    private final Map<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    // Customer types change rarely; least recently used first, guarded by itself
+    private final LinkedHashMap<Long, CustomerType> customerTypes;
+
+    public AdmissionServiceImpl(CustomerRepository customerRepository,
+                                StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${fuelnexus.admission.mode:local}") String mode,
+                                @Value("${fuelnexus.admission.rate-per-minute.domestic:6}") double domesticRate,
+                                @Value("${fuelnexus.admission.rate-per-minute.commercial:30}") double commercialRate,
+                                @Value("${fuelnexus.admission.rate-per-minute.industrial:60}") double industrialRate,
+                                @Value("${fuelnexus.admission.burst.domestic:3}") int domesticBurst,
+                                @Value("${fuelnexus.admission.burst.commercial:10}") int commercialBurst,
+                                @Value("${fuelnexus.admission.burst.industrial:20}") int industrialBurst,
+                                @Value("${fuelnexus.admission.customer-cache-size:100000}") int customerCacheSize) {
+        this.customerRepository = customerRepository;
+        this.redisTemplate = redisTemplate;
+        this.shared = "redis".equalsIgnoreCase(mode);
+        configure(CustomerType.DOMESTIC, domesticRate, domesticBurst);
+        configure(CustomerType.COMMERCIAL, commercialRate, commercialBurst);
+        configure(CustomerType.INDUSTRIAL, industrialRate, industrialBurst);
+        this.customerTypes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CustomerType> eldest) {
+                return size() > customerCacheSize;
+            }
+        };
+        for (CustomerType type : CustomerType.values()) {
+            String tier = type.name().toLowerCase();
+            admitted.put(type, Counter.builder("fuelnexus.admission.requests")
+                    .description("Booking requests checked against the customer's token bucket")
+                    .tags("tier", tier, "outcome", "admitted").register(meterRegistry));
+            rejected.put(type, Counter.builder("fuelnexus.admission.requests")
+                    .description("Booking requests checked against the customer's token bucket")
+                    .tags("tier", tier, "outcome", "rejected").register(meterRegistry));
+        }
+        log.info("Booking admission control in {} mode", shared ? "shared (Redis)" : "local");
+    }
+
+    private void configure(CustomerType type, double ratePerMinute, int burst) {
+        if (ratePerMinute <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst for " + type + " must be positive");
+        }
+        long interval = Math.max(1, Math.round(60_000 / ratePerMinute));
+        intervalMs.put(type, interval);
+        toleranceMs.put(type, interval * (burst - 1));
+    }
+
+    @Override
+    @Operation(summary = "Admit Booking", description = "Apply the customer's per-tier token bucket to one booking request")
+    public CustomerType admit(Long customerId) {
+        CustomerType type = customerTypeOf(customerId);
+        long interval = intervalMs.get(type);
+        long tolerance = toleranceMs.get(type);
+
+        long waitMs = shared ? sharedWait(customerId, interval, tolerance) : localWait(customerId, interval, tolerance);
+        if (waitMs > 0) {
+            rejected.get(type).increment();
+            throw new TooManyRequestsException("Booking rate limit reached for customer ID: " + customerId,
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitMs + 999)));
+        }
+        admitted.get(type).increment();
+        return type;
+    }
+
+    // ------------------------------------------------------------------------
+    // Buckets
+    // ------------------------------------------------------------------------
+    private long localWait(Long customerId, long interval, long tolerance) {
+        AtomicLong bucket = buckets.computeIfAbsent(customerId, id -> new AtomicLong());
+        while (true) {
+            long now = System.currentTimeMillis();
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            if (start - now > tolerance) {
+                return start - now - tolerance;
+            }
+            if (bucket.compareAndSet(tat, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    private long sharedWait(Long customerId, long interval, long tolerance) {
+        try {
+            Long wait = redisTemplate.execute(GCRA_SCRIPT, List.of(KEY_PREFIX + customerId),
+                    String.valueOf(interval), String.valueOf(tolerance));
+            return wait != null ? wait : 0;
+        } catch (DataAccessException e) {
+            log.warn("Shared admission state unavailable, using the local bucket for customer ID={}: {}",
+                    customerId, e.getMessage());
+            return localWait(customerId, interval, tolerance);
+        }
+    }
+
+    /**
+     * Drop local buckets that are full again; they are equivalent to a new bucket
+     */
+    @Scheduled(fixedDelayString = "${fuelnexus.admission.sweep-interval-ms:300000}")
+    public void sweepIdleBuckets() {
+        long now = System.currentTimeMillis();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() <= now);
+    }
+
+    private CustomerType customerTypeOf(Long customerId) {
+        synchronized (customerTypes) {
+            CustomerType type = customerTypes.get(customerId);
+            if (type != null) {
+                return type;
+            }
+        }
+        CustomerType type = customerRepository.findCustomerTypeById(customerId)
+                .orElseThrow(() -> new CustomerNotFoundException(customerId));
+        synchronized (customerTypes) {
+            customerTypes.put(customerId, type);
+        }
+        return type;
+    }
+}
@@ -1,9 +1,14 @@
 package com.fuel.nexus.service.impl;
 
 import com.fuel.nexus.entity.Billing;
+import com.fuel.nexus.entity.Delivery;
 import com.fuel.nexus.exception.exceptions.BillingNotFoundException;
+import com.fuel.nexus.exception.exceptions.DeliveryNotFoundException;
+import com.fuel.nexus.exception.exceptions.FuelNexusRuntimeException;
 import com.fuel.nexus.repository.BillingRepository;
+import com.fuel.nexus.repository.DeliveryRepository;
 import com.fuel.nexus.service.services.BillingService;
+import com.fuel.nexus.service.services.PricingService;
 import com.fuel.nexus.utility.BillingStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,6 +32,8 @@ import java.util.Optional;
 public class BillingServiceImpl implements BillingService {
 
     private final BillingRepository billingRepository;
+    private final DeliveryRepository deliveryRepository;
+    private final PricingService pricingService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     private static final String BILLING_TOPIC = "billing-events";
@@ -36,6 +43,21 @@ public class BillingServiceImpl implements BillingService {
     @Operation(summary = "Create billing", description = "Creates and stores a new billing record, then publishes event to Kafka")
     public Billing createBilling(Billing billing) {
         log.info("Creating new billing record for customer: {}", billing.getCustomerEmail());
+        // The amount is derived from the delivered booking rather than trusted from the client,
+        // so a billing must point at a delivery whose booking can be priced
+        if (billing.getDeliveryId() == null) {
+            throw new FuelNexusRuntimeException("Delivery ID is required to create a billing");
+        }
+        Long bookingId = deliveryRepository.findById(billing.getDeliveryId())
+                .map(Delivery::getBookingId)
+                .orElseThrow(() -> new DeliveryNotFoundException(
+                        "No delivery with a booking found with ID: " + billing.getDeliveryId()));
+        Double amount = pricingService.priceBooking(bookingId).getAmount();
+        if (billing.getAmount() != null && !billing.getAmount().equals(amount)) {
+            log.warn("Billing amount {} for delivery ID={} replaced by priced amount {}",
+                    billing.getAmount(), billing.getDeliveryId(), amount);
+        }
+        billing.setAmount(amount);
         Billing savedBilling = billingRepository.save(billing);
         kafkaTemplate.send(BILLING_TOPIC, "BillingCreated", savedBilling);
         log.debug("Billing event published to Kafka for ID: {}", savedBilling.getId());
@@ -0,0 +1,308 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.BookingIntakeDTO;
+import com.fuel.nexus.dto.BookingRequestDTO;
+import com.fuel.nexus.dto.BulkBookingResultDTO;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.exception.exceptions.FuelNexusRuntimeException;
+import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.exception.exceptions.TooManyRequestsException;
+import com.fuel.nexus.service.services.AdmissionService;
+import com.fuel.nexus.service.services.BookingIntakeService;
+import com.fuel.nexus.service.services.BookingService;
+import com.fuel.nexus.utility.CustomerType;
+import com.fuel.nexus.utility.IntakeStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous booking intake for load bursts.
+ * <p>
+ * A submitted booking is validated against the in-memory catalog, admitted by the
+ * customer's token bucket, put on a bounded queue and acknowledged with a tracking id.
+ * Pending bookings are queued per CustomerType and served by weighted fair queuing, so a
+ * burst from one tier cannot starve the others. A small fixed pool of workers drains the queue in batches through the bulk
+ * booking path, so at most one connection per worker is taken however many requests are
+ * waiting. A full tier queue rejects new bookings with 429 instead of letting requests pile up
+ * on the connection pool. If a batch fails, its bookings are retried one by one so one
+ * bad row does not fail the others.
+ * <p>
+ * Tracking state is kept on the node that accepted the booking, in a bounded LRU map.
+ * <p>
+ * The queue is not persisted: acceptance is at most once. On a graceful stop the workers
+ * get shutdown-timeout-ms to empty it; bookings still queued after that, or when the node
+ * crashes, are dropped together with their tracking ids. Callers resubmit bookings whose
+ * tracking id is unknown or FAILED; the synchronous booking endpoint is the durable path.
+ */
+@Slf4j
+@Service
+@Tag(name = "Booking Intake Service", description = "Service implementation for queued asynchronous booking intake")
+public class BookingIntakeServiceImpl implements BookingIntakeService {
+
+    private final BookingService bookingService;
+    private final ProductCatalog productCatalog;
+    private final AdmissionService admissionService;
+    private final DuplicateBookingDetector duplicateDetector;
+    private final WeightedFairQueue<Intake> queue;
+    private final int workers;
+    private final int batchSize;
+    private final long retryAfterSeconds;
+    private final long shutdownTimeoutMs;
+
+    private final Map<CustomerType, Timer> waitTimers = new EnumMap<>(CustomerType.class);
+    private final DistributionSummary batchSizes;
+    private final Map<CustomerType, Counter> accepted = new EnumMap<>(CustomerType.class);
+    private final Map<CustomerType, Counter> rejected = new EnumMap<>(CustomerType.class);
+    private final Map<CustomerType, Counter> created = new EnumMap<>(CustomerType.class);
+    private final Map<CustomerType, Counter> failed = new EnumMap<>(CustomerType.class);
+
+    // Latest state per tracking id, least recently used first; guarded by itself
+    private final LinkedHashMap<String, BookingIntakeDTO> tracking;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    // seenAt is the duplicate detector's record of the request, dropped again when it fails
+    private record Intake(String trackingId, BookingRequestDTO request, CustomerType tier, long enqueuedAt, long seenAt) {
+    }
+
+    public BookingIntakeServiceImpl(BookingService bookingService,
+                                    ProductCatalog productCatalog,
+                                    AdmissionService admissionService,
+                                    DuplicateBookingDetector duplicateDetector,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${fuelnexus.intake.queue-capacity:5000}") int queueCapacity,
+                                    @Value("${fuelnexus.intake.tier-weights.domestic:4}") int domesticWeight,
+                                    @Value("${fuelnexus.intake.tier-weights.commercial:2}") int commercialWeight,
+                                    @Value("${fuelnexus.intake.tier-weights.industrial:1}") int industrialWeight,
+                                    @Value("${fuelnexus.intake.workers:2}") int workers,
+                                    @Value("${fuelnexus.intake.batch-size:50}") int batchSize,
+                                    @Value("${fuelnexus.intake.retry-after-seconds:5}") long retryAfterSeconds,
+                                    @Value("${fuelnexus.intake.tracking-size:100000}") int trackingSize,
+                                    @Value("${fuelnexus.intake.shutdown-timeout-ms:30000}") long shutdownTimeoutMs) {
+        this.bookingService = bookingService;
+        this.productCatalog = productCatalog;
+        this.admissionService = admissionService;
+        this.duplicateDetector = duplicateDetector;
+        int[] weights = new int[CustomerType.values().length];
+        weights[CustomerType.DOMESTIC.ordinal()] = domesticWeight;
+        weights[CustomerType.COMMERCIAL.ordinal()] = commercialWeight;
+        weights[CustomerType.INDUSTRIAL.ordinal()] = industrialWeight;
+        int[] capacities = new int[weights.length];
+        Arrays.fill(capacities, queueCapacity);
+        this.queue = new WeightedFairQueue<>(weights, capacities);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.tracking = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BookingIntakeDTO> eldest) {
+                return size() > trackingSize;
+            }
+        };
+
+        for (CustomerType type : CustomerType.values()) {
+            String tier = type.name().toLowerCase();
+            Gauge.builder("fuelnexus.intake.queue.depth", queue, q -> q.size(type.ordinal()))
+                    .description("Bookings waiting in the intake queue").tag("tier", tier).register(meterRegistry);
+            waitTimers.put(type, Timer.builder("fuelnexus.intake.wait")
+                    .description("Time a booking waited in the intake queue").tag("tier", tier).register(meterRegistry));
+            accepted.put(type, outcome(meterRegistry, tier, "accepted"));
+            rejected.put(type, outcome(meterRegistry, tier, "rejected"));
+            created.put(type, outcome(meterRegistry, tier, "created"));
+            failed.put(type, outcome(meterRegistry, tier, "failed"));
+        }
+        this.batchSizes = DistributionSummary.builder("fuelnexus.intake.batch")
+                .description("Bookings written per intake batch").register(meterRegistry);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String tier, String outcome) {
+        return Counter.builder("fuelnexus.intake.requests")
+                .description("Bookings submitted through the intake queue, by tier and outcome")
+                .tags("tier", tier, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // ------------------------------------------------------------------------
+    // Submit and track
+    // ------------------------------------------------------------------------
+    @Override
+    @Operation(summary = "Submit Booking", description = "Enqueue a booking for asynchronous creation and return its tracking id")
+    public BookingIntakeDTO submit(BookingRequestDTO request) {
+        Product product = productCatalog.findById(request.getProductId())
+                .orElseThrow(() -> new FuelNexusRuntimeException("Product not found with ID: " + request.getProductId()));
+        if (request.getFuelType() != null && product.getFuelType() != null && request.getFuelType() != product.getFuelType()) {
+            throw new FuelNexusRuntimeException("Fuel type " + request.getFuelType() + " does not match product ID: " + product.getId());
+        }
+        CustomerType tier = admissionService.admit(request.getCustomerId());
+        long seenAt = duplicateDetector.check(request.getCustomerId(), request.getProductId(), request.getQuantity());
+
+        String trackingId = UUID.randomUUID().toString();
+        BookingIntakeDTO ticket = BookingIntakeDTO.builder()
+                .trackingId(trackingId)
+                .status(IntakeStatus.QUEUED)
+                .acceptedAt(LocalDateTime.now())
+                .queueDepth(queue.size(tier.ordinal()))
+                .build();
+        // Tracked before it is queued, so a fast worker never updates an unknown id
+        track(ticket.toBuilder().build());
+        if (!running || !queue.offer(tier.ordinal(), new Intake(trackingId, request, tier, System.nanoTime(), seenAt))) {
+            synchronized (tracking) {
+                tracking.remove(trackingId);
+            }
+            duplicateDetector.forget(request.getCustomerId(), request.getProductId(), request.getQuantity(), seenAt);
+            rejected.get(tier).increment();
+            throw new TooManyRequestsException("Booking intake queue for " + tier + " customers is full, retry later", retryAfterSeconds);
+        }
+        accepted.get(tier).increment();
+        return ticket;
+    }
+
+    @Override
+    @Operation(summary = "Get Intake Status", description = "Look up a queued booking by tracking id")
+    public BookingIntakeDTO getStatus(String trackingId) {
+        synchronized (tracking) {
+            BookingIntakeDTO ticket = tracking.get(trackingId);
+            if (ticket == null) {
+                throw new ResourceNotFoundException("No queued booking with tracking ID: " + trackingId);
+            }
+            return ticket.toBuilder().build();
+        }
+    }
+
+    private void track(BookingIntakeDTO ticket) {
+        synchronized (tracking) {
+            tracking.put(ticket.getTrackingId(), ticket);
+        }
+    }
+
+    private void update(String trackingId, IntakeStatus status, Long bookingId, String message) {
+        synchronized (tracking) {
+            BookingIntakeDTO ticket = tracking.get(trackingId);
+            if (ticket != null) {
+                ticket.setStatus(status);
+                ticket.setBookingId(bookingId);
+                ticket.setMessage(message);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Workers
+    // ------------------------------------------------------------------------
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "booking-intake-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::drain);
+        }
+        log.info("Booking intake started with {} workers", workers);
+    }
+
+    /**
+     * Stop accepting bookings and let the workers empty the queue
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+            log.warn("Booking intake stopped with {} bookings still queued", queue.size());
+            executor.shutdownNow();
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            List<Intake> batch = new ArrayList<>(batchSize);
+            try {
+                if (queue.drainTo(batch, batchSize, 200, TimeUnit.MILLISECONDS) == 0) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                // Never let one batch take a worker down
+                log.error("Booking intake batch of {} failed: {}", batch.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void write(List<Intake> batch) {
+        long now = System.nanoTime();
+        for (Intake intake : batch) {
+            waitTimers.get(intake.tier()).record(now - intake.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        batchSizes.record(batch.size());
+
+        try {
+            BulkBookingResultDTO result = bookingService.createBookings(batch.stream().map(Intake::request).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                update(batch.get(i).trackingId(), IntakeStatus.CREATED, result.getBookingIds().get(i), null);
+                created.get(batch.get(i).tier()).increment();
+            }
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            log.warn("Booking intake batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+        }
+
+        // The bulk path is all or nothing: isolate the failing bookings
+        for (Intake intake : batch) {
+            try {
+                BulkBookingResultDTO result = bookingService.createBookings(List.of(intake.request()));
+                update(intake.trackingId(), IntakeStatus.CREATED, result.getBookingIds().get(0), null);
+                created.get(intake.tier()).increment();
+            } catch (RuntimeException e) {
+                fail(intake, e);
+            }
+        }
+    }
+
+    private void fail(Intake intake, RuntimeException e) {
+        String message = e.getMessage() != null ? e.getMessage().replaceFirst("^Row 0: ", "") : e.getClass().getSimpleName();
+        update(intake.trackingId(), IntakeStatus.FAILED, null, message);
+        // Written outside the submitting request's transaction, so no rollback hook forgets it
+        BookingRequestDTO request = intake.request();
+        duplicateDetector.forget(request.getCustomerId(), request.getProductId(), request.getQuantity(), intake.seenAt());
+        failed.get(intake.tier()).increment();
+        log.info("Queued booking {} failed: {}", intake.trackingId(), message);
+    }
+}
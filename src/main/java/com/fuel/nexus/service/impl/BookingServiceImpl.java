@@ -1,36 +1,123 @@
 package com.fuel.nexus.service.impl;
 
+import com.fuel.nexus.dto.BookingRequestDTO;
+import com.fuel.nexus.dto.BookingSearchCriteria;
+import com.fuel.nexus.dto.BulkBookingResultDTO;
+import com.fuel.nexus.dto.BulkStatusTransitionRequestDTO;
+import com.fuel.nexus.dto.BulkStatusTransitionResultDTO;
 import com.fuel.nexus.entity.Booking;
-import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.BookingAllocation;
+import com.fuel.nexus.entity.Customer;
+import com.fuel.nexus.entity.Product;
 import com.fuel.nexus.exception.exceptions.BookingNotFoundException;
+import com.fuel.nexus.exception.exceptions.FuelNexusRuntimeException;
+import com.fuel.nexus.exception.exceptions.InvalidStatusTransitionException;
+import com.fuel.nexus.repository.BookingAllocationRepository;
 import com.fuel.nexus.repository.BookingRepository;
-import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.CustomerRepository;
 import com.fuel.nexus.service.services.BookingService;
 import com.fuel.nexus.utility.BookingStatus;
+import com.fuel.nexus.utility.FuelType;
+import com.fuel.nexus.utility.OptimisticRetryExecutor;
+import com.fuel.nexus.utility.TransactionCallbacks;
+import com.fuel.nexus.utility.TransitionOutcome;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @Tag(name = "Booking & Order Management Service", description = "Implementation of booking management, order handling, and inventory updates")
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
-    private final FuelInventoryRepository inventoryRepository;
+    private final BookingAllocationRepository allocationRepository;
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final FifoBatchAllocator batchAllocator;
+    private final CustomerRepository customerRepository;
+    private final ProductCatalog productCatalog;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final StockHoldManager stockHoldManager;
+    private final DuplicateBookingDetector duplicateDetector;
+    private final CacheManager cacheManager;
+    private final int bulkMaxSize;
+    private final int bulkBatchSize;
+    private final int searchDefaultSize;
+    private final int searchMaxSize;
+    private final int transitionMaxSize;
+    private final int transitionChunkSize;
 
     private static final String TOPIC_BOOKING = "booking-events";
 
+    // Status column holds the BookingStatus ordinal
+    private static final String LOCK_STATUSES_SQL = "SELECT id, status FROM bookings WHERE id IN (%s) ORDER BY id FOR UPDATE";
+
+    public BookingServiceImpl(BookingRepository bookingRepository,
+                              BookingAllocationRepository allocationRepository,
+                              KafkaTemplate<String, String> kafkaTemplate,
+                              OptimisticRetryExecutor retryExecutor,
+                              FifoBatchAllocator batchAllocator,
+                              CustomerRepository customerRepository,
+                              ProductCatalog productCatalog,
+                              EntityManager entityManager,
+                              JdbcTemplate jdbcTemplate,
+                              StockHoldManager stockHoldManager,
+                              DuplicateBookingDetector duplicateDetector,
+                              CacheManager cacheManager,
+                              @Value("${fuelnexus.booking.bulk.max-size:1000}") int bulkMaxSize,
+                              @Value("${fuelnexus.booking.bulk.batch-size:50}") int bulkBatchSize,
+                              @Value("${fuelnexus.booking.search.default-size:20}") int searchDefaultSize,
+                              @Value("${fuelnexus.booking.search.max-size:100}") int searchMaxSize,
+                              @Value("${fuelnexus.booking.transition.max-size:50000}") int transitionMaxSize,
+                              @Value("${fuelnexus.booking.transition.chunk-size:1000}") int transitionChunkSize) {
+        this.bookingRepository = bookingRepository;
+        this.allocationRepository = allocationRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.retryExecutor = retryExecutor;
+        this.batchAllocator = batchAllocator;
+        this.customerRepository = customerRepository;
+        this.productCatalog = productCatalog;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.stockHoldManager = stockHoldManager;
+        this.duplicateDetector = duplicateDetector;
+        this.cacheManager = cacheManager;
+        this.bulkMaxSize = bulkMaxSize;
+        this.bulkBatchSize = bulkBatchSize;
+        this.searchDefaultSize = searchDefaultSize;
+        this.searchMaxSize = searchMaxSize;
+        this.transitionMaxSize = transitionMaxSize;
+        this.transitionChunkSize = transitionChunkSize;
+    }
+
     // ------------------------------------------------------------------------
     // Create Booking
     // ------------------------------------------------------------------------
@@ -38,13 +125,18 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     @Operation(
             summary = "Create Booking",
-            description = "Creates a new booking for gas cylinders or liquid fuel. Publishes event to Kafka and caches result."
+            description = "Creates a new booking for gas cylinders or liquid fuel and holds its quantity on an inventory batch until delivery, cancellation or expiry. Publishes event to Kafka."
     )
     public Booking createBooking(Booking booking) {
         log.info("Creating new booking for customer: {}", booking.getCustomer());
 
+        // Double taps are caught in memory, before anything is written
+        duplicateDetector.check(booking.getCustomer() != null ? booking.getCustomer().getId() : null,
+                booking.getProduct() != null ? booking.getProduct().getId() : null, booking.getQuantity());
+
         booking.setStatus(BookingStatus.PENDING);
         Booking savedBooking = bookingRepository.save(booking);
+        stockHoldManager.place(List.of(savedBooking));
 
         // Publish event to Kafka
         kafkaTemplate.send(TOPIC_BOOKING, "Booking created with ID: " + savedBooking.getId());
@@ -54,23 +146,118 @@ public class BookingServiceImpl implements BookingService {
     }
 
     // ------------------------------------------------------------------------
-    // Update Booking Status
+    // Create Bookings In Bulk
     // ------------------------------------------------------------------------
     @Override
     @Transactional
+    @Operation(
+            summary = "Create Bookings In Bulk",
+            description = "Creates a batch of bookings in one transaction. Rows are inserted in JDBC batches and one Kafka event is published per batch."
+    )
+    public BulkBookingResultDTO createBookings(List<BookingRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new FuelNexusRuntimeException("Bulk booking request contains no bookings");
+        }
+        if (requests.size() > bulkMaxSize) {
+            throw new FuelNexusRuntimeException("Bulk booking request exceeds " + bulkMaxSize + " bookings");
+        }
+        log.info("Creating {} bookings in bulk", requests.size());
+
+        // Resolve references up front: one query for the customers, products from the in-memory catalog
+        Set<Long> customerIds = new HashSet<>();
+        requests.forEach(request -> customerIds.add(request.getCustomerId()));
+        Set<Long> knownCustomers = new HashSet<>(customerRepository.findExistingIds(customerIds));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>(requests.size());
+        for (int row = 0; row < requests.size(); row++) {
+            BookingRequestDTO request = requests.get(row);
+            if (!knownCustomers.contains(request.getCustomerId())) {
+                throw new FuelNexusRuntimeException("Row " + row + ": customer not found with ID: " + request.getCustomerId());
+            }
+            int current = row;
+            Product product = productCatalog.findById(request.getProductId())
+                    .orElseThrow(() -> new FuelNexusRuntimeException("Row " + current + ": product not found with ID: " + request.getProductId()));
+            FuelType fuelType = request.getFuelType() != null ? request.getFuelType() : product.getFuelType();
+            if (product.getFuelType() != null && fuelType != product.getFuelType()) {
+                throw new FuelNexusRuntimeException("Row " + row + ": fuel type " + fuelType + " does not match product ID: " + product.getId());
+            }
+            // References only; nothing is loaded for the customer or product
+            bookings.add(Booking.builder()
+                    .customer(entityManager.getReference(Customer.class, request.getCustomerId()))
+                    .product(entityManager.getReference(Product.class, request.getProductId()))
+                    .quantity(request.getQuantity())
+                    .bookingDate(now)
+                    .status(BookingStatus.PENDING)
+                    .fuelType(fuelType)
+                    .build());
+        }
+
+        List<Long> bookingIds = new ArrayList<>(bookings.size());
+        int batches = 0;
+        for (int from = 0; from < bookings.size(); from += bulkBatchSize) {
+            List<Booking> batch = bookings.subList(from, Math.min(from + bulkBatchSize, bookings.size()));
+            bookingRepository.saveAll(batch);
+            stockHoldManager.place(batch);
+            // Ids come from the pooled generator, so the flush sends one multi-row insert per batch
+            entityManager.flush();
+            entityManager.clear();
+
+            List<Long> batchIds = batch.stream().map(Booking::getId).toList();
+            bookingIds.addAll(batchIds);
+            batches++;
+            TransactionCallbacks.afterCommit(() -> kafkaTemplate.send(TOPIC_BOOKING, "Bookings created in bulk: " + batchIds));
+        }
+
+        log.info("Created {} bookings in {} batches", bookingIds.size(), batches);
+        return BulkBookingResultDTO.builder()
+                .created(bookingIds.size())
+                .batches(batches)
+                .bookingIds(bookingIds)
+                .build();
+    }
+
+    // ------------------------------------------------------------------------
+    // Update Booking Status
+    // ------------------------------------------------------------------------
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // each retry attempt runs in its own transaction
     @CacheEvict(value = "bookings", key = "#bookingId") // Clear cache on status change
     @Operation(
             summary = "Update Booking Status",
-            description = "Updates the booking status (PENDING, APPROVED, DELIVERED). Publishes event to Kafka."
+            description = "Updates the booking status along the allowed transitions (PENDING -> APPROVED -> DELIVERED, PENDING or APPROVED -> CANCELLED). Retries on concurrent modification. Publishes event to Kafka."
     )
     public Booking updateBookingStatus(Long bookingId, BookingStatus status) {
         log.info("Updating booking status for ID: {} to {}", bookingId, status);
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new BookingNotFoundException("Booking not found with ID: " + bookingId));
+        // Set by the attempt that wins; a booking already in the status is a retry and has no side effects
+        AtomicBoolean changed = new AtomicBoolean();
+        Booking updatedBooking = retryExecutor.execute("Booking", () -> {
+            changed.set(false);
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new BookingNotFoundException("Booking not found with ID: " + bookingId));
+
+            if (booking.getStatus() == status) {
+                return booking;
+            }
+            if (!booking.getStatus().canTransitionTo(status)) {
+                throw new InvalidStatusTransitionException("Booking ID: " + bookingId + " cannot move from "
+                        + booking.getStatus() + " to " + status + "; allowed: " + booking.getStatus().nextStates());
+            }
+            booking.setStatus(status);
+            Booking saved = bookingRepository.saveAndFlush(booking);
+            changed.set(true);
+            return saved;
+        });
 
-        booking.setStatus(status);
-        Booking updatedBooking = bookingRepository.save(booking);
+        if (!changed.get()) {
+            log.info("Booking ID: {} already in status: {}", bookingId, status);
+            return updatedBooking;
+        }
+
+        if (status == BookingStatus.CANCELLED) {
+            stockHoldManager.release(bookingId);
+        }
 
         kafkaTemplate.send(TOPIC_BOOKING, "Booking status updated: " + bookingId + " -> " + status);
         log.info("Booking ID: {} updated to status: {}", bookingId, status);
@@ -78,12 +265,152 @@ public class BookingServiceImpl implements BookingService {
         return updatedBooking;
     }
 
+    // ------------------------------------------------------------------------
+    // Transition Booking Statuses In Bulk
+    // ------------------------------------------------------------------------
+    @Override
+    @Transactional
+    @Operation(
+            summary = "Transition Booking Statuses",
+            description = "Locks the bookings, validates each against the transition table and applies the transition " +
+                    "with one set-based UPDATE per source status and chunk of ids. Returns per-id outcomes and publishes " +
+                    "one aggregated event."
+    )
+    public BulkStatusTransitionResultDTO transitionStatuses(BulkStatusTransitionRequestDTO request) {
+        BookingStatus target = request.getTargetStatus();
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getBookingIds()));
+        if (ids.size() > transitionMaxSize) {
+            throw new FuelNexusRuntimeException("Bulk status transition exceeds " + transitionMaxSize + " bookings");
+        }
+        log.info("Transitioning {} bookings to {}", ids.size(), target);
+
+        // Current status of every booking, read in chunks and locked until commit, so no other writer
+        // moves a row between this read and the UPDATE. Ascending ids keep concurrent bulk calls from
+        // deadlocking on each other.
+        Map<Long, BookingStatus> previous = new HashMap<>(ids.size() * 2);
+        List<Long> lockOrder = ids.stream().sorted().toList();
+        for (int from = 0; from < lockOrder.size(); from += transitionChunkSize) {
+            List<Long> chunk = lockOrder.subList(from, Math.min(from + transitionChunkSize, lockOrder.size()));
+            jdbcTemplate.query(String.format(LOCK_STATUSES_SQL, String.join(", ", Collections.nCopies(chunk.size(), "?"))),
+                    rs -> {
+                        previous.put(rs.getLong(1), BookingStatus.values()[rs.getInt(2)]);
+                    },
+                    chunk.toArray());
+        }
+
+        // Validate against the transition table and group the movable ids by source status
+        Map<Long, TransitionOutcome> outcomes = new HashMap<>(ids.size() * 2);
+        Map<BookingStatus, List<Long>> bySource = new EnumMap<>(BookingStatus.class);
+        for (Long id : ids) {
+            BookingStatus status = previous.get(id);
+            if (status == null) {
+                outcomes.put(id, TransitionOutcome.NOT_FOUND);
+            } else if (status == target) {
+                outcomes.put(id, TransitionOutcome.UNCHANGED);
+            } else if (!status.canTransitionTo(target)) {
+                outcomes.put(id, TransitionOutcome.INVALID_TRANSITION);
+            } else {
+                bySource.computeIfAbsent(status, s -> new ArrayList<>()).add(id);
+            }
+        }
+
+        List<Long> transitioned = new ArrayList<>();
+        // Rows found in the target status after a short UPDATE: this call or another writer moved them
+        List<Long> unconfirmed = new ArrayList<>();
+        for (Map.Entry<BookingStatus, List<Long>> group : bySource.entrySet()) {
+            List<Long> sourceIds = group.getValue();
+            for (int from = 0; from < sourceIds.size(); from += transitionChunkSize) {
+                List<Long> chunk = sourceIds.subList(from, Math.min(from + transitionChunkSize, sourceIds.size()));
+                int updated = bookingRepository.transitionStatus(chunk, group.getKey(), target);
+                if (updated == chunk.size()) {
+                    chunk.forEach(id -> outcomes.put(id, TransitionOutcome.TRANSITIONED));
+                    transitioned.addAll(chunk);
+                    continue;
+                }
+                // Rows left the source status despite the lock (a writer not going through this service).
+                // A row now in the target status cannot be told apart from one this UPDATE moved, so no
+                // row of the chunk is reported as transitioned.
+                log.warn("Bulk transition to {} updated {} of {} bookings in a chunk", target, updated, chunk.size());
+                Map<Long, BookingStatus> after = new HashMap<>(chunk.size() * 2);
+                bookingRepository.findStatusViewsByIdIn(chunk).forEach(view -> after.put(view.getId(), view.getStatus()));
+                for (Long id : chunk) {
+                    outcomes.put(id, TransitionOutcome.CONCURRENTLY_MODIFIED);
+                    if (after.get(id) == target) {
+                        unconfirmed.add(id);
+                    }
+                }
+            }
+        }
+        // The bulk updates bypassed the persistence context
+        entityManager.clear();
+
+        if (target == BookingStatus.CANCELLED) {
+            // Release the holds of every cancelled booking, whichever writer cancelled it
+            transitioned.forEach(stockHoldManager::release);
+            unconfirmed.forEach(stockHoldManager::release);
+        }
+
+        Map<TransitionOutcome, Integer> summary = new EnumMap<>(TransitionOutcome.class);
+        List<BulkStatusTransitionResultDTO.Outcome> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TransitionOutcome outcome = outcomes.get(id);
+            summary.merge(outcome, 1, Integer::sum);
+            results.add(BulkStatusTransitionResultDTO.Outcome.builder()
+                    .bookingId(id)
+                    .previousStatus(previous.get(id))
+                    .outcome(outcome)
+                    .build());
+        }
+
+        if (!transitioned.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> {
+                Cache cache = cacheManager.getCache("bookings");
+                if (cache != null) {
+                    transitioned.forEach(cache::evict);
+                }
+                kafkaTemplate.send(TOPIC_BOOKING, "Booking status updated in bulk: " + transitioned.size()
+                        + " bookings -> " + target + ": " + transitioned);
+            });
+        }
+        log.info("Bulk transition to {} finished: {}", target, summary);
+
+        return BulkStatusTransitionResultDTO.builder()
+                .targetStatus(target)
+                .transitioned(transitioned.size())
+                .summary(summary)
+                .outcomes(results)
+                .build();
+    }
+
     @Override
     public Page<Booking> getAllBookings(Pageable pageable) {
         log.info("Fetching all bookings with pagination, page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
         return bookingRepository.findAll(pageable);
     }
 
+    // ------------------------------------------------------------------------
+    // Search Bookings (Keyset)
+    // ------------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(
+            summary = "Search Bookings",
+            description = "Filter by status, fuel type, customer, product and date range; seeks past the last " +
+                    "(bookingDate, id) seen so every slice costs the same, and runs no count query."
+    )
+    public Slice<Booking> searchBookings(BookingSearchCriteria criteria, Integer size) {
+        if ((criteria.getAfterDate() == null) != (criteria.getAfterId() == null)) {
+            throw new FuelNexusRuntimeException("afterDate and afterId must be given together");
+        }
+        if (criteria.getFrom() != null && criteria.getTo() != null && !criteria.getFrom().isBefore(criteria.getTo())) {
+            throw new FuelNexusRuntimeException("Search range 'from' must be before 'to'");
+        }
+        int limit = size == null ? searchDefaultSize : Math.max(1, Math.min(size, searchMaxSize));
+
+        log.info("Searching bookings {} size={}", criteria, limit);
+        return bookingRepository.search(criteria, limit);
+    }
+
 
     // ------------------------------------------------------------------------
     // Update Inventory on Delivery
@@ -93,30 +420,46 @@ public class BookingServiceImpl implements BookingService {
     @CacheEvict(value = "bookings", key = "#bookingId") // Evict cache on delivery
     @Operation(
             summary = "Update Inventory on Delivery",
-            description = "Automatically updates inventory when a booking is marked as DELIVERED."
+            description = "Automatically updates inventory when a booking is marked as DELIVERED, taking stock from the oldest batches first."
     )
     public void updateInventoryOnDelivery(Long bookingId) {
         log.info("Processing inventory update for delivered booking ID: {}", bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
+        // Locked until commit, so a concurrent delivery of the same booking waits here and then sees the allocations
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with ID: " + bookingId));
 
         if (booking.getStatus() != BookingStatus.DELIVERED) {
             throw new IllegalStateException("Booking must be DELIVERED to update inventory");
         }
 
-        FuelInventory inventory = (FuelInventory) inventoryRepository.findByFuelType(booking.getFuelType())
-                .orElseThrow(() -> new IllegalStateException("No inventory found for fuel type: " + booking.getFuelType()));
-
-        if (inventory.getAvailableQuantity() < booking.getQuantity()) {
-            throw new IllegalStateException("Insufficient inventory for delivery");
+        if (allocationRepository.existsByBookingId(bookingId)) {
+            throw new IllegalStateException("Inventory already updated for booking ID: " + bookingId);
         }
 
-        inventory.setAvailableQuantity(inventory.getAvailableQuantity() - booking.getQuantity());
-        inventoryRepository.save(inventory);
+        // The delivery takes the stock itself, so the booking's hold is dropped rather than kept on top
+        Map<Long, Double> held = stockHoldManager.consume(bookingId);
+
+        // Split across batches oldest first; rows are locked in id order, so concurrent deliveries cannot deadlock
+        List<FifoBatchAllocator.Allocation> allocations =
+                batchAllocator.allocate(bookingId, booking.getFuelType(), booking.getQuantity(), held);
 
         kafkaTemplate.send(TOPIC_BOOKING, "Inventory updated for booking ID: " + bookingId);
-        log.info("Inventory successfully updated for booking ID: {}", bookingId);
+        log.info("Inventory successfully updated for booking ID: {} from {} batches", bookingId, allocations.size());
+    }
+
+    // ------------------------------------------------------------------------
+    // Per-batch allocations of a delivered booking
+    // ------------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(
+            summary = "Get Booking Allocations",
+            description = "List the inventory batches a delivered booking was taken from."
+    )
+    public List<BookingAllocation> getAllocations(Long bookingId) {
+        log.info("Fetching batch allocations for booking ID: {}", bookingId);
+        return allocationRepository.findByBookingIdOrderByInventoryIdAsc(bookingId);
     }
 
     // ------------------------------------------------------------------------
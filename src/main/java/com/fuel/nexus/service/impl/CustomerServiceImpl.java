@@ -6,6 +6,8 @@ import com.fuel.nexus.entity.Customer;
 import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
 import com.fuel.nexus.repository.CustomerRepository;
 import com.fuel.nexus.service.services.CustomerService;
+import com.fuel.nexus.service.services.SearchService;
+import com.fuel.nexus.utility.TransactionCallbacks;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +32,7 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
     private final ModelMapper modelMapper;
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final SearchService searchService;
 
     private static final String CUSTOMER_TOPIC = "customer-topic";
 
@@ -48,6 +51,7 @@ public class CustomerServiceImpl implements CustomerService {
         // Save to DB
         Customer savedCustomer = customerRepository.save(customer);
         log.info("Customer created with id={}", savedCustomer.getId());
+        TransactionCallbacks.afterCommit(() -> searchService.indexCustomer(savedCustomer));
 
         // Kafka notification
         kafkaTemplate.send(CUSTOMER_TOPIC, "New customer created with id: " + savedCustomer.getId());
@@ -77,6 +81,7 @@ public class CustomerServiceImpl implements CustomerService {
 
         Customer updatedCustomer = customerRepository.save(existingCustomer);
         log.info("Customer updated with id={}", updatedCustomer.getId());
+        TransactionCallbacks.afterCommit(() -> searchService.indexCustomer(updatedCustomer));
 
         // Kafka notification
         kafkaTemplate.send(CUSTOMER_TOPIC, "Customer updated with id: " + updatedCustomer.getId());
@@ -130,6 +135,7 @@ public class CustomerServiceImpl implements CustomerService {
 
         customerRepository.delete(customer);
         log.info("Customer deleted with id={}", id);
+        TransactionCallbacks.afterCommit(() -> searchService.removeCustomer(id));
 
         // Kafka notification
         kafkaTemplate.send(CUSTOMER_TOPIC, "Customer deleted with id: " + id);
@@ -0,0 +1,407 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.entity.DemandRate;
+import com.fuel.nexus.entity.FuelStockAggregate;
+import com.fuel.nexus.entity.ReorderSuggestion;
+import com.fuel.nexus.event.InventoryMovementEvent;
+import com.fuel.nexus.kafka.producer.StockAlertProducer;
+import com.fuel.nexus.repository.DemandRateRepository;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.FuelStockAggregateRepository;
+import com.fuel.nexus.repository.ReorderSuggestionRepository;
+import com.fuel.nexus.utility.FuelType;
+import com.fuel.nexus.utility.MovementType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming depletion forecaster and reorder point engine.
+ * <p>
+ * Every committed delivery feeds an exponentially decayed demand sum for its inventory row
+ * and for the row's depot (fuel type + storage location). Bookings are not counted on their
+ * own: every delivered booking already arrives here as its delivery, so adding the booking
+ * too would count the same demand twice. The state per key is three numbers, updated in
+ * O(1) per event; the rate is the decayed sum normalised by the decay window actually
+ * observed, so young keys are not under-estimated. A periodic evaluation projects when each
+ * depot's stock (from the maintained stock aggregates) falls below its low stock level and
+ * raises a reorder suggestion when that is closer than the lead time. A suggestion an
+ * operator closed keeps suppressing new ones for its depot until the depot has recovered
+ * past twice the lead time or a restock arrives.
+ * <p>
+ * Each node only sees the deliveries it committed itself, so it persists the demand it
+ * added since its last flush as an increment that the upsert decays and adds to the stored
+ * sum, then reloads the merged rates of all nodes. Evaluation runs on one node at a time,
+ * the holder of a lease in scheduler_leases.
+ */
+@Slf4j
+@Component
+public class DepletionForecaster {
+
+    private static final double HOUR_MILLIS = 3_600_000d;
+    private static final String DEPOT_PREFIX = "depot:";
+    private static final String INVENTORY_PREFIX = "inventory:";
+
+    private static final String EVALUATE_LEASE = "depletion-forecast";
+
+    // Decays both sums to the later event and adds them; decayed_sum is assigned before
+    // last_event_millis, so it still reads the stored value
+    private static final String MERGE_RATE_SQL =
+            "INSERT INTO demand_rates (rate_key, decayed_sum, first_event_millis, last_event_millis) VALUES (?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE " +
+                    "decayed_sum = decayed_sum * EXP(-(GREATEST(last_event_millis, VALUES(last_event_millis)) - last_event_millis) / ?) " +
+                    "+ VALUES(decayed_sum) * EXP(-(GREATEST(last_event_millis, VALUES(last_event_millis)) - VALUES(last_event_millis)) / ?), " +
+                    "first_event_millis = LEAST(first_event_millis, VALUES(first_event_millis)), " +
+                    "last_event_millis = GREATEST(last_event_millis, VALUES(last_event_millis))";
+
+    // Takes the lease when it is free or expired, renews it when already held; lease_owner is
+    // assigned first, so lease_until only moves for the node that holds the lease afterwards
+    private static final String CLAIM_LEASE_SQL =
+            "INSERT INTO scheduler_leases (name, lease_owner, lease_until) VALUES (?, ?, TIMESTAMPADD(SECOND, ?, NOW())) " +
+                    "ON DUPLICATE KEY UPDATE " +
+                    "lease_owner = IF(lease_owner = VALUES(lease_owner) OR lease_until IS NULL OR lease_until < NOW(), " +
+                    "VALUES(lease_owner), lease_owner), " +
+                    "lease_until = IF(lease_owner = VALUES(lease_owner), VALUES(lease_until), lease_until)";
+
+    private final DemandRateRepository demandRateRepository;
+    private final ReorderSuggestionRepository suggestionRepository;
+    private final FuelInventoryRepository fuelInventoryRepository;
+    private final FuelStockAggregateRepository aggregateRepository;
+    private final LowStockEvaluator lowStockEvaluator;
+    private final StockAlertProducer stockAlertProducer;
+    private final JdbcTemplate jdbcTemplate;
+    private final double timeConstantMillis;
+    private final double leadTimeHours;
+    private final double coverHours;
+    private final long leaseSeconds;
+    private final String nodeId;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final Map<String, Rate> rates = new ConcurrentHashMap<>();
+    private volatile Map<Long, Depot> depotOfRow = new ConcurrentHashMap<>();
+
+    public record Depot(FuelType fuelType, String storageLocation) {
+
+        String key() {
+            return fuelType.name() + "|" + storageLocation;
+        }
+    }
+
+    // Demand added on this node since the last flush, to be merged into the stored rate
+    private record Increment(double decayedSum, long firstMillis, long lastMillis) {
+    }
+
+    // Exponentially decayed demand sum of all nodes as of the last reload plus this node's
+    // later demand, and this node's unflushed part of it; guarded by its own monitor
+    private static final class Rate {
+        double decayedSum;
+        long firstMillis;
+        long lastMillis;
+        double pendingSum;
+        long pendingFirstMillis;
+        long pendingLastMillis;
+
+        synchronized void add(double quantity, long at, double tau) {
+            if (firstMillis == 0) {
+                firstMillis = at;
+                lastMillis = at;
+            }
+            long t = Math.max(at, lastMillis);
+            decayedSum = decayedSum * Math.exp(-(t - lastMillis) / tau) + quantity;
+            lastMillis = t;
+
+            if (pendingFirstMillis == 0) {
+                pendingFirstMillis = at;
+                pendingLastMillis = at;
+            }
+            long p = Math.max(at, pendingLastMillis);
+            pendingSum = pendingSum * Math.exp(-(p - pendingLastMillis) / tau) + quantity;
+            pendingLastMillis = p;
+        }
+
+        synchronized Increment takePending() {
+            if (pendingFirstMillis == 0) {
+                return null;
+            }
+            Increment increment = new Increment(pendingSum, pendingFirstMillis, pendingLastMillis);
+            pendingSum = 0;
+            pendingFirstMillis = 0;
+            pendingLastMillis = 0;
+            return increment;
+        }
+
+        // Put an increment whose flush failed back in front of the demand added since
+        synchronized void restorePending(Increment increment, double tau) {
+            if (pendingFirstMillis == 0) {
+                pendingSum = increment.decayedSum();
+                pendingFirstMillis = increment.firstMillis();
+                pendingLastMillis = increment.lastMillis();
+                return;
+            }
+            long t = Math.max(pendingLastMillis, increment.lastMillis());
+            pendingSum = pendingSum * Math.exp(-(t - pendingLastMillis) / tau)
+                    + increment.decayedSum() * Math.exp(-(t - increment.lastMillis()) / tau);
+            pendingFirstMillis = Math.min(pendingFirstMillis, increment.firstMillis());
+            pendingLastMillis = t;
+        }
+
+        // Replace the merged view with the stored rate plus the demand not flushed yet
+        synchronized void reset(DemandRate stored, double tau) {
+            decayedSum = stored.getDecayedSum();
+            firstMillis = stored.getFirstEventMillis();
+            lastMillis = stored.getLastEventMillis();
+            if (pendingFirstMillis != 0) {
+                long t = Math.max(lastMillis, pendingLastMillis);
+                decayedSum = decayedSum * Math.exp(-(t - lastMillis) / tau)
+                        + pendingSum * Math.exp(-(t - pendingLastMillis) / tau);
+                firstMillis = Math.min(firstMillis, pendingFirstMillis);
+                lastMillis = t;
+            }
+        }
+
+        synchronized double perHour(long now, double tau) {
+            double window = tau * (1 - Math.exp(-Math.max(now - firstMillis, 0) / tau));
+            if (firstMillis == 0 || window <= 0) {
+                return 0.0;
+            }
+            double decayed = decayedSum * Math.exp(-Math.max(now - lastMillis, 0) / tau);
+            return decayed / window * HOUR_MILLIS;
+        }
+    }
+
+    public DepletionForecaster(DemandRateRepository demandRateRepository,
+                               ReorderSuggestionRepository suggestionRepository,
+                               FuelInventoryRepository fuelInventoryRepository,
+                               FuelStockAggregateRepository aggregateRepository,
+                               LowStockEvaluator lowStockEvaluator,
+                               StockAlertProducer stockAlertProducer,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${fuelnexus.forecast.time-constant-hours:72}") double timeConstantHours,
+                               @Value("${fuelnexus.forecast.lead-time-hours:48}") double leadTimeHours,
+                               @Value("${fuelnexus.forecast.cover-hours:168}") double coverHours,
+                               @Value("${fuelnexus.forecast.lease-seconds:900}") long leaseSeconds,
+                               @Value("${fuelnexus.forecast.node-id:${HOSTNAME:local}}") String nodeId) {
+        this.demandRateRepository = demandRateRepository;
+        this.suggestionRepository = suggestionRepository;
+        this.fuelInventoryRepository = fuelInventoryRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.lowStockEvaluator = lowStockEvaluator;
+        this.stockAlertProducer = stockAlertProducer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeConstantMillis = timeConstantHours * HOUR_MILLIS;
+        this.leadTimeHours = leadTimeHours;
+        this.coverHours = coverHours;
+        this.leaseSeconds = leaseSeconds;
+        this.nodeId = nodeId;
+    }
+
+    @PostConstruct
+    public void load() {
+        reloadRates();
+        refreshDepots();
+        log.info("Loaded {} demand rates", rates.size());
+    }
+
+    // ------------------------------------------------------------------------
+    // Streaming input
+    // ------------------------------------------------------------------------
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovement(InventoryMovementEvent event) {
+        if (event.type() == MovementType.RESTOCK) {
+            releaseClosed(depotOf(event.inventoryId()));
+            return;
+        }
+        if (event.type() != MovementType.DELIVERY) {
+            return;
+        }
+        double quantity = -event.quantityDelta();
+        long at = event.occurredAt().atZone(zone).toInstant().toEpochMilli();
+
+        rate(INVENTORY_PREFIX + event.inventoryId()).add(quantity, at, timeConstantMillis);
+        Depot depot = depotOf(event.inventoryId());
+        if (depot != null) {
+            rate(DEPOT_PREFIX + depot.key()).add(quantity, at, timeConstantMillis);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Reads
+    // ------------------------------------------------------------------------
+    public double perHour(Depot depot) {
+        Rate rate = rates.get(DEPOT_PREFIX + depot.key());
+        return rate == null ? 0.0 : rate.perHour(System.currentTimeMillis(), timeConstantMillis);
+    }
+
+    public double perHour(Long inventoryId) {
+        Rate rate = rates.get(INVENTORY_PREFIX + inventoryId);
+        return rate == null ? 0.0 : rate.perHour(System.currentTimeMillis(), timeConstantMillis);
+    }
+
+    public Depot depotOf(Long inventoryId) {
+        Depot depot = depotOfRow.get(inventoryId);
+        if (depot == null) {
+            // Row created after the last refresh; kept until the next refresh replaces the map
+            depot = fuelInventoryRepository.findById(inventoryId)
+                    .map(row -> new Depot(row.getFuelType(), row.getStorageLocation()))
+                    .orElse(null);
+            if (depot != null) {
+                depotOfRow.put(inventoryId, depot);
+            }
+        }
+        return depot;
+    }
+
+    public static Double hoursUntil(double stock, double floor, double perHour) {
+        if (perHour <= 0) {
+            return null;
+        }
+        return Math.max(stock - floor, 0) / perHour;
+    }
+
+    // ------------------------------------------------------------------------
+    // Periodic evaluation
+    // ------------------------------------------------------------------------
+    /**
+     * Merge this node's demand into the stored rates and pick up the other nodes' demand,
+     * then re-read the depot of every row so transferred or relabelled rows feed their new
+     * depot. Runs on every node; evaluation only reads the merged rates.
+     */
+    @Scheduled(fixedDelayString = "${fuelnexus.forecast.flush-interval-ms:60000}",
+            initialDelayString = "${fuelnexus.forecast.flush-interval-ms:60000}")
+    public synchronized void flushRates() {
+        List<Object[]> args = new ArrayList<>();
+        Map<String, Increment> taken = new HashMap<>();
+        rates.forEach((key, rate) -> {
+            Increment increment = rate.takePending();
+            if (increment != null) {
+                taken.put(key, increment);
+                args.add(new Object[]{key, increment.decayedSum(), increment.firstMillis(), increment.lastMillis(),
+                        timeConstantMillis, timeConstantMillis});
+            }
+        });
+        if (!args.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(MERGE_RATE_SQL, args);
+            } catch (RuntimeException e) {
+                taken.forEach((key, increment) -> rates.get(key).restorePending(increment, timeConstantMillis));
+                log.warn("Could not persist {} demand rate increments, kept for the next flush: {}", taken.size(), e.getMessage());
+                return;
+            }
+        }
+        reloadRates();
+        refreshDepots();
+    }
+
+    @Scheduled(fixedDelayString = "${fuelnexus.forecast.evaluate-interval-ms:300000}",
+            initialDelayString = "${fuelnexus.forecast.evaluate-initial-delay-ms:60000}")
+    public void evaluate() {
+        if (!holdsLease()) {
+            return;
+        }
+        flushRates();
+        long now = System.currentTimeMillis();
+
+        for (FuelStockAggregate aggregate : aggregateRepository.findAll()) {
+            Depot depot = new Depot(aggregate.getFuelType(), aggregate.getStorageLocation());
+            double perHour = perHour(depot);
+            double stock = aggregate.getTotalQuantity();
+            double lowLevel = lowStockEvaluator.lowLevelFor(depot.fuelType());
+            Double hoursToThreshold = hoursUntil(stock, lowLevel, perHour);
+
+            if (hoursToThreshold != null && hoursToThreshold < leadTimeHours) {
+                suggest(depot, stock, perHour, lowLevel, hoursToThreshold, now);
+            } else if (hoursToThreshold == null || hoursToThreshold > 2 * leadTimeHours) {
+                // Restocked well past the reorder point (or demand died down)
+                close(depot);
+            }
+        }
+    }
+
+    // Claim or renew the evaluation lease; true when this node holds it
+    private boolean holdsLease() {
+        jdbcTemplate.update(CLAIM_LEASE_SQL, EVALUATE_LEASE, nodeId, leaseSeconds);
+        String owner = jdbcTemplate.queryForObject(
+                "SELECT lease_owner FROM scheduler_leases WHERE name = ?", String.class, EVALUATE_LEASE);
+        return nodeId.equals(owner);
+    }
+
+    private void suggest(Depot depot, double stock, double perHour, double lowLevel, double hoursToThreshold, long now) {
+        double quantity = Math.max(perHour * (leadTimeHours + coverHours) + lowLevel - stock, 0);
+        LocalDateTime thresholdAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(now + (long) (hoursToThreshold * HOUR_MILLIS)), zone);
+        try {
+            suggestionRepository.save(ReorderSuggestion.builder()
+                    .fuelType(depot.fuelType())
+                    .storageLocation(depot.storageLocation())
+                    .currentStock(stock)
+                    .dailyDemand(perHour * 24)
+                    .suggestedQuantity(quantity)
+                    .projectedThresholdAt(thresholdAt)
+                    .createdAt(LocalDateTime.now())
+                    .openKey(depot.key())
+                    .build());
+        } catch (DataIntegrityViolationException alreadyOpen) {
+            return; // an open suggestion for this depot exists (possibly raised by another node)
+        }
+        stockAlertProducer.sendLowStockAlert("Reorder suggested for " + depot.fuelType() + " at " + depot.storageLocation()
+                + ": quantity=" + Math.round(quantity) + " lowStockExpectedAt=" + thresholdAt);
+        log.warn("Reorder suggested for {} at {} quantity={} threshold expected at {}",
+                depot.fuelType(), depot.storageLocation(), quantity, thresholdAt);
+    }
+
+    // Recovered past the hysteresis: free the depot's key, closing the suggestion unless an operator already did
+    private void close(Depot depot) {
+        int closed = jdbcTemplate.update(
+                "UPDATE reorder_suggestions SET open_key = NULL, closed_at = COALESCE(closed_at, ?) WHERE open_key = ?",
+                Timestamp.valueOf(LocalDateTime.now()), depot.key());
+        if (closed > 0) {
+            log.info("Reorder suggestion closed for {} at {}", depot.fuelType(), depot.storageLocation());
+        }
+    }
+
+    // A restock arrived: a suggestion the operator closed no longer suppresses the next one for the depot
+    private void releaseClosed(Depot depot) {
+        if (depot == null) {
+            return;
+        }
+        int released = jdbcTemplate.update(
+                "UPDATE reorder_suggestions SET open_key = NULL WHERE open_key = ? AND closed_at IS NOT NULL", depot.key());
+        if (released > 0) {
+            log.info("Restock at {} {} re-enabled reorder suggestions", depot.fuelType(), depot.storageLocation());
+        }
+    }
+
+    private void reloadRates() {
+        for (DemandRate stored : demandRateRepository.findAll()) {
+            rate(stored.getRateKey()).reset(stored, timeConstantMillis);
+        }
+    }
+
+    private void refreshDepots() {
+        Map<Long, Depot> depots = new HashMap<>();
+        for (FuelInventoryRepository.DepotKeyView row : fuelInventoryRepository.findAllDepotKeys()) {
+            depots.put(row.getId(), new Depot(row.getFuelType(), row.getStorageLocation()));
+        }
+        depotOfRow = new ConcurrentHashMap<>(depots);
+    }
+
+    private Rate rate(String key) {
+        return rates.computeIfAbsent(key, k -> new Rate());
+    }
+}
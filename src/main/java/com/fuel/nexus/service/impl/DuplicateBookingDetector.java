@@ -0,0 +1,180 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.exception.exceptions.DuplicateBookingException;
+import com.fuel.nexus.utility.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Catches a customer booking the same product and quantity twice within a short window,
+ * typically a double tap, without a database query.
+ * <p>
+ * Recent bookings are kept as 64-bit fingerprints of (customer, product, quantity) with
+ * the time they were seen, in two flat arrays of fixed size. A fingerprint hashes to a
+ * group of eight slots; an entry older than the window counts as free, so entries expire
+ * by themselves, and when a group has no free slot the oldest entry is overwritten.
+ * Memory therefore never grows beyond the configured capacity; under extreme load an old
+ * entry can be forgotten early, which only lets a duplicate through. Groups are guarded
+ * by striped locks.
+ * <p>
+ * In {@code reject} mode a duplicate fails with DuplicateBookingException, in {@code flag}
+ * mode it is logged and counted and the booking goes ahead, and {@code off} disables the
+ * check. A booking whose transaction rolls back is forgotten, so a retry is not mistaken
+ * for a duplicate; callers that save the booking outside the checking transaction (the
+ * intake queue) call {@link #forget} themselves when it fails.
+ */
+@Slf4j
+@Component
+public class DuplicateBookingDetector {
+
+    private static final int GROUP = 8;
+    private static final int STRIPES = 64;
+
+    private enum Mode {OFF, FLAG, REJECT}
+
+    private final Mode mode;
+    private final long windowMs;
+    private final long[] fingerprints;
+    private final long[] seenAt;
+    private final int groupMask;
+    private final Object[] stripes = new Object[STRIPES];
+    private final Counter rejectedCounter;
+    private final Counter flaggedCounter;
+
+    public DuplicateBookingDetector(MeterRegistry meterRegistry,
+                                    @Value("${fuelnexus.duplicates.mode:reject}") String mode,
+                                    @Value("${fuelnexus.duplicates.window-seconds:10}") long windowSeconds,
+                                    @Value("${fuelnexus.duplicates.capacity:262144}") int capacity) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.windowMs = windowSeconds * 1000;
+        int groups = Integer.highestOneBit(Math.max(1, capacity / GROUP - 1)) << 1;
+        this.fingerprints = new long[groups * GROUP];
+        this.seenAt = new long[groups * GROUP];
+        this.groupMask = groups - 1;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.rejectedCounter = Counter.builder("fuelnexus.duplicates.detected")
+                .description("Bookings matching one made by the same customer within the duplicate window")
+                .tag("action", "rejected").register(meterRegistry);
+        this.flaggedCounter = Counter.builder("fuelnexus.duplicates.detected")
+                .description("Bookings matching one made by the same customer within the duplicate window")
+                .tag("action", "flagged").register(meterRegistry);
+    }
+
+    /**
+     * Check a booking about to be saved and remember it for the window
+     *
+     * @return when the booking was remembered, to pass to {@link #forget}; 0 when it was not
+     * @throws DuplicateBookingException in reject mode, when the same booking was seen within the window
+     */
+    public long check(Long customerId, Long productId, Double quantity) {
+        if (mode == Mode.OFF || customerId == null || productId == null || quantity == null) {
+            return 0;
+        }
+        long fingerprint = fingerprint(customerId, productId, quantity);
+        long now = System.currentTimeMillis();
+        long previous = record(fingerprint, now);
+        if (previous == 0) {
+            forgetOnRollback(fingerprint, now);
+            return now;
+        }
+
+        long ago = now - previous;
+        if (mode == Mode.REJECT) {
+            rejectedCounter.increment();
+            log.info("Rejected duplicate booking for customer ID={} product ID={} quantity={} ({} ms after the first)",
+                    customerId, productId, quantity, ago);
+            throw new DuplicateBookingException("Same booking for customer ID: " + customerId + ", product ID: "
+                    + productId + " and quantity " + quantity + " was made " + Math.max(1, ago / 1000) + "s ago");
+        }
+        flaggedCounter.increment();
+        log.warn("Possible duplicate booking for customer ID={} product ID={} quantity={} ({} ms after the first)",
+                customerId, productId, quantity, ago);
+        return 0;
+    }
+
+    /**
+     * Drop a booking remembered by {@link #check} that was not saved after all, so a retry
+     * within the window is not taken for a duplicate
+     *
+     * @param recordedAt value returned by check; 0 is ignored
+     */
+    public void forget(Long customerId, Long productId, Double quantity, long recordedAt) {
+        if (recordedAt == 0 || customerId == null || productId == null || quantity == null) {
+            return;
+        }
+        forget(fingerprint(customerId, productId, quantity), recordedAt);
+    }
+
+    /**
+     * Record the fingerprint at {@code now}
+     *
+     * @return when the same fingerprint was last seen within the window, or 0
+     */
+    private long record(long fingerprint, long now) {
+        int group = (int) (mix(fingerprint) & groupMask);
+        int base = group * GROUP;
+        long cutoff = now - windowMs;
+        synchronized (stripes[group & (STRIPES - 1)]) {
+            int victim = base;
+            for (int slot = base; slot < base + GROUP; slot++) {
+                if (fingerprints[slot] == fingerprint) {
+                    long previous = seenAt[slot];
+                    if (previous > cutoff) {
+                        // In reject mode the duplicate is not saved, so the window stays anchored on the first
+                        if (mode == Mode.FLAG) {
+                            seenAt[slot] = now;
+                        }
+                        return previous;
+                    }
+                    seenAt[slot] = now;
+                    return 0;
+                }
+                if (seenAt[slot] < seenAt[victim]) {
+                    victim = slot;
+                }
+            }
+            // Oldest slot of the group; expired or empty slots are always the oldest
+            fingerprints[victim] = fingerprint;
+            seenAt[victim] = now;
+            return 0;
+        }
+    }
+
+    private void forget(long fingerprint, long recordedAt) {
+        int group = (int) (mix(fingerprint) & groupMask);
+        int base = group * GROUP;
+        synchronized (stripes[group & (STRIPES - 1)]) {
+            for (int slot = base; slot < base + GROUP; slot++) {
+                if (fingerprints[slot] == fingerprint && seenAt[slot] == recordedAt) {
+                    fingerprints[slot] = 0;
+                    seenAt[slot] = 0;
+                    return;
+                }
+            }
+        }
+    }
+
+    private void forgetOnRollback(long fingerprint, long recordedAt) {
+        TransactionCallbacks.afterRollback(() -> forget(fingerprint, recordedAt));
+    }
+
+    private static long fingerprint(long customerId, long productId, double quantity) {
+        long h = mix(customerId);
+        h = mix(h ^ productId);
+        h = mix(h ^ Double.doubleToLongBits(quantity));
+        // 0 marks an empty slot
+        return h == 0 ? 1 : h;
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,187 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.event.InventoryMovementEvent;
+import com.fuel.nexus.exception.exceptions.OutOfStockException;
+import com.fuel.nexus.utility.FuelType;
+import com.fuel.nexus.utility.MovementType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits a delivery across the batches of one fuel type, oldest batch first.
+ * <p>
+ * Batch age is the inventory id (identity order), which is also the lock order: candidate
+ * rows are read with {@code SELECT ... FOR UPDATE} in ascending id, chunk by chunk, until
+ * the requested quantity is covered. Every allocator and single-row writer therefore locks
+ * rows in the same order and cannot deadlock against another allocation. The plan is then
+ * applied with one JDBC batch of deductions and one batch of allocation rows.
+ * <p>
+ * Stock reserved for open bookings is skipped: reserved_quantity plus the reservations
+ * this node made that the ledger has not flushed yet, less what the delivered booking held
+ * itself (its hold was just dropped, but its release only reaches the ledger on commit).
+ * <p>
+ * Allocation latency and batches spanned are exported as {@code fuelnexus.allocation.*}.
+ */
+@Slf4j
+@Service
+public class FifoBatchAllocator {
+
+    private static final String LOCK_CANDIDATES_SQL =
+            "SELECT id, available_quantity, COALESCE(reserved_quantity, 0) FROM fuel_inventory " +
+                    "WHERE fuel_type = ? AND id > ? AND available_quantity > 0 " +
+                    "ORDER BY id LIMIT ? FOR UPDATE";
+
+    // Quantities are planned in thousandths of a unit, as in StockReservationLedger
+    private static final long SCALE = 1000L;
+
+    // The guard allows half a thousandth of float residue, the resolution the plan works in
+    private static final String DEDUCT_SQL =
+            "UPDATE fuel_inventory SET available_quantity = available_quantity - ?, last_updated = ?, version = version + 1 " +
+                    "WHERE id = ? AND available_quantity + 0.0005 >= ?";
+
+    private static final String INSERT_ALLOCATION_SQL =
+            "INSERT INTO booking_allocations (booking_id, inventory_id, quantity, allocated_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockReservationLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Timer allocationTimer;
+    private final DistributionSummary batchesSpanned;
+
+    /**
+     * One planned deduction from one batch
+     */
+    public record Allocation(long inventoryId, double quantity) {
+    }
+
+    public FifoBatchAllocator(JdbcTemplate jdbcTemplate,
+                              StockReservationLedger stockLedger,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${fuelnexus.allocation.lock-chunk-size:32}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.allocationTimer = Timer.builder("fuelnexus.allocation.execution")
+                .description("Time to lock, plan and apply a FIFO batch allocation")
+                .register(meterRegistry);
+        this.batchesSpanned = DistributionSummary.builder("fuelnexus.allocation.batches")
+                .description("Number of inventory batches a single allocation was split across")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deduct {@code quantity} of {@code fuelType} for a booking, oldest batches first.
+     * Must run inside the caller's transaction, which holds the row locks until commit.
+     *
+     * @param held quantity the booking itself held per inventory id
+     * @return the per-batch allocations, in lock (and FIFO) order
+     * @throws OutOfStockException when all batches together cannot cover the quantity
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Allocation> allocate(Long bookingId, FuelType fuelType, double quantity, Map<Long, Double> held) {
+        return allocationTimer.record(() -> {
+            List<Allocation> plan = lockAndPlan(fuelType, quantity, held);
+            apply(bookingId, plan);
+            batchesSpanned.record(plan.size());
+            log.info("Allocated {} of {} for booking ID={} across {} batches", quantity, fuelType, bookingId, plan.size());
+            return plan;
+        });
+    }
+
+    // Lock candidate rows chunk by chunk in ascending id and take from each until covered
+    private List<Allocation> lockAndPlan(FuelType fuelType, double quantity, Map<Long, Double> held) {
+        List<Allocation> plan = new ArrayList<>();
+        long remaining = toUnits(quantity);
+        long afterId = 0L;
+
+        while (remaining > 0) {
+            List<Object[]> rows = jdbcTemplate.query(LOCK_CANDIDATES_SQL,
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getDouble(2), rs.getDouble(3)},
+                    fuelType.ordinal(), afterId, chunkSize);
+
+            for (Object[] row : rows) {
+                long inventoryId = (Long) row[0];
+                afterId = inventoryId;
+                double reserved = (Double) row[2] + stockLedger.unflushedReserved(inventoryId);
+                long reservedForOthers = Math.max(0L, toUnits(reserved - held.getOrDefault(inventoryId, 0.0)));
+                long take = Math.min(toUnits((Double) row[1]) - reservedForOthers, remaining);
+                if (take <= 0) {
+                    continue;
+                }
+                plan.add(new Allocation(inventoryId, toQuantity(take)));
+                remaining -= take;
+                if (remaining == 0) {
+                    break;
+                }
+            }
+            if (rows.size() < chunkSize && remaining > 0) {
+                // Rolling back the caller's transaction releases the locks taken so far
+                throw new OutOfStockException("Insufficient inventory for fuel type: " + fuelType
+                        + " (short by " + toQuantity(remaining) + ")");
+            }
+        }
+        return plan;
+    }
+
+    private void apply(Long bookingId, List<Allocation> plan) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // Rows are locked by lockAndPlan; a refused guard means the plan is wrong, and throwing rolls it back
+        int[][] deducted = jdbcTemplate.batchUpdate(DEDUCT_SQL, plan, plan.size(), (ps, allocation) -> {
+            ps.setDouble(1, allocation.quantity());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, allocation.inventoryId());
+            ps.setDouble(4, allocation.quantity());
+        });
+        int index = 0;
+        for (int[] counts : deducted) {
+            for (int count : counts) {
+                // SUCCESS_NO_INFO (negative) is what a rewritten batch reports for an applied row
+                if (count == 0) {
+                    Allocation refused = plan.get(index);
+                    throw new OutOfStockException("Inventory ID: " + refused.inventoryId()
+                            + " no longer covers " + refused.quantity() + " for booking ID: " + bookingId);
+                }
+                index++;
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ALLOCATION_SQL, plan, plan.size(), (ps, allocation) -> {
+            ps.setLong(1, bookingId);
+            ps.setLong(2, allocation.inventoryId());
+            ps.setDouble(3, allocation.quantity());
+            ps.setTimestamp(4, now);
+        });
+
+        for (Allocation allocation : plan) {
+            stockLedger.applyCommitted(allocation.inventoryId(), -allocation.quantity());
+            eventPublisher.publishEvent(InventoryMovementEvent.of(
+                    allocation.inventoryId(), MovementType.DELIVERY, -allocation.quantity(), "booking:" + bookingId));
+        }
+    }
+
+    private static long toUnits(double quantity) {
+        return Math.round(quantity * SCALE);
+    }
+
+    private static double toQuantity(long units) {
+        return (double) units / SCALE;
+    }
+}
@@ -0,0 +1,97 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.DemandForecastDTO;
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.ReorderSuggestion;
+import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.FuelStockAggregateRepository;
+import com.fuel.nexus.repository.ReorderSuggestionRepository;
+import com.fuel.nexus.service.services.ForecastService;
+import com.fuel.nexus.utility.FuelType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalDouble;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Tag(name = "Forecast Service", description = "Service implementation for depletion forecasts and reorder suggestions")
+public class ForecastServiceImpl implements ForecastService {
+
+    private final DepletionForecaster forecaster;
+    private final StockReservationLedger stockLedger;
+    private final FuelInventoryRepository fuelInventoryRepository;
+    private final FuelStockAggregateRepository aggregateRepository;
+    private final ReorderSuggestionRepository suggestionRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Depot Forecasts", description = "Demand rate and time-to-empty per fuel type and storage location")
+    public List<DemandForecastDTO> getDepotForecasts() {
+        return aggregateRepository.findAll().stream()
+                .map(aggregate -> {
+                    double perHour = forecaster.perHour(new DepletionForecaster.Depot(aggregate.getFuelType(), aggregate.getStorageLocation()));
+                    return toDto(aggregate.getFuelType(), aggregate.getStorageLocation(), null, aggregate.getTotalQuantity(), perHour);
+                })
+                .toList();
+    }
+
+    @Override
+    @Operation(summary = "Inventory Forecast", description = "Demand rate and time-to-empty of a single fuel inventory record")
+    public DemandForecastDTO getInventoryForecast(Long inventoryId) {
+        DepletionForecaster.Depot depot = forecaster.depotOf(inventoryId);
+        if (depot == null) {
+            throw new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId);
+        }
+        OptionalDouble cached = stockLedger.onHand(inventoryId);
+        double stock = cached.isPresent()
+                ? cached.getAsDouble()
+                : fuelInventoryRepository.findById(inventoryId)
+                        .map(FuelInventory::getAvailableQuantity)
+                        .orElseThrow(() -> new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId));
+        return toDto(depot.fuelType(), depot.storageLocation(), inventoryId, stock, forecaster.perHour(inventoryId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Open Reorder Suggestions", description = "List open reorder suggestions, most urgent first")
+    public List<ReorderSuggestion> getOpenSuggestions() {
+        return suggestionRepository.findByOpenKeyIsNotNullAndClosedAtIsNullOrderByProjectedThresholdAtAsc();
+    }
+
+    @Override
+    @Transactional
+    @Operation(summary = "Close Reorder Suggestion", description = "Mark a reorder suggestion as handled")
+    public ReorderSuggestion closeSuggestion(Long suggestionId) {
+        ReorderSuggestion suggestion = suggestionRepository.findById(suggestionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reorder suggestion not found with ID: " + suggestionId));
+        if (suggestion.getClosedAt() == null) {
+            // The open key stays, so the forecaster raises no new suggestion for a reorder already handled
+            suggestion.setClosedAt(LocalDateTime.now());
+            log.info("Reorder suggestion ID={} closed", suggestionId);
+        }
+        return suggestion;
+    }
+
+    private DemandForecastDTO toDto(FuelType fuelType, String location, Long inventoryId,
+                                    double stock, double perHour) {
+        Double hoursToEmpty = DepletionForecaster.hoursUntil(stock, 0, perHour);
+        return DemandForecastDTO.builder()
+                .fuelType(fuelType)
+                .storageLocation(location)
+                .inventoryId(inventoryId)
+                .stock(stock)
+                .dailyDemand(perHour * 24)
+                .hoursToEmpty(hoursToEmpty)
+                .projectedEmptyAt(hoursToEmpty == null ? null : LocalDateTime.now().plusMinutes(Math.round(hoursToEmpty * 60)))
+                .build();
+    }
+}
@@ -1,11 +1,23 @@
 package com.fuel.nexus.service.impl;
 
 import com.fuel.nexus.dto.FuelInventoryDTO;
+import com.fuel.nexus.dto.StockTransferDTO;
 import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.StockTransfer;
+import com.fuel.nexus.event.InventoryMovementEvent;
+import com.fuel.nexus.exception.exceptions.ConcurrentUpdateException;
+import com.fuel.nexus.exception.exceptions.FuelNexusRuntimeException;
+import com.fuel.nexus.exception.exceptions.InvalidStockTransferException;
 import com.fuel.nexus.exception.exceptions.OutOfStockException;
 import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
 import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.ProductRepository;
+import com.fuel.nexus.repository.StockTransferRepository;
 import com.fuel.nexus.service.services.FuelInventoryService;
+import com.fuel.nexus.service.services.FuelStockAggregateService;
+import com.fuel.nexus.utility.FuelType;
+import com.fuel.nexus.utility.MovementType;
+import com.fuel.nexus.utility.OptimisticRetryExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -13,13 +25,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
 
 @Slf4j
 @Service
@@ -29,8 +46,16 @@ import java.util.Optional;
 public class FuelInventoryServiceImpl implements FuelInventoryService {
 
     private final FuelInventoryRepository fuelInventoryRepository;
+    private final ProductRepository productRepository;
+    private final StockTransferRepository transferRepository;
     private final ModelMapper modelMapper;
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final StockReservationLedger stockLedger;
+    private final LowStockEvaluator lowStockEvaluator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FuelStockAggregateService aggregateService;
+    private final InventoryMovementRecorder movementRecorder;
 
     private static final String FUEL_TOPIC = "fuel-inventory-topic";
 
@@ -44,9 +69,16 @@ public class FuelInventoryServiceImpl implements FuelInventoryService {
         log.info("Saving new fuel inventory for batchNumber={}", dto.getBatchNumber());
 
         FuelInventory inventory = modelMapper.map(dto, FuelInventory.class);
+        // Stamped here rather than taken from the client, so incremental reconciliation picks the batch up
+        inventory.setLastUpdated(LocalDateTime.now());
         FuelInventory savedInventory = fuelInventoryRepository.save(inventory);
 
         log.info("Fuel inventory saved with ID={}", savedInventory.getId());
+        stockLedger.track(savedInventory);
+        aggregateService.batchCreated(savedInventory.getFuelType(), savedInventory.getStorageLocation());
+        movementRecorder.opened(List.of(savedInventory.getId()));
+        eventPublisher.publishEvent(InventoryMovementEvent.of(
+                savedInventory.getId(), MovementType.ADJUSTMENT, savedInventory.getAvailableQuantity(), "initial stock"));
 
         // Kafka notification
         kafkaTemplate.send(FUEL_TOPIC, "New fuel inventory added for batch: " + savedInventory.getBatchNumber());
@@ -77,25 +109,62 @@ public class FuelInventoryServiceImpl implements FuelInventoryService {
     }
 
     /**
-     * Update fuel inventory
+     * Update fuel inventory; the DTO carries absolute values, so the update only applies to
+     * the version the client read and is never retried over a newer one
      */
     @Override
     @Operation(summary = "Update Fuel Inventory", description = "Update fuel inventory details such as available quantity and storage location")
     @CacheEvict(value = "fuelInventoryCache", allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // the update runs in its own transaction
     public FuelInventory updateFuelInventory(Long inventoryId, FuelInventoryDTO dto) {
         log.info("Updating fuel inventory ID={}", inventoryId);
+        if (dto.getVersion() == null) {
+            throw new FuelNexusRuntimeException("Version is required to update fuel inventory ID: " + inventoryId);
+        }
 
-        FuelInventory inventory = fuelInventoryRepository.findById(inventoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId));
-
-        // Update fields
-        inventory.setFuelType(dto.getFuelType());
-        inventory.setBatchNumber(dto.getBatchNumber());
-        inventory.setAvailableQuantity(dto.getAvailableQuantity());
-        inventory.setStorageLocation(dto.getStorageLocation());
-
-        FuelInventory updatedInventory = fuelInventoryRepository.save(inventory);
+        FuelInventory updatedInventory = retryExecutor.executeOnce("FuelInventory", () -> {
+            // Locked, so no flush can reserve stock on the row between the check and the update
+            FuelInventory inventory = lockInventory(inventoryId);
+            if (!dto.getVersion().equals(inventory.getVersion())) {
+                throw new ConcurrentUpdateException("Fuel inventory ID " + inventoryId + " is at version "
+                        + inventory.getVersion() + ", not " + dto.getVersion() + "; reload it and retry");
+            }
+
+            // Stock held for open bookings must stay on the row and under its fuel type
+            double reserved = (inventory.getReservedQuantity() != null ? inventory.getReservedQuantity() : 0.0)
+                    + stockLedger.unflushedReserved(inventoryId);
+            if (dto.getAvailableQuantity() < reserved) {
+                throw new FuelNexusRuntimeException("Fuel inventory ID: " + inventoryId + " has " + reserved
+                        + " reserved for open bookings, available quantity cannot drop to " + dto.getAvailableQuantity());
+            }
+            if (reserved > 0 && dto.getFuelType() != inventory.getFuelType()) {
+                throw new FuelNexusRuntimeException("Fuel inventory ID: " + inventoryId + " has " + reserved
+                        + " reserved for open " + inventory.getFuelType() + " bookings and cannot change fuel type");
+            }
+
+            double previousQuantity = inventory.getAvailableQuantity();
+            FuelType previousType = inventory.getFuelType();
+            String previousLocation = inventory.getStorageLocation();
+
+            // Update fields
+            inventory.setFuelType(dto.getFuelType());
+            inventory.setBatchNumber(dto.getBatchNumber());
+            inventory.setAvailableQuantity(dto.getAvailableQuantity());
+            inventory.setStorageLocation(dto.getStorageLocation());
+            inventory.setLastUpdated(LocalDateTime.now());
+
+            FuelInventory saved = fuelInventoryRepository.saveAndFlush(inventory);
+            // Move the old quantity first, the adjustment below then lands on the new aggregate
+            aggregateService.batchMoved(previousType, previousLocation,
+                    saved.getFuelType(), saved.getStorageLocation(), previousQuantity);
+            if (saved.getAvailableQuantity() != previousQuantity) {
+                eventPublisher.publishEvent(InventoryMovementEvent.of(
+                        inventoryId, MovementType.ADJUSTMENT, saved.getAvailableQuantity() - previousQuantity, "manual update"));
+            }
+            return saved;
+        });
         log.info("Fuel inventory updated ID={}", updatedInventory.getId());
+        stockLedger.track(updatedInventory);
 
         // Kafka notification
         kafkaTemplate.send(FUEL_TOPIC, "Fuel inventory updated for batch: " + updatedInventory.getBatchNumber());
@@ -112,10 +181,24 @@ public class FuelInventoryServiceImpl implements FuelInventoryService {
     public void deleteFuelInventory(Long inventoryId) {
         log.info("Deleting fuel inventory ID={}", inventoryId);
 
-        FuelInventory inventory = fuelInventoryRepository.findById(inventoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId));
+        // Locked, so no flush can reserve stock on the row between the check and the delete
+        FuelInventory inventory = lockInventory(inventoryId);
+        double reserved = (inventory.getReservedQuantity() != null ? inventory.getReservedQuantity() : 0.0)
+                + stockLedger.unflushedReserved(inventoryId);
+        if (reserved > 0) {
+            throw new FuelNexusRuntimeException("Fuel inventory ID: " + inventoryId + " has " + reserved
+                    + " reserved for open bookings and cannot be deleted");
+        }
 
+        // The stock leaves the movement ledger with the row; the aggregate takes it from batchDeleted,
+        // since the delta of a row that is gone by commit matches no aggregate key
+        eventPublisher.publishEvent(InventoryMovementEvent.of(
+                inventoryId, MovementType.ADJUSTMENT, -inventory.getAvailableQuantity(), "batch deleted"));
         fuelInventoryRepository.delete(inventory);
+        fuelInventoryRepository.flush();
+        aggregateService.batchDeleted(inventory.getFuelType(), inventory.getStorageLocation(), inventory.getAvailableQuantity());
+        productRepository.markModified(inventory.getProduct().getId(), LocalDateTime.now());
+        stockLedger.untrack(inventoryId);
         log.info("Fuel inventory deleted ID={}", inventoryId);
 
         kafkaTemplate.send(FUEL_TOPIC, "Fuel inventory deleted for batch: " + inventory.getBatchNumber());
@@ -138,11 +221,7 @@ public class FuelInventoryServiceImpl implements FuelInventoryService {
     @Operation(summary = "Track Quantity", description = "Get the available quantity of fuel for a given inventory record")
     public Double getAvailableQuantity(Long inventoryId) {
         log.info("Checking available quantity for inventory ID={}", inventoryId);
-
-        FuelInventory inventory = fuelInventoryRepository.findById(inventoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId));
-
-        return inventory.getAvailableQuantity();
+        return currentQuantity(inventoryId);
     }
 
     /**
@@ -154,36 +233,126 @@ public class FuelInventoryServiceImpl implements FuelInventoryService {
     public FuelInventory restockFuel(Long inventoryId, Double additionalQuantity) {
         log.info("Restocking fuel inventory ID={} with quantity={}", inventoryId, additionalQuantity);
 
-        FuelInventory inventory = fuelInventoryRepository.findById(inventoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId));
+        // Atomic increment in the database, safe against concurrent deliveries on the same row
+        if (fuelInventoryRepository.addStock(inventoryId, additionalQuantity, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId);
+        }
+        eventPublisher.publishEvent(InventoryMovementEvent.of(inventoryId, MovementType.RESTOCK, additionalQuantity, "restock"));
 
-        inventory.setAvailableQuantity(inventory.getAvailableQuantity() + additionalQuantity);
-        FuelInventory updatedInventory = fuelInventoryRepository.save(inventory);
+        FuelInventory updatedInventory = fuelInventoryRepository.findById(inventoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId));
 
         log.info("Fuel inventory restocked ID={} newQuantity={}", inventoryId, updatedInventory.getAvailableQuantity());
+        // Low stock alerts are raised by LowStockEvaluator when the ledger observes the new level
+        stockLedger.track(updatedInventory);
 
-        // Kafka notification if stock is low
-        if (isLowStock(inventoryId, 50.0)) { // Example threshold
-            kafkaTemplate.send(FUEL_TOPIC, "Low stock alert for batch: " + inventory.getBatchNumber());
-            log.warn("Low stock alert triggered for inventory ID={}", inventoryId);
+        return updatedInventory;
+    }
+
+    /**
+     * Transfer stock between two inventory rows
+     */
+    @Override
+    @Operation(summary = "Transfer Stock", description = "Atomically move quantity from one fuel inventory record to another of the same fuel type")
+    @CacheEvict(value = "fuelInventoryCache", allEntries = true)
+    public StockTransfer transferStock(StockTransferDTO dto) {
+        Long fromId = dto.getFromInventoryId();
+        Long toId = dto.getToInventoryId();
+        if (fromId.equals(toId)) {
+            throw new InvalidStockTransferException("Source and target inventory must differ: " + fromId);
+        }
+        log.info("Transferring {} from inventory ID={} to ID={} transferId={}", dto.getQuantity(), fromId, toId, dto.getTransferId());
+
+        // Lock both rows in ascending id order, so opposite transfers between the same rows cannot deadlock
+        FuelInventory first = lockInventory(Math.min(fromId, toId));
+        FuelInventory second = lockInventory(Math.max(fromId, toId));
+        FuelInventory source = first.getId().equals(fromId) ? first : second;
+        FuelInventory target = source == first ? second : first;
+
+        // Checked under the row locks: a retry of a completed transfer returns the original record
+        Optional<StockTransfer> existing = transferRepository.findByTransferId(dto.getTransferId());
+        if (existing.isPresent()) {
+            return replayed(existing.get(), dto);
         }
 
-        return updatedInventory;
+        if (source.getFuelType() != target.getFuelType()) {
+            throw new InvalidStockTransferException("Cannot transfer " + source.getFuelType() + " into "
+                    + target.getFuelType() + " inventory ID: " + toId);
+        }
+        // Stock promised to open bookings stays put: the locked row's reserved quantity covers
+        // every node's flushed reservations, the ledger adds this node's unflushed ones
+        double quantity = dto.getQuantity();
+        double reserved = (source.getReservedQuantity() != null ? source.getReservedQuantity() : 0.0)
+                + stockLedger.unflushedReserved(fromId);
+        if (source.getAvailableQuantity() - reserved < quantity) {
+            throw new OutOfStockException("Insufficient unreserved inventory for transfer from ID: " + fromId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        source.setAvailableQuantity(source.getAvailableQuantity() - quantity);
+        source.setLastUpdated(now);
+        target.setAvailableQuantity(target.getAvailableQuantity() + quantity);
+        target.setLastUpdated(now);
+
+        StockTransfer transfer = transferRepository.save(StockTransfer.builder()
+                .transferId(dto.getTransferId())
+                .fromInventoryId(fromId)
+                .toInventoryId(toId)
+                .quantity(quantity)
+                .transferredAt(now)
+                .build());
+
+        String reference = "transfer:" + dto.getTransferId();
+        eventPublisher.publishEvent(InventoryMovementEvent.of(fromId, MovementType.TRANSFER_OUT, -quantity, reference));
+        eventPublisher.publishEvent(InventoryMovementEvent.of(toId, MovementType.TRANSFER_IN, quantity, reference));
+        stockLedger.applyCommitted(fromId, -quantity);
+        stockLedger.applyCommitted(toId, quantity);
+
+        log.info("Stock transfer {} completed", dto.getTransferId());
+        return transfer;
     }
 
     /**
      * Check for low stock alert
      */
     @Override
-    @Operation(summary = "Low Stock Alert", description = "Check if the available stock is below the defined threshold and trigger an alert")
+    @Operation(summary = "Low Stock Alert", description = "Check if the available stock is below the given threshold, or the configured one when none is given")
     public boolean isLowStock(Long inventoryId, Double threshold) {
-        FuelInventory inventory = fuelInventoryRepository.findById(inventoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId));
+        double quantity = currentQuantity(inventoryId);
+        double effectiveThreshold = threshold != null
+                ? threshold
+                : lowStockEvaluator.levelsFor(inventoryId, stockLedger.fuelTypeOf(inventoryId).orElse(null)).low();
 
-        boolean lowStock = inventory.getAvailableQuantity() < threshold;
+        boolean lowStock = quantity < effectiveThreshold;
         if (lowStock) {
-            log.warn("Low stock detected for inventory ID={} quantity={}", inventoryId, inventory.getAvailableQuantity());
+            log.warn("Low stock detected for inventory ID={} quantity={}", inventoryId, quantity);
         }
         return lowStock;
     }
+
+    private FuelInventory lockInventory(Long inventoryId) {
+        return fuelInventoryRepository.findByIdForUpdate(inventoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId));
+    }
+
+    private StockTransfer replayed(StockTransfer transfer, StockTransferDTO dto) {
+        if (!transfer.getFromInventoryId().equals(dto.getFromInventoryId())
+                || !transfer.getToInventoryId().equals(dto.getToInventoryId())
+                || !transfer.getQuantity().equals(dto.getQuantity())) {
+            throw new InvalidStockTransferException("Transfer ID already used for a different transfer: " + dto.getTransferId());
+        }
+        log.info("Stock transfer {} already applied, returning original result", dto.getTransferId());
+        return transfer;
+    }
+
+    // Served from the in-memory ledger; falls back to the table for rows this node has not seen yet
+    private double currentQuantity(Long inventoryId) {
+        OptionalDouble cached = stockLedger.onHand(inventoryId);
+        if (cached.isPresent()) {
+            return cached.getAsDouble();
+        }
+        return fuelInventoryRepository.findById(inventoryId)
+                .map(FuelInventory::getAvailableQuantity)
+                .orElseThrow(() -> new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId));
+    }
 }
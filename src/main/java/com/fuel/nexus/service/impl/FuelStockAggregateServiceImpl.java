@@ -0,0 +1,198 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.FuelStockSummaryDTO;
+import com.fuel.nexus.entity.FuelStockAggregate;
+import com.fuel.nexus.event.InventoryMovementEvent;
+import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.repository.FuelStockAggregateRepository;
+import com.fuel.nexus.service.services.FuelStockAggregateService;
+import com.fuel.nexus.utility.FuelType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains fuel_stock_aggregates incrementally.
+ * <p>
+ * Quantity changes arrive as inventory movement events inside the writing transaction,
+ * are summed per inventory row and applied just before commit with one batch of
+ * INSERT ... SELECT ... ON DUPLICATE KEY UPDATE keyed by the row's current fuel type and
+ * location. Structural changes (create, delete, re-label) are reported explicitly by the
+ * inventory service and applied immediately.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+@Tag(name = "Fuel Stock Aggregate Service", description = "Service implementation for incrementally maintained stock totals per fuel type and location")
+public class FuelStockAggregateServiceImpl implements FuelStockAggregateService {
+
+    private static final String APPLY_DELTA_SQL =
+            "INSERT INTO fuel_stock_aggregates (fuel_type, storage_location, total_quantity, batch_count, last_updated) " +
+                    "SELECT f.fuel_type, f.storage_location, ?, 0, ? FROM fuel_inventory f WHERE f.id = ? " +
+                    "ON DUPLICATE KEY UPDATE total_quantity = total_quantity + VALUES(total_quantity), last_updated = VALUES(last_updated)";
+
+    private static final String ADJUST_KEY_SQL =
+            "INSERT INTO fuel_stock_aggregates (fuel_type, storage_location, total_quantity, batch_count, last_updated) " +
+                    "VALUES (?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE total_quantity = total_quantity + VALUES(total_quantity), " +
+                    "batch_count = batch_count + VALUES(batch_count), last_updated = VALUES(last_updated)";
+
+    // Keys that already exist are left alone, so nodes starting together cannot seed twice
+    // or fail on each other's rows
+    private static final String REBUILD_SQL =
+            "INSERT INTO fuel_stock_aggregates (fuel_type, storage_location, total_quantity, batch_count, last_updated) " +
+                    "SELECT f.fuel_type, f.storage_location, COALESCE(SUM(f.available_quantity), 0), COUNT(*), ? " +
+                    "FROM fuel_inventory f GROUP BY f.fuel_type, f.storage_location " +
+                    "ON DUPLICATE KEY UPDATE id = id";
+
+    private final FuelStockAggregateRepository aggregateRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initialise() {
+        // First start with the aggregate table: seed it once from fuel_inventory
+        if (aggregateRepository.count() == 0) {
+            Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM fuel_inventory", Integer.class);
+            if (rows != null && rows > 0) {
+                int seeded = jdbcTemplate.update(REBUILD_SQL, now());
+                log.info("Seeded {} fuel stock aggregates from {} inventory rows", seeded, rows);
+            }
+        }
+    }
+
+    /**
+     * Collect a stock movement; deltas are summed per inventory row and applied to the
+     * aggregate of the row's current fuel type and location in one batch before commit
+     */
+    @EventListener
+    public void onMovement(InventoryMovementEvent event) {
+        DeltaBuffer buffer = (DeltaBuffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new DeltaBuffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        buffer.deltas.merge(event.inventoryId(), event.quantityDelta(), Double::sum);
+    }
+
+    // Structural changes, called from inside the inventory write transaction
+
+    @Override
+    public void batchCreated(FuelType fuelType, String storageLocation) {
+        adjust(fuelType, storageLocation, 0.0, 1);
+    }
+
+    @Override
+    public void batchDeleted(FuelType fuelType, String storageLocation, double quantity) {
+        adjust(fuelType, storageLocation, -quantity, -1);
+    }
+
+    @Override
+    public void batchMoved(FuelType fromType, String fromLocation, FuelType toType, String toLocation, double quantity) {
+        if (fromType == toType && fromLocation.equals(toLocation)) {
+            return;
+        }
+        adjust(fromType, fromLocation, -quantity, -1);
+        adjust(toType, toLocation, quantity, 1);
+    }
+
+    /**
+     * Fuel type wide summary, summed over its (few) location aggregates
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Fuel Type Stock Summary", description = "Total stock and batch count of a fuel type, with per-location breakdown")
+    public FuelStockSummaryDTO getSummary(FuelType fuelType) {
+        List<FuelStockSummaryDTO> locations = aggregateRepository.findByFuelType(fuelType).stream()
+                .map(this::toDto)
+                .toList();
+
+        return FuelStockSummaryDTO.builder()
+                .fuelType(fuelType)
+                .totalQuantity(locations.stream().mapToDouble(FuelStockSummaryDTO::getTotalQuantity).sum())
+                .batchCount(locations.stream().mapToLong(FuelStockSummaryDTO::getBatchCount).sum())
+                .locations(locations)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Location Stock Summary", description = "Total stock and batch count of a fuel type at one storage location")
+    public FuelStockSummaryDTO getSummary(FuelType fuelType, String storageLocation) {
+        return aggregateRepository.findByFuelTypeAndStorageLocation(fuelType, storageLocation)
+                .map(this::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No stock recorded for fuel type " + fuelType + " at location: " + storageLocation));
+    }
+
+    /**
+     * Full rebuild; intended for repair after manual SQL changes
+     */
+    @Override
+    @Transactional
+    @Operation(summary = "Rebuild Aggregates", description = "Recompute all stock aggregates from the fuel inventory table")
+    public int rebuild() {
+        log.info("Rebuilding fuel stock aggregates from fuel_inventory");
+        jdbcTemplate.update("DELETE FROM fuel_stock_aggregates");
+        return jdbcTemplate.update(REBUILD_SQL, now());
+    }
+
+    private void adjust(FuelType fuelType, String storageLocation, double quantity, int batches) {
+        jdbcTemplate.update(ADJUST_KEY_SQL, fuelType.ordinal(), storageLocation, quantity, batches, now());
+    }
+
+    private FuelStockSummaryDTO toDto(FuelStockAggregate aggregate) {
+        return FuelStockSummaryDTO.builder()
+                .fuelType(aggregate.getFuelType())
+                .storageLocation(aggregate.getStorageLocation())
+                .totalQuantity(aggregate.getTotalQuantity())
+                .batchCount(aggregate.getBatchCount())
+                .build();
+    }
+
+    // Per-transaction delta buffer, applied before commit and unbound once the transaction completes
+    private final class DeltaBuffer implements TransactionSynchronization {
+
+        private final Map<Long, Double> deltas = new HashMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (deltas.isEmpty()) {
+                return;
+            }
+            Timestamp now = now();
+            List<Object[]> args = new ArrayList<>(deltas.size());
+            // Ascending inventory id keeps aggregate row locking in a stable order
+            new TreeMap<>(deltas).forEach((inventoryId, delta) -> args.add(new Object[]{delta, now, inventoryId}));
+            jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, args);
+            deltas.clear();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(FuelStockAggregateServiceImpl.this);
+        }
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,147 @@
+package com.fuel.nexus.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timer wheel keyed by an id: O(1) schedule and cancel, and a tick that only looks
+ * at the timers of one bucket.
+ * <p>
+ * Time is cut into ticks of {@code tickMs}; a timer due in tick t lives in bucket
+ * {@code t % wheelSize}, in an intrusive doubly linked list, so cancelling unlinks it in
+ * place. Timers due more than one revolution ahead share the bucket and are skipped until
+ * their tick comes round. {@link #advance(long)} processes every tick up to the given
+ * time, so a late caller catches up instead of losing expiries; after a pause longer
+ * than a revolution it sweeps every bucket once.
+ * <p>
+ * All methods are synchronized on the wheel.
+ */
+public class HashedTimerWheel<K> {
+
+    private final long tickMs;
+    private final int mask;
+    private final Node<K>[] buckets;
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+
+    // Next tick to process
+    private long currentTick;
+
+    private static final class Node<K> {
+        final K key;
+        final long deadlineTick;
+        final int bucket;
+        Node<K> prev;
+        Node<K> next;
+
+        Node(K key, long deadlineTick, int bucket) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.bucket = bucket;
+        }
+    }
+
+    /**
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param startMs   current time; ticks before it are never processed
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMs = tickMs;
+        this.mask = size - 1;
+        this.buckets = (Node<K>[]) new Node[size];
+        this.currentTick = startMs / tickMs;
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    public synchronized boolean contains(K key) {
+        return nodes.containsKey(key);
+    }
+
+    /**
+     * Schedule the key to expire at the given time, replacing an earlier schedule of the
+     * same key. A deadline already passed expires on the next advance.
+     */
+    public synchronized void schedule(K key, long deadlineMs) {
+        cancel(key);
+        // Round up, so a timer never fires before its deadline
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMs + tickMs - 1, tickMs), currentTick);
+        int bucket = (int) (deadlineTick & mask);
+        Node<K> node = new Node<>(key, deadlineTick, bucket);
+        node.next = buckets[bucket];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        buckets[bucket] = node;
+        nodes.put(key, node);
+    }
+
+    /**
+     * @return true when the key was scheduled
+     */
+    public synchronized boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Remove and return every key whose deadline is at or before the given time
+     */
+    public synchronized List<K> advance(long nowMs) {
+        long targetTick = Math.floorDiv(nowMs, tickMs);
+        List<K> expired = new ArrayList<>();
+        if (targetTick < currentTick) {
+            return expired;
+        }
+        if (targetTick - currentTick > mask) {
+            // More than a revolution behind: one sweep of every bucket covers all of it
+            for (int bucket = 0; bucket <= mask; bucket++) {
+                expireBucket(bucket, targetTick, expired);
+            }
+        } else {
+            for (long tick = currentTick; tick <= targetTick; tick++) {
+                expireBucket((int) (tick & mask), tick, expired);
+            }
+        }
+        currentTick = targetTick + 1;
+        return expired;
+    }
+
+    private void expireBucket(int bucket, long upToTick, List<K> expired) {
+        Node<K> node = buckets[bucket];
+        while (node != null) {
+            Node<K> next = node.next;
+            if (node.deadlineTick <= upToTick) {
+                unlink(node);
+                nodes.remove(node.key);
+                expired.add(node.key);
+            }
+            node = next;
+        }
+    }
+
+    private void unlink(Node<K> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            buckets[node.bucket] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+}
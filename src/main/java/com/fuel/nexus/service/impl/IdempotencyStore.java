@@ -0,0 +1,327 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Responses of requests sent with an Idempotency-Key, kept for a TTL.
+ * <p>
+ * Completed responses live in the idempotency_keys table, fronted by a bounded LRU cache
+ * so a retry on the same node is answered from memory. A request claims its key before
+ * it runs: locally through a future that concurrent duplicates on this node wait on, and
+ * across nodes by inserting the row as IN_PROGRESS, which duplicates on other nodes poll.
+ * The claim carries a lease, so a key whose owner died is free again once it expires, and a
+ * token, so an owner that outlived its lease cannot overwrite the row of the next claim.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+
+    private static final String CLAIM_SQL =
+            "INSERT IGNORE INTO idempotency_keys (id, idempotency_key, request_path, request_hash, state, claim_token, created_at, expires_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_SQL =
+            "SELECT request_hash, state, response_status, content_type, response_body, expires_at " +
+                    "FROM idempotency_keys WHERE id = ?";
+
+    // Only the claim that is still held may store its response; an expired lease may have been claimed again
+    private static final String COMPLETE_SQL =
+            "UPDATE idempotency_keys SET state = ?, response_status = ?, content_type = ?, response_body = ?, expires_at = ? " +
+                    "WHERE id = ? AND state = ? AND claim_token = ?";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM idempotency_keys WHERE id = ? AND expires_at < ?";
+
+    private static final String RELEASE_SQL = "DELETE FROM idempotency_keys WHERE id = ? AND state = ? AND claim_token = ?";
+
+    public enum Outcome {
+        // The caller owns the key and must complete or release it
+        ACQUIRED,
+        // The key completed before; the stored response is returned
+        REPLAY,
+        // The key was used with a different request body
+        MISMATCH,
+        // Another request holds the key and did not finish within the wait timeout
+        IN_PROGRESS
+    }
+
+    /**
+     * A stored response, with the hash of the request that produced it
+     */
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * Result of a claim; an acquired claim carries the token that completes or releases it
+     */
+    public record Claim(Outcome outcome, StoredResponse response, String token) {
+
+        Claim(Outcome outcome, StoredResponse response) {
+            this(outcome, response, null);
+        }
+    }
+
+    private record CachedResponse(StoredResponse response, long expiresAt) {
+    }
+
+    private record Row(String requestHash, String state, StoredResponse response, LocalDateTime expiresAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyRecordRepository recordRepository;
+    private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+    private final long ttlMs;
+    private final long leaseMs;
+    private final long waitTimeoutMs;
+    private final long pollIntervalMs;
+
+    // Requests running on this node, by scope; completed with the response, or null when released
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    // Least recently used completed responses; guarded by itself
+    private final LinkedHashMap<String, CachedResponse> cache;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate,
+                            IdempotencyRecordRepository recordRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${fuelnexus.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${fuelnexus.idempotency.lease-ms:120000}") long leaseMs,
+                            @Value("${fuelnexus.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs,
+                            @Value("${fuelnexus.idempotency.poll-interval-ms:100}") long pollIntervalMs,
+                            @Value("${fuelnexus.idempotency.cache-size:10000}") int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recordRepository = recordRepository;
+        this.ttlMs = TimeUnit.HOURS.toMillis(ttlHours);
+        this.leaseMs = leaseMs;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("fuelnexus.idempotency.requests")
+                    .description("Requests carrying an Idempotency-Key, by outcome")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Claim a key for a request, waiting for a duplicate that is already running
+     *
+     * @param scope       unique id of the key for its caller and endpoint
+     * @param requestHash hash of the request body, to detect a key reused for another request
+     */
+    public Claim claim(String scope, String key, String path, String requestHash) {
+        Claim claim = doClaim(scope, key, path, requestHash);
+        outcomeCounters.get(claim.outcome()).increment();
+        return claim;
+    }
+
+    private Claim doClaim(String scope, String key, String path, String requestHash) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            StoredResponse cached = cached(scope);
+            if (cached != null) {
+                return replay(cached, requestHash);
+            }
+
+            CompletableFuture<StoredResponse> own = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scope, own);
+            if (running != null) {
+                StoredResponse response;
+                try {
+                    response = running.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    return new Claim(Outcome.IN_PROGRESS, null);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return new Claim(Outcome.IN_PROGRESS, null);
+                } catch (ExecutionException e) {
+                    response = null;
+                }
+                if (response != null) {
+                    return replay(response, requestHash);
+                }
+                // The running request was released without a response: try to claim the key
+                continue;
+            }
+
+            Claim claim;
+            try {
+                claim = claimRow(scope, key, path, requestHash, deadline);
+            } catch (RuntimeException e) {
+                inFlight.remove(scope, own);
+                own.complete(null);
+                throw e;
+            }
+            if (claim.outcome() != Outcome.ACQUIRED) {
+                inFlight.remove(scope, own);
+                own.complete(claim.outcome() == Outcome.REPLAY ? claim.response() : null);
+            }
+            return claim;
+        }
+    }
+
+    // Insert the IN_PROGRESS row, or wait for the request on another node holding it
+    private Claim claimRow(String scope, String key, String path, String requestHash, long deadline) {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            String token = UUID.randomUUID().toString();
+            int inserted = jdbcTemplate.update(CLAIM_SQL, scope, key, path, requestHash, IN_PROGRESS, token,
+                    Timestamp.valueOf(now), Timestamp.valueOf(now.plusNanos(leaseMs * 1_000_000)));
+            if (inserted == 1) {
+                return new Claim(Outcome.ACQUIRED, null, token);
+            }
+
+            List<Row> rows = jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new Row(
+                    rs.getString("request_hash"),
+                    rs.getString("state"),
+                    COMPLETED.equals(rs.getString("state"))
+                            ? new StoredResponse(rs.getString("request_hash"), rs.getInt("response_status"),
+                            rs.getString("content_type"), rs.getBytes("response_body"))
+                            : null,
+                    rs.getTimestamp("expires_at").toLocalDateTime()), scope);
+            if (rows.isEmpty()) {
+                continue;
+            }
+            Row row = rows.get(0);
+            if (row.expiresAt().isBefore(now)) {
+                // Expired response, or a lease whose owner never finished
+                jdbcTemplate.update(DELETE_EXPIRED_SQL, scope, Timestamp.valueOf(now));
+                continue;
+            }
+            if (!row.requestHash().equals(requestHash)) {
+                return new Claim(Outcome.MISMATCH, null);
+            }
+            if (COMPLETED.equals(row.state())) {
+                cache(scope, row.response(), row.expiresAt());
+                return new Claim(Outcome.REPLAY, row.response());
+            }
+            if (System.currentTimeMillis() + pollIntervalMs > deadline) {
+                return new Claim(Outcome.IN_PROGRESS, null);
+            }
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Claim(Outcome.IN_PROGRESS, null);
+            }
+        }
+    }
+
+    private static Claim replay(StoredResponse response, String requestHash) {
+        return response.requestHash().equals(requestHash)
+                ? new Claim(Outcome.REPLAY, response)
+                : new Claim(Outcome.MISMATCH, null);
+    }
+
+    /**
+     * Store the response of an acquired key and hand it to duplicates waiting on this node.
+     * When the lease expired and the key was claimed again meanwhile, the response is not
+     * stored; the duplicates claim the key again and find the new owner.
+     *
+     * @param token the token of the acquired claim
+     */
+    public void complete(String scope, String token, StoredResponse response) {
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(ttlMs * 1_000_000);
+        boolean owned = true;
+        try {
+            owned = jdbcTemplate.update(COMPLETE_SQL, COMPLETED, response.status(), response.contentType(), response.body(),
+                    Timestamp.valueOf(expiresAt), scope, IN_PROGRESS, token) == 1;
+            if (!owned) {
+                log.warn("Idempotency key scope={} was claimed again after its lease expired, response not stored", scope);
+            }
+        } catch (DataAccessException e) {
+            // Duplicates on other nodes run the request again once the lease expires
+            log.warn("Could not store idempotent response for key scope={}: {}", scope, e.getMessage());
+        } finally {
+            if (owned) {
+                cache(scope, response, expiresAt);
+            }
+            CompletableFuture<StoredResponse> running = inFlight.remove(scope);
+            if (running != null) {
+                running.complete(owned ? response : null);
+            }
+        }
+    }
+
+    /**
+     * Give up an acquired key without storing a response, so a retry runs the request again
+     *
+     * @param token the token of the acquired claim; a claim taken over by another request is left alone
+     */
+    public void release(String scope, String token) {
+        try {
+            jdbcTemplate.update(RELEASE_SQL, scope, IN_PROGRESS, token);
+        } finally {
+            CompletableFuture<StoredResponse> running = inFlight.remove(scope);
+            if (running != null) {
+                running.complete(null);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Cache and expiry
+    // ------------------------------------------------------------------------
+    private StoredResponse cached(String scope) {
+        synchronized (cache) {
+            CachedResponse entry = cache.get(scope);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                cache.remove(scope);
+                return null;
+            }
+            return entry.response();
+        }
+    }
+
+    private void cache(String scope, StoredResponse response, LocalDateTime expiresAt) {
+        long expiry = Timestamp.valueOf(expiresAt).getTime();
+        synchronized (cache) {
+            cache.put(scope, new CachedResponse(response, expiry));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fuelnexus.idempotency.purge-interval-ms:600000}",
+            initialDelayString = "${fuelnexus.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            cache.values().removeIf(entry -> entry.expiresAt() < now);
+        }
+        int purged = recordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.fuel.nexus.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fuel.nexus.dto.FuelInventoryDTO;
+import com.fuel.nexus.dto.InventoryImportReportDTO;
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.event.InventoryMovementEvent;
+import com.fuel.nexus.service.services.FuelStockAggregateService;
+import com.fuel.nexus.service.services.InventoryImportService;
+import com.fuel.nexus.utility.FuelType;
+import com.fuel.nexus.utility.ImportFormat;
+import com.fuel.nexus.utility.MovementType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming bulk import of end-of-day stock files.
+ * <p>
+ * The file is read line by line, each row is parsed and bean-validated on the fly and
+ * valid rows are collected into chunks. Each chunk runs in its own transaction: existing
+ * rows are looked up (and locked, in id order) by batch number with one query, then new
+ * rows are inserted and existing rows overwritten with one JDBC batch each. Movements,
+ * stock aggregates and the reservation ledger are kept in step exactly as for single
+ * writes, and a single Kafka event summarises the whole import.
+ * <p>
+ * last_updated is always the import time, never the file's optional lastUpdated value,
+ * and every product gaining or losing a batch is marked modified, so incremental
+ * reconciliation sees imported changes. A row that would set an existing batch below the
+ * stock reserved for open bookings is rejected.
+ * <p>
+ * CSV rows must not contain embedded line breaks; the header names the columns
+ * (productId, availableQuantity, storageLocation, batchNumber, fuelType, optional lastUpdated).
+ */
+@Slf4j
+@Service
+@Tag(name = "Inventory Import Service", description = "Service implementation for streaming bulk fuel inventory imports")
+public class InventoryImportServiceImpl implements InventoryImportService {
+
+    private static final String FUEL_TOPIC = "fuel-inventory-topic";
+    private static final String IMPORT_REFERENCE = "import";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO fuel_inventory (product_id, available_quantity, storage_location, last_updated, batch_number, " +
+                    "fuel_type, reserved_quantity, version) VALUES (?, ?, ?, ?, ?, ?, 0, 0)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE fuel_inventory SET product_id = ?, available_quantity = ?, storage_location = ?, last_updated = ?, " +
+                    "fuel_type = ?, version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FuelStockAggregateService aggregateService;
+    private final StockReservationLedger stockLedger;
+    private final InventoryMovementRecorder movementRecorder;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    // One parsed, valid line of the file
+    private record ImportRow(long line, FuelInventoryDTO dto) {
+    }
+
+    // Current state of a row matched by batch number
+    private record ExistingRow(long id, long productId, FuelType fuelType, String storageLocation,
+                               double quantity, double reserved) {
+    }
+
+    public InventoryImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      ObjectMapper objectMapper,
+                                      Validator validator,
+                                      KafkaTemplate<String, String> kafkaTemplate,
+                                      ApplicationEventPublisher eventPublisher,
+                                      FuelStockAggregateService aggregateService,
+                                      StockReservationLedger stockLedger,
+                                      InventoryMovementRecorder movementRecorder,
+                                      @Value("${fuelnexus.import.chunk-size:500}") int chunkSize,
+                                      @Value("${fuelnexus.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.kafkaTemplate = kafkaTemplate;
+        this.eventPublisher = eventPublisher;
+        this.aggregateService = aggregateService;
+        this.stockLedger = stockLedger;
+        this.movementRecorder = movementRecorder;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Import a stock file, streaming it chunk by chunk
+     */
+    @Override
+    @CacheEvict(value = "fuelInventoryCache", allEntries = true)
+    @Operation(summary = "Import Fuel Inventory", description = "Stream a stock file and upsert rows by batch number in chunked batches, reporting per-row errors")
+    public InventoryImportReportDTO importInventory(InputStream input, ImportFormat format) throws IOException {
+        log.info("Starting {} inventory import", format);
+        InventoryImportReportDTO report = new InventoryImportReportDTO();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        Set<String> chunkBatchNumbers = new HashSet<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = format == ImportFormat.CSV ? readCsvHeader(reader) : Map.of();
+            long lineNumber = format == ImportFormat.CSV ? 1 : 0;
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.setTotalRows(report.getTotalRows() + 1);
+
+                FuelInventoryDTO dto;
+                try {
+                    dto = format == ImportFormat.CSV ? parseCsv(line, header) : objectMapper.readValue(line, FuelInventoryDTO.class);
+                } catch (Exception e) {
+                    reject(report, lineNumber, null, "Unreadable row: " + e.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<FuelInventoryDTO>> violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    ConstraintViolation<FuelInventoryDTO> first = violations.iterator().next();
+                    reject(report, lineNumber, dto.getBatchNumber(), first.getPropertyPath() + ": " + first.getMessage());
+                    continue;
+                }
+
+                // A repeated batch number starts a new chunk, so the later line updates the earlier one
+                if (chunk.size() == chunkSize || chunkBatchNumbers.contains(dto.getBatchNumber())) {
+                    writeChunk(chunk, report);
+                    chunk.clear();
+                    chunkBatchNumbers.clear();
+                }
+                chunk.add(new ImportRow(lineNumber, dto));
+                chunkBatchNumbers.add(dto.getBatchNumber());
+            }
+        }
+        writeChunk(chunk, report);
+
+        log.info("Inventory import finished: rows={} inserted={} updated={} failed={}",
+                report.getTotalRows(), report.getInserted(), report.getUpdated(), report.getFailed());
+        kafkaTemplate.send(FUEL_TOPIC, "Fuel inventory import completed: inserted=" + report.getInserted()
+                + ", updated=" + report.getUpdated() + ", failed=" + report.getFailed());
+        return report;
+    }
+
+    // ------------------------------------------------------------------------
+    // Chunk write
+    // ------------------------------------------------------------------------
+    private void writeChunk(List<ImportRow> chunk, InventoryImportReportDTO report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<InventoryImportReportDTO.RowError> rejected = new ArrayList<>();
+        try {
+            long[] counts = transactionTemplate.execute(status -> upsert(chunk, rejected));
+            report.setInserted(report.getInserted() + counts[0]);
+            report.setUpdated(report.getUpdated() + counts[1]);
+            rejected.forEach(error -> reject(report, error.getLine(), error.getBatchNumber(), error.getMessage()));
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Import chunk starting at line {} failed", chunk.get(0).line(), e);
+            String message = "Chunk rolled back: " + e.getMostSpecificCause().getMessage();
+            chunk.forEach(row -> reject(report, row.line(), row.dto().getBatchNumber(), message));
+        }
+    }
+
+    /**
+     * Upsert one chunk inside the current transaction
+     *
+     * @return {inserted, updated}
+     */
+    private long[] upsert(List<ImportRow> chunk, List<InventoryImportReportDTO.RowError> rejected) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<String, ExistingRow> existing = lockExisting(chunk);
+        Set<Long> products = existingProducts(chunk);
+
+        List<ImportRow> inserts = new ArrayList<>();
+        List<ImportRow> updates = new ArrayList<>();
+        for (ImportRow row : chunk) {
+            if (!products.contains(row.dto().getProductId())) {
+                rejected.add(new InventoryImportReportDTO.RowError(row.line(), row.dto().getBatchNumber(),
+                        "Product not found with ID: " + row.dto().getProductId()));
+            } else if (existing.containsKey(row.dto().getBatchNumber())) {
+                ExistingRow before = existing.get(row.dto().getBatchNumber());
+                // Reservations made on this node and not flushed yet count as well
+                double reserved = before.reserved() + stockLedger.unflushedReserved(before.id());
+                if (row.dto().getAvailableQuantity() + 0.0005 < reserved) {
+                    rejected.add(new InventoryImportReportDTO.RowError(row.line(), row.dto().getBatchNumber(),
+                            "Available quantity " + row.dto().getAvailableQuantity() + " is below the " + reserved
+                                    + " reserved for open bookings"));
+                } else {
+                    updates.add(row);
+                }
+            } else {
+                inserts.add(row);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts, chunkSize, (ps, row) -> {
+            FuelInventoryDTO dto = row.dto();
+            ps.setLong(1, dto.getProductId());
+            ps.setDouble(2, dto.getAvailableQuantity());
+            ps.setString(3, dto.getStorageLocation());
+            ps.setTimestamp(4, now);
+            ps.setString(5, dto.getBatchNumber());
+            ps.setInt(6, dto.getFuelType().ordinal());
+        });
+        jdbcTemplate.batchUpdate(UPDATE_SQL, updates, chunkSize, (ps, row) -> {
+            FuelInventoryDTO dto = row.dto();
+            ps.setLong(1, dto.getProductId());
+            ps.setDouble(2, dto.getAvailableQuantity());
+            ps.setString(3, dto.getStorageLocation());
+            ps.setTimestamp(4, now);
+            ps.setInt(5, dto.getFuelType().ordinal());
+            ps.setLong(6, existing.get(dto.getBatchNumber()).id());
+        });
+
+        // Keep movements, aggregates and the ledger in step with the rows just written
+        Map<String, Long> insertedIds = inserts.isEmpty() ? Map.of() : findIds(inserts, existing);
+        movementRecorder.opened(insertedIds.values());
+        for (ImportRow row : inserts) {
+            FuelInventoryDTO dto = row.dto();
+            Long id = insertedIds.get(dto.getBatchNumber());
+            aggregateService.batchCreated(dto.getFuelType(), dto.getStorageLocation());
+            eventPublisher.publishEvent(InventoryMovementEvent.of(id, MovementType.ADJUSTMENT, dto.getAvailableQuantity(), IMPORT_REFERENCE));
+            track(id, dto);
+        }
+        for (ImportRow row : updates) {
+            FuelInventoryDTO dto = row.dto();
+            ExistingRow before = existing.get(dto.getBatchNumber());
+            aggregateService.batchMoved(before.fuelType(), before.storageLocation(),
+                    dto.getFuelType(), dto.getStorageLocation(), before.quantity());
+            double delta = dto.getAvailableQuantity() - before.quantity();
+            if (delta != 0.0) {
+                eventPublisher.publishEvent(InventoryMovementEvent.of(before.id(), MovementType.ADJUSTMENT, delta, IMPORT_REFERENCE));
+            }
+            track(before.id(), dto);
+        }
+        markProductsModified(inserts, updates, existing, now);
+        return new long[]{inserts.size(), updates.size()};
+    }
+
+    // Existing rows for the chunk's batch numbers, locked in id order through the unique batch number index
+    private Map<String, ExistingRow> lockExisting(List<ImportRow> chunk) {
+        List<String> batchNumbers = chunk.stream().map(row -> row.dto().getBatchNumber()).toList();
+        Map<String, ExistingRow> existing = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, batch_number, product_id, fuel_type, storage_location, available_quantity, " +
+                        "COALESCE(reserved_quantity, 0) FROM fuel_inventory " +
+                        "WHERE batch_number IN (" + placeholders(batchNumbers.size()) + ") ORDER BY id FOR UPDATE",
+                rs -> {
+                    existing.put(rs.getString(2), new ExistingRow(rs.getLong(1), rs.getLong(3),
+                            FuelType.values()[rs.getInt(4)], rs.getString(5), rs.getDouble(6), rs.getDouble(7)));
+                },
+                batchNumbers.toArray());
+        return existing;
+    }
+
+    private Set<Long> existingProducts(List<ImportRow> chunk) {
+        List<Long> productIds = chunk.stream().map(row -> row.dto().getProductId()).distinct().toList();
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE id IN (" + placeholders(productIds.size()) + ")",
+                Long.class, productIds.toArray()));
+    }
+
+    private Map<String, Long> findIds(List<ImportRow> inserts, Map<String, ExistingRow> existing) {
+        List<String> batchNumbers = inserts.stream().map(row -> row.dto().getBatchNumber()).toList();
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, batch_number FROM fuel_inventory WHERE batch_number IN (" + placeholders(batchNumbers.size()) + ") ORDER BY id",
+                rs -> {
+                    if (!existing.containsKey(rs.getString(2))) {
+                        ids.putIfAbsent(rs.getString(2), rs.getLong(1));
+                    }
+                },
+                batchNumbers.toArray());
+        return ids;
+    }
+
+    // Products gaining or losing stock, including the previous product of a batch moved to another one
+    private void markProductsModified(List<ImportRow> inserts, List<ImportRow> updates,
+                                      Map<String, ExistingRow> existing, Timestamp now) {
+        Set<Long> productIds = new HashSet<>();
+        inserts.forEach(row -> productIds.add(row.dto().getProductId()));
+        for (ImportRow row : updates) {
+            productIds.add(row.dto().getProductId());
+            productIds.add(existing.get(row.dto().getBatchNumber()).productId());
+        }
+        if (!productIds.isEmpty()) {
+            List<Object> args = new ArrayList<>(productIds.size() + 1);
+            args.add(now);
+            args.addAll(productIds);
+            jdbcTemplate.update("UPDATE products SET last_modified = ? WHERE id IN (" + placeholders(productIds.size()) + ")",
+                    args.toArray());
+        }
+    }
+
+    private void track(Long inventoryId, FuelInventoryDTO dto) {
+        stockLedger.track(FuelInventory.builder()
+                .id(inventoryId)
+                .fuelType(dto.getFuelType())
+                .availableQuantity(dto.getAvailableQuantity())
+                .build());
+    }
+
+    // ------------------------------------------------------------------------
+    // Parsing helpers
+    // ------------------------------------------------------------------------
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return Map.of();
+        }
+        List<String> columns = splitCsv(headerLine);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return header;
+    }
+
+    private FuelInventoryDTO parseCsv(String line, Map<String, Integer> header) {
+        List<String> fields = splitCsv(line);
+        String productId = field(fields, header, "productid");
+        String quantity = field(fields, header, "availablequantity");
+        String fuelType = field(fields, header, "fueltype");
+        String lastUpdated = field(fields, header, "lastupdated");
+
+        return FuelInventoryDTO.builder()
+                .productId(productId == null ? null : Long.valueOf(productId))
+                .availableQuantity(quantity == null ? null : Double.valueOf(quantity))
+                .storageLocation(field(fields, header, "storagelocation"))
+                .batchNumber(field(fields, header, "batchnumber"))
+                .fuelType(fuelType == null ? null : FuelType.valueOf(fuelType.toUpperCase(Locale.ROOT)))
+                .lastUpdated(lastUpdated == null ? null : LocalDateTime.parse(lastUpdated))
+                .build();
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Comma separated fields, double quotes may wrap a field and "" escapes a quote
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private void reject(InventoryImportReportDTO report, long line, String batchNumber, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new InventoryImportReportDTO.RowError(line, batchNumber, message));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.event.InventoryMovementEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Appends inventory movements to the ledger table.
+ * <p>
+ * Movements published inside a transaction are buffered and written with a single JDBC
+ * batch just before that transaction commits, so the ledger costs one round-trip per
+ * transaction regardless of how many movements it produced, and rolls back with it.
+ * <p>
+ * New inventory rows get an empty opening snapshot in the creating transaction; their
+ * initial stock arrives as a movement, so the snapshot run can fold them like any other
+ * row instead of bootstrapping them from the table under a row lock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryMovementRecorder {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory_movements (inventory_id, movement_type, quantity_delta, reference, occurred_at) " +
+                    "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String OPENING_SNAPSHOT_SQL =
+            "INSERT INTO inventory_snapshots (inventory_id, quantity, last_movement_id, as_of, covered_up_to, taken_at) " +
+                    "VALUES (?, 0, 0, ?, 0, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Record the opening (empty) snapshot of newly created inventory rows, inside the
+     * creating transaction and before their initial stock movement
+     */
+    public void opened(Collection<Long> inventoryIds) {
+        if (inventoryIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(inventoryIds.size());
+        for (Long inventoryId : inventoryIds) {
+            args.add(new Object[]{inventoryId, now, now});
+        }
+        jdbcTemplate.batchUpdate(OPENING_SNAPSHOT_SQL, args);
+    }
+
+    @EventListener
+    public void onMovement(InventoryMovementEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            insert(List.of(event));
+            return;
+        }
+
+        MovementBuffer buffer = (MovementBuffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new MovementBuffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        buffer.events.add(event);
+    }
+
+    private void insert(List<InventoryMovementEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(events.size());
+        for (InventoryMovementEvent e : events) {
+            args.add(new Object[]{
+                    e.inventoryId(), e.type().name(), e.quantityDelta(), e.reference(), Timestamp.valueOf(e.occurredAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+        log.debug("Recorded {} inventory movements", events.size());
+    }
+
+    // Per-transaction buffer, flushed before commit and unbound once the transaction completes
+    private final class MovementBuffer implements TransactionSynchronization {
+
+        private final List<InventoryMovementEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insert(events);
+            events.clear();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InventoryMovementRecorder.this);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.InventoryMovement;
+import com.fuel.nexus.entity.InventorySnapshot;
+import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.InventoryMovementRepository;
+import com.fuel.nexus.repository.InventorySnapshotRepository;
+import com.fuel.nexus.service.services.InventoryMovementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@Tag(name = "Inventory Movement Service", description = "Service implementation for the append-only inventory movement ledger")
+public class InventoryMovementServiceImpl implements InventoryMovementService {
+
+    // Inventory ids per latest-snapshot lookup
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final InventoryMovementRepository movementRepository;
+    private final InventorySnapshotRepository snapshotRepository;
+    private final FuelInventoryRepository fuelInventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long snapshotLagSeconds;
+
+    public InventoryMovementServiceImpl(InventoryMovementRepository movementRepository,
+                                        InventorySnapshotRepository snapshotRepository,
+                                        FuelInventoryRepository fuelInventoryRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${fuelnexus.movements.snapshot-lag-seconds:300}") long snapshotLagSeconds) {
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.fuelInventoryRepository = fuelInventoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotLagSeconds = snapshotLagSeconds;
+    }
+
+    /**
+     * List movements in a time window
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Get Movements", description = "List stock movements of an inventory record within a time window")
+    public Page<InventoryMovement> getMovements(Long inventoryId, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        log.info("Fetching movements for inventory ID={} between {} and {}", inventoryId, from, to);
+        return movementRepository.findByInventoryIdAndOccurredAtBetween(inventoryId, from, to, pageable);
+    }
+
+    /**
+     * Stock as of time T = latest snapshot at or before T + movements after it up to T
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Stock As Of", description = "Derive the stock of an inventory record at a point in time from snapshots and movements")
+    public Double getQuantityAsOf(Long inventoryId, LocalDateTime at) {
+        log.info("Deriving stock for inventory ID={} as of {}", inventoryId, at);
+        requireInventory(inventoryId);
+
+        Optional<InventorySnapshot> snapshot =
+                snapshotRepository.findFirstByInventoryIdAndAsOfLessThanEqualOrderByAsOfDescIdDesc(inventoryId, at);
+
+        double base = snapshot.map(InventorySnapshot::getQuantity).orElse(0.0);
+        long afterId = snapshot.map(InventorySnapshot::getLastMovementId).orElse(0L);
+        return base + movementRepository.sumAfter(inventoryId, afterId, at);
+    }
+
+    /**
+     * Current stock = latest snapshot + every movement after it
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Derived Stock", description = "Derive the current stock of an inventory record from the latest snapshot and later movements")
+    public Double getDerivedQuantity(Long inventoryId) {
+        requireInventory(inventoryId);
+
+        Optional<InventorySnapshot> snapshot = snapshotRepository.findFirstByInventoryIdOrderByIdDesc(inventoryId);
+        double base = snapshot.map(InventorySnapshot::getQuantity).orElse(0.0);
+        long afterId = snapshot.map(InventorySnapshot::getLastMovementId).orElse(0L);
+        return base + movementRepository.sumBetweenIds(inventoryId, afterId, Long.MAX_VALUE);
+    }
+
+    /**
+     * Periodic snapshot run.
+     * <p>
+     * Only movements older than the configured lag are folded in: identity ids are assigned at
+     * insert time, so a recent id range may still have gaps from transactions yet to commit.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${fuelnexus.movements.snapshot-interval-ms:3600000}",
+            initialDelayString = "${fuelnexus.movements.snapshot-initial-delay-ms:60000}")
+    @Operation(summary = "Take Snapshots", description = "Fold recent movements into new inventory snapshots")
+    public int takeSnapshots() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(snapshotLagSeconds);
+        long upTo = movementRepository.findFirstByOccurredAtBeforeOrderByIdDesc(cutoff)
+                .map(InventoryMovement::getId)
+                .orElse(0L);
+        long highWaterMark = snapshotRepository.findHighWaterMark();
+
+        int taken = 0;
+
+        // Rows created before opening snapshots existed start from the table value, read under a row lock
+        for (Long inventoryId : snapshotRepository.findInventoryIdsWithoutSnapshot()) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> bootstrap(inventoryId, upTo)))) {
+                taken++;
+            }
+        }
+
+        if (upTo > highWaterMark) {
+            List<InventoryMovementRepository.MovementTotalView> totals =
+                    movementRepository.sumByInventoryBetween(highWaterMark, upTo);
+            Map<Long, InventorySnapshot> latest = new HashMap<>();
+            List<Long> inventoryIds = totals.stream().map(InventoryMovementRepository.MovementTotalView::getInventoryId).toList();
+            for (int from = 0; from < inventoryIds.size(); from += LOOKUP_CHUNK) {
+                List<Long> chunk = inventoryIds.subList(from, Math.min(from + LOOKUP_CHUNK, inventoryIds.size()));
+                snapshotRepository.findLatestByInventoryIdIn(chunk)
+                        .forEach(snapshot -> latest.put(snapshot.getInventoryId(), snapshot));
+            }
+
+            List<InventorySnapshot> snapshots = new ArrayList<>();
+            for (InventoryMovementRepository.MovementTotalView total : totals) {
+                InventorySnapshot previous = latest.get(total.getInventoryId());
+                if (previous != null && previous.getLastMovementId() < upTo) {
+                    snapshots.add(fold(previous, total, highWaterMark, upTo));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> snapshotRepository.saveAll(snapshots));
+            taken += snapshots.size();
+        }
+
+        log.info("Inventory snapshot run folded movements up to ID={} into {} snapshots", upTo, taken);
+        return taken;
+    }
+
+    private boolean bootstrap(Long inventoryId, long upTo) {
+        Optional<FuelInventory> locked = fuelInventoryRepository.findByIdForUpdate(inventoryId);
+        if (locked.isEmpty()) {
+            return false;
+        }
+        // With the row locked no writer can be between its stock UPDATE and its movement insert
+        long lastMovementId = movementRepository.findMaxIdUpTo(inventoryId, Long.MAX_VALUE);
+        snapshotRepository.save(InventorySnapshot.builder()
+                .inventoryId(inventoryId)
+                .quantity(locked.get().getAvailableQuantity())
+                .lastMovementId(lastMovementId)
+                .asOf(LocalDateTime.now())
+                .coveredUpTo(upTo)
+                .takenAt(LocalDateTime.now())
+                .build());
+        return true;
+    }
+
+    private InventorySnapshot fold(InventorySnapshot previous, InventoryMovementRepository.MovementTotalView total,
+                                   long highWaterMark, long upTo) {
+        Long inventoryId = previous.getInventoryId();
+        // The range total is exact unless a bootstrap snapshot already folded part of the range
+        double delta = previous.getLastMovementId() <= highWaterMark
+                ? total.getTotal()
+                : movementRepository.sumBetweenIds(inventoryId, previous.getLastMovementId(), upTo);
+        LocalDateTime latest = total.getLatest();
+
+        return InventorySnapshot.builder()
+                .inventoryId(inventoryId)
+                .quantity(previous.getQuantity() + delta)
+                .lastMovementId(Math.max(total.getLastMovementId(), previous.getLastMovementId()))
+                .asOf(latest != null && latest.isAfter(previous.getAsOf()) ? latest : previous.getAsOf())
+                .coveredUpTo(upTo)
+                .takenAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void requireInventory(Long inventoryId) {
+        if (!fuelInventoryRepository.existsById(inventoryId)) {
+            throw new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId);
+        }
+    }
+}
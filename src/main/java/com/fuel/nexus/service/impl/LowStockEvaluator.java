@@ -0,0 +1,156 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.entity.StockThreshold;
+import com.fuel.nexus.event.StockLevelChangedEvent;
+import com.fuel.nexus.kafka.producer.StockAlertProducer;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.StockThresholdRepository;
+import com.fuel.nexus.utility.FuelType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Push-based low stock detection.
+ * <p>
+ * Evaluates every stock level change reported by the stock reservation ledger against the
+ * configured thresholds (per inventory row, else per fuel type, else the default) and
+ * publishes an alert through {@link StockAlertProducer} only on the falling edge. The alert
+ * re-arms once stock climbs back to the clear level. The edge itself is claimed with a
+ * conditional update on low_stock_states, so with several nodes exactly one of them
+ * publishes. A scheduled reconciliation scan re-evaluates every row from the table to
+ * catch changes this node never observed.
+ */
+@Slf4j
+@Component
+public class LowStockEvaluator {
+
+    public record Levels(double low, double clear) {
+    }
+
+    private final StockThresholdRepository thresholdRepository;
+    private final FuelInventoryRepository fuelInventoryRepository;
+    private final StockAlertProducer stockAlertProducer;
+    private final JdbcTemplate jdbcTemplate;
+    private final Levels defaultLevels;
+
+    private volatile Map<Long, Levels> inventoryLevels = Map.of();
+    private volatile Map<FuelType, Levels> fuelTypeLevels = Map.of();
+
+    // Last known alert state per inventory row (TRUE = alerted, FALSE = armed)
+    private final Map<Long, Boolean> alerted = new ConcurrentHashMap<>();
+
+    public LowStockEvaluator(StockThresholdRepository thresholdRepository,
+                             FuelInventoryRepository fuelInventoryRepository,
+                             StockAlertProducer stockAlertProducer,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${fuelnexus.low-stock.default-level:50}") double defaultLowLevel,
+                             @Value("${fuelnexus.low-stock.default-clear-level:75}") double defaultClearLevel) {
+        this.thresholdRepository = thresholdRepository;
+        this.fuelInventoryRepository = fuelInventoryRepository;
+        this.stockAlertProducer = stockAlertProducer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultLevels = new Levels(defaultLowLevel, Math.max(defaultLowLevel, defaultClearLevel));
+    }
+
+    @PostConstruct
+    public void reloadThresholds() {
+        Map<Long, Levels> byInventory = new HashMap<>();
+        Map<FuelType, Levels> byFuelType = new EnumMap<>(FuelType.class);
+        for (StockThreshold threshold : thresholdRepository.findAll()) {
+            Levels levels = new Levels(threshold.getLowLevel(), Math.max(threshold.getLowLevel(), threshold.getClearLevel()));
+            if (threshold.getInventoryId() != null) {
+                byInventory.put(threshold.getInventoryId(), levels);
+            } else if (threshold.getFuelType() != null) {
+                byFuelType.put(threshold.getFuelType(), levels);
+            }
+        }
+        inventoryLevels = Map.copyOf(byInventory);
+        fuelTypeLevels = Map.copyOf(byFuelType);
+        log.info("Loaded {} inventory and {} fuel type stock thresholds", byInventory.size(), byFuelType.size());
+    }
+
+    /**
+     * Effective thresholds of an inventory row.
+     */
+    public Levels levelsFor(Long inventoryId, FuelType fuelType) {
+        Levels levels = inventoryLevels.get(inventoryId);
+        if (levels == null && fuelType != null) {
+            levels = fuelTypeLevels.get(fuelType);
+        }
+        return levels != null ? levels : defaultLevels;
+    }
+
+    /**
+     * Effective low level of a fuel type (no per-inventory override).
+     */
+    public double lowLevelFor(FuelType fuelType) {
+        Levels levels = fuelType == null ? null : fuelTypeLevels.get(fuelType);
+        return (levels != null ? levels : defaultLevels).low();
+    }
+
+    @EventListener
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        evaluate(event.inventoryId(), event.fuelType(), event.quantity());
+    }
+
+    /**
+     * Incremental evaluation of one row; cheap no-op unless the row crosses a threshold edge.
+     */
+    public void evaluate(Long inventoryId, FuelType fuelType, double quantity) {
+        Levels levels = levelsFor(inventoryId, fuelType);
+        Boolean state = alerted.get(inventoryId);
+
+        if (quantity < levels.low() && !Boolean.TRUE.equals(state)) {
+            alerted.put(inventoryId, Boolean.TRUE);
+            if (claimEdge(inventoryId, true)) {
+                stockAlertProducer.sendLowStockAlert("Low stock alert for inventory ID: " + inventoryId
+                        + " (" + fuelType + ") quantity=" + quantity + " threshold=" + levels.low());
+                log.warn("Low stock alert published for inventory ID={} quantity={} threshold={}", inventoryId, quantity, levels.low());
+            }
+        } else if (quantity >= levels.clear() && !Boolean.FALSE.equals(state)) {
+            alerted.put(inventoryId, Boolean.FALSE);
+            if (claimEdge(inventoryId, false)) {
+                log.info("Low stock alert re-armed for inventory ID={} quantity={}", inventoryId, quantity);
+            }
+        }
+        // Between low and clear level: inside the hysteresis band, keep the current state
+    }
+
+    /**
+     * Reconciliation scan over the whole table, catching anything the push path missed.
+     */
+    @Scheduled(fixedDelayString = "${fuelnexus.low-stock.reconcile-interval-ms:300000}",
+            initialDelayString = "${fuelnexus.low-stock.reconcile-initial-delay-ms:30000}")
+    public void reconcile() {
+        reloadThresholds();
+        int rows = 0;
+        for (FuelInventoryRepository.StockLevelView row : fuelInventoryRepository.findAllStockLevels()) {
+            evaluate(row.getId(), row.getFuelType(), row.getAvailableQuantity());
+            rows++;
+        }
+        alerted.keySet().retainAll(new HashSet<>(fuelInventoryRepository.findAllIds()));
+        log.debug("Low stock reconciliation evaluated {} inventory rows", rows);
+    }
+
+    // Conditional flip of the shared state; true when this node performed the transition
+    private boolean claimEdge(Long inventoryId, boolean toAlerted) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT IGNORE INTO low_stock_states (inventory_id, alerted, changed_at) VALUES (?, false, ?)",
+                inventoryId, now);
+        return jdbcTemplate.update("UPDATE low_stock_states SET alerted = ?, changed_at = ? WHERE inventory_id = ? AND alerted = ?",
+                toAlerted, now, inventoryId, !toAlerted) == 1;
+    }
+}
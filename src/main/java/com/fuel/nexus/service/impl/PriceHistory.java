@@ -0,0 +1,171 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.entity.ProductPrice;
+import com.fuel.nexus.repository.ProductPriceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory price timelines, one immutable pair of sorted arrays per product.
+ * <p>
+ * "Price at time T" is a binary search over the effective-from instants. Scheduled
+ * (future) entries are part of the timeline from the moment they are stored, so they take
+ * effect by themselves without any cache flush. A timeline is replaced as a whole when its
+ * product's history changes, so lookups never lock.
+ */
+@Slf4j
+@Component
+public class PriceHistory {
+
+    // Effective-from of products priced before price history existed
+    static final LocalDateTime SINCE_EVER = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final ProductPriceRepository priceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+
+    // Bumped whenever a timeline is replaced, so derived tables know when to recompile
+    private final AtomicLong version = new AtomicLong();
+
+    // Sorted effective-from instants (epoch millis) and the price valid from each
+    private record Timeline(long[] effectiveFrom, BigDecimal[] prices) {
+
+        BigDecimal at(long instant) {
+            int index = Arrays.binarySearch(effectiveFrom, instant);
+            if (index < 0) {
+                index = -index - 2; // last entry starting before the instant
+            }
+            return index < 0 ? null : prices[index];
+        }
+
+        long changeAtOrBefore(long instant) {
+            int index = Arrays.binarySearch(effectiveFrom, instant);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index < 0 ? Long.MIN_VALUE : effectiveFrom[index];
+        }
+
+        long changeAfter(long instant) {
+            int index = Arrays.binarySearch(effectiveFrom, instant);
+            index = index < 0 ? -index - 1 : index + 1;
+            return index < effectiveFrom.length ? effectiveFrom[index] : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Span of time, in epoch millis [from, until), in which no product's price changes
+     */
+    public record Window(long from, long until) {
+
+        public boolean contains(long instant) {
+            return instant >= from && instant < until;
+        }
+    }
+
+    public PriceHistory(ProductPriceRepository priceRepository, JdbcTemplate jdbcTemplate) {
+        this.priceRepository = priceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Price of a product at the given time, or null when the product had no price then
+     */
+    public BigDecimal priceAt(Long productId, LocalDateTime at) {
+        Timeline timeline = timelines.get(productId);
+        return timeline == null ? null : timeline.at(toMillis(at));
+    }
+
+    public BigDecimal currentPrice(Long productId) {
+        Timeline timeline = timelines.get(productId);
+        return timeline == null ? null : timeline.at(System.currentTimeMillis());
+    }
+
+    /**
+     * The window around the instant in which every product keeps the price it has at that instant
+     */
+    public Window stableWindow(long instant) {
+        long from = Long.MIN_VALUE;
+        long until = Long.MAX_VALUE;
+        for (Timeline timeline : timelines.values()) {
+            from = Math.max(from, timeline.changeAtOrBefore(instant));
+            until = Math.min(until, timeline.changeAfter(instant));
+        }
+        return new Window(from, until);
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Rebuild one product's timeline after its history changed
+     */
+    public void refresh(Long productId) {
+        List<ProductPrice> entries = priceRepository.findByProductIdOrderByEffectiveFromAsc(productId);
+        if (entries.isEmpty()) {
+            timelines.remove(productId);
+        } else {
+            timelines.put(productId, toTimeline(entries));
+        }
+        version.incrementAndGet();
+    }
+
+    @PostConstruct
+    public void load() {
+        // Products that predate price history get their current price as the first entry
+        int seeded = jdbcTemplate.update(
+                "INSERT INTO product_prices (product_id, price, effective_from, created_at) " +
+                        "SELECT p.id, p.price, ?, ? FROM products p " +
+                        "WHERE p.price IS NOT NULL AND NOT EXISTS (SELECT 1 FROM product_prices pp WHERE pp.product_id = p.id)",
+                Timestamp.valueOf(SINCE_EVER), Timestamp.valueOf(LocalDateTime.now()));
+        if (seeded > 0) {
+            log.info("Seeded price history for {} products", seeded);
+        }
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${fuelnexus.pricing.reload-interval-ms:600000}",
+            initialDelayString = "${fuelnexus.pricing.reload-interval-ms:600000}")
+    public void reload() {
+        Map<Long, List<ProductPrice>> byProduct = new HashMap<>();
+        for (ProductPrice entry : priceRepository.findAllByOrderByProductIdAscEffectiveFromAsc()) {
+            byProduct.computeIfAbsent(entry.getProductId(), id -> new ArrayList<>()).add(entry);
+        }
+        byProduct.forEach((productId, entries) -> timelines.put(productId, toTimeline(entries)));
+        timelines.keySet().retainAll(byProduct.keySet());
+        version.incrementAndGet();
+        log.info("Loaded price timelines for {} products", byProduct.size());
+    }
+
+    private Timeline toTimeline(List<ProductPrice> entries) {
+        long[] effectiveFrom = new long[entries.size()];
+        BigDecimal[] prices = new BigDecimal[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            effectiveFrom[i] = toMillis(entries.get(i).getEffectiveFrom());
+            prices[i] = entries.get(i).getPrice();
+        }
+        return new Timeline(effectiveFrom, prices);
+    }
+
+    long toMillis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+}
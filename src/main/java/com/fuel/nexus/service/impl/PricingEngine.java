@@ -0,0 +1,246 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.exception.exceptions.FuelNexusRuntimeException;
+import com.fuel.nexus.exception.exceptions.ProductNotFoundException;
+import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.utility.CustomerType;
+import com.fuel.nexus.utility.FuelType;
+import com.fuel.nexus.utility.QuantityUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prices quantities of a product for a customer type.
+ * <p>
+ * Product prices, customer-type discounts and unit conversions are compiled into flat
+ * arrays indexed by product slot, so pricing is a slot lookup plus two array reads. The
+ * slot of a product id comes from an array indexed by id; the few ids too large for it
+ * are looked up in a map instead. Prices and amounts are kept in BigDecimal from the
+ * product price on; only the unit conversion of the quantity is floating point.
+ * <p>
+ * A compiled table is valid for the window in which no product price changes; it is
+ * rebuilt lazily on the first call after the catalog or price history changed or the
+ * window ended. Instants outside the window (older bookings) take the list price from the
+ * price history with a binary search instead.
+ */
+@Slf4j
+@Component
+public class PricingEngine {
+
+    private static final int TIERS = CustomerType.values().length;
+    private static final int UNITS = QuantityUnit.values().length;
+
+    // Product ids are dense identity values; ids beyond this get their slot from a map
+    private static final int MAX_DENSE_ID = 1 << 20;
+
+    private static final double LITRES_PER_GALLON = 3.785411784;
+
+    // Typical density in kg per litre, as the fuel is stored (LPG liquefied, CNG at ~200 bar)
+    private static final Map<FuelType, Double> DENSITY = new EnumMap<>(Map.of(
+            FuelType.CNG, 0.18,
+            FuelType.LPG, 0.54,
+            FuelType.PETROL, 0.745,
+            FuelType.DIESEL, 0.832,
+            FuelType.KEROSENE, 0.80
+    ));
+
+    private final ProductCatalog catalog;
+    private final PriceHistory priceHistory;
+
+    // Price multiplier per CustomerType ordinal (1 - discount)
+    private final BigDecimal[] discountFactor = new BigDecimal[TIERS];
+
+    private volatile Table table;
+
+    /**
+     * One compiled pricing table.
+     * listPrices[slot] is the list price per product unit (null when the product has none),
+     * unitPrices[slot * TIERS + tier] the discounted price per product unit and
+     * conversions[slot * UNITS + unit] the product units in one requested unit (NaN when
+     * the units cannot be converted).
+     */
+    private record Table(long catalogVersion, long historyVersion, PriceHistory.Window window,
+                         int[] slotById, Map<Long, Integer> sparseSlots,
+                         BigDecimal[] listPrices, BigDecimal[] unitPrices, double[] conversions) {
+
+        int slotOf(Long productId) {
+            if (productId == null) {
+                return -1;
+            }
+            if (productId >= 0 && productId < slotById.length) {
+                return slotById[productId.intValue()];
+            }
+            return sparseSlots.getOrDefault(productId, -1);
+        }
+    }
+
+    /**
+     * A priced quantity; quantity is converted to the product's unit
+     */
+    public record Price(double quantity, BigDecimal listPrice, BigDecimal unitPrice, BigDecimal amount) {
+    }
+
+    public PricingEngine(ProductCatalog catalog,
+                         PriceHistory priceHistory,
+                         @Value("${fuelnexus.pricing.discount-percent.domestic:0}") double domesticDiscount,
+                         @Value("${fuelnexus.pricing.discount-percent.commercial:5}") double commercialDiscount,
+                         @Value("${fuelnexus.pricing.discount-percent.industrial:10}") double industrialDiscount) {
+        this.catalog = catalog;
+        this.priceHistory = priceHistory;
+        discountFactor[CustomerType.DOMESTIC.ordinal()] = factor(CustomerType.DOMESTIC, domesticDiscount);
+        discountFactor[CustomerType.COMMERCIAL.ordinal()] = factor(CustomerType.COMMERCIAL, commercialDiscount);
+        discountFactor[CustomerType.INDUSTRIAL.ordinal()] = factor(CustomerType.INDUSTRIAL, industrialDiscount);
+    }
+
+    public double discountPercent(CustomerType customerType) {
+        return BigDecimal.ONE.subtract(discountFactor[customerType.ordinal()]).movePointRight(2)
+                .setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    /**
+     * Price a quantity of a product for a customer type at the given time
+     *
+     * @param unit unit of the quantity, or null when it is already in the product's unit
+     */
+    public Price price(Long productId, CustomerType customerType, double quantity, QuantityUnit unit, LocalDateTime at) {
+        Table compiled = current();
+        int slot = compiled.slotOf(productId);
+        if (slot < 0) {
+            throw new ProductNotFoundException(productId);
+        }
+
+        double productUnits = quantity;
+        if (unit != null) {
+            double perUnit = compiled.conversions()[slot * UNITS + unit.ordinal()];
+            if (Double.isNaN(perUnit)) {
+                throw new FuelNexusRuntimeException("Cannot convert " + unit.getLabel() + " to the unit of product ID: " + productId);
+            }
+            productUnits = quantity * perUnit;
+        }
+
+        long instant = priceHistory.toMillis(at);
+        BigDecimal listPrice;
+        BigDecimal unitPrice;
+        if (compiled.window().contains(instant)) {
+            listPrice = compiled.listPrices()[slot];
+            unitPrice = compiled.unitPrices()[slot * TIERS + customerType.ordinal()];
+        } else {
+            listPrice = priceHistory.priceAt(productId, at);
+            unitPrice = listPrice != null ? listPrice.multiply(discountFactor[customerType.ordinal()]) : null;
+        }
+        if (listPrice == null) {
+            throw new ResourceNotFoundException("No price for product ID: " + productId + " at " + at);
+        }
+        BigDecimal amount = unitPrice.multiply(BigDecimal.valueOf(productUnits)).setScale(2, RoundingMode.HALF_UP);
+        return new Price(productUnits, listPrice, unitPrice, amount);
+    }
+
+    // Current table, recompiled when its inputs changed or its price window has passed
+    private Table current() {
+        Table compiled = table;
+        if (isStale(compiled)) {
+            compiled = compile();
+        }
+        return compiled;
+    }
+
+    private boolean isStale(Table compiled) {
+        return compiled == null
+                || compiled.catalogVersion() != catalog.version()
+                || compiled.historyVersion() != priceHistory.version()
+                || !compiled.window().contains(System.currentTimeMillis());
+    }
+
+    private synchronized Table compile() {
+        if (!isStale(table)) {
+            return table;
+        }
+        // Versions are read before the data, so a change racing the compile triggers another one
+        long catalogVersion = catalog.version();
+        long historyVersion = priceHistory.version();
+        long now = System.currentTimeMillis();
+        PriceHistory.Window window = priceHistory.stableWindow(now);
+        Collection<Product> products = catalog.all();
+
+        int maxId = -1;
+        for (Product product : products) {
+            if (product.getId() < MAX_DENSE_ID) {
+                maxId = Math.max(maxId, product.getId().intValue());
+            }
+        }
+        int[] slotById = new int[maxId + 1];
+        Arrays.fill(slotById, -1);
+        Map<Long, Integer> sparseSlots = new HashMap<>();
+        BigDecimal[] listPrices = new BigDecimal[products.size()];
+        BigDecimal[] unitPrices = new BigDecimal[products.size() * TIERS];
+        double[] conversions = new double[products.size() * UNITS];
+
+        int slot = 0;
+        for (Product product : products) {
+            if (product.getId() < MAX_DENSE_ID) {
+                slotById[product.getId().intValue()] = slot;
+            } else {
+                sparseSlots.put(product.getId(), slot);
+            }
+
+            BigDecimal current = priceHistory.currentPrice(product.getId());
+            if (current == null) {
+                current = product.getPrice();
+            }
+            listPrices[slot] = current;
+            for (int tier = 0; tier < TIERS && current != null; tier++) {
+                unitPrices[slot * TIERS + tier] = current.multiply(discountFactor[tier]);
+            }
+
+            QuantityUnit productUnit = QuantityUnit.fromLabel(product.getUnit());
+            for (QuantityUnit unit : QuantityUnit.values()) {
+                conversions[slot * UNITS + unit.ordinal()] = conversion(unit, productUnit, product.getFuelType());
+            }
+            slot++;
+        }
+
+        Table compiled = new Table(catalogVersion, historyVersion, window, slotById, Map.copyOf(sparseSlots),
+                listPrices, unitPrices, conversions);
+        table = compiled;
+        log.debug("Compiled pricing table for {} products, valid until {}", slot,
+                window.until() == Long.MAX_VALUE ? "next change" : window.until());
+        return compiled;
+    }
+
+    // Product units in one 'from' unit; volume and mass convert through the fuel's density
+    private static double conversion(QuantityUnit from, QuantityUnit to, FuelType fuelType) {
+        if (from == to) {
+            return 1.0;
+        }
+        if (to == null) {
+            return Double.NaN;
+        }
+        return litres(from, fuelType) / litres(to, fuelType);
+    }
+
+    private static double litres(QuantityUnit unit, FuelType fuelType) {
+        return switch (unit) {
+            case LITRE -> 1.0;
+            case GALLON -> LITRES_PER_GALLON;
+            case KG -> fuelType != null ? 1.0 / DENSITY.get(fuelType) : Double.NaN;
+        };
+    }
+
+    private static BigDecimal factor(CustomerType customerType, double discountPercent) {
+        if (discountPercent < 0 || discountPercent >= 100) {
+            throw new IllegalArgumentException("Discount for " + customerType + " must be in [0, 100): " + discountPercent);
+        }
+        return BigDecimal.ONE.subtract(BigDecimal.valueOf(discountPercent).movePointLeft(2));
+    }
+}
@@ -0,0 +1,116 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.DailyPricingDTO;
+import com.fuel.nexus.dto.PriceQuoteDTO;
+import com.fuel.nexus.dto.PriceQuoteRequestDTO;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.exception.exceptions.BookingNotFoundException;
+import com.fuel.nexus.repository.BookingRepository;
+import com.fuel.nexus.service.services.PricingService;
+import com.fuel.nexus.utility.BookingStatus;
+import com.fuel.nexus.utility.CustomerType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Tag(name = "Pricing Service", description = "Service implementation for pricing bookings by product and customer type")
+public class PricingServiceImpl implements PricingService {
+
+    private final PricingEngine pricingEngine;
+    private final ProductCatalog productCatalog;
+    private final BookingRepository bookingRepository;
+
+    @Override
+    @Operation(summary = "Quote Price", description = "Price a quantity of a product for a customer type, optionally in another unit")
+    public PriceQuoteDTO quote(PriceQuoteRequestDTO request) {
+        LocalDateTime at = request.getAt() != null ? request.getAt() : LocalDateTime.now();
+        PricingEngine.Price price = pricingEngine.price(request.getProductId(), request.getCustomerType(),
+                request.getQuantity(), request.getUnit(), at);
+        return toQuote(null, request.getProductId(), request.getCustomerType(), price);
+    }
+
+    @Override
+    @Operation(summary = "Quote Prices", description = "Price several product quantities in one call")
+    public List<PriceQuoteDTO> quoteAll(List<PriceQuoteRequestDTO> requests) {
+        return requests.stream().map(this::quote).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Price Booking", description = "Total of a booking from its product price, quantity and customer type")
+    public PriceQuoteDTO priceBooking(Long bookingId) {
+        BookingRepository.BookingPricingView booking = bookingRepository.findPricingViewById(bookingId)
+                .orElseThrow(() -> new BookingNotFoundException(String.valueOf(bookingId)));
+        return priceBooking(booking);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Price Bookings Of Day", description = "Totals of all non-cancelled bookings made on the given day")
+    public DailyPricingDTO priceBookings(LocalDate date) {
+        List<BookingRepository.BookingPricingView> bookings = bookingRepository.findPricingViewsBetween(
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay(), BookingStatus.CANCELLED);
+
+        List<PriceQuoteDTO> quotes = new ArrayList<>(bookings.size());
+        Map<CustomerType, BigDecimal> totals = new EnumMap<>(CustomerType.class);
+        BigDecimal total = BigDecimal.ZERO;
+        for (BookingRepository.BookingPricingView booking : bookings) {
+            PriceQuoteDTO quote = priceBooking(booking);
+            quotes.add(quote);
+            BigDecimal amount = BigDecimal.valueOf(quote.getAmount());
+            totals.merge(quote.getCustomerType(), amount, BigDecimal::add);
+            total = total.add(amount);
+        }
+
+        Map<CustomerType, Double> totalByCustomerType = new EnumMap<>(CustomerType.class);
+        totals.forEach((type, amount) -> totalByCustomerType.put(type, scale(amount)));
+        log.info("Priced {} bookings of {} for a total of {}", quotes.size(), date, total);
+        return DailyPricingDTO.builder()
+                .date(date)
+                .bookingCount(quotes.size())
+                .totalAmount(scale(total))
+                .totalByCustomerType(totalByCustomerType)
+                .bookings(quotes)
+                .build();
+    }
+
+    // Booking quantities are in the product's own unit
+    private PriceQuoteDTO priceBooking(BookingRepository.BookingPricingView booking) {
+        PricingEngine.Price price = pricingEngine.price(booking.getProductId(), booking.getCustomerType(),
+                booking.getQuantity(), null, booking.getBookingDate());
+        return toQuote(booking.getId(), booking.getProductId(), booking.getCustomerType(), price);
+    }
+
+    private PriceQuoteDTO toQuote(Long bookingId, Long productId, CustomerType customerType, PricingEngine.Price price) {
+        return PriceQuoteDTO.builder()
+                .bookingId(bookingId)
+                .productId(productId)
+                .customerType(customerType)
+                .quantity(price.quantity())
+                .unit(productCatalog.findById(productId).map(Product::getUnit).orElse(null))
+                .listPrice(price.listPrice().doubleValue())
+                .discountPercent(pricingEngine.discountPercent(customerType))
+                .unitPrice(price.unitPrice().setScale(4, RoundingMode.HALF_UP).doubleValue())
+                .amount(price.amount().doubleValue())
+                .build();
+    }
+
+    private static double scale(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+}
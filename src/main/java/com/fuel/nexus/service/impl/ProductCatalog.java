@@ -0,0 +1,143 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.repository.ProductRepository;
+import com.fuel.nexus.utility.FuelType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable in-process snapshot of the product catalog, indexed by id, name and fuel type.
+ * <p>
+ * Readers dereference one volatile field and read from immutable maps, so lookups take no
+ * lock and do not touch MySQL or Redis. Writers build a complete new snapshot from a copy
+ * (copy-on-write) and publish it with a single reference swap; with a catalog of a few
+ * hundred rows changing a few times a day the copy is negligible. Local writes are applied
+ * by ProductServiceImpl, other nodes apply them from the product-topic message, and a
+ * periodic full reload repairs anything missed.
+ * <p>
+ * Products held here are detached copies shared between all readers and must not be modified.
+ */
+@Slf4j
+@Component
+public class ProductCatalog {
+
+    private final ProductRepository productRepository;
+
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    // Bumped on every snapshot swap, so derived tables know when to recompile
+    private volatile long version;
+
+    private record Snapshot(Map<Long, Product> byId,
+                            Map<String, Product> byName,
+                            Map<FuelType, List<Product>> byFuelType) {
+
+        static Snapshot of(Collection<Product> products) {
+            Map<Long, Product> byId = new HashMap<>();
+            Map<String, Product> byName = new HashMap<>();
+            Map<FuelType, List<Product>> byFuelType = new EnumMap<>(FuelType.class);
+            for (Product product : products) {
+                byId.put(product.getId(), product);
+                byName.putIfAbsent(product.getName(), product);
+                if (product.getFuelType() != null) {
+                    byFuelType.computeIfAbsent(product.getFuelType(), type -> new ArrayList<>()).add(product);
+                }
+            }
+            byFuelType.replaceAll((type, list) -> List.copyOf(list));
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byName), Collections.unmodifiableMap(byFuelType));
+        }
+    }
+
+    public ProductCatalog(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    // ------------------------------------------------------------------------
+    // Lock-free reads
+    // ------------------------------------------------------------------------
+    public Optional<Product> findById(Long productId) {
+        return Optional.ofNullable(snapshot.byId().get(productId));
+    }
+
+    public Optional<Product> findByName(String name) {
+        return Optional.ofNullable(snapshot.byName().get(name));
+    }
+
+    public List<Product> findByFuelType(FuelType fuelType) {
+        return snapshot.byFuelType().getOrDefault(fuelType, List.of());
+    }
+
+    public Collection<Product> all() {
+        return snapshot.byId().values();
+    }
+
+    public long version() {
+        return version;
+    }
+
+    // ------------------------------------------------------------------------
+    // Copy-on-write updates
+    // ------------------------------------------------------------------------
+    public synchronized void put(Product product) {
+        Map<Long, Product> products = new HashMap<>(snapshot.byId());
+        products.put(product.getId(), detach(product));
+        snapshot = Snapshot.of(products.values());
+        version++;
+    }
+
+    public synchronized void remove(Long productId) {
+        if (!snapshot.byId().containsKey(productId)) {
+            return;
+        }
+        Map<Long, Product> products = new HashMap<>(snapshot.byId());
+        products.remove(productId);
+        snapshot = Snapshot.of(products.values());
+        version++;
+    }
+
+    /**
+     * Re-read one product after a change made elsewhere (another node or a bulk SQL update)
+     */
+    public void refresh(Long productId) {
+        productRepository.findById(productId).ifPresentOrElse(this::put, () -> remove(productId));
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${fuelnexus.catalog.reload-interval-ms:600000}",
+            initialDelayString = "${fuelnexus.catalog.reload-interval-ms:600000}")
+    public synchronized void reload() {
+        List<Product> products = productRepository.findAll().stream().map(ProductCatalog::detach).toList();
+        snapshot = Snapshot.of(products);
+        version++;
+        log.info("Product catalog loaded with {} products", products.size());
+    }
+
+    // Private copy, so neither the persistence context nor callers share the instance
+    private static Product detach(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .type(product.getType())
+                .price(product.getPrice())
+                .unit(product.getUnit())
+                .manufacturerEmail(product.getManufacturerEmail())
+                .description(product.getDescription())
+                .fuelType(product.getFuelType())
+                .stockQuantity(product.getStockQuantity())
+                .version(product.getVersion())
+                .lastModified(product.getLastModified())
+                .build();
+    }
+}
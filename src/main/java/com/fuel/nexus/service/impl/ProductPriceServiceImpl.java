@@ -0,0 +1,118 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.ProductPriceDTO;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.entity.ProductPrice;
+import com.fuel.nexus.exception.exceptions.ProductNotFoundException;
+import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.repository.ProductPriceRepository;
+import com.fuel.nexus.repository.ProductRepository;
+import com.fuel.nexus.service.services.ProductPriceService;
+import com.fuel.nexus.utility.TransactionCallbacks;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Tag(name = "Product Price Service", description = "Service implementation for time-versioned product prices")
+public class ProductPriceServiceImpl implements ProductPriceService {
+
+    private static final String PRODUCT_TOPIC = "product-topic";
+
+    private final ProductPriceRepository priceRepository;
+    private final ProductRepository productRepository;
+    private final PriceHistory priceHistory;
+    private final ProductCatalog productCatalog;
+    private final JdbcTemplate jdbcTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final CacheManager cacheManager;
+
+    /**
+     * Add a price entry; an entry at the same instant is replaced
+     */
+    @Override
+    @Transactional
+    @Operation(summary = "Schedule Price", description = "Add a price to a product's history, effective now or at a future time")
+    public ProductPrice schedulePrice(Long productId, ProductPriceDTO priceDTO) {
+        if (!productRepository.existsById(productId)) {
+            throw new ProductNotFoundException(productId);
+        }
+        LocalDateTime effectiveFrom = priceDTO.getEffectiveFrom() != null ? priceDTO.getEffectiveFrom() : LocalDateTime.now();
+        log.info("Scheduling price {} for product ID={} from {}", priceDTO.getPrice(), productId, effectiveFrom);
+
+        ProductPrice entry = priceRepository.findByProductIdAndEffectiveFrom(productId, effectiveFrom)
+                .orElseGet(() -> ProductPrice.builder().productId(productId).effectiveFrom(effectiveFrom).build());
+        entry.setPrice(priceDTO.getPrice());
+        entry.setCreatedAt(LocalDateTime.now());
+        ProductPrice saved = priceRepository.save(entry);
+
+        TransactionCallbacks.afterCommit(() -> {
+            priceHistory.refresh(productId);
+            promoteDuePrices();
+            // Other nodes rebuild the product's timeline from the product-topic message
+            kafkaTemplate.send(PRODUCT_TOPIC, String.valueOf(productId), "Price scheduled for product ID: " + productId);
+        });
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Price History", description = "List a product's past, current and scheduled prices")
+    public List<ProductPrice> getPriceHistory(Long productId) {
+        return priceRepository.findByProductIdOrderByEffectiveFromAsc(productId);
+    }
+
+    @Override
+    @Operation(summary = "Price At", description = "Price of a product effective at the given time")
+    public BigDecimal getPriceAt(Long productId, LocalDateTime at) {
+        BigDecimal price = priceHistory.priceAt(productId, at);
+        if (price == null) {
+            throw new ResourceNotFoundException("No price for product ID: " + productId + " at " + at);
+        }
+        return price;
+    }
+
+    /**
+     * Keep products.price (the list price shown with the product) equal to the price in effect,
+     * so scheduled changes become visible there once they are due. The cached product pages
+     * are evicted here rather than through @CacheEvict: only when a price actually changed,
+     * and also when called from schedulePrice, where the proxy is bypassed.
+     */
+    @Scheduled(fixedDelayString = "${fuelnexus.pricing.promote-interval-ms:60000}")
+    public void promoteDuePrices() {
+        int promoted = 0;
+        for (Product product : productCatalog.all()) {
+            BigDecimal current = priceHistory.currentPrice(product.getId());
+            if (current != null && (product.getPrice() == null || product.getPrice().compareTo(current) != 0)) {
+                int updated = jdbcTemplate.update(
+                        "UPDATE products SET price = ?, version = version + 1 WHERE id = ? AND (price IS NULL OR price <> ?)",
+                        current, product.getId(), current);
+                productCatalog.refresh(product.getId());
+                if (updated > 0) {
+                    promoted++;
+                    log.info("Price {} now in effect for product ID={}", current, product.getId());
+                }
+            }
+        }
+        if (promoted > 0) {
+            Cache cache = cacheManager.getCache("productsPage");
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
@@ -2,10 +2,18 @@ package com.fuel.nexus.service.impl;
 
 import com.fuel.nexus.dto.ProductDTO;
 import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.entity.ProductPrice;
+import com.fuel.nexus.exception.exceptions.ConcurrentUpdateException;
+import com.fuel.nexus.exception.exceptions.FuelNexusRuntimeException;
 import com.fuel.nexus.exception.exceptions.OutOfStockException;
 import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.repository.ProductPriceRepository;
 import com.fuel.nexus.repository.ProductRepository;
 import com.fuel.nexus.service.services.ProductService;
+import com.fuel.nexus.service.services.SearchService;
+import com.fuel.nexus.utility.FuelType;
+import com.fuel.nexus.utility.OptimisticRetryExecutor;
+import com.fuel.nexus.utility.TransactionCallbacks;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +25,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -31,6 +42,12 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final ModelMapper modelMapper;
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final LowStockEvaluator lowStockEvaluator;
+    private final ProductCatalog productCatalog;
+    private final ProductPriceRepository priceRepository;
+    private final PriceHistory priceHistory;
+    private final SearchService searchService;
 
     private static final String PRODUCT_TOPIC = "product-topic";
 
@@ -39,7 +56,7 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     @Operation(summary = "Save Product", description = "Create and persist a new product (Gas or Liquid Fuel)")
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = "productsPage", allEntries = true)
     public Product saveProduct(ProductDTO productDTO) {
         log.info("Saving new product: {}", productDTO.getName());
 
@@ -47,9 +64,15 @@ public class ProductServiceImpl implements ProductService {
         Product savedProduct = productRepository.save(product);
 
         log.info("Product saved with ID={}", savedProduct.getId());
-
-        // Kafka notification
-        kafkaTemplate.send(PRODUCT_TOPIC, "New product added: " + savedProduct.getName());
+        recordPrice(savedProduct);
+        TransactionCallbacks.afterCommit(() -> {
+            productCatalog.put(savedProduct);
+            priceHistory.refresh(savedProduct.getId());
+            searchService.indexProduct(savedProduct);
+            // Kafka notification, keyed by product id so other nodes refresh their catalog;
+            // sent after commit so they never reload a product that is not there yet
+            kafkaTemplate.send(PRODUCT_TOPIC, String.valueOf(savedProduct.getId()), "New product added: " + savedProduct.getName());
+        });
 
         return savedProduct;
     }
@@ -70,37 +93,65 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     @Operation(summary = "Get Product by ID", description = "Retrieve a product by its unique identifier")
-    @Cacheable(value = "products", key = "#productId")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Product> getProductById(Long productId) {
-        log.info("Fetching product by ID={}", productId);
-        return productRepository.findById(productId);
+        log.debug("Fetching product by ID={}", productId);
+        Optional<Product> product = productCatalog.findById(productId);
+        if (product.isEmpty()) {
+            // Possibly created on another node and not yet announced
+            product = productRepository.findById(productId);
+            product.ifPresent(productCatalog::put);
+        }
+        return product;
     }
 
     /**
-     * Update product details
+     * Update product details; the DTO carries absolute values, so the update only applies to
+     * the version the client read and is never retried over a newer one
      */
     @Override
     @Operation(summary = "Update Product", description = "Update product details (price, type, unit, etc.)")
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = "productsPage", allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // the update runs in its own transaction
     public Product updateProduct(Long productId, ProductDTO productDTO) {
         log.info("Updating product ID={}", productId);
+        if (productDTO.getVersion() == null) {
+            throw new FuelNexusRuntimeException("Version is required to update product ID: " + productId);
+        }
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
-
-        // Update fields
-        product.setName(productDTO.getName());
-        product.setFuelType(productDTO.getFuelType());
-        product.setUnit(productDTO.getUnit());
-        product.setPrice(productDTO.getPrice());
-        product.setStockQuantity(productDTO.getStockQuantity());
-
-        Product updatedProduct = productRepository.save(product);
+        Product updatedProduct = retryExecutor.executeOnce("Product", () -> {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
+            if (!productDTO.getVersion().equals(product.getVersion())) {
+                throw new ConcurrentUpdateException("Product ID " + productId + " is at version "
+                        + product.getVersion() + ", not " + productDTO.getVersion() + "; reload it and retry");
+            }
+
+            boolean priceChanged = product.getPrice() == null || product.getPrice().compareTo(productDTO.getPrice()) != 0;
+
+            // Update fields
+            product.setName(productDTO.getName());
+            product.setFuelType(productDTO.getFuelType());
+            product.setUnit(productDTO.getUnit());
+            product.setPrice(productDTO.getPrice());
+            product.setStockQuantity(productDTO.getStockQuantity());
+
+            Product saved = productRepository.saveAndFlush(product);
+            if (priceChanged) {
+                // Direct price edits take effect immediately; future changes go through the price history API
+                recordPrice(saved);
+            }
+            return saved;
+        });
 
         log.info("Product updated ID={} name={}", updatedProduct.getId(), updatedProduct.getName());
+        // The update has committed at this point
+        productCatalog.put(updatedProduct);
+        priceHistory.refresh(productId);
+        searchService.indexProduct(updatedProduct);
 
         // Kafka notification
-        kafkaTemplate.send(PRODUCT_TOPIC, "Product updated: " + updatedProduct.getName());
+        kafkaTemplate.send(PRODUCT_TOPIC, String.valueOf(productId), "Product updated: " + updatedProduct.getName());
 
         return updatedProduct;
     }
@@ -110,7 +161,7 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     @Operation(summary = "Delete Product", description = "Delete a product from the system by ID")
-    @CacheEvict(value = "products", key = "#productId")
+    @CacheEvict(value = "productsPage", allEntries = true)
     public void deleteProduct(Long productId) {
         log.info("Deleting product ID={}", productId);
 
@@ -120,9 +171,12 @@ public class ProductServiceImpl implements ProductService {
         productRepository.delete(product);
 
         log.info("Product deleted ID={}", productId);
-
-        // Kafka notification
-        kafkaTemplate.send(PRODUCT_TOPIC, "Product deleted: " + product.getName());
+        TransactionCallbacks.afterCommit(() -> {
+            productCatalog.remove(productId);
+            searchService.removeProduct(productId);
+            // Kafka notification
+            kafkaTemplate.send(PRODUCT_TOPIC, String.valueOf(productId), "Product deleted: " + product.getName());
+        });
     }
 
     /**
@@ -130,9 +184,20 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     @Operation(summary = "Find Product by Name", description = "Search a product using its name")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Product> findByName(String name) {
-        log.info("Searching product by name={}", name);
-        return productRepository.findByName(name);
+        log.debug("Searching product by name={}", name);
+        return productCatalog.findByName(name);
+    }
+
+    /**
+     * List products of a fuel type
+     */
+    @Override
+    @Operation(summary = "Find Products by Fuel Type", description = "List all products of a given fuel type")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<Product> findByFuelType(FuelType fuelType) {
+        return productCatalog.findByFuelType(fuelType);
     }
 
     /**
@@ -140,10 +205,11 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     @Operation(summary = "Track Product Stock", description = "Check current stock levels for a given product")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long getStockLevel(Long productId) {
-        log.info("Getting stock level for product ID={}", productId);
+        log.debug("Getting stock level for product ID={}", productId);
 
-        Product product = productRepository.findById(productId)
+        Product product = getProductById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
 
         return product.getStockQuantity();
@@ -153,16 +219,28 @@ public class ProductServiceImpl implements ProductService {
      * Handle low stock alerts
      */
     @Override
-    @Operation(summary = "Low Stock Alert", description = "Check if a product's stock level is below threshold and trigger alert")
+    @Operation(summary = "Low Stock Alert", description = "Check if a product's stock level is below the given threshold, or its fuel type threshold when none is given")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean isLowStock(Long productId, Double threshold) {
-        Product product = productRepository.findById(productId)
+        Product product = getProductById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
 
-        boolean lowStock = product.getStockQuantity() < threshold;
+        double effectiveThreshold = threshold != null ? threshold : lowStockEvaluator.lowLevelFor(product.getFuelType());
+
+        // Read-only check: alerts are edge-triggered by LowStockEvaluator, not sent on every poll
+        boolean lowStock = product.getStockQuantity() < effectiveThreshold;
         if (lowStock) {
             log.warn("Low stock detected for product ID={} stock={}", productId, product.getStockQuantity());
-            kafkaTemplate.send(PRODUCT_TOPIC, "Low stock alert for product: " + product.getName());
         }
         return lowStock;
     }
+
+    private void recordPrice(Product product) {
+        priceRepository.save(ProductPrice.builder()
+                .productId(product.getId())
+                .price(product.getPrice())
+                .effectiveFrom(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
 }
@@ -0,0 +1,201 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.SearchResultDTO;
+import com.fuel.nexus.entity.Customer;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.repository.CustomerRepository;
+import com.fuel.nexus.service.services.SearchService;
+import com.fuel.nexus.utility.SearchTarget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead search over products and customers, served from two in-memory prefix indexes.
+ * <p>
+ * The indexes are kept current by ProductServiceImpl and CustomerServiceImpl after their
+ * changes commit, and rebuilt periodically from the database to pick up changes made on
+ * other nodes. Customers are loaded with keyset pages; changes arriving while a rebuild
+ * runs are re-applied to the new index before it is published.
+ */
+@Slf4j
+@Service
+@Tag(name = "Search Service", description = "Service implementation for typeahead search over products and customers")
+public class SearchServiceImpl implements SearchService {
+
+    private static final String CUSTOMER_PAGE_SQL =
+            "SELECT id, full_name, email, mobile_number, pincode FROM customers WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final ProductCatalog productCatalog;
+    private final CustomerRepository customerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer searchTimer;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int candidateLimit;
+    private final int pageSize;
+
+    private volatile TypeaheadIndex products = new TypeaheadIndex();
+    private volatile TypeaheadIndex customers = new TypeaheadIndex();
+
+    // Customer ids changed while a rebuild is running; guarded by this
+    private Set<Long> changedDuringRebuild;
+
+    public SearchServiceImpl(ProductCatalog productCatalog,
+                             CustomerRepository customerRepository,
+                             JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${fuelnexus.search.default-limit:10}") int defaultLimit,
+                             @Value("${fuelnexus.search.max-limit:50}") int maxLimit,
+                             @Value("${fuelnexus.search.candidate-limit:2000}") int candidateLimit,
+                             @Value("${fuelnexus.search.load-page-size:10000}") int pageSize) {
+        this.productCatalog = productCatalog;
+        this.customerRepository = customerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.candidateLimit = candidateLimit;
+        this.pageSize = pageSize;
+        this.searchTimer = Timer.builder("fuelnexus.search.latency")
+                .description("Typeahead query time").register(meterRegistry);
+    }
+
+    @Override
+    @Operation(summary = "Search", description = "Prefix search over product names and customer name, e-mail, mobile and pincode")
+    public List<SearchResultDTO> search(String query, SearchTarget target, Integer limit) {
+        int k = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        return searchTimer.record(() -> {
+            Stream<SearchResultDTO> results = Stream.empty();
+            if (target == null || target == SearchTarget.PRODUCT) {
+                results = Stream.concat(results, hits(products, SearchTarget.PRODUCT, query, k));
+            }
+            if (target == null || target == SearchTarget.CUSTOMER) {
+                results = Stream.concat(results, hits(customers, SearchTarget.CUSTOMER, query, k));
+            }
+            return results
+                    .sorted(Comparator.comparingInt(SearchResultDTO::getScore).reversed())
+                    .limit(k)
+                    .toList();
+        });
+    }
+
+    private Stream<SearchResultDTO> hits(TypeaheadIndex index, SearchTarget target, String query, int k) {
+        return index.search(query, k, candidateLimit).stream()
+                .map(hit -> SearchResultDTO.builder()
+                        .target(target)
+                        .id(hit.entry().id())
+                        .label(hit.entry().label())
+                        .detail(hit.entry().detail())
+                        .score(hit.score())
+                        .build());
+    }
+
+    // ------------------------------------------------------------------------
+    // Incremental maintenance
+    // ------------------------------------------------------------------------
+    @Override
+    public synchronized void indexProduct(Product product) {
+        products.put(toEntry(product));
+    }
+
+    @Override
+    public synchronized void removeProduct(Long productId) {
+        products.remove(productId);
+    }
+
+    @Override
+    public synchronized void indexCustomer(Customer customer) {
+        customers.put(toEntry(customer.getId(), customer.getFullName(), customer.getEmail(),
+                customer.getMobileNumber(), customer.getPincode()));
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(customer.getId());
+        }
+    }
+
+    @Override
+    public synchronized void removeCustomer(Long customerId) {
+        customers.remove(customerId);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(customerId);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Full rebuild (startup and safety net)
+    // ------------------------------------------------------------------------
+    @Scheduled(fixedDelayString = "${fuelnexus.search.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (this) {
+            TypeaheadIndex freshProducts = new TypeaheadIndex();
+            freshProducts.load(productCatalog.all().stream().map(SearchServiceImpl::toEntry).toList());
+            products = freshProducts;
+            changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        }
+
+        TypeaheadIndex freshCustomers = new TypeaheadIndex();
+        try {
+            List<TypeaheadIndex.Entry> entries = new ArrayList<>();
+            long lastId = 0;
+            while (true) {
+                List<TypeaheadIndex.Entry> page = jdbcTemplate.query(CUSTOMER_PAGE_SQL,
+                        (rs, rowNum) -> toEntry(rs.getLong("id"), rs.getString("full_name"), rs.getString("email"),
+                                rs.getString("mobile_number"), rs.getString("pincode")),
+                        lastId, pageSize);
+                entries.addAll(page);
+                if (page.size() < pageSize) {
+                    break;
+                }
+                lastId = page.get(page.size() - 1).id();
+            }
+            freshCustomers.load(entries);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (Long customerId : changedDuringRebuild) {
+                customerRepository.findById(customerId).ifPresentOrElse(
+                        customer -> freshCustomers.put(toEntry(customer.getId(), customer.getFullName(),
+                                customer.getEmail(), customer.getMobileNumber(), customer.getPincode())),
+                        () -> freshCustomers.remove(customerId));
+            }
+            customers = freshCustomers;
+            changedDuringRebuild = null;
+        }
+        log.info("Search index rebuilt with {} products and {} customers", products.size(), freshCustomers.size());
+    }
+
+    private static TypeaheadIndex.Entry toEntry(Product product) {
+        List<String> terms = new ArrayList<>(List.of(TypeaheadIndex.tokenize(product.getName())));
+        if (product.getFuelType() != null) {
+            terms.add(TypeaheadIndex.keyword(product.getFuelType().name()));
+        }
+        String detail = product.getFuelType() + " / " + product.getUnit();
+        return new TypeaheadIndex.Entry(product.getId(), product.getName(), detail, terms.toArray(String[]::new));
+    }
+
+    private static TypeaheadIndex.Entry toEntry(long id, String fullName, String email, String mobileNumber, String pincode) {
+        List<String> terms = new ArrayList<>(List.of(TypeaheadIndex.tokenize(fullName)));
+        terms.add(TypeaheadIndex.keyword(email));
+        terms.add(TypeaheadIndex.keyword(mobileNumber));
+        terms.add(TypeaheadIndex.keyword(pincode));
+        String detail = email + " / " + mobileNumber + " / " + pincode;
+        return new TypeaheadIndex.Entry(id, fullName, detail, terms.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,240 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.entity.Booking;
+import com.fuel.nexus.exception.exceptions.OutOfStockException;
+import com.fuel.nexus.utility.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time-limited stock holds for open bookings.
+ * <p>
+ * Creating a booking reserves its quantity on the inventory batches of its fuel type
+ * through the stock reservation ledger and records the hold in stock_holds. The hold is released when the
+ * booking is cancelled, consumed when it is delivered, and released automatically once it
+ * expires. Expiry runs on a hashed timer wheel, so open holds cost one list node each and
+ * a tick only touches the holds due in it; nothing polls the table for due holds.
+ * <p>
+ * Deleting the row is what releases a hold, so only the node whose delete succeeds gives
+ * the quantity back to the ledger, and a hold is released once however many nodes have it
+ * on their wheel. Holds are reloaded from the table at startup and periodically after, to
+ * pick up holds created on other nodes; each reload first recomputes reserved_quantity
+ * from the holds, since reserving and recording a hold are not one atomic step.
+ */
+@Slf4j
+@Service
+public class StockHoldManager {
+
+    private static final String TOPIC_BOOKING = "booking-events";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_holds (booking_id, inventory_id, quantity, created_at, expires_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String FIND_SQL = "SELECT inventory_id, quantity FROM stock_holds WHERE booking_id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM stock_holds WHERE booking_id = ?";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM stock_holds WHERE booking_id = ? AND expires_at <= ?";
+
+    private static final String PAGE_SQL =
+            "SELECT id, booking_id, expires_at FROM stock_holds WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final StockReservationLedger stockLedger;
+    private final JdbcTemplate jdbcTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final HashedTimerWheel<Long> wheel;
+    private final Counter expiredCounter;
+    private final long ttlMinutes;
+    private final int pageSize;
+    private final long reconcileGraceMs;
+
+    private record Hold(long inventoryId, double quantity) {
+    }
+
+    public StockHoldManager(StockReservationLedger stockLedger,
+                            JdbcTemplate jdbcTemplate,
+                            KafkaTemplate<String, String> kafkaTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${fuelnexus.holds.ttl-minutes:120}") long ttlMinutes,
+                            @Value("${fuelnexus.holds.tick-ms:1000}") long tickMs,
+                            @Value("${fuelnexus.holds.wheel-size:8192}") int wheelSize,
+                            @Value("${fuelnexus.holds.load-page-size:5000}") int pageSize,
+                            @Value("${fuelnexus.holds.reconcile-grace-seconds:60}") long reconcileGraceSeconds) {
+        this.stockLedger = stockLedger;
+        this.jdbcTemplate = jdbcTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.ttlMinutes = ttlMinutes;
+        this.pageSize = pageSize;
+        this.reconcileGraceMs = reconcileGraceSeconds * 1000;
+        this.wheel = new HashedTimerWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        this.expiredCounter = Counter.builder("fuelnexus.holds.expired")
+                .description("Stock holds released because they expired").register(meterRegistry);
+        meterRegistry.gauge("fuelnexus.holds.open", wheel, HashedTimerWheel::size);
+    }
+
+    // ------------------------------------------------------------------------
+    // Place, release and consume (inside the booking transaction)
+    // ------------------------------------------------------------------------
+
+    /**
+     * Hold stock for newly saved bookings; each booking's quantity is reserved across the
+     * batches of its fuel type, oldest first, with one hold row per batch. Reservations are
+     * given back if the transaction rolls back.
+     *
+     * @throws OutOfStockException when the unreserved stock of the fuel type cannot cover a booking
+     */
+    public void place(List<Booking> bookings) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusMinutes(ttlMinutes);
+        List<Object[]> rows = new ArrayList<>(bookings.size());
+        List<Hold> reserved = new ArrayList<>(bookings.size());
+        List<Long> bookingIds = new ArrayList<>(bookings.size());
+
+        registerCompletion(reserved, bookingIds, expiresAt);
+        for (Booking booking : bookings) {
+            List<StockReservationLedger.Reservation> parts =
+                    stockLedger.reserve(booking.getFuelType(), booking.getQuantity());
+            if (parts.isEmpty()) {
+                throw new OutOfStockException("Insufficient unreserved stock of " + booking.getFuelType()
+                        + " to hold " + booking.getQuantity() + " for booking ID: " + booking.getId());
+            }
+            for (StockReservationLedger.Reservation part : parts) {
+                reserved.add(new Hold(part.inventoryId(), part.quantity()));
+                rows.add(new Object[]{booking.getId(), part.inventoryId(), part.quantity(),
+                        Timestamp.valueOf(now), Timestamp.valueOf(expiresAt)});
+            }
+            bookingIds.add(booking.getId());
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        log.debug("Placed {} stock holds until {}", rows.size(), expiresAt);
+    }
+
+    /**
+     * Release the hold of a cancelled booking
+     *
+     * @return true when the booking had a hold
+     */
+    public boolean release(Long bookingId) {
+        boolean released = !remove(bookingId, null).isEmpty();
+        if (released) {
+            log.info("Released stock hold of booking ID={}", bookingId);
+        }
+        return released;
+    }
+
+    /**
+     * Drop the hold of a booking being delivered; the delivery itself takes the stock
+     *
+     * @return quantity the booking held per inventory id, so the delivery can take it
+     * although it still counts as reserved until the next ledger flush
+     */
+    public Map<Long, Double> consume(Long bookingId) {
+        Map<Long, Double> held = new HashMap<>();
+        remove(bookingId, null).forEach(hold -> held.merge(hold.inventoryId(), hold.quantity(), Double::sum));
+        return held;
+    }
+
+    // Delete the booking's rows and give the quantities back to the ledger once that commits;
+    // with a cutoff only holds that expired by then are removed
+    private List<Hold> remove(Long bookingId, Timestamp expiredBy) {
+        List<Hold> holds = jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new Hold(rs.getLong("inventory_id"), rs.getDouble("quantity")), bookingId);
+        if (holds.isEmpty()) {
+            wheel.cancel(bookingId);
+            return List.of();
+        }
+        holds.forEach(hold -> stockLedger.touch(hold.inventoryId()));
+        int deleted = expiredBy == null
+                ? jdbcTemplate.update(DELETE_SQL, bookingId)
+                : jdbcTemplate.update(DELETE_EXPIRED_SQL, bookingId, expiredBy);
+        if (deleted == 0) {
+            // Removed concurrently by another node
+            return List.of();
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            holds.forEach(hold -> stockLedger.release(hold.inventoryId(), hold.quantity()));
+            wheel.cancel(bookingId);
+        });
+        return holds;
+    }
+
+    // ------------------------------------------------------------------------
+    // Expiry
+    // ------------------------------------------------------------------------
+    @Scheduled(fixedRateString = "${fuelnexus.holds.tick-ms:1000}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        for (Long bookingId : wheel.advance(now)) {
+            try {
+                if (!remove(bookingId, new Timestamp(now)).isEmpty()) {
+                    expiredCounter.increment();
+                    kafkaTemplate.send(TOPIC_BOOKING, String.valueOf(bookingId), "Stock hold expired for booking ID: " + bookingId);
+                    log.info("Stock hold of booking ID={} expired", bookingId);
+                }
+            } catch (RuntimeException e) {
+                // Picked up again by the next reload
+                log.warn("Could not expire stock hold of booking ID={}: {}", bookingId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Schedule every hold in the table on the wheel: restores the wheel after a restart and
+     * picks up holds placed by other nodes. Reserved quantities that drifted from the holds
+     * (a crash between reserving and committing, or between deleting and releasing) are
+     * recomputed first.
+     */
+    @Scheduled(fixedDelayString = "${fuelnexus.holds.reload-interval-ms:3600000}")
+    public void reload() {
+        try {
+            stockLedger.reconcile(reconcileGraceMs);
+        } catch (RuntimeException e) {
+            log.warn("Could not reconcile reserved quantities with stock holds: {}", e.getMessage());
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        long lastId = 0;
+        int loaded = 0;
+        while (true) {
+            List<long[]> page = jdbcTemplate.query(PAGE_SQL, (rs, rowNum) -> new long[]{
+                    rs.getLong("id"),
+                    rs.getLong("booking_id"),
+                    rs.getTimestamp("expires_at").toLocalDateTime().atZone(zone).toInstant().toEpochMilli()
+            }, lastId, pageSize);
+            for (long[] row : page) {
+                wheel.schedule(row[1], row[2]);
+            }
+            loaded += page.size();
+            if (page.size() < pageSize) {
+                break;
+            }
+            lastId = page.get(page.size() - 1)[0];
+        }
+        log.info("Loaded {} open stock holds onto the expiry wheel", loaded);
+    }
+
+    // Start the expiry clock after commit; give reservations back after rollback
+    private void registerCompletion(List<Hold> reserved, List<Long> bookingIds, LocalDateTime expiresAt) {
+        long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Runnable commit = () -> bookingIds.forEach(bookingId -> wheel.schedule(bookingId, deadline));
+        Runnable rollback = () -> reserved.forEach(hold -> stockLedger.release(hold.inventoryId(), hold.quantity()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Stock holds must be placed inside the booking transaction");
+        }
+        TransactionCallbacks.afterCompletion(commit, rollback);
+    }
+}
@@ -0,0 +1,232 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.StockReconciliationReportDTO;
+import com.fuel.nexus.entity.StockReconciliationCheckpoint;
+import com.fuel.nexus.repository.StockReconciliationCheckpointRepository;
+import com.fuel.nexus.service.services.StockReconciliationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reconciles Product.stockQuantity with the summed available quantity of the product's
+ * fuel inventory batches.
+ * <p>
+ * Products are read in keyset pages in id order, and for each page the inventory sums are
+ * read grouped and ordered by product id, so the two streams are merged in one pass with
+ * memory bounded by the page size. Incremental runs only visit products changed, or with
+ * a batch changed, after the previous run's high-water mark; a full run visits every
+ * product. Mismatches are reported, and in correct mode the product side is set to the
+ * inventory total with an optimistic version check.
+ * <p>
+ * The high-water mark advances after every completed run, so a mismatch reported but not
+ * corrected is only reported again by a full run or once the product changes.
+ */
+@Slf4j
+@Service
+@Tag(name = "Stock Reconciliation Service", description = "Service implementation for reconciling product stock with fuel inventory")
+public class StockReconciliationServiceImpl implements StockReconciliationService {
+
+    private static final String CHECKPOINT = "product-stock";
+    private static final String PRODUCT_TOPIC = "product-topic";
+
+    private static final String ALL_PRODUCTS_PAGE_SQL =
+            "SELECT id, stock_quantity, version FROM products WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String CHANGED_PRODUCTS_PAGE_SQL =
+            "SELECT p.id, p.stock_quantity, p.version FROM products p WHERE p.id > ? " +
+                    "AND (p.last_modified > ? OR EXISTS (SELECT 1 FROM fuel_inventory f " +
+                    "WHERE f.product_id = p.id AND f.last_updated > ?)) ORDER BY p.id LIMIT ?";
+
+    private static final String INVENTORY_SUMS_SQL =
+            "SELECT product_id, SUM(available_quantity) AS total FROM fuel_inventory " +
+                    "WHERE product_id IN (%s) GROUP BY product_id ORDER BY product_id";
+
+    private static final String CORRECT_SQL =
+            "UPDATE products SET stock_quantity = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockReconciliationCheckpointRepository checkpointRepository;
+    private final ProductCatalog productCatalog;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final CacheManager cacheManager;
+    private final Counter mismatchCounter;
+    private final int pageSize;
+    private final int maxReported;
+    private final long safetyLagMs;
+    private final boolean autoCorrect;
+
+    private record StockRow(long id, long stockQuantity, long version) {
+    }
+
+    private record InventorySum(long productId, double total) {
+    }
+
+    public StockReconciliationServiceImpl(JdbcTemplate jdbcTemplate,
+                                          StockReconciliationCheckpointRepository checkpointRepository,
+                                          ProductCatalog productCatalog,
+                                          KafkaTemplate<String, String> kafkaTemplate,
+                                          CacheManager cacheManager,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${fuelnexus.reconcile.page-size:500}") int pageSize,
+                                          @Value("${fuelnexus.reconcile.max-reported:100}") int maxReported,
+                                          @Value("${fuelnexus.reconcile.safety-lag-ms:60000}") long safetyLagMs,
+                                          @Value("${fuelnexus.reconcile.auto-correct:false}") boolean autoCorrect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.productCatalog = productCatalog;
+        this.kafkaTemplate = kafkaTemplate;
+        this.cacheManager = cacheManager;
+        this.pageSize = pageSize;
+        this.maxReported = maxReported;
+        this.safetyLagMs = safetyLagMs;
+        this.autoCorrect = autoCorrect;
+        this.mismatchCounter = Counter.builder("fuelnexus.reconcile.mismatches")
+                .description("Products whose stock quantity differed from their summed inventory").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${fuelnexus.reconcile.interval-ms:900000}",
+            initialDelayString = "${fuelnexus.reconcile.interval-ms:900000}")
+    public void scheduledReconcile() {
+        reconcile(autoCorrect, false);
+    }
+
+    @Override
+    @Operation(summary = "Reconcile Stock", description = "Compare Product.stockQuantity with the summed available inventory per product")
+    public synchronized StockReconciliationReportDTO reconcile(boolean correct, boolean full) {
+        // Writes still in flight at the start of the run may carry earlier timestamps than
+        // their commit, so the new mark trails the start time
+        LocalDateTime highWaterMark = LocalDateTime.now().minusNanos(safetyLagMs * 1_000_000);
+        StockReconciliationCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT)
+                .orElseGet(() -> StockReconciliationCheckpoint.builder().name(CHECKPOINT).build());
+        LocalDateTime since = full ? null : checkpoint.getHighWaterMark();
+
+        List<StockReconciliationReportDTO.Mismatch> reported = new ArrayList<>();
+        long checked = 0;
+        long mismatches = 0;
+        long skipped = 0;
+        long lastId = 0;
+        while (true) {
+            List<StockRow> products = since == null
+                    ? jdbcTemplate.query(ALL_PRODUCTS_PAGE_SQL, (rs, rowNum) ->
+                    new StockRow(rs.getLong("id"), rs.getLong("stock_quantity"), rs.getLong("version")), lastId, pageSize)
+                    : jdbcTemplate.query(CHANGED_PRODUCTS_PAGE_SQL, (rs, rowNum) ->
+                            new StockRow(rs.getLong("id"), rs.getLong("stock_quantity"), rs.getLong("version")),
+                    lastId, Timestamp.valueOf(since), Timestamp.valueOf(since), pageSize);
+            if (products.isEmpty()) {
+                break;
+            }
+            List<InventorySum> sums = inventorySums(products);
+
+            // Both lists are ordered by product id: merge them in one pass
+            List<Object[]> corrections = new ArrayList<>();
+            List<Long> correctedIds = new ArrayList<>();
+            int s = 0;
+            for (StockRow product : products) {
+                while (s < sums.size() && sums.get(s).productId() < product.id()) {
+                    s++;
+                }
+                double total = s < sums.size() && sums.get(s).productId() == product.id() ? sums.get(s).total() : 0.0;
+                long expected = Math.round(total);
+                if (expected != product.stockQuantity()) {
+                    mismatches++;
+                    if (reported.size() < maxReported) {
+                        reported.add(StockReconciliationReportDTO.Mismatch.builder()
+                                .productId(product.id())
+                                .stockQuantity(product.stockQuantity())
+                                .inventoryQuantity(total)
+                                .difference(expected - product.stockQuantity())
+                                .build());
+                    }
+                    if (correct) {
+                        corrections.add(new Object[]{expected, product.id(), product.version()});
+                        correctedIds.add(product.id());
+                    }
+                }
+            }
+            checked += products.size();
+            skipped += applyCorrections(corrections, correctedIds);
+            lastId = products.get(products.size() - 1).id();
+        }
+
+        // Evicted here rather than through @CacheEvict, which the scheduled run bypasses
+        if (correct && mismatches > skipped) {
+            Cache cache = cacheManager.getCache("productsPage");
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+
+        checkpoint.setHighWaterMark(highWaterMark);
+        checkpoint.setLastRunAt(LocalDateTime.now());
+        checkpoint.setLastMismatches(mismatches);
+        checkpointRepository.save(checkpoint);
+        mismatchCounter.increment(mismatches);
+
+        if (mismatches > 0) {
+            log.warn("Stock reconciliation ({}) checked {} products, {} mismatches, {} corrected, {} skipped",
+                    since == null ? "full" : "since " + since, checked, mismatches, correct ? mismatches - skipped : 0, skipped);
+        } else {
+            log.info("Stock reconciliation ({}) checked {} products, no mismatches",
+                    since == null ? "full" : "since " + since, checked);
+        }
+        return StockReconciliationReportDTO.builder()
+                .full(since == null)
+                .corrected(correct)
+                .since(since)
+                .highWaterMark(highWaterMark)
+                .productsChecked(checked)
+                .mismatchCount(mismatches)
+                .skipped(skipped)
+                .mismatches(reported)
+                .build();
+    }
+
+    private List<InventorySum> inventorySums(List<StockRow> products) {
+        String placeholders = String.join(",", Collections.nCopies(products.size(), "?"));
+        return jdbcTemplate.query(String.format(INVENTORY_SUMS_SQL, placeholders),
+                (rs, rowNum) -> new InventorySum(rs.getLong("product_id"), rs.getDouble("total")),
+                products.stream().map(StockRow::id).toArray());
+    }
+
+    /**
+     * Set the product side to the inventory total; a product updated since it was read is
+     * left alone and picked up again by the next run
+     *
+     * @return number of corrections skipped because of a concurrent update
+     */
+    private long applyCorrections(List<Object[]> corrections, List<Long> productIds) {
+        if (corrections.isEmpty()) {
+            return 0;
+        }
+        int[] results = jdbcTemplate.batchUpdate(CORRECT_SQL, corrections);
+        long skipped = 0;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == 0) {
+                skipped++;
+                continue;
+            }
+            Long productId = productIds.get(i);
+            productCatalog.refresh(productId);
+            // Other nodes refresh their catalog from the keyed product-topic message
+            kafkaTemplate.send(PRODUCT_TOPIC, String.valueOf(productId), "Stock reconciled for product ID: " + productId);
+            log.info("Corrected stock quantity of product ID={} to {}", productId, corrections.get(i)[0]);
+        }
+        return skipped;
+    }
+}
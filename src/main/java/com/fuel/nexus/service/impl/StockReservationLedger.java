@@ -0,0 +1,551 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.StockLedgerCheckpoint;
+import com.fuel.nexus.event.StockLevelChangedEvent;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.StockLedgerCheckpointRepository;
+import com.fuel.nexus.utility.FuelType;
+import com.fuel.nexus.utility.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process stock reservation ledger in front of fuel_inventory.
+ * <p>
+ * Keeps, per inventory row, the physical stock and the reserved quantity as primitive
+ * counters (thousandths of a unit) guarded by striped locks, so stock checks and
+ * reservations never hit the database. Reservation deltas are journaled before they are
+ * applied and flushed to {@code fuel_inventory.reserved_quantity} in periodic batches
+ * together with the journal checkpoint, so a crash replays exactly the unflushed deltas.
+ * The counters are re-read from the table on a separate, longer interval, which bounds
+ * drift caused by writes from other nodes to one refresh interval without scanning the
+ * table on every flush. Every observed change of physical
+ * stock is published as a {@link StockLevelChangedEvent}.
+ */
+@Slf4j
+@Service
+public class StockReservationLedger {
+
+    private static final int STRIPES = 64;
+    private static final long SCALE = 1000L; // quantities are tracked in thousandths of a unit
+
+    // Rows whose reserved_quantity disagrees with their open holds and saw no new hold since the cutoff
+    private static final String DRIFTED_SQL =
+            "SELECT f.id FROM fuel_inventory f LEFT JOIN (" +
+                    "SELECT inventory_id, SUM(quantity) AS held, MAX(created_at) AS latest FROM stock_holds GROUP BY inventory_id" +
+                    ") h ON h.inventory_id = f.id " +
+                    "WHERE ABS(COALESCE(f.reserved_quantity, 0) - COALESCE(h.held, 0)) > 0.0005 " +
+                    "AND (h.latest IS NULL OR h.latest < ?)";
+
+    private static final String RECOMPUTE_SQL =
+            "UPDATE fuel_inventory SET reserved_quantity = " +
+                    "(SELECT COALESCE(SUM(quantity), 0) FROM stock_holds WHERE inventory_id = ?) WHERE id = ?";
+
+    private final FuelInventoryRepository fuelInventoryRepository;
+    private final StockLedgerCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockLedgerJournal journal;
+    private final String nodeId;
+
+    private final Object[] stripes = new Object[STRIPES];
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final Map<FuelType, Set<Long>> slotsByFuelType = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long lastFlushedSequence;
+
+    /**
+     * Quantity reserved on one inventory row
+     */
+    public record Reservation(long inventoryId, double quantity) {
+    }
+
+    // Mutable counters of one inventory row; every field is guarded by the row's stripe lock
+    private static final class Slot {
+        final long inventoryId;
+        final FuelType fuelType;
+        long onHand;            // fuel_inventory.available_quantity as last seen
+        long reservedFlushed;   // fuel_inventory.reserved_quantity as last seen
+        long reservedPending;   // reservations made on this node and not yet flushed
+        long lastActivityMs;    // last reservation, release or hold removal on this node
+
+        Slot(long inventoryId, FuelType fuelType) {
+            this.inventoryId = inventoryId;
+            this.fuelType = fuelType;
+        }
+
+        long unreserved() {
+            return onHand - reservedFlushed - reservedPending;
+        }
+    }
+
+    public StockReservationLedger(FuelInventoryRepository fuelInventoryRepository,
+                                  StockLedgerCheckpointRepository checkpointRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${fuelnexus.ledger.journal-dir:./data/ledger}") String journalDir,
+                                  @Value("${fuelnexus.ledger.fsync:false}") boolean fsync,
+                                  @Value("${fuelnexus.ledger.node-id:${HOSTNAME:local}}") String nodeId) {
+        this.fuelInventoryRepository = fuelInventoryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId;
+        this.journal = new StockLedgerJournal(Paths.get(journalDir, nodeId), fsync);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Startup rebuild: table snapshot + replay of unflushed journal entries
+    // ------------------------------------------------------------------------
+    @PostConstruct
+    public void rebuild() {
+        refreshFromTable();
+
+        lastFlushedSequence = checkpointRepository.findById(nodeId)
+                .map(StockLedgerCheckpoint::getLastSequence)
+                .orElse(0L);
+
+        long maxSequence = lastFlushedSequence;
+        int replayed = 0;
+        for (StockLedgerJournal.Entry entry : journal.open()) {
+            maxSequence = Math.max(maxSequence, entry.sequence());
+            if (entry.sequence() <= lastFlushedSequence) {
+                continue;
+            }
+            Slot slot = slots.get(entry.inventoryId());
+            if (slot != null) {
+                slot.reservedPending += entry.delta();
+                replayed++;
+            }
+        }
+        sequence.set(maxSequence);
+        log.info("Stock ledger rebuilt: {} inventory rows, {} journal entries replayed after sequence {}",
+                slots.size(), replayed, lastFlushedSequence);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Final stock ledger flush failed, journal will be replayed on restart: {}", e.getMessage());
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Unable to close stock ledger journal: {}", e.getMessage());
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Reads
+    // ------------------------------------------------------------------------
+    public boolean isTracked(Long inventoryId) {
+        return slots.containsKey(inventoryId);
+    }
+
+    public Optional<FuelType> fuelTypeOf(Long inventoryId) {
+        Slot slot = slots.get(inventoryId);
+        return slot == null ? Optional.empty() : Optional.of(slot.fuelType);
+    }
+
+    /**
+     * Physical stock of the row, or empty when the row is not (yet) known to this node.
+     */
+    public OptionalDouble onHand(Long inventoryId) {
+        Slot slot = slots.get(inventoryId);
+        if (slot == null) {
+            return OptionalDouble.empty();
+        }
+        synchronized (stripe(slot.inventoryId)) {
+            return OptionalDouble.of(toQuantity(slot.onHand));
+        }
+    }
+
+    /**
+     * Reservations made on this node for the row that are not in reserved_quantity yet.
+     */
+    public double unflushedReserved(Long inventoryId) {
+        Slot slot = slots.get(inventoryId);
+        if (slot == null) {
+            return 0.0;
+        }
+        synchronized (stripe(slot.inventoryId)) {
+            return toQuantity(slot.reservedPending);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Reservations (journaled, flushed in batches)
+    // ------------------------------------------------------------------------
+
+    /**
+     * Reserve quantity across the rows of the fuel type, taking the unreserved stock of each
+     * row in ascending id, the same oldest-first order FifoBatchAllocator delivers in.
+     *
+     * @return the per-row reservations, or an empty list (with nothing reserved) when all
+     * rows together cannot cover the quantity
+     */
+    public List<Reservation> reserve(FuelType fuelType, double quantity) {
+        long remaining = toUnits(quantity);
+        if (remaining <= 0) {
+            return List.of();
+        }
+        List<Reservation> taken = new ArrayList<>();
+        flushLock.readLock().lock();
+        try {
+            for (Long inventoryId : idsOf(fuelType)) {
+                Slot slot = slots.get(inventoryId);
+                if (slot == null) {
+                    continue;
+                }
+                synchronized (stripe(slot.inventoryId)) {
+                    long take = Math.min(slot.unreserved(), remaining);
+                    if (take <= 0) {
+                        continue;
+                    }
+                    journal.append(sequence.incrementAndGet(), slot.inventoryId, take);
+                    slot.reservedPending += take;
+                    slot.lastActivityMs = System.currentTimeMillis();
+                    taken.add(new Reservation(slot.inventoryId, toQuantity(take)));
+                    remaining -= take;
+                }
+                if (remaining == 0) {
+                    return taken;
+                }
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        // Not covered: give back the partial reservations
+        taken.forEach(reservation -> release(reservation.inventoryId(), reservation.quantity()));
+        return List.of();
+    }
+
+    /**
+     * Give back a previous reservation.
+     */
+    public void release(Long inventoryId, double quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        long units = toUnits(quantity);
+        flushLock.readLock().lock();
+        try {
+            // Looked up under the lock, so a concurrent relabel cannot leave us on a stale slot
+            Slot slot = slots.get(inventoryId);
+            if (slot == null) {
+                return;
+            }
+            synchronized (stripe(slot.inventoryId)) {
+                journal.append(sequence.incrementAndGet(), slot.inventoryId, -units);
+                slot.reservedPending -= units;
+                slot.lastActivityMs = System.currentTimeMillis();
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Note that a hold on the row is about to be removed; its release only follows once
+     * the removal commits, and reconcile must not run in between.
+     */
+    public void touch(Long inventoryId) {
+        Slot slot = slots.get(inventoryId);
+        if (slot == null) {
+            return;
+        }
+        flushLock.readLock().lock();
+        try {
+            synchronized (stripe(slot.inventoryId)) {
+                slot.lastActivityMs = System.currentTimeMillis();
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Hooks for committed stock changes made through the repository
+    // ------------------------------------------------------------------------
+    public void track(FuelInventory inventory) {
+        TransactionCallbacks.afterCommit(() -> {
+            Slot slot = slots.computeIfAbsent(inventory.getId(), id -> new Slot(id, inventory.getFuelType()));
+            if (slot.fuelType != inventory.getFuelType()) {
+                slot = relabel(slot, inventory.getFuelType());
+            }
+            long onHand = toUnits(inventory.getAvailableQuantity());
+            synchronized (stripe(slot.inventoryId)) {
+                slot.onHand = onHand;
+            }
+            idsOf(slot.fuelType).add(slot.inventoryId);
+            publishLevel(slot.inventoryId, slot.fuelType, onHand);
+        });
+    }
+
+    public void untrack(Long inventoryId) {
+        TransactionCallbacks.afterCommit(() -> {
+            Slot slot = slots.remove(inventoryId);
+            if (slot != null) {
+                idsOf(slot.fuelType).remove(inventoryId);
+            }
+        });
+    }
+
+    /**
+     * Apply a physical stock change (restock, delivery) once the surrounding transaction commits.
+     */
+    public void applyCommitted(Long inventoryId, double delta) {
+        TransactionCallbacks.afterCommit(() -> {
+            Slot slot = slots.get(inventoryId);
+            if (slot != null) {
+                long onHand;
+                synchronized (stripe(slot.inventoryId)) {
+                    slot.onHand += toUnits(delta);
+                    onHand = slot.onHand;
+                }
+                publishLevel(slot.inventoryId, slot.fuelType, onHand);
+            }
+        });
+    }
+
+    // ------------------------------------------------------------------------
+    // Periodic batch flush
+    // ------------------------------------------------------------------------
+    @Scheduled(fixedDelayString = "${fuelnexus.ledger.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        long upTo;
+        List<Path> segments;
+
+        // Capture pending deltas and seal the journal atomically with respect to reservations
+        flushLock.writeLock().lock();
+        try {
+            upTo = sequence.get();
+            if (upTo == lastFlushedSequence) {
+                segments = List.of();
+            } else {
+                for (Slot slot : slots.values()) {
+                    synchronized (stripe(slot.inventoryId)) {
+                        if (slot.reservedPending != 0) {
+                            deltas.put(slot.inventoryId, slot.reservedPending);
+                            slot.reservedFlushed += slot.reservedPending;
+                            slot.reservedPending = 0;
+                        }
+                    }
+                }
+                segments = journal.rotate();
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+
+        if (upTo != lastFlushedSequence) {
+            try {
+                writeBatch(deltas, upTo);
+            } catch (RuntimeException e) {
+                restore(deltas);
+                log.error("Stock ledger flush failed, {} deltas kept in memory and journal: {}", deltas.size(), e.getMessage());
+                return;
+            }
+            lastFlushedSequence = upTo;
+            journal.discard(segments);
+            log.debug("Stock ledger flushed {} reservation deltas up to sequence {}", deltas.size(), upTo);
+        }
+    }
+
+    /**
+     * Pick up stock and reservation changes made by other nodes. Runs under the flush
+     * monitor so a flush never interleaves with the re-read of reserved_quantity.
+     */
+    @Scheduled(fixedDelayString = "${fuelnexus.ledger.refresh-interval-ms:15000}",
+            initialDelayString = "${fuelnexus.ledger.refresh-interval-ms:15000}")
+    public synchronized void refresh() {
+        refreshFromTable();
+    }
+
+    /**
+     * Recompute reserved_quantity from the open stock holds where the two disagree. This
+     * repairs a crash between reserving and committing a hold, or between deleting a hold
+     * and releasing it. Rows with hold activity in the last graceMs are left alone, so a
+     * reservation whose transaction is still open is not mistaken for drift.
+     *
+     * @return number of rows corrected
+     */
+    public synchronized int reconcile(long graceMs) {
+        long cutoff = System.currentTimeMillis() - graceMs;
+        flushLock.writeLock().lock();
+        try {
+            // The table must hold every local delta before it is compared with the holds
+            flush();
+            if (sequence.get() != lastFlushedSequence) {
+                log.warn("Stock ledger has unflushed deltas, reserved quantity reconcile skipped");
+                return 0;
+            }
+            List<Long> drifted = new ArrayList<>();
+            jdbcTemplate.query(DRIFTED_SQL, rs -> {
+                Slot slot = slots.get(rs.getLong(1));
+                if (slot == null || slot.lastActivityMs < cutoff) {
+                    drifted.add(rs.getLong(1));
+                }
+            }, new Timestamp(cutoff));
+            if (drifted.isEmpty()) {
+                return 0;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(RECOMPUTE_SQL,
+                    drifted.stream().map(id -> new Object[]{id, id}).toList()));
+            refreshFromTable();
+            log.warn("Recomputed reserved quantity of {} inventory rows from their stock holds: {}", drifted.size(), drifted);
+            return drifted.size();
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    private void writeBatch(Map<Long, Long> deltas, long upTo) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((inventoryId, units) -> args.add(new Object[]{toQuantity(units), inventoryId}));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!args.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "UPDATE fuel_inventory SET reserved_quantity = COALESCE(reserved_quantity, 0) + ? WHERE id = ?", args);
+            }
+            checkpointRepository.save(StockLedgerCheckpoint.builder()
+                    .nodeId(nodeId)
+                    .lastSequence(upTo)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        });
+    }
+
+    private void restore(Map<Long, Long> deltas) {
+        deltas.forEach((inventoryId, units) -> {
+            Slot slot = slots.get(inventoryId);
+            if (slot != null) {
+                synchronized (stripe(slot.inventoryId)) {
+                    slot.reservedFlushed -= units;
+                    slot.reservedPending += units;
+                }
+            }
+        });
+    }
+
+    // Re-read physical and reserved stock; unflushed local reservations are kept on top
+    private void refreshFromTable() {
+        Set<Long> seen = new HashSet<>();
+        for (FuelInventoryRepository.StockLevelView row : fuelInventoryRepository.findAllStockLevels()) {
+            seen.add(row.getId());
+            Slot slot = slots.computeIfAbsent(row.getId(), id -> new Slot(id, row.getFuelType()));
+            if (slot.fuelType != row.getFuelType()) {
+                slot = relabel(slot, row.getFuelType());
+            }
+            long onHand = toUnits(row.getAvailableQuantity());
+            boolean changed;
+            synchronized (stripe(slot.inventoryId)) {
+                changed = slot.onHand != onHand;
+                slot.onHand = onHand;
+                slot.reservedFlushed = toUnits(row.getReservedQuantity());
+            }
+            idsOf(slot.fuelType).add(slot.inventoryId);
+            if (changed) {
+                publishLevel(slot.inventoryId, slot.fuelType, onHand);
+            }
+        }
+        for (Long inventoryId : new ArrayList<>(slots.keySet())) {
+            if (!seen.contains(inventoryId)) {
+                Slot removed = slots.remove(inventoryId);
+                if (removed != null) {
+                    idsOf(removed.fuelType).remove(inventoryId);
+                }
+            }
+        }
+    }
+
+    // Fuel type was re-labelled: move the counters to a slot indexed under the new type. Runs
+    // under the flush write lock, so no reservation is applied to the old slot meanwhile.
+    private Slot relabel(Slot slot, FuelType fuelType) {
+        Slot moved = new Slot(slot.inventoryId, fuelType);
+        flushLock.writeLock().lock();
+        try {
+            synchronized (stripe(slot.inventoryId)) {
+                moved.onHand = slot.onHand;
+                moved.reservedFlushed = slot.reservedFlushed;
+                moved.reservedPending = slot.reservedPending;
+                moved.lastActivityMs = slot.lastActivityMs;
+                slots.put(slot.inventoryId, moved);
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+        idsOf(slot.fuelType).remove(slot.inventoryId);
+        return moved;
+    }
+
+    // ------------------------------------------------------------------------
+    // Helpers
+    // ------------------------------------------------------------------------
+    private void publishLevel(long inventoryId, FuelType fuelType, long onHand) {
+        try {
+            eventPublisher.publishEvent(new StockLevelChangedEvent(inventoryId, fuelType, toQuantity(onHand)));
+        } catch (RuntimeException e) {
+            log.warn("Stock level listener failed for inventory ID={}: {}", inventoryId, e.getMessage());
+        }
+    }
+
+    private Set<Long> idsOf(FuelType fuelType) {
+        return slotsByFuelType.computeIfAbsent(fuelType, type -> new ConcurrentSkipListSet<>());
+    }
+
+    private Object stripe(long inventoryId) {
+        return stripes[(int) (mix(inventoryId) & (STRIPES - 1))];
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static long toUnits(Double quantity) {
+        return quantity == null ? 0L : Math.round(quantity * SCALE);
+    }
+
+    private static double toQuantity(long units) {
+        return (double) units / SCALE;
+    }
+}
@@ -0,0 +1,97 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.StockThresholdDTO;
+import com.fuel.nexus.entity.StockThreshold;
+import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.StockThresholdRepository;
+import com.fuel.nexus.service.services.StockThresholdService;
+import com.fuel.nexus.utility.FuelType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Tag(name = "Stock Threshold Service", description = "Service implementation for managing low stock thresholds")
+public class StockThresholdServiceImpl implements StockThresholdService {
+
+    private final StockThresholdRepository thresholdRepository;
+    private final FuelInventoryRepository fuelInventoryRepository;
+    private final LowStockEvaluator lowStockEvaluator;
+
+    /**
+     * Create or replace a per-inventory threshold
+     */
+    @Override
+    @Operation(summary = "Set Inventory Threshold", description = "Create or replace the low stock threshold of an inventory record")
+    public StockThreshold setInventoryThreshold(Long inventoryId, StockThresholdDTO dto) {
+        log.info("Setting low stock threshold for inventory ID={} low={} clear={}", inventoryId, dto.getLowLevel(), dto.getClearLevel());
+
+        if (!fuelInventoryRepository.existsById(inventoryId)) {
+            throw new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId);
+        }
+
+        StockThreshold threshold = thresholdRepository.findByInventoryId(inventoryId)
+                .orElseGet(() -> StockThreshold.builder().inventoryId(inventoryId).build());
+        return saveAndReload(threshold, dto);
+    }
+
+    /**
+     * Create or replace a per-fuel-type threshold
+     */
+    @Override
+    @Operation(summary = "Set Fuel Type Threshold", description = "Create or replace the low stock threshold of a fuel type")
+    public StockThreshold setFuelTypeThreshold(FuelType fuelType, StockThresholdDTO dto) {
+        log.info("Setting low stock threshold for fuel type={} low={} clear={}", fuelType, dto.getLowLevel(), dto.getClearLevel());
+
+        StockThreshold threshold = thresholdRepository.findByFuelType(fuelType)
+                .orElseGet(() -> StockThreshold.builder().fuelType(fuelType).build());
+        return saveAndReload(threshold, dto);
+    }
+
+    /**
+     * List all thresholds
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Get Thresholds", description = "List all configured low stock thresholds")
+    public List<StockThreshold> getAllThresholds() {
+        return thresholdRepository.findAll();
+    }
+
+    /**
+     * Delete a threshold
+     */
+    @Override
+    @Operation(summary = "Delete Threshold", description = "Delete a low stock threshold")
+    public void deleteThreshold(Long thresholdId) {
+        log.info("Deleting low stock threshold ID={}", thresholdId);
+
+        StockThreshold threshold = thresholdRepository.findById(thresholdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Stock threshold not found with ID: " + thresholdId));
+        thresholdRepository.delete(threshold);
+        thresholdRepository.flush();
+        lowStockEvaluator.reloadThresholds();
+    }
+
+    private StockThreshold saveAndReload(StockThreshold threshold, StockThresholdDTO dto) {
+        double clearLevel = dto.getClearLevel() != null ? dto.getClearLevel() : dto.getLowLevel();
+        if (clearLevel < dto.getLowLevel()) {
+            throw new IllegalArgumentException("Clear level must not be below the low level");
+        }
+        threshold.setLowLevel(dto.getLowLevel());
+        threshold.setClearLevel(clearLevel);
+
+        StockThreshold saved = thresholdRepository.saveAndFlush(threshold);
+        lowStockEvaluator.reloadThresholds();
+        return saved;
+    }
+}
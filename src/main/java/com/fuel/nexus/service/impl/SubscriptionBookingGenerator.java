@@ -0,0 +1,448 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.SubscriptionRunDTO;
+import com.fuel.nexus.entity.Booking;
+import com.fuel.nexus.entity.Customer;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.exception.exceptions.OutOfStockException;
+import com.fuel.nexus.repository.BookingRepository;
+import com.fuel.nexus.repository.SubscriptionRunPartitionRepository;
+import com.fuel.nexus.utility.BookingStatus;
+import com.fuel.nexus.utility.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the bookings of subscriptions that fall due on a day.
+ * <p>
+ * A day's run is split into id ranges of booking_subscriptions, planned once in
+ * subscription_run_partitions by whichever node gets there first. Every node's workers
+ * lease partitions with a conditional update on the database clock and walk their range in
+ * keyset pages of due subscriptions. Each page is one transaction: it renews the lease,
+ * which also locks the partition row, pushes the subscriptions' next due date, inserts
+ * the bookings in JDBC batches with their stock holds and moves the partition checkpoint.
+ * A crash therefore loses at most the page in flight; once the lease runs out another
+ * worker resumes after the checkpoint, and the due-date guard keeps a subscription from
+ * being booked twice even if a page is replayed.
+ * <p>
+ * A page that cannot get stock is retried one subscription at a time; those still out of
+ * stock stay due and are picked up by the next run.
+ */
+@Slf4j
+@Component
+public class SubscriptionBookingGenerator {
+
+    private static final String TOPIC_BOOKING = "booking-events";
+
+    private static final String BOUNDS_SQL = "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM booking_subscriptions";
+
+    private static final String PLAN_SQL =
+            "INSERT IGNORE INTO subscription_run_partitions " +
+                    "(run_date, partition_no, from_id, to_id, checkpoint_id, generated, deferred, completed) " +
+                    "VALUES (?, ?, ?, ?, ?, 0, 0, 0)";
+
+    private static final String CLAIM_SQL =
+            "UPDATE subscription_run_partitions SET lease_owner = ?, lease_until = TIMESTAMPADD(SECOND, ?, NOW()) " +
+                    "WHERE run_date = ? AND completed = 0 AND (lease_until IS NULL OR lease_until < NOW()) " +
+                    "ORDER BY partition_no LIMIT 1";
+
+    private static final String CLAIMED_SQL =
+            "SELECT id, partition_no, to_id, checkpoint_id FROM subscription_run_partitions " +
+                    "WHERE lease_owner = ? AND run_date = ? AND completed = 0";
+
+    private static final String RENEW_SQL =
+            "UPDATE subscription_run_partitions SET lease_until = TIMESTAMPADD(SECOND, ?, NOW()) " +
+                    "WHERE id = ? AND lease_owner = ?";
+
+    private static final String DUE_PAGE_SQL =
+            "SELECT id, customer_id, product_id, quantity FROM booking_subscriptions " +
+                    "WHERE id > ? AND id <= ? AND active = 1 AND next_due_date <= ? ORDER BY id LIMIT ?";
+
+    private static final String ADVANCE_SQL =
+            "UPDATE booking_subscriptions SET next_due_date = DATE_ADD(?, INTERVAL interval_days DAY), " +
+                    "last_generated_on = ?, version = version + 1 WHERE id = ? AND active = 1 AND next_due_date <= ?";
+
+    private static final String CHECKPOINT_SQL =
+            "UPDATE subscription_run_partitions SET checkpoint_id = ?, generated = generated + ?, deferred = deferred + ? " +
+                    "WHERE id = ? AND lease_owner = ?";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE subscription_run_partitions SET completed = 1, completed_at = ?, lease_owner = NULL, lease_until = NULL " +
+                    "WHERE id = ? AND lease_owner = ?";
+
+    private static final String RELEASE_SQL =
+            "UPDATE subscription_run_partitions SET lease_owner = NULL, lease_until = NULL WHERE id = ? AND lease_owner = ?";
+
+    private static final String PROGRESS_SQL =
+            "SELECT COUNT(*) AS partitions, COALESCE(SUM(completed), 0) AS completed, " +
+                    "COALESCE(SUM(completed = 0 AND lease_until > NOW()), 0) AS leased, " +
+                    "COALESCE(SUM(generated), 0) AS generated, COALESCE(SUM(deferred), 0) AS deferred " +
+                    "FROM subscription_run_partitions WHERE run_date = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingRepository bookingRepository;
+    private final SubscriptionRunPartitionRepository partitionRepository;
+    private final ProductCatalog productCatalog;
+    private final StockHoldManager stockHoldManager;
+    private final EntityManager entityManager;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final Counter createdCounter;
+    private final Counter deferredCounter;
+    private final boolean enabled;
+    private final int partitions;
+    private final int workers;
+    private final int pageSize;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int resumeDays;
+    private final long shutdownTimeoutMs;
+    private final String nodeId;
+
+    // Run dates this node has workers on, with the number of workers still running
+    private final Map<LocalDate, AtomicInteger> draining = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+    private volatile boolean stopping;
+
+    private record Lease(long partitionId, int partitionNo, long toId, long checkpointId, String owner) {
+    }
+
+    private record Due(long id, long customerId, long productId, double quantity) {
+    }
+
+    private static final class LeaseLostException extends RuntimeException {
+        LeaseLostException(Lease lease) {
+            super("Lease on subscription run partition " + lease.partitionNo() + " was lost");
+        }
+    }
+
+    public SubscriptionBookingGenerator(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        BookingRepository bookingRepository,
+                                        SubscriptionRunPartitionRepository partitionRepository,
+                                        ProductCatalog productCatalog,
+                                        StockHoldManager stockHoldManager,
+                                        EntityManager entityManager,
+                                        KafkaTemplate<String, String> kafkaTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${fuelnexus.subscriptions.enabled:true}") boolean enabled,
+                                        @Value("${fuelnexus.subscriptions.partitions:64}") int partitions,
+                                        @Value("${fuelnexus.subscriptions.workers:4}") int workers,
+                                        @Value("${fuelnexus.subscriptions.page-size:500}") int pageSize,
+                                        @Value("${fuelnexus.subscriptions.batch-size:50}") int batchSize,
+                                        @Value("${fuelnexus.subscriptions.lease-seconds:120}") long leaseSeconds,
+                                        @Value("${fuelnexus.subscriptions.resume-days:7}") int resumeDays,
+                                        @Value("${fuelnexus.subscriptions.shutdown-timeout-ms:30000}") long shutdownTimeoutMs,
+                                        @Value("${fuelnexus.subscriptions.node-id:${HOSTNAME:local}}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingRepository = bookingRepository;
+        this.partitionRepository = partitionRepository;
+        this.productCatalog = productCatalog;
+        this.stockHoldManager = stockHoldManager;
+        this.entityManager = entityManager;
+        this.kafkaTemplate = kafkaTemplate;
+        this.enabled = enabled;
+        this.partitions = partitions;
+        this.workers = workers;
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.resumeDays = resumeDays;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.nodeId = nodeId;
+        this.createdCounter = Counter.builder("fuelnexus.subscriptions.bookings")
+                .description("Bookings generated from subscriptions")
+                .tag("outcome", "created").register(meterRegistry);
+        this.deferredCounter = Counter.builder("fuelnexus.subscriptions.bookings")
+                .description("Bookings generated from subscriptions")
+                .tag("outcome", "deferred").register(meterRegistry);
+    }
+
+    // ------------------------------------------------------------------------
+    // Runs
+    // ------------------------------------------------------------------------
+
+    /**
+     * Plan the day's run if no node has yet, and put this node's workers on it
+     */
+    public void start(LocalDate day) {
+        plan(day);
+        drain(day);
+    }
+
+    @Scheduled(cron = "${fuelnexus.subscriptions.cron:0 5 0 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            start(LocalDate.now());
+        }
+    }
+
+    /**
+     * Pick up partitions left unfinished by a crashed or stopped worker on any node
+     */
+    @Scheduled(fixedDelayString = "${fuelnexus.subscriptions.resume-interval-ms:60000}",
+            initialDelayString = "${fuelnexus.subscriptions.resume-interval-ms:60000}")
+    public void resume() {
+        if (!enabled) {
+            return;
+        }
+        for (LocalDate day : partitionRepository.findIncompleteRunDates(LocalDate.now().minusDays(resumeDays))) {
+            drain(day);
+        }
+    }
+
+    public SubscriptionRunDTO progress(LocalDate day) {
+        return jdbcTemplate.queryForObject(PROGRESS_SQL, (rs, rowNum) -> SubscriptionRunDTO.builder()
+                .runDate(day)
+                .partitions(rs.getInt("partitions"))
+                .completedPartitions(rs.getInt("completed"))
+                .leasedPartitions(rs.getInt("leased"))
+                .generated(rs.getLong("generated"))
+                .deferred(rs.getLong("deferred"))
+                .completed(rs.getInt("partitions") > 0 && rs.getInt("partitions") == rs.getInt("completed"))
+                .build(), Date.valueOf(day));
+    }
+
+    /**
+     * Split the subscription id space into partitions for the day. Every node inserts the
+     * same partition numbers in the same order, so a node racing another blocks on the first
+     * row and then finds them all present; the last partition is open-ended, covering
+     * subscriptions created after planning.
+     */
+    private void plan(LocalDate day) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(BOUNDS_SQL);
+        if (bounds.get("min_id") == null) {
+            log.info("No subscriptions to plan for {}", day);
+            return;
+        }
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+        long start = minId - 1;
+        int count = (int) Math.max(1, Math.min(partitions, maxId - start));
+        long step = (maxId - start + count - 1) / count;
+
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long from = start + i * step;
+            long to = i == count - 1 ? Long.MAX_VALUE : from + step;
+            rows.add(new Object[]{Date.valueOf(day), i, from, to, from});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(PLAN_SQL, rows));
+        log.info("Subscription run for {} planned over ids {}..{} in {} partitions", day, minId, maxId, count);
+    }
+
+    // ------------------------------------------------------------------------
+    // Workers
+    // ------------------------------------------------------------------------
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "subscription-run-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Let running pages commit and hand leased partitions back for other nodes
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+            log.warn("Subscription workers did not stop in time; their partitions resume once the lease runs out");
+            executor.shutdownNow();
+        }
+    }
+
+    private void drain(LocalDate day) {
+        AtomicInteger running = new AtomicInteger(workers);
+        if (stopping || draining.putIfAbsent(day, running) != null) {
+            return;
+        }
+        for (int i = 0; i < workers; i++) {
+            executor.submit(() -> {
+                try {
+                    work(day);
+                } finally {
+                    if (running.decrementAndGet() == 0) {
+                        draining.remove(day, running);
+                    }
+                }
+            });
+        }
+    }
+
+    private void work(LocalDate day) {
+        while (!stopping) {
+            Lease lease;
+            try {
+                lease = claim(day);
+            } catch (RuntimeException e) {
+                log.error("Could not claim a subscription run partition for {}: {}", day, e.getMessage(), e);
+                return;
+            }
+            if (lease == null) {
+                return;
+            }
+            try {
+                process(lease, day);
+            } catch (LeaseLostException e) {
+                log.warn("{} for {}, another worker took it over", e.getMessage(), day);
+            } catch (RuntimeException e) {
+                // The partition stays leased until it runs out, then resumes from its checkpoint
+                log.error("Subscription run partition {} for {} failed: {}", lease.partitionNo(), day, e.getMessage(), e);
+            }
+        }
+    }
+
+    private Lease claim(LocalDate day) {
+        String owner = nodeId + ":" + UUID.randomUUID();
+        if (jdbcTemplate.update(CLAIM_SQL, owner, leaseSeconds, Date.valueOf(day)) == 0) {
+            return null;
+        }
+        return jdbcTemplate.queryForObject(CLAIMED_SQL, (rs, rowNum) -> new Lease(rs.getLong("id"),
+                rs.getInt("partition_no"), rs.getLong("to_id"), rs.getLong("checkpoint_id"), owner), owner, Date.valueOf(day));
+    }
+
+    private void process(Lease lease, LocalDate day) {
+        long checkpoint = lease.checkpointId();
+        long generated = 0;
+        while (!stopping) {
+            List<Due> page = jdbcTemplate.query(DUE_PAGE_SQL, (rs, rowNum) -> new Due(rs.getLong("id"),
+                    rs.getLong("customer_id"), rs.getLong("product_id"), rs.getDouble("quantity")),
+                    checkpoint, lease.toId(), Date.valueOf(day), pageSize);
+            if (page.isEmpty()) {
+                jdbcTemplate.update(COMPLETE_SQL, Timestamp.valueOf(LocalDateTime.now()), lease.partitionId(), lease.owner());
+                log.info("Subscription run partition {} for {} completed, {} bookings generated by this lease",
+                        lease.partitionNo(), day, generated);
+                return;
+            }
+            long last = page.get(page.size() - 1).id();
+
+            // Subscriptions whose product is gone or has no fuel type cannot be booked
+            List<Due> ready = new ArrayList<>(page.size());
+            int skipped = 0;
+            for (Due due : page) {
+                if (productCatalog.findById(due.productId()).map(Product::getFuelType).isPresent()) {
+                    ready.add(due);
+                } else {
+                    log.warn("Subscription ID={} deferred, product ID={} is not bookable", due.id(), due.productId());
+                    skipped++;
+                }
+            }
+
+            try {
+                generated += commitPage(lease, day, ready, last, skipped);
+            } catch (OutOfStockException e) {
+                generated += commitOneByOne(lease, day, ready, last, skipped);
+            }
+            checkpoint = last;
+        }
+        jdbcTemplate.update(RELEASE_SQL, lease.partitionId(), lease.owner());
+    }
+
+    // A page that ran out of stock: book what can be booked, defer the rest
+    private long commitOneByOne(Lease lease, LocalDate day, List<Due> page, long last, int skipped) {
+        long generated = 0;
+        int deferred = skipped;
+        for (Due due : page) {
+            try {
+                generated += commitPage(lease, day, List.of(due), due.id(), 0);
+            } catch (OutOfStockException e) {
+                deferred++;
+            }
+        }
+        commitPage(lease, day, List.of(), last, deferred);
+        return generated;
+    }
+
+    /**
+     * Book the page and move the checkpoint in one transaction
+     *
+     * @return bookings created
+     */
+    private int commitPage(Lease lease, LocalDate day, List<Due> page, long checkpoint, int deferred) {
+        Integer created = transactionTemplate.execute(status -> {
+            // Fences out a worker whose lease was taken over, and holds the partition row until commit
+            if (jdbcTemplate.update(RENEW_SQL, leaseSeconds, lease.partitionId(), lease.owner()) == 0) {
+                throw new LeaseLostException(lease);
+            }
+
+            List<Booking> bookings = new ArrayList<>(page.size());
+            if (!page.isEmpty()) {
+                Date runDate = Date.valueOf(day);
+                int[] advanced = jdbcTemplate.batchUpdate(ADVANCE_SQL, page.stream()
+                        .map(due -> new Object[]{runDate, runDate, due.id(), runDate})
+                        .toList());
+                LocalDateTime now = LocalDateTime.now();
+                for (int i = 0; i < page.size(); i++) {
+                    // 0 means cancelled or already booked since the page was read
+                    if (advanced[i] == 0) {
+                        continue;
+                    }
+                    Due due = page.get(i);
+                    bookings.add(Booking.builder()
+                            .customer(entityManager.getReference(Customer.class, due.customerId()))
+                            .product(entityManager.getReference(Product.class, due.productId()))
+                            .quantity(due.quantity())
+                            .bookingDate(now)
+                            .status(BookingStatus.PENDING)
+                            .fuelType(productCatalog.findById(due.productId()).map(Product::getFuelType).orElseThrow())
+                            .build());
+                }
+            }
+
+            List<Long> bookingIds = new ArrayList<>(bookings.size());
+            for (int from = 0; from < bookings.size(); from += batchSize) {
+                List<Booking> batch = bookings.subList(from, Math.min(from + batchSize, bookings.size()));
+                bookingRepository.saveAll(batch);
+                stockHoldManager.place(batch);
+                entityManager.flush();
+                entityManager.clear();
+                batch.forEach(booking -> bookingIds.add(booking.getId()));
+            }
+
+            jdbcTemplate.update(CHECKPOINT_SQL, checkpoint, bookingIds.size(), deferred, lease.partitionId(), lease.owner());
+            int count = bookingIds.size();
+            TransactionCallbacks.afterCommit(() -> {
+                createdCounter.increment(count);
+                deferredCounter.increment(deferred);
+                if (!bookingIds.isEmpty()) {
+                    kafkaTemplate.send(TOPIC_BOOKING, "Subscription bookings created: " + bookingIds);
+                }
+            });
+            return count;
+        });
+        return created != null ? created : 0;
+    }
+}
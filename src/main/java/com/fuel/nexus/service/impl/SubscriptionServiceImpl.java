@@ -0,0 +1,138 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.SubscriptionDTO;
+import com.fuel.nexus.dto.SubscriptionRequestDTO;
+import com.fuel.nexus.dto.SubscriptionRunDTO;
+import com.fuel.nexus.entity.BookingSubscription;
+import com.fuel.nexus.entity.Customer;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.exception.exceptions.CustomerNotFoundException;
+import com.fuel.nexus.exception.exceptions.FuelNexusRuntimeException;
+import com.fuel.nexus.exception.exceptions.ProductNotFoundException;
+import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.repository.BookingSubscriptionRepository;
+import com.fuel.nexus.repository.CustomerRepository;
+import com.fuel.nexus.service.services.SubscriptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Tag(name = "Subscription Service", description = "Service implementation for recurring subscription bookings")
+public class SubscriptionServiceImpl implements SubscriptionService {
+
+    private final BookingSubscriptionRepository subscriptionRepository;
+    private final CustomerRepository customerRepository;
+    private final ProductCatalog productCatalog;
+    private final SubscriptionBookingGenerator generator;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    @Operation(summary = "Create Subscription", description = "Create a recurring booking of a product for a customer")
+    public SubscriptionDTO createSubscription(SubscriptionRequestDTO request) {
+        log.info("Creating subscription {}", request);
+        if (!customerRepository.existsById(request.getCustomerId())) {
+            throw new CustomerNotFoundException(request.getCustomerId());
+        }
+        Product product = productCatalog.findById(request.getProductId())
+                .orElseThrow(() -> new ProductNotFoundException(request.getProductId()));
+        if (product.getFuelType() == null) {
+            throw new FuelNexusRuntimeException("Product ID: " + product.getId() + " has no fuel type and cannot be booked");
+        }
+
+        LocalDate firstDueDate = request.getFirstDueDate() != null
+                ? request.getFirstDueDate()
+                : LocalDate.now().plusDays(request.getIntervalDays());
+        BookingSubscription subscription = subscriptionRepository.save(BookingSubscription.builder()
+                .customer(entityManager.getReference(Customer.class, request.getCustomerId()))
+                .product(entityManager.getReference(Product.class, product.getId()))
+                .quantity(request.getQuantity())
+                .intervalDays(request.getIntervalDays())
+                .nextDueDate(firstDueDate)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        log.info("Subscription created with ID: {}, first due {}", subscription.getId(), firstDueDate);
+        return toDTO(subscription, request.getCustomerId(), product.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Get Subscription", description = "Fetch a subscription by ID")
+    public SubscriptionDTO getSubscription(Long subscriptionId) {
+        return toDTO(find(subscriptionId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Get Customer Subscriptions", description = "Fetch all subscriptions of a customer")
+    public List<SubscriptionDTO> getCustomerSubscriptions(Long customerId) {
+        return subscriptionRepository.findByCustomerIdOrderByIdAsc(customerId).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    @Operation(summary = "Cancel Subscription", description = "Stop generating bookings for a subscription")
+    public SubscriptionDTO cancelSubscription(Long subscriptionId) {
+        BookingSubscription subscription = find(subscriptionId);
+        subscription.setActive(false);
+        log.info("Subscription ID: {} cancelled", subscriptionId);
+        return toDTO(subscriptionRepository.save(subscription));
+    }
+
+    @Override
+    @Operation(summary = "Start Subscription Run", description = "Generate the bookings of subscriptions due on a day")
+    public SubscriptionRunDTO startRun(LocalDate runDate) {
+        if (runDate.isAfter(LocalDate.now())) {
+            throw new FuelNexusRuntimeException("Subscription run date " + runDate + " is in the future");
+        }
+        log.info("Starting subscription run for {}", runDate);
+        generator.start(runDate);
+        return generator.progress(runDate);
+    }
+
+    @Override
+    @Operation(summary = "Get Subscription Run", description = "Progress of a day's subscription run across all nodes")
+    public SubscriptionRunDTO getRun(LocalDate runDate) {
+        return generator.progress(runDate);
+    }
+
+    private BookingSubscription find(Long subscriptionId) {
+        return subscriptionRepository.findById(subscriptionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found with ID: " + subscriptionId));
+    }
+
+    private SubscriptionDTO toDTO(BookingSubscription subscription) {
+        // Reading the ids of lazy references does not load them
+        return toDTO(subscription, subscription.getCustomer().getId(), subscription.getProduct().getId());
+    }
+
+    private SubscriptionDTO toDTO(BookingSubscription subscription, Long customerId, Long productId) {
+        return SubscriptionDTO.builder()
+                .id(subscription.getId())
+                .customerId(customerId)
+                .productId(productId)
+                .fuelType(productCatalog.findById(productId).map(Product::getFuelType).orElse(null))
+                .quantity(subscription.getQuantity())
+                .intervalDays(subscription.getIntervalDays())
+                .nextDueDate(subscription.getNextDueDate())
+                .lastGeneratedOn(subscription.getLastGeneratedOn())
+                .active(subscription.isActive())
+                .createdAt(subscription.getCreatedAt())
+                .build();
+    }
+}
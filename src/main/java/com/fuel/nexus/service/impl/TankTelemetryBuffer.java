@@ -0,0 +1,310 @@
+package com.fuel.nexus.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory buffer for tank sensor readings.
+ * <p>
+ * Each tank keeps its latest raw samples in a fixed-size ring of primitive arrays and an
+ * accumulator (count, sum, min, max) for the current minute. A minute is sealed when the
+ * tank reports a later minute or stays silent past the grace period; sealed minutes are
+ * upserted periodically into the minute table and, merged per hour, into the hour table,
+ * in one transaction. Rollups store sums and counts so late samples merge in through the
+ * same upsert. Readings are not persisted individually; a crash loses at most the
+ * unflushed minutes. Sensors may deliver out of order, so the latest reading is tracked by
+ * recording time rather than ring position. Tanks whose inventory row the stock ledger no
+ * longer tracks are dropped on the next flush, after their open minute is sealed.
+ */
+@Slf4j
+@Service
+public class TankTelemetryBuffer {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO %s (inventory_id, bucket_start, sample_count, level_sum, level_min, level_max, " +
+                    "temperature_sum, temperature_min, temperature_max) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE sample_count = sample_count + VALUES(sample_count), " +
+                    "level_sum = level_sum + VALUES(level_sum), level_min = LEAST(level_min, VALUES(level_min)), " +
+                    "level_max = GREATEST(level_max, VALUES(level_max)), " +
+                    "temperature_sum = temperature_sum + VALUES(temperature_sum), " +
+                    "temperature_min = LEAST(temperature_min, VALUES(temperature_min)), " +
+                    "temperature_max = GREATEST(temperature_max, VALUES(temperature_max))";
+
+    private static final String MINUTE_TABLE = "tank_telemetry_minute";
+    private static final String HOUR_TABLE = "tank_telemetry_hour";
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StockReservationLedger stockLedger;
+    private final int ringCapacity;
+    private final long sealGraceMinutes;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final Map<Long, Tank> tanks = new ConcurrentHashMap<>();
+    private final Queue<Bucket> sealed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * One raw sample as held in a tank's ring
+     */
+    public record Reading(LocalDateTime recordedAt, double level, double temperature) {
+    }
+
+    // Count, sum, min and max of one tank over one bucket
+    private static final class Bucket {
+        final long inventoryId;
+        final LocalDateTime start;
+        long count;
+        double levelSum;
+        double levelMin = Double.MAX_VALUE;
+        double levelMax = -Double.MAX_VALUE;
+        double temperatureSum;
+        double temperatureMin = Double.MAX_VALUE;
+        double temperatureMax = -Double.MAX_VALUE;
+
+        Bucket(long inventoryId, LocalDateTime start) {
+            this.inventoryId = inventoryId;
+            this.start = start;
+        }
+
+        void add(double level, double temperature) {
+            count++;
+            levelSum += level;
+            levelMin = Math.min(levelMin, level);
+            levelMax = Math.max(levelMax, level);
+            temperatureSum += temperature;
+            temperatureMin = Math.min(temperatureMin, temperature);
+            temperatureMax = Math.max(temperatureMax, temperature);
+        }
+
+        void merge(Bucket other) {
+            count += other.count;
+            levelSum += other.levelSum;
+            levelMin = Math.min(levelMin, other.levelMin);
+            levelMax = Math.max(levelMax, other.levelMax);
+            temperatureSum += other.temperatureSum;
+            temperatureMin = Math.min(temperatureMin, other.temperatureMin);
+            temperatureMax = Math.max(temperatureMax, other.temperatureMax);
+        }
+    }
+
+    // Ring of recent samples plus the open minute; every field is guarded by the tank's monitor
+    private static final class Tank {
+        final long[] times;
+        final double[] levels;
+        final double[] temperatures;
+        int head;   // next write position
+        int size;
+        long currentMinute = Long.MIN_VALUE;
+        Bucket current;         // null once the open minute was sealed for inactivity
+        int newest = -1;        // ring position of the sample with the latest recording time
+        boolean dropped;        // removed from the buffer; late writers discard their sample
+
+        Tank(int capacity) {
+            times = new long[capacity];
+            levels = new double[capacity];
+            temperatures = new double[capacity];
+        }
+    }
+
+    public TankTelemetryBuffer(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               StockReservationLedger stockLedger,
+                               @Value("${fuelnexus.telemetry.ring-capacity:600}") int ringCapacity,
+                               @Value("${fuelnexus.telemetry.seal-grace-minutes:2}") long sealGraceMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stockLedger = stockLedger;
+        this.ringCapacity = ringCapacity;
+        this.sealGraceMinutes = sealGraceMinutes;
+    }
+
+    // ------------------------------------------------------------------------
+    // Ingest
+    // ------------------------------------------------------------------------
+    public void record(long inventoryId, long epochMillis, double level, double temperature) {
+        Tank tank = tanks.computeIfAbsent(inventoryId, id -> new Tank(ringCapacity));
+        long minute = Math.floorDiv(epochMillis, MINUTE_MILLIS);
+
+        synchronized (tank) {
+            if (tank.dropped) {
+                return;
+            }
+            int position = tank.head;
+            boolean overwritesNewest = tank.newest == position;
+            tank.times[position] = epochMillis;
+            tank.levels[position] = level;
+            tank.temperatures[position] = temperature;
+            tank.head = (position + 1) % ringCapacity;
+            tank.size = Math.min(tank.size + 1, ringCapacity);
+            if (overwritesNewest) {
+                tank.newest = newestInRing(tank);
+            } else if (tank.newest < 0 || epochMillis >= tank.times[tank.newest]) {
+                tank.newest = position;
+            }
+
+            if (tank.current != null && minute == tank.currentMinute) {
+                tank.current.add(level, temperature);
+            } else if (minute > tank.currentMinute) {
+                if (tank.current != null) {
+                    sealed.add(tank.current);
+                }
+                tank.currentMinute = minute;
+                tank.current = new Bucket(inventoryId, toTime(minute * MINUTE_MILLIS));
+                tank.current.add(level, temperature);
+            } else {
+                // Late sample for an already sealed minute: merged into the stored row by the upsert
+                Bucket late = new Bucket(inventoryId, toTime(minute * MINUTE_MILLIS));
+                late.add(level, temperature);
+                sealed.add(late);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Reads
+    // ------------------------------------------------------------------------
+    public Optional<Reading> latest(long inventoryId) {
+        Tank tank = tanks.get(inventoryId);
+        if (tank == null) {
+            return Optional.empty();
+        }
+        synchronized (tank) {
+            if (tank.size == 0) {
+                return Optional.empty();
+            }
+            int newest = tank.newest;
+            return Optional.of(new Reading(toTime(tank.times[newest]), tank.levels[newest], tank.temperatures[newest]));
+        }
+    }
+
+    public int pendingBuckets() {
+        return sealed.size();
+    }
+
+    // ------------------------------------------------------------------------
+    // Periodic rollup flush
+    // ------------------------------------------------------------------------
+    @Scheduled(fixedDelayString = "${fuelnexus.telemetry.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        dropUntracked();
+        sealIdle(Math.floorDiv(System.currentTimeMillis(), MINUTE_MILLIS) - sealGraceMinutes);
+
+        List<Bucket> minutes = new ArrayList<>();
+        Bucket bucket;
+        while ((bucket = sealed.poll()) != null) {
+            minutes.add(bucket);
+        }
+        if (minutes.isEmpty()) {
+            return;
+        }
+
+        // Minutes of the same tank and hour are merged before they reach the hour table
+        Map<String, Bucket> hours = new LinkedHashMap<>();
+        for (Bucket minute : minutes) {
+            LocalDateTime hourStart = minute.start.truncatedTo(ChronoUnit.HOURS);
+            hours.computeIfAbsent(minute.inventoryId + "@" + hourStart, key -> new Bucket(minute.inventoryId, hourStart))
+                    .merge(minute);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                upsert(MINUTE_TABLE, minutes);
+                upsert(HOUR_TABLE, new ArrayList<>(hours.values()));
+            });
+            log.debug("Flushed {} minute and {} hour telemetry rollups", minutes.size(), hours.size());
+        } catch (RuntimeException e) {
+            // Keep the buckets for the next run; the upsert merges them whenever they land
+            sealed.addAll(minutes);
+            log.error("Telemetry rollup flush failed, {} buckets re-queued", minutes.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sealIdle(Long.MAX_VALUE);
+        flush();
+    }
+
+    // Seal open minutes older than the given minute (tanks that stopped reporting)
+    private void sealIdle(long beforeMinute) {
+        for (Tank tank : tanks.values()) {
+            synchronized (tank) {
+                if (tank.current != null && tank.currentMinute < beforeMinute) {
+                    sealed.add(tank.current);
+                    tank.current = null;
+                }
+            }
+        }
+    }
+
+    // Seal the open minute of tanks whose inventory row is gone and stop buffering them
+    private void dropUntracked() {
+        for (Map.Entry<Long, Tank> entry : tanks.entrySet()) {
+            if (stockLedger.isTracked(entry.getKey())) {
+                continue;
+            }
+            Tank tank = entry.getValue();
+            synchronized (tank) {
+                if (tank.current != null) {
+                    sealed.add(tank.current);
+                    tank.current = null;
+                }
+                tank.dropped = true;
+            }
+            tanks.remove(entry.getKey(), tank);
+        }
+    }
+
+    // Ring position of the latest recording time, ties going to the later write; only needed
+    // when the newest sample was overwritten
+    private static int newestInRing(Tank tank) {
+        int capacity = tank.times.length;
+        int newest = -1;
+        for (int i = 0; i < tank.size; i++) {
+            int position = (tank.head - 1 - i + capacity) % capacity;
+            if (newest < 0 || tank.times[position] > tank.times[newest]) {
+                newest = position;
+            }
+        }
+        return newest;
+    }
+
+    private void upsert(String table, List<Bucket> buckets) {
+        jdbcTemplate.batchUpdate(String.format(UPSERT_SQL, table), buckets, 500, (ps, b) -> {
+            ps.setLong(1, b.inventoryId);
+            ps.setTimestamp(2, Timestamp.valueOf(b.start));
+            ps.setLong(3, b.count);
+            ps.setDouble(4, b.levelSum);
+            ps.setDouble(5, b.levelMin);
+            ps.setDouble(6, b.levelMax);
+            ps.setDouble(7, b.temperatureSum);
+            ps.setDouble(8, b.temperatureMin);
+            ps.setDouble(9, b.temperatureMax);
+        });
+    }
+
+    private LocalDateTime toTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+}
@@ -0,0 +1,148 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.dto.TankStatusDTO;
+import com.fuel.nexus.dto.TelemetryIngestResultDTO;
+import com.fuel.nexus.dto.TelemetryRollupDTO;
+import com.fuel.nexus.dto.TelemetrySampleDTO;
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.TankTelemetryRollup;
+import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.TankTelemetryHourRepository;
+import com.fuel.nexus.repository.TankTelemetryMinuteRepository;
+import com.fuel.nexus.service.services.TelemetryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.OptionalDouble;
+
+@Slf4j
+@Service
+@Tag(name = "Tank Telemetry Service", description = "Service implementation for tank sensor ingestion and downsampled telemetry")
+public class TelemetryServiceImpl implements TelemetryService {
+
+    private final TankTelemetryBuffer telemetryBuffer;
+    private final StockReservationLedger stockLedger;
+    private final FuelInventoryRepository fuelInventoryRepository;
+    private final TankTelemetryMinuteRepository minuteRepository;
+    private final TankTelemetryHourRepository hourRepository;
+    private final Counter acceptedSamples;
+    private final Counter rejectedSamples;
+    private final long maxClockSkewMs;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public TelemetryServiceImpl(TankTelemetryBuffer telemetryBuffer,
+                                StockReservationLedger stockLedger,
+                                FuelInventoryRepository fuelInventoryRepository,
+                                TankTelemetryMinuteRepository minuteRepository,
+                                TankTelemetryHourRepository hourRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${fuelnexus.telemetry.max-clock-skew-ms:60000}") long maxClockSkewMs) {
+        this.telemetryBuffer = telemetryBuffer;
+        this.stockLedger = stockLedger;
+        this.fuelInventoryRepository = fuelInventoryRepository;
+        this.minuteRepository = minuteRepository;
+        this.hourRepository = hourRepository;
+        this.maxClockSkewMs = maxClockSkewMs;
+        this.acceptedSamples = Counter.builder("fuelnexus.telemetry.samples").tag("result", "accepted")
+                .description("Tank sensor samples buffered").register(meterRegistry);
+        this.rejectedSamples = Counter.builder("fuelnexus.telemetry.samples").tag("result", "rejected")
+                .description("Tank sensor samples rejected (unknown tank, missing or non-finite fields, or recorded in the future)").register(meterRegistry);
+        Gauge.builder("fuelnexus.telemetry.pending.buckets", telemetryBuffer, TankTelemetryBuffer::pendingBuckets)
+                .description("Sealed telemetry buckets waiting for the next rollup flush").register(meterRegistry);
+    }
+
+    /**
+     * Buffer readings; nothing is written to the database on this path
+     */
+    @Override
+    @Operation(summary = "Ingest Readings", description = "Buffer a batch of tank level / temperature readings")
+    public TelemetryIngestResultDTO ingest(List<TelemetrySampleDTO> samples) {
+        int accepted = 0;
+        // A sensor clock running ahead would hold its tank's open minute in the future and turn
+        // every later sample into a late bucket of its own, so such samples are refused
+        long latestAllowed = System.currentTimeMillis() + maxClockSkewMs;
+        for (TelemetrySampleDTO sample : samples) {
+            // Tanks are validated against the in-memory ledger, which tracks every inventory row
+            if (sample.getInventoryId() == null || sample.getRecordedAt() == null
+                    || sample.getLevel() == null || !Double.isFinite(sample.getLevel())
+                    || sample.getTemperature() == null || !Double.isFinite(sample.getTemperature())
+                    || !stockLedger.isTracked(sample.getInventoryId())) {
+                continue;
+            }
+            long recordedAt = sample.getRecordedAt().atZone(zone).toInstant().toEpochMilli();
+            if (recordedAt > latestAllowed) {
+                continue;
+            }
+            telemetryBuffer.record(sample.getInventoryId(), recordedAt, sample.getLevel(), sample.getTemperature());
+            accepted++;
+        }
+        int rejected = samples.size() - accepted;
+        acceptedSamples.increment(accepted);
+        rejectedSamples.increment(rejected);
+        if (rejected > 0) {
+            log.warn("Rejected {} of {} telemetry samples", rejected, samples.size());
+        }
+        return new TelemetryIngestResultDTO(accepted, rejected);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Minute Rollups", description = "1-minute telemetry rollups of a tank in a time window")
+    public List<TelemetryRollupDTO> getMinuteRollups(Long inventoryId, LocalDateTime from, LocalDateTime to) {
+        log.info("Fetching minute telemetry for inventory ID={} between {} and {}", inventoryId, from, to);
+        return minuteRepository.findByInventoryIdAndBucketStartBetweenOrderByBucketStartAsc(inventoryId, from, to)
+                .stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Operation(summary = "Hour Rollups", description = "1-hour telemetry rollups of a tank in a time window")
+    public List<TelemetryRollupDTO> getHourRollups(Long inventoryId, LocalDateTime from, LocalDateTime to) {
+        log.info("Fetching hourly telemetry for inventory ID={} between {} and {}", inventoryId, from, to);
+        return hourRepository.findByInventoryIdAndBucketStartBetweenOrderByBucketStartAsc(inventoryId, from, to)
+                .stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Operation(summary = "Tank Status", description = "Latest sensor reading of a tank together with its booked stock")
+    public TankStatusDTO getTankStatus(Long inventoryId) {
+        OptionalDouble cached = stockLedger.onHand(inventoryId);
+        double booked = cached.isPresent()
+                ? cached.getAsDouble()
+                : fuelInventoryRepository.findById(inventoryId)
+                        .map(FuelInventory::getAvailableQuantity)
+                        .orElseThrow(() -> new ResourceNotFoundException("Fuel inventory not found with ID: " + inventoryId));
+
+        TankStatusDTO status = TankStatusDTO.builder().inventoryId(inventoryId).bookedQuantity(booked).build();
+        telemetryBuffer.latest(inventoryId).ifPresent(reading -> {
+            status.setReadingAt(reading.recordedAt());
+            status.setMeasuredLevel(reading.level());
+            status.setTemperature(reading.temperature());
+        });
+        return status;
+    }
+
+    private TelemetryRollupDTO toDto(TankTelemetryRollup rollup) {
+        return TelemetryRollupDTO.builder()
+                .bucketStart(rollup.getBucketStart())
+                .samples(rollup.getSampleCount())
+                .averageLevel(rollup.getLevelSum() / rollup.getSampleCount())
+                .minLevel(rollup.getLevelMin())
+                .maxLevel(rollup.getLevelMax())
+                .averageTemperature(rollup.getTemperatureSum() / rollup.getSampleCount())
+                .minTemperature(rollup.getTemperatureMin())
+                .maxTemperature(rollup.getTemperatureMax())
+                .build();
+    }
+}
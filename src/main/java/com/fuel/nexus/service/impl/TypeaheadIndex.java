@@ -0,0 +1,531 @@
+package com.fuel.nexus.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index for typeahead search.
+ * <p>
+ * Every entry is indexed under a few normalised terms (name words, e-mail, phone number,
+ * pincode). Terms live in a sorted map, so all terms starting with a prefix are one
+ * contiguous range; each term points to a sorted array of entry ids. A query walks the
+ * arrays in each word's range as one k-way merge and intersects the words by seeking
+ * every walk forward to the next id the others agree on, so only entries matching every
+ * word come out, in ascending id order. Nothing is materialised: the walk stops as soon
+ * as enough candidates came out, and the work done depends on the candidates taken and
+ * the binary-search skips between them rather than on the size of the ranges. Words
+ * shorter than {@link #MIN_PREFIX_LENGTH} only match whole terms, so a one- or two-letter
+ * word walks a single posting array instead of a large part of the index.
+ * <p>
+ * A range of more than {@code MAX_RANGE_TERMS} terms is read from one merged posting
+ * array instead: a three-letter name prefix also covers every e-mail starting with it, and
+ * setting up a merge of thousands of single-id arrays would cost more than the walk. The
+ * merged array of such a range is built the first time a query needs it and kept up to
+ * date by every write from then on, which costs one id per entry in each wide range it
+ * falls in.
+ * <p>
+ * At most {@code candidateLimit} matches are scored, which bounds the ranking work no
+ * matter how many entries match. Matches where a word equals a term or starts the label
+ * are scored first: the first terms have postings of their own, so these are found with
+ * the same walks. Every other match has the lowest possible score, so the cap never
+ * drops a better hit in favour of one it scores.
+ * <p>
+ * Readers take no lock, except once per wide range to build its merged postings: posting
+ * arrays are immutable and replaced as a whole. Writers are serialised on the index. A reader racing a writer may see a stale id in a posting
+ * array; candidates are always re-checked against their current entry.
+ */
+public class TypeaheadIndex {
+
+    // Upper bound for the prefix range of a term
+    private static final char RANGE_END = Character.MAX_VALUE;
+
+    private static final long[] NO_IDS = new long[0];
+
+    // Returned by a cursor that has no id left
+    private static final long END = Long.MAX_VALUE;
+
+    // Shorter query words only match whole terms
+    public static final int MIN_PREFIX_LENGTH = 3;
+
+    // Prefix ranges with more terms are read from their merged postings
+    private static final int MAX_RANGE_TERMS = 64;
+
+    private final Postings postings = new Postings();
+    // Postings of each entry's first term (start of the label) only
+    private final Postings leading = new Postings();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * One searchable record. The first term is the start of the label and ranks highest.
+     */
+    public record Entry(long id, String label, String detail, String[] terms) {
+    }
+
+    public record Hit(Entry entry, int score) {
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // ------------------------------------------------------------------------
+    // Writes
+    // ------------------------------------------------------------------------
+    public synchronized void put(Entry entry) {
+        Entry previous = entries.put(entry.id(), entry);
+        postings.update(entry.id(), previous != null ? Set.of(distinct(previous.terms())) : Set.of(),
+                Set.of(distinct(entry.terms())));
+        leading.update(entry.id(), leadingTerms(previous), leadingTerms(entry));
+    }
+
+    public synchronized void remove(long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            postings.update(id, Set.of(distinct(previous.terms())), Set.of());
+            leading.update(id, leadingTerms(previous), Set.of());
+        }
+    }
+
+    /**
+     * Bulk-load entries into an empty index; much cheaper than repeated put calls
+     * because every posting array is built once
+     */
+    public synchronized void load(Iterable<Entry> source) {
+        if (!entries.isEmpty()) {
+            throw new IllegalStateException("Bulk load needs an empty index");
+        }
+        Map<String, IdBuffer> buffers = new HashMap<>();
+        Map<String, IdBuffer> leadingBuffers = new HashMap<>();
+        for (Entry entry : source) {
+            // A repeated id keeps its first entry, which the postings are built from
+            if (entries.putIfAbsent(entry.id(), entry) != null) {
+                continue;
+            }
+            for (String term : distinct(entry.terms())) {
+                buffers.computeIfAbsent(term, key -> new IdBuffer()).add(entry.id());
+            }
+            String first = firstTerm(entry);
+            if (first != null) {
+                leadingBuffers.computeIfAbsent(first, key -> new IdBuffer()).add(entry.id());
+            }
+        }
+        buffers.forEach((term, buffer) -> postings.terms.put(term, buffer.toSortedArray()));
+        leadingBuffers.forEach((term, buffer) -> leading.terms.put(term, buffer.toSortedArray()));
+    }
+
+    private static void link(Map<String, long[]> map, String term, long id) {
+        map.compute(term, (key, ids) -> {
+            long[] current = ids != null ? ids : NO_IDS;
+            int index = Arrays.binarySearch(current, id);
+            if (index >= 0) {
+                return current;
+            }
+            int at = -index - 1;
+            long[] updated = new long[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, at);
+            updated[at] = id;
+            System.arraycopy(current, at, updated, at + 1, current.length - at);
+            return updated;
+        });
+    }
+
+    private static void unlink(Map<String, long[]> map, String term, long id) {
+        map.computeIfPresent(term, (key, ids) -> {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return ids;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            long[] updated = new long[ids.length - 1];
+            System.arraycopy(ids, 0, updated, 0, index);
+            System.arraycopy(ids, index + 1, updated, index, ids.length - index - 1);
+            return updated;
+        });
+    }
+
+    // ------------------------------------------------------------------------
+    // Reads
+    // ------------------------------------------------------------------------
+
+    /**
+     * Best matches for a query; every query word must be a prefix of one of an entry's terms
+     */
+    public List<Hit> search(String query, int limit, int candidateLimit) {
+        String[] words = tokenize(query);
+        if (words.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        // Longer words have narrower prefix ranges; leading with them skips furthest ahead
+        String[] byLength = Arrays.stream(words).distinct()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .toArray(String[]::new);
+
+        // Matches scoring above the minimum: some word equals a term or starts the label
+        List<IdCursor> preferredSources = new ArrayList<>();
+        for (String word : byLength) {
+            long[] exact = postings.terms.get(word);
+            if (exact != null) {
+                preferredSources.add(new RangeCursor(List.of(exact)));
+            }
+            preferredSources.add(withPrefix(leading, word));
+        }
+
+        Comparator<Hit> ranking = Comparator.comparingInt(Hit::score)
+                .thenComparing(hit -> hit.entry().label(), Comparator.reverseOrder());
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, ranking);
+        int budget = Math.max(candidateLimit, 0);
+        IdBuffer scored = new IdBuffer();
+        IdCursor preferred = new IntersectionCursor(List.of(new UnionCursor(preferredSources), matching(byLength)));
+        for (long id = budget > 0 ? preferred.seek(Long.MIN_VALUE) : END; id != END; id = preferred.seek(id + 1)) {
+            offer(best, id, words, limit);
+            scored.add(id);
+            if (--budget == 0) {
+                break;
+            }
+        }
+        if (budget > 0) {
+            // Both walks run in ascending id order, so the preferred ids are skipped in step
+            long[] skip = scored.toSortedArray();
+            int next = 0;
+            IdCursor matches = matching(byLength);
+            for (long id = matches.seek(Long.MIN_VALUE); id != END && budget > 0; id = matches.seek(id + 1)) {
+                while (next < skip.length && skip[next] < id) {
+                    next++;
+                }
+                if (next < skip.length && skip[next] == id) {
+                    continue;
+                }
+                offer(best, id, words, limit);
+                budget--;
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(ranking.reversed());
+        return hits;
+    }
+
+    private void offer(PriorityQueue<Hit> best, long id, String[] words, int limit) {
+        Entry entry = entries.get(id);
+        int score = entry != null ? score(entry, words) : 0;
+        if (score > 0) {
+            best.add(new Hit(entry, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+    }
+
+    // Ids of entries with a term starting with every word
+    private IdCursor matching(String[] words) {
+        List<IdCursor> cursors = new ArrayList<>(words.length);
+        for (String word : words) {
+            cursors.add(withPrefix(postings, word));
+        }
+        return new IntersectionCursor(cursors);
+    }
+
+    // Ids of all terms starting with the prefix; a short prefix only matches the term equal to it.
+    // Posting arrays are immutable, so the cursor keeps reading the ones it started with
+    private IdCursor withPrefix(Postings map, String prefix) {
+        if (prefix.length() < MIN_PREFIX_LENGTH) {
+            long[] ids = map.terms.get(prefix);
+            return new RangeCursor(ids != null ? List.of(ids) : List.of());
+        }
+        List<long[]> arrays = new ArrayList<>();
+        for (long[] ids : map.range(prefix).values()) {
+            if (arrays.size() == MAX_RANGE_TERMS) {
+                return new RangeCursor(List.of(merged(map, prefix)));
+            }
+            arrays.add(ids);
+        }
+        return new RangeCursor(arrays);
+    }
+
+    // Merged postings of a wide range; built under the writer lock, so no write slips past it
+    private long[] merged(Postings map, String prefix) {
+        long[] ids = map.ranges.get(prefix);
+        if (ids != null) {
+            return ids;
+        }
+        synchronized (this) {
+            return map.ranges.computeIfAbsent(prefix, key -> {
+                IdBuffer buffer = new IdBuffer();
+                map.range(key).values().forEach(buffer::addAll);
+                return buffer.toSortedArray();
+            });
+        }
+    }
+
+    /**
+     * Walks a set of ids in ascending order without materialising it
+     */
+    private interface IdCursor {
+
+        // Smallest id at or after target, or END; targets never decrease between calls
+        long seek(long target);
+    }
+
+    // K-way merge of sorted posting arrays, smallest current id first; an id in several arrays comes out once
+    private static final class RangeCursor implements IdCursor {
+        private final PriorityQueue<Run> runs;
+
+        RangeCursor(Collection<long[]> arrays) {
+            runs = new PriorityQueue<>(Math.max(arrays.size(), 1), Comparator.comparingLong(Run::current));
+            for (long[] ids : arrays) {
+                if (ids.length > 0) {
+                    runs.add(new Run(ids));
+                }
+            }
+        }
+
+        @Override
+        public long seek(long target) {
+            Run head;
+            while ((head = runs.peek()) != null && head.current() < target) {
+                runs.poll();
+                if (head.skipTo(target)) {
+                    runs.add(head);
+                }
+            }
+            return head != null ? head.current() : END;
+        }
+    }
+
+    private static final class Run {
+        private final long[] ids;
+        private int at;
+
+        Run(long[] ids) {
+            this.ids = ids;
+        }
+
+        long current() {
+            return ids[at];
+        }
+
+        // Gallops to the first id at or after target; false once the array is used up
+        boolean skipTo(long target) {
+            int step = 1;
+            int from = at;
+            while (from + step < ids.length && ids[from + step] < target) {
+                from += step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(ids, from, Math.min(from + step + 1, ids.length), target);
+            at = index >= 0 ? index : -index - 1;
+            return at < ids.length;
+        }
+    }
+
+    // Ids every cursor has: each one seeks to the largest id seen so far until all agree
+    private static final class IntersectionCursor implements IdCursor {
+        private final IdCursor[] cursors;
+
+        IntersectionCursor(List<IdCursor> cursors) {
+            this.cursors = cursors.toArray(IdCursor[]::new);
+        }
+
+        @Override
+        public long seek(long target) {
+            long candidate = target;
+            int agreed = 0;
+            for (int i = 0; agreed < cursors.length; i = (i + 1) % cursors.length) {
+                long id = cursors[i].seek(candidate);
+                if (id == END) {
+                    return END;
+                }
+                if (id == candidate) {
+                    agreed++;
+                } else {
+                    candidate = id;
+                    agreed = 1;
+                }
+            }
+            return candidate;
+        }
+    }
+
+    // Ids any cursor has
+    private static final class UnionCursor implements IdCursor {
+        private final IdCursor[] cursors;
+
+        UnionCursor(List<IdCursor> cursors) {
+            this.cursors = cursors.toArray(IdCursor[]::new);
+        }
+
+        @Override
+        public long seek(long target) {
+            long smallest = END;
+            for (IdCursor cursor : cursors) {
+                smallest = Math.min(smallest, cursor.seek(target));
+            }
+            return smallest;
+        }
+    }
+
+    // Exact term beats prefix, and a match on the first term (start of the label) adds one;
+    // a word shorter than MIN_PREFIX_LENGTH only counts when it equals a term
+    private static int score(Entry entry, String[] words) {
+        int total = 0;
+        String[] terms = entry.terms();
+        for (String word : words) {
+            int bestForWord = 0;
+            for (int i = 0; i < terms.length; i++) {
+                String term = terms[i];
+                if (term == null) {
+                    continue;
+                }
+                int points = term.equals(word) ? 3
+                        : word.length() >= MIN_PREFIX_LENGTH && term.startsWith(word) ? 2 : 0;
+                if (points > 0 && i == 0) {
+                    points++;
+                }
+                bestForWord = Math.max(bestForWord, points);
+            }
+            if (bestForWord == 0) {
+                return 0;
+            }
+            total += bestForWord;
+        }
+        return total;
+    }
+
+    // ------------------------------------------------------------------------
+    // Normalisation
+    // ------------------------------------------------------------------------
+
+    /**
+     * Lower-cased words of free text, split on anything that is not a letter or digit
+     */
+    public static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}@.]+"))
+                .flatMap(word -> word.contains("@") ? Stream.of(word) : Arrays.stream(word.split("\\.")))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * A whole value (e-mail, phone number, pincode) as one term
+     */
+    public static String keyword(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> leadingTerms(Entry entry) {
+        String first = entry != null ? firstTerm(entry) : null;
+        return first != null ? Set.of(first) : Set.of();
+    }
+
+    private static String firstTerm(Entry entry) {
+        String[] terms = entry.terms();
+        return terms.length > 0 && terms[0] != null && !terms[0].isEmpty() ? terms[0] : null;
+    }
+
+    private static String[] distinct(String[] terms) {
+        return Arrays.stream(terms).filter(term -> term != null && !term.isEmpty()).distinct().toArray(String[]::new);
+    }
+
+    // Posting arrays per term, plus the merged posting arrays of the wide prefix ranges read so far
+    private static final class Postings {
+        private final ConcurrentSkipListMap<String, long[]> terms = new ConcurrentSkipListMap<>();
+        private final Map<String, long[]> ranges = new ConcurrentHashMap<>();
+
+        NavigableMap<String, long[]> range(String prefix) {
+            return terms.subMap(prefix, true, prefix + RANGE_END, false);
+        }
+
+        // Moves an entry from its old terms to its new ones, merged ranges included; callers hold the writer lock
+        void update(long id, Set<String> oldTerms, Set<String> newTerms) {
+            for (String term : oldTerms) {
+                if (!newTerms.contains(term)) {
+                    unlink(terms, term, id);
+                }
+            }
+            for (String term : newTerms) {
+                if (!oldTerms.contains(term)) {
+                    link(terms, term, id);
+                }
+            }
+            if (ranges.isEmpty()) {
+                return;
+            }
+            // A prefix shared by an old and a new term keeps the entry in its range
+            Set<String> oldPrefixes = prefixes(oldTerms);
+            Set<String> newPrefixes = prefixes(newTerms);
+            for (String prefix : oldPrefixes) {
+                if (!newPrefixes.contains(prefix) && ranges.containsKey(prefix)) {
+                    unlink(ranges, prefix, id);
+                }
+            }
+            for (String prefix : newPrefixes) {
+                if (!oldPrefixes.contains(prefix) && ranges.containsKey(prefix)) {
+                    link(ranges, prefix, id);
+                }
+            }
+        }
+
+        private static Set<String> prefixes(Set<String> terms) {
+            Set<String> prefixes = new HashSet<>();
+            for (String term : terms) {
+                for (int length = MIN_PREFIX_LENGTH; length <= term.length(); length++) {
+                    prefixes.add(term.substring(0, length));
+                }
+            }
+            return prefixes;
+        }
+    }
+
+    // Growable primitive id list for bulk loads and scored candidates
+    private static final class IdBuffer {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        void addAll(long[] more) {
+            if (size + more.length > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, size + more.length));
+            }
+            System.arraycopy(more, 0, ids, size, more.length);
+            size += more.length;
+        }
+
+        // Sorted copy; an id added more than once appears once
+        long[] toSortedArray() {
+            long[] sorted = Arrays.copyOf(ids, size);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.fuel.nexus.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded multi-class queue served by deficit round robin.
+ * <p>
+ * Each class has its own FIFO and a weight. Consumers visit the classes in turn and take
+ * up to {@code weight} items from a class per visit, so under load the classes get
+ * throughput in proportion to their weights and a class with a long backlog cannot starve
+ * the others; an idle class gives its share to the busy ones. Every class has its own
+ * capacity, so one class filling up does not block the others from being accepted.
+ */
+public class WeightedFairQueue<T> {
+
+    private final ArrayDeque<T>[] queues;
+    private final int[] weights;
+    private final int[] capacities;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    // Class being served and items it may still take in this visit; guarded by lock
+    private int current;
+    private int credit;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public WeightedFairQueue(int[] weights, int[] capacities) {
+        if (weights.length != capacities.length || weights.length == 0) {
+            throw new IllegalArgumentException("One weight and one capacity per class are required");
+        }
+        for (int weight : weights) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weights must be positive");
+            }
+        }
+        this.weights = weights.clone();
+        this.capacities = capacities.clone();
+        this.queues = new ArrayDeque[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+        this.credit = weights[0];
+    }
+
+    /**
+     * @return false when the item's class is full
+     */
+    public boolean offer(int classIndex, T item) {
+        lock.lock();
+        try {
+            if (queues[classIndex].size() >= capacities[classIndex]) {
+                return false;
+            }
+            queues[classIndex].addLast(item);
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait up to the timeout for an item, then take up to {@code max} items in fair order
+     *
+     * @return number of items added to the target
+     */
+    public int drainTo(List<T> target, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return 0;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            int taken = 0;
+            while (taken < max && size > 0) {
+                if (credit == 0 || queues[current].isEmpty()) {
+                    // Next class; a class that has nothing waiting keeps no credit
+                    current = (current + 1) % queues.length;
+                    credit = weights[current];
+                    continue;
+                }
+                target.add(queues[current].pollFirst());
+                credit--;
+                size--;
+                taken++;
+            }
+            if (size > 0) {
+                notEmpty.signal();
+            }
+            return taken;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size(int classIndex) {
+        lock.lock();
+        try {
+            return queues[classIndex].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
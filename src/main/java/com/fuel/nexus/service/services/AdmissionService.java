@@ -0,0 +1,13 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.utility.CustomerType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Admission Service", description = "Service interface for per-customer booking rate limits")
+public interface AdmissionService {
+
+    // Take one token from the customer's bucket; throws TooManyRequestsException when it is empty
+    @Operation(summary = "Admit Booking", description = "Apply the customer's per-tier token bucket to one booking request")
+    CustomerType admit(Long customerId);
+}
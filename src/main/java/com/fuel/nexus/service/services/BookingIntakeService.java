@@ -0,0 +1,19 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.BookingIntakeDTO;
+import com.fuel.nexus.dto.BookingRequestDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Booking Intake Service", description = "Service interface for queued asynchronous booking intake")
+public interface BookingIntakeService {
+
+    // Validate and enqueue a booking; rejected with 429 when the queue is full. At most once:
+    // the queue lives in memory, so bookings still queued when the node stops are lost
+    @Operation(summary = "Submit Booking", description = "Enqueue a booking for asynchronous creation and return its tracking id")
+    BookingIntakeDTO submit(BookingRequestDTO request);
+
+    // Current state of a queued booking
+    @Operation(summary = "Get Intake Status", description = "Look up a queued booking by tracking id")
+    BookingIntakeDTO getStatus(String trackingId);
+}
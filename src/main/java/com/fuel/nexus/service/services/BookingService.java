@@ -1,11 +1,20 @@
 package com.fuel.nexus.service.services;
 
+import com.fuel.nexus.dto.BookingRequestDTO;
+import com.fuel.nexus.dto.BookingSearchCriteria;
+import com.fuel.nexus.dto.BulkBookingResultDTO;
+import com.fuel.nexus.dto.BulkStatusTransitionRequestDTO;
+import com.fuel.nexus.dto.BulkStatusTransitionResultDTO;
 import com.fuel.nexus.entity.Booking;
+import com.fuel.nexus.entity.BookingAllocation;
 import com.fuel.nexus.utility.BookingStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 /**
  * Booking & Order Management Service
@@ -21,18 +30,36 @@ public interface BookingService {
     @Operation(summary = "Create Booking", description = "Allow customers to create a new booking for gas cylinders or liquid fuel.")
     Booking createBooking(Booking booking);
 
+    /**
+     * Create many bookings at once, written in JDBC batches
+     */
+    @Operation(summary = "Create Bookings In Bulk", description = "Create a batch of bookings in one transaction, inserted and announced per batch.")
+    BulkBookingResultDTO createBookings(List<BookingRequestDTO> requests);
+
     /**
      * Update booking status: pending, approved, delivered, cancelled
      */
     @Operation(summary = "Update Booking Status", description = "Update the booking status for a specific booking (e.g., PENDING, APPROVED, DELIVERED, CANCELLED).")
     Booking updateBookingStatus(Long bookingId, BookingStatus status);
 
+    /**
+     * Move a set of bookings to one status, validated against the transition table
+     */
+    @Operation(summary = "Transition Booking Statuses", description = "Apply one status transition to many bookings with one UPDATE per source status.")
+    BulkStatusTransitionResultDTO transitionStatuses(BulkStatusTransitionRequestDTO request);
+
     /**
      * Get all bookings with pagination
      */
     @Operation(summary = "Get All Bookings", description = "Fetch all bookings with pagination support.")
     Page<Booking> getAllBookings(Pageable pageable);
 
+    /**
+     * Search bookings by optional filters, newest first, one keyset slice at a time
+     */
+    @Operation(summary = "Search Bookings", description = "Filter bookings with keyset pagination on (bookingDate, id).")
+    Slice<Booking> searchBookings(BookingSearchCriteria criteria, Integer size);
+
     /**
      * Fetch booking details by booking ID
      */
@@ -45,4 +72,10 @@ public interface BookingService {
     @Operation(summary = "Update Inventory on Delivery", description = "Automatically update fuel inventory after successful delivery of booking.")
     void updateInventoryOnDelivery(Long bookingId);
 
+    /**
+     * Inventory batches a delivered booking was allocated from
+     */
+    @Operation(summary = "Get Booking Allocations", description = "List the per-batch allocations of a delivered booking.")
+    List<BookingAllocation> getAllocations(Long bookingId);
+
 }
@@ -0,0 +1,28 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.DemandForecastDTO;
+import com.fuel.nexus.entity.ReorderSuggestion;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+@Tag(name = "Forecast Service", description = "Service interface for depletion forecasts and reorder suggestions")
+public interface ForecastService {
+
+    // Demand rate and time-to-empty of every depot
+    @Operation(summary = "Depot Forecasts", description = "Demand rate and time-to-empty per fuel type and storage location")
+    List<DemandForecastDTO> getDepotForecasts();
+
+    // Demand rate and time-to-empty of one inventory row
+    @Operation(summary = "Inventory Forecast", description = "Demand rate and time-to-empty of a single fuel inventory record")
+    DemandForecastDTO getInventoryForecast(Long inventoryId);
+
+    // Open reorder suggestions, most urgent first
+    @Operation(summary = "Open Reorder Suggestions", description = "List open reorder suggestions, most urgent first")
+    List<ReorderSuggestion> getOpenSuggestions();
+
+    // Close a suggestion once the order was placed
+    @Operation(summary = "Close Reorder Suggestion", description = "Mark a reorder suggestion as handled")
+    ReorderSuggestion closeSuggestion(Long suggestionId);
+}
@@ -1,7 +1,9 @@
 package com.fuel.nexus.service.services;
 
 import com.fuel.nexus.dto.FuelInventoryDTO;
+import com.fuel.nexus.dto.StockTransferDTO;
 import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.StockTransfer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
@@ -45,8 +47,11 @@ public interface FuelInventoryService {
     @Operation(summary = "Restock Fuel", description = "Increase stock quantity for a given inventory record")
     FuelInventory restockFuel(Long inventoryId, Double additionalQuantity);
 
-    // Check for low stock alert
-    @Operation(summary = "Low Stock Alert", description = "Check if the available stock is below the defined threshold and trigger an alert")
+    // Check for low stock (threshold may be null to use the configured per-inventory / per-fuel-type threshold)
+    @Operation(summary = "Low Stock Alert", description = "Check if the available stock is below the given threshold, or the configured one when none is given")
     boolean isLowStock(Long inventoryId, Double threshold);
-}
 
+    // Move stock between two inventory rows atomically (idempotent per transfer id)
+    @Operation(summary = "Transfer Stock", description = "Atomically move quantity from one fuel inventory record to another of the same fuel type")
+    StockTransfer transferStock(StockTransferDTO transfer);
+}
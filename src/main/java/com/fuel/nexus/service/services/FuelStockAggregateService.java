@@ -0,0 +1,31 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.FuelStockSummaryDTO;
+import com.fuel.nexus.utility.FuelType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Fuel Stock Aggregate Service", description = "Service interface for incrementally maintained stock totals per fuel type and location")
+public interface FuelStockAggregateService {
+
+    // Total stock of a fuel type across all locations
+    @Operation(summary = "Fuel Type Stock Summary", description = "Total stock and batch count of a fuel type, with per-location breakdown")
+    FuelStockSummaryDTO getSummary(FuelType fuelType);
+
+    // Total stock of a fuel type at one location
+    @Operation(summary = "Location Stock Summary", description = "Total stock and batch count of a fuel type at one storage location")
+    FuelStockSummaryDTO getSummary(FuelType fuelType, String storageLocation);
+
+    // A batch was created (its quantity arrives through its movement)
+    void batchCreated(FuelType fuelType, String storageLocation);
+
+    // A batch was deleted together with its remaining quantity
+    void batchDeleted(FuelType fuelType, String storageLocation, double quantity);
+
+    // A batch was re-labelled to another fuel type or location
+    void batchMoved(FuelType fromType, String fromLocation, FuelType toType, String toLocation, double quantity);
+
+    // Rebuild every aggregate from fuel_inventory (one full scan)
+    @Operation(summary = "Rebuild Aggregates", description = "Recompute all stock aggregates from the fuel inventory table")
+    int rebuild();
+}
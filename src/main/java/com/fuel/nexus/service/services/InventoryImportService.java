@@ -0,0 +1,17 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.InventoryImportReportDTO;
+import com.fuel.nexus.utility.ImportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Tag(name = "Inventory Import Service", description = "Service interface for streaming bulk fuel inventory imports")
+public interface InventoryImportService {
+
+    // Stream a CSV / NDJSON stock file and upsert its rows by batch number
+    @Operation(summary = "Import Fuel Inventory", description = "Stream a stock file and upsert rows by batch number in chunked batches, reporting per-row errors")
+    InventoryImportReportDTO importInventory(InputStream input, ImportFormat format) throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.entity.InventoryMovement;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+
+@Tag(name = "Inventory Movement Service", description = "Service interface for the append-only inventory movement ledger")
+public interface InventoryMovementService {
+
+    // List movements of an inventory row in a time window
+    @Operation(summary = "Get Movements", description = "List stock movements of an inventory record within a time window")
+    Page<InventoryMovement> getMovements(Long inventoryId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    // Stock as of a point in time
+    @Operation(summary = "Stock As Of", description = "Derive the stock of an inventory record at a point in time from snapshots and movements")
+    Double getQuantityAsOf(Long inventoryId, LocalDateTime at);
+
+    // Current stock derived from the ledger
+    @Operation(summary = "Derived Stock", description = "Derive the current stock of an inventory record from the latest snapshot and later movements")
+    Double getDerivedQuantity(Long inventoryId);
+
+    // Take snapshots for every inventory row that moved since the last run
+    @Operation(summary = "Take Snapshots", description = "Fold recent movements into new inventory snapshots")
+    int takeSnapshots();
+}
@@ -0,0 +1,30 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.DailyPricingDTO;
+import com.fuel.nexus.dto.PriceQuoteDTO;
+import com.fuel.nexus.dto.PriceQuoteRequestDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "Pricing Service", description = "Service interface for pricing bookings by product and customer type")
+public interface PricingService {
+
+    // Price a quantity of a product for a customer type
+    @Operation(summary = "Quote Price", description = "Price a quantity of a product for a customer type, optionally in another unit")
+    PriceQuoteDTO quote(PriceQuoteRequestDTO request);
+
+    // Price several quantities in one call
+    @Operation(summary = "Quote Prices", description = "Price several product quantities in one call")
+    List<PriceQuoteDTO> quoteAll(List<PriceQuoteRequestDTO> requests);
+
+    // Price a booking at the price in effect on its booking date
+    @Operation(summary = "Price Booking", description = "Total of a booking from its product price, quantity and customer type")
+    PriceQuoteDTO priceBooking(Long bookingId);
+
+    // Price every booking made on one day
+    @Operation(summary = "Price Bookings Of Day", description = "Totals of all non-cancelled bookings made on the given day")
+    DailyPricingDTO priceBookings(LocalDate date);
+}
@@ -0,0 +1,26 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.ProductPriceDTO;
+import com.fuel.nexus.entity.ProductPrice;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Tag(name = "Product Price Service", description = "Service interface for time-versioned product prices")
+public interface ProductPriceService {
+
+    // Schedule a price change (effective now when no time is given)
+    @Operation(summary = "Schedule Price", description = "Add a price to a product's history, effective now or at a future time")
+    ProductPrice schedulePrice(Long productId, ProductPriceDTO priceDTO);
+
+    // Full price history of a product
+    @Operation(summary = "Price History", description = "List a product's past, current and scheduled prices")
+    List<ProductPrice> getPriceHistory(Long productId);
+
+    // Effective price at a point in time
+    @Operation(summary = "Price At", description = "Price of a product effective at the given time")
+    BigDecimal getPriceAt(Long productId, LocalDateTime at);
+}
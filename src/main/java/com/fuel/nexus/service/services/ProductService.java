@@ -2,13 +2,13 @@ package com.fuel.nexus.service.services;
 
 import com.fuel.nexus.dto.ProductDTO;
 import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.utility.FuelType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -25,7 +25,6 @@ public interface ProductService {
 
     // Get product by ID
     @Operation(summary = "Get Product by ID", description = "Retrieve a product by its unique identifier")
-    @Cacheable(value = "products", key = "#id")
     Optional<Product> getProductById(Long productId);
 
     // Update product
@@ -34,19 +33,22 @@ public interface ProductService {
 
     // Delete product by ID
     @Operation(summary = "Delete Product", description = "Delete a product from the system by ID")
-    @CacheEvict(value = "products", key = "#id")
     void deleteProduct(Long productId);
 
     // Find product by name
     @Operation(summary = "Find Product by Name", description = "Search a product using its name")
     Optional<Product> findByName(String name);
 
+    // List products of a fuel type
+    @Operation(summary = "Find Products by Fuel Type", description = "List all products of a given fuel type")
+    List<Product> findByFuelType(FuelType fuelType);
+
     // Track product stock levels
     @Operation(summary = "Track Product Stock", description = "Check current stock levels for a given product")
     Long getStockLevel(Long productId);
 
     // Handle low stock alerts for a product
-    @Operation(summary = "Low Stock Alert", description = "Check if a product's stock level is below threshold and trigger alert")
+    @Operation(summary = "Low Stock Alert", description = "Check if a product's stock level is below the given threshold, or its fuel type threshold when none is given")
     boolean isLowStock(Long productId, Double threshold);
 }
 
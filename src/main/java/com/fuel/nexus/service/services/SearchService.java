@@ -0,0 +1,27 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.SearchResultDTO;
+import com.fuel.nexus.entity.Customer;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.utility.SearchTarget;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+@Tag(name = "Search Service", description = "Service interface for typeahead search over products and customers")
+public interface SearchService {
+
+    // Top matches for a typeahead query, optionally restricted to one kind of record
+    @Operation(summary = "Search", description = "Prefix search over product names and customer name, e-mail, mobile and pincode")
+    List<SearchResultDTO> search(String query, SearchTarget target, Integer limit);
+
+    // Incremental index maintenance, called by the owning services once their change committed
+    void indexProduct(Product product);
+
+    void removeProduct(Long productId);
+
+    void indexCustomer(Customer customer);
+
+    void removeCustomer(Long customerId);
+}
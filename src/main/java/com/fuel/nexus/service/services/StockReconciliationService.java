@@ -0,0 +1,13 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.StockReconciliationReportDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Stock Reconciliation Service", description = "Service interface for reconciling product stock with fuel inventory")
+public interface StockReconciliationService {
+
+    // Compare product stock with summed inventory, optionally correcting the product side
+    @Operation(summary = "Reconcile Stock", description = "Compare Product.stockQuantity with the summed available inventory per product")
+    StockReconciliationReportDTO reconcile(boolean correct, boolean full);
+}
@@ -0,0 +1,29 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.StockThresholdDTO;
+import com.fuel.nexus.entity.StockThreshold;
+import com.fuel.nexus.utility.FuelType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+@Tag(name = "Stock Threshold Service", description = "Service interface for managing low stock thresholds")
+public interface StockThresholdService {
+
+    // Create or replace the threshold of a single inventory row
+    @Operation(summary = "Set Inventory Threshold", description = "Create or replace the low stock threshold of an inventory record")
+    StockThreshold setInventoryThreshold(Long inventoryId, StockThresholdDTO dto);
+
+    // Create or replace the threshold of a fuel type
+    @Operation(summary = "Set Fuel Type Threshold", description = "Create or replace the low stock threshold of a fuel type")
+    StockThreshold setFuelTypeThreshold(FuelType fuelType, StockThresholdDTO dto);
+
+    // List all thresholds
+    @Operation(summary = "Get Thresholds", description = "List all configured low stock thresholds")
+    List<StockThreshold> getAllThresholds();
+
+    // Delete a threshold
+    @Operation(summary = "Delete Threshold", description = "Delete a low stock threshold")
+    void deleteThreshold(Long thresholdId);
+}
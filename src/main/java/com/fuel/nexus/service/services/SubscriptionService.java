@@ -0,0 +1,35 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.SubscriptionDTO;
+import com.fuel.nexus.dto.SubscriptionRequestDTO;
+import com.fuel.nexus.dto.SubscriptionRunDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "Subscription Service", description = "Service interface for recurring subscription bookings")
+public interface SubscriptionService {
+
+    // Subscribe a customer to a product, booked every intervalDays
+    @Operation(summary = "Create Subscription", description = "Create a recurring booking of a product for a customer")
+    SubscriptionDTO createSubscription(SubscriptionRequestDTO request);
+
+    @Operation(summary = "Get Subscription", description = "Fetch a subscription by ID")
+    SubscriptionDTO getSubscription(Long subscriptionId);
+
+    @Operation(summary = "Get Customer Subscriptions", description = "Fetch all subscriptions of a customer")
+    List<SubscriptionDTO> getCustomerSubscriptions(Long customerId);
+
+    // No further bookings are generated; bookings already generated are kept
+    @Operation(summary = "Cancel Subscription", description = "Stop generating bookings for a subscription")
+    SubscriptionDTO cancelSubscription(Long subscriptionId);
+
+    // Plan the day's run if needed and start this node's workers on it
+    @Operation(summary = "Start Subscription Run", description = "Generate the bookings of subscriptions due on a day")
+    SubscriptionRunDTO startRun(LocalDate runDate);
+
+    @Operation(summary = "Get Subscription Run", description = "Progress of a day's subscription run across all nodes")
+    SubscriptionRunDTO getRun(LocalDate runDate);
+}
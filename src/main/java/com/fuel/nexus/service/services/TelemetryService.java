@@ -0,0 +1,31 @@
+package com.fuel.nexus.service.services;
+
+import com.fuel.nexus.dto.TankStatusDTO;
+import com.fuel.nexus.dto.TelemetryIngestResultDTO;
+import com.fuel.nexus.dto.TelemetryRollupDTO;
+import com.fuel.nexus.dto.TelemetrySampleDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Tag(name = "Tank Telemetry Service", description = "Service interface for tank sensor ingestion and downsampled telemetry")
+public interface TelemetryService {
+
+    // Ingest a batch of sensor readings
+    @Operation(summary = "Ingest Readings", description = "Buffer a batch of tank level / temperature readings")
+    TelemetryIngestResultDTO ingest(List<TelemetrySampleDTO> samples);
+
+    // 1-minute rollups of a tank
+    @Operation(summary = "Minute Rollups", description = "1-minute telemetry rollups of a tank in a time window")
+    List<TelemetryRollupDTO> getMinuteRollups(Long inventoryId, LocalDateTime from, LocalDateTime to);
+
+    // 1-hour rollups of a tank
+    @Operation(summary = "Hour Rollups", description = "1-hour telemetry rollups of a tank in a time window")
+    List<TelemetryRollupDTO> getHourRollups(Long inventoryId, LocalDateTime from, LocalDateTime to);
+
+    // Latest reading next to the booked stock figure
+    @Operation(summary = "Tank Status", description = "Latest sensor reading of a tank together with its booked stock")
+    TankStatusDTO getTankStatus(Long inventoryId);
+}
@@ -1,8 +1,33 @@
 package com.fuel.nexus.utility;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+// Stored by ordinal: append new states at the end
 public enum BookingStatus {
     PENDING,
     APPROVED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    // Allowed transitions; DELIVERED and CANCELLED are final
+    private static final Map<BookingStatus, Set<BookingStatus>> TRANSITIONS = new EnumMap<>(BookingStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, Collections.unmodifiableSet(EnumSet.of(APPROVED, CANCELLED)));
+        TRANSITIONS.put(APPROVED, Collections.unmodifiableSet(EnumSet.of(DELIVERED, CANCELLED)));
+        TRANSITIONS.put(DELIVERED, Collections.unmodifiableSet(EnumSet.noneOf(BookingStatus.class)));
+        TRANSITIONS.put(CANCELLED, Collections.unmodifiableSet(EnumSet.noneOf(BookingStatus.class)));
+    }
+
+    public Set<BookingStatus> nextStates() {
+        return TRANSITIONS.get(this);
+    }
+
+    public boolean canTransitionTo(BookingStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
 }
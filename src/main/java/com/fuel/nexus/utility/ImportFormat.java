@@ -0,0 +1,9 @@
+package com.fuel.nexus.utility;
+
+/**
+ * Enum representing supported bulk import file formats
+ */
+public enum ImportFormat {
+    CSV,        // Header line followed by comma separated rows
+    NDJSON      // One JSON object per line
+}
@@ -0,0 +1,7 @@
+package com.fuel.nexus.utility;
+
+public enum IntakeStatus {
+    QUEUED,
+    CREATED,
+    FAILED
+}
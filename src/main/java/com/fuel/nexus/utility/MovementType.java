@@ -0,0 +1,12 @@
+package com.fuel.nexus.utility;
+
+/**
+ * Kind of stock movement recorded in the inventory movement ledger
+ */
+public enum MovementType {
+    RESTOCK,        // Stock received into a batch
+    DELIVERY,       // Stock deducted for a delivered booking
+    ADJUSTMENT,     // Manual correction (create / update of a batch)
+    TRANSFER_IN,    // Stock moved into a batch from another depot
+    TRANSFER_OUT    // Stock moved out of a batch to another depot
+}
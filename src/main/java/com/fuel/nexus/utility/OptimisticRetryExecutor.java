@@ -0,0 +1,139 @@
+package com.fuel.nexus.utility;
+
+import com.fuel.nexus.exception.exceptions.ConcurrentUpdateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs an update in its own transaction and re-runs it when an optimistic lock
+ * conflict (@Version mismatch) is detected, with exponential backoff and full jitter.
+ * Retrying only suits updates computed from the state they read (deltas, counters);
+ * writes of client-supplied values go through {@link #executeOnce} so a stale write
+ * is rejected instead of re-applied.
+ * <p>
+ * Each attempt re-reads the entity, so callers must not be inside an outer transaction
+ * (annotate the calling service method with {@code Propagation.NOT_SUPPORTED}).
+ * Conflicts are exported per entity under {@code fuelnexus.optimistic.*} in /actuator/metrics.
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    private final Map<String, Counter> conflictCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> exhaustedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> executionTimers = new ConcurrentHashMap<>();
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${fuelnexus.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${fuelnexus.retry.initial-backoff-ms:10}") long initialBackoffMs,
+                                   @Value("${fuelnexus.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = Math.max(0, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+    }
+
+    /**
+     * Execute the action, retrying on optimistic lock conflicts.
+     *
+     * @param entity entity name used as metric tag (e.g. "FuelInventory")
+     * @param action update to run; executed once per attempt inside a fresh transaction
+     * @return result of the first successful attempt
+     * @throws ConcurrentUpdateException when all attempts conflicted
+     */
+    public <T> T execute(String entity, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> action.get());
+                sample.stop(executionTimer(entity));
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException ex) {
+                counter(conflictCounters, "fuelnexus.optimistic.conflicts", "Optimistic lock conflicts per entity", entity).increment();
+
+                if (attempt >= maxAttempts) {
+                    counter(exhaustedCounters, "fuelnexus.optimistic.exhausted", "Updates that failed after all retry attempts", entity).increment();
+                    sample.stop(executionTimer(entity));
+                    log.warn("Optimistic lock retries exhausted for {} after {} attempts", entity, attempt);
+                    throw new ConcurrentUpdateException(
+                            entity + " was modified concurrently, please retry (attempts: " + attempt + ")");
+                }
+
+                long backoff = backoff(attempt);
+                log.debug("Optimistic lock conflict on {} (attempt {}), retrying in {} ms", entity, attempt, backoff);
+                sleep(backoff, entity);
+            }
+        }
+    }
+
+    /**
+     * Execute the action once in its own transaction, without retrying.
+     *
+     * @throws ConcurrentUpdateException when the entity was modified concurrently
+     */
+    public <T> T executeOnce(String entity, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return transactionTemplate.execute(status -> action.get());
+        } catch (OptimisticLockingFailureException | OptimisticLockException ex) {
+            counter(conflictCounters, "fuelnexus.optimistic.conflicts", "Optimistic lock conflicts per entity", entity).increment();
+            throw new ConcurrentUpdateException(entity + " was modified concurrently, reload it and retry");
+        } finally {
+            sample.stop(executionTimer(entity));
+        }
+    }
+
+    // Exponential backoff capped at maxBackoffMs, with full jitter to de-synchronise competing writers
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis, String entity) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while retrying update of " + entity);
+        }
+    }
+
+    private Counter counter(Map<String, Counter> cache, String name, String description, String entity) {
+        return cache.computeIfAbsent(entity, e -> Counter.builder(name)
+                .description(description)
+                .tag("entity", e)
+                .register(meterRegistry));
+    }
+
+    private Timer executionTimer(String entity) {
+        return executionTimers.computeIfAbsent(entity, e -> Timer.builder("fuelnexus.optimistic.execution")
+                .description("Time spent executing versioned updates including retries")
+                .tag("entity", e)
+                .register(meterRegistry));
+    }
+}
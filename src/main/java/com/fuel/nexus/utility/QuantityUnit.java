@@ -0,0 +1,33 @@
+package com.fuel.nexus.utility;
+
+/**
+ * Units a fuel quantity can be expressed in; the labels match Product.unit
+ */
+public enum QuantityUnit {
+    LITRE("Litre"),
+    KG("Kg"),
+    GALLON("Gallon");
+
+    private final String label;
+
+    QuantityUnit(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Resolve a Product.unit label, ignoring case
+     * @return the unit, or null when the label is unknown
+     */
+    public static QuantityUnit fromLabel(String label) {
+        for (QuantityUnit unit : QuantityUnit.values()) {
+            if (unit.label.equalsIgnoreCase(label) || unit.name().equalsIgnoreCase(label)) {
+                return unit;
+            }
+        }
+        return null;
+    }
+}
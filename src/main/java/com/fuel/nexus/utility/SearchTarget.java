@@ -0,0 +1,9 @@
+package com.fuel.nexus.utility;
+
+/**
+ * Kinds of records covered by the typeahead search
+ */
+public enum SearchTarget {
+    PRODUCT,
+    CUSTOMER
+}
@@ -0,0 +1,11 @@
+package com.fuel.nexus.utility;
+
+public enum TransitionOutcome {
+    TRANSITIONED,
+    // Already in the target state
+    UNCHANGED,
+    INVALID_TRANSITION,
+    NOT_FOUND,
+    // Changed by someone else between the read and the update (possibly into the target state)
+    CONCURRENTLY_MODIFIED
+}
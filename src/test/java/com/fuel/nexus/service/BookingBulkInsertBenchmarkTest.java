@@ -0,0 +1,189 @@
+package com.fuel.nexus.service;
+
+import com.fuel.nexus.dto.BookingRequestDTO;
+import com.fuel.nexus.dto.BulkBookingResultDTO;
+import com.fuel.nexus.entity.Booking;
+import com.fuel.nexus.entity.Customer;
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.repository.BookingRepository;
+import com.fuel.nexus.repository.CustomerRepository;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.ProductRepository;
+import com.fuel.nexus.service.impl.ProductCatalog;
+import com.fuel.nexus.service.impl.StockHoldManager;
+import com.fuel.nexus.service.impl.StockReservationLedger;
+import com.fuel.nexus.service.services.BookingService;
+import com.fuel.nexus.utility.CustomerType;
+import com.fuel.nexus.utility.FuelType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times the same number of bookings created one request at a time and through the bulk
+ * path, which batches its inserts. Logs both rates; the bulk path must create every row and
+ * be at least -Dfuelnexus.benchmarks.bulk-min-speedup times faster (default 10, the
+ * throughput target of the bulk endpoint).
+ * It needs a running MySQL and takes a while, so it is a manual benchmark that only runs
+ * with -Dfuelnexus.benchmarks=true. The duplicate check is off because the single-insert
+ * run books the same quantity repeatedly, which it would reject.
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "fuelnexus.benchmarks", matches = "true")
+@SpringBootTest(properties = "fuelnexus.duplicates.mode=off")
+class BookingBulkInsertBenchmarkTest {
+
+    private static final int BOOKINGS = 500;
+    private static final int WARMUP = 50;
+    private static final double MIN_SPEEDUP =
+            Double.parseDouble(System.getProperty("fuelnexus.benchmarks.bulk-min-speedup", "10"));
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private FuelInventoryRepository fuelInventoryRepository;
+
+    @Autowired
+    private StockReservationLedger stockLedger;
+
+    @Autowired
+    private StockHoldManager stockHoldManager;
+
+    private Customer customer;
+    private Product product;
+    private FuelInventory inventory;
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime() % 100_000_000L;
+        product = productRepository.save(Product.builder()
+                .name("Bulk LPG " + suffix)
+                .type("Gas")
+                .price(new BigDecimal("950.00"))
+                .unit("Kg")
+                .manufacturerEmail("qa@fuelnexus.test")
+                .fuelType(FuelType.LPG)
+                .stockQuantity(0L)
+                .build());
+        productCatalog.put(product);
+
+        // Every booking holds its quantity, so the product needs a batch covering all of them
+        inventory = fuelInventoryRepository.save(FuelInventory.builder()
+                .product(product)
+                .availableQuantity(4.0 * (BOOKINGS + WARMUP))
+                .storageLocation("Bulk Depot")
+                .lastUpdated(LocalDateTime.now())
+                .batchNumber("BULK-" + suffix)
+                .fuelType(FuelType.LPG)
+                .build());
+        stockLedger.track(inventory);
+
+        customer = customerRepository.save(Customer.builder()
+                .fullName("Bulk Customer")
+                .email("bulk" + suffix + "@fuelnexus.test")
+                .mobileNumber("9" + String.format("%09d", suffix % 1_000_000_000L))
+                .address("1 Depot Road")
+                .city("Pune")
+                .state("Maharashtra")
+                .pincode("411001")
+                .customerType(CustomerType.COMMERCIAL)
+                .registrationDate(LocalDate.now())
+                .active(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Holds may sit on any LPG batch, so they are released through the ledger
+        createdIds.forEach(stockHoldManager::release);
+        bookingRepository.deleteAllById(createdIds);
+        stockLedger.untrack(inventory.getId());
+        fuelInventoryRepository.deleteById(inventory.getId());
+        customerRepository.deleteById(customer.getId());
+        productRepository.deleteById(product.getId());
+        productCatalog.remove(product.getId());
+    }
+
+    @Test
+    void bulkPathCreatesEveryBookingAndReportsThroughput() {
+        // Warm up both paths so class loading and pool start-up are not measured
+        createOneByOne(WARMUP);
+        createdIds.addAll(bookingService.createBookings(requests(WARMUP)).getBookingIds());
+
+        long singleStart = System.nanoTime();
+        createOneByOne(BOOKINGS);
+        long singleNanos = System.nanoTime() - singleStart;
+
+        long bulkStart = System.nanoTime();
+        BulkBookingResultDTO result = bookingService.createBookings(requests(BOOKINGS));
+        long bulkNanos = System.nanoTime() - bulkStart;
+        createdIds.addAll(result.getBookingIds());
+
+        double singleRate = BOOKINGS / (singleNanos / 1e9);
+        double bulkRate = BOOKINGS / (bulkNanos / 1e9);
+        log.info("Single inserts: {} bookings/s, bulk: {} bookings/s ({}x)",
+                String.format("%.0f", singleRate), String.format("%.0f", bulkRate),
+                String.format("%.1f", bulkRate / singleRate));
+
+        assertEquals(BOOKINGS, result.getCreated());
+        assertEquals(BOOKINGS, result.getBookingIds().stream().distinct().count());
+        assertEquals(BOOKINGS, bookingRepository.findAllById(result.getBookingIds()).size());
+        assertTrue(bulkRate >= MIN_SPEEDUP * singleRate, String.format(
+                "Bulk path is only %.1fx faster than single inserts, expected at least %.1fx", bulkRate / singleRate, MIN_SPEEDUP));
+    }
+
+    private void createOneByOne(int count) {
+        for (int i = 0; i < count; i++) {
+            Booking booking = bookingService.createBooking(Booking.builder()
+                    .customer(customer)
+                    .product(product)
+                    .quantity(1.0)
+                    .bookingDate(LocalDateTime.now())
+                    .fuelType(FuelType.LPG)
+                    .build());
+            createdIds.add(booking.getId());
+        }
+    }
+
+    private List<BookingRequestDTO> requests(int count) {
+        List<BookingRequestDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(BookingRequestDTO.builder()
+                    .customerId(customer.getId())
+                    .productId(product.getId())
+                    .quantity(1.0)
+                    .build());
+        }
+        return requests;
+    }
+}
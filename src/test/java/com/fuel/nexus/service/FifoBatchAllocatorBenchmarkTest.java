@@ -0,0 +1,145 @@
+package com.fuel.nexus.service;
+
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.ProductRepository;
+import com.fuel.nexus.service.impl.FifoBatchAllocator;
+import com.fuel.nexus.utility.FuelType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times FifoBatchAllocator for deliveries that span 1, 10 and 100 batches. Seeds 100
+ * petrol batches of one unit each, so a delivery of n units takes the n oldest; free stock
+ * on other petrol batches is parked until the benchmark ends. Every allocation is rolled
+ * back, which keeps the seeded stock intact between rounds. Logs the
+ * allocation rate of each case. It needs a running MySQL, so it is a manual benchmark that
+ * only runs with -Dfuelnexus.benchmarks=true.
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "fuelnexus.benchmarks", matches = "true")
+@SpringBootTest
+class FifoBatchAllocatorBenchmarkTest {
+
+    private static final int[] SPANS = {1, 10, 100};
+    private static final int BATCHES = 100;
+    private static final int ROUNDS = 200;
+    private static final int WARMUP = 20;
+
+    @Autowired
+    private FifoBatchAllocator batchAllocator;
+
+    @Autowired
+    private FuelInventoryRepository fuelInventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Product product;
+    private final List<Long> batchIds = new ArrayList<>();
+    // Free stock taken off the other petrol batches, by inventory id
+    private final Map<Long, Double> parked = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        long suffix = System.nanoTime() % 100_000_000L;
+
+        // Deliveries take the oldest batches first; other free petrol stock would be drained instead.
+        // Both this and the restore are relative updates, so a restock in between is kept
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query("SELECT id, available_quantity - COALESCE(reserved_quantity, 0) FROM fuel_inventory " +
+                            "WHERE fuel_type = ? AND available_quantity > COALESCE(reserved_quantity, 0) FOR UPDATE",
+                    rs -> {
+                        parked.put(rs.getLong(1), rs.getDouble(2));
+                    }, FuelType.PETROL.ordinal());
+            parked.forEach((id, free) -> jdbcTemplate.update(
+                    "UPDATE fuel_inventory SET available_quantity = available_quantity - ? WHERE id = ?", free, id));
+        });
+
+        product = productRepository.save(Product.builder()
+                .name("Allocation Petrol " + suffix)
+                .type("Liquid")
+                .price(new BigDecimal("105.00"))
+                .unit("Litre")
+                .manufacturerEmail("qa@fuelnexus.test")
+                .fuelType(FuelType.PETROL)
+                .stockQuantity(0L)
+                .build());
+        for (int i = 0; i < BATCHES; i++) {
+            batchIds.add(fuelInventoryRepository.save(FuelInventory.builder()
+                    .product(product)
+                    .availableQuantity(1.0)
+                    .storageLocation("Allocation Depot")
+                    .lastUpdated(LocalDateTime.now())
+                    .batchNumber("FIFO-" + suffix + "-" + i)
+                    .fuelType(FuelType.PETROL)
+                    .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        parked.forEach((id, free) -> jdbcTemplate.update(
+                "UPDATE fuel_inventory SET available_quantity = available_quantity + ? WHERE id = ?", free, id));
+        fuelInventoryRepository.deleteAllById(batchIds);
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    void reportsAllocationRatePerBatchSpan() {
+        long bookingId = -(System.nanoTime() % 1_000_000_000_000L);
+        for (int span : SPANS) {
+            // Warm up each span so the first case does not pay for class loading and pool start-up
+            for (int i = 0; i < WARMUP; i++) {
+                allocateAndRollBack(bookingId--, span);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                assertEquals(span, allocateAndRollBack(bookingId--, span));
+            }
+            long nanos = System.nanoTime() - start;
+
+            log.info("Deliveries spanning {} batches: {} allocations/s, {} ms each", span,
+                    String.format("%.0f", ROUNDS / (nanos / 1e9)), String.format("%.2f", nanos / 1e6 / ROUNDS));
+        }
+    }
+
+    // Batches the allocation was split across; the transaction is rolled back either way
+    private int allocateAndRollBack(long bookingId, int span) {
+        Integer batches = transactionTemplate.execute(status -> {
+            int size = batchAllocator.allocate(bookingId, FuelType.PETROL, span, Map.of()).size();
+            status.setRollbackOnly();
+            return size;
+        });
+        return batches != null ? batches : 0;
+    }
+}
@@ -0,0 +1,201 @@
+package com.fuel.nexus.service;
+
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.exception.exceptions.OutOfStockException;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.ProductRepository;
+import com.fuel.nexus.service.impl.FifoBatchAllocator;
+import com.fuel.nexus.utility.FuelType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers a single fuel_inventory row with deliveries through FifoBatchAllocator from
+ * many threads and checks that the locked, guarded deduction never loses an update nor
+ * drives the stock below zero. Free stock on other CNG batches is parked for the duration
+ * of the test, so deliveries can only come from the row under test.
+ */
+@SpringBootTest
+class FifoBatchAllocatorConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 100;
+    private static final double INITIAL_STOCK = 1000.0;
+
+    @Autowired
+    private FifoBatchAllocator batchAllocator;
+
+    @Autowired
+    private FuelInventoryRepository fuelInventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Product product;
+    private FuelInventory inventory;
+    private final AtomicLong bookingIds = new AtomicLong();
+    // Free stock taken off the other CNG batches, by inventory id
+    private final Map<Long, Double> parked = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        bookingIds.set(-System.nanoTime() % 1_000_000_000_000L);
+        product = productRepository.save(Product.builder()
+                .name("Concurrency CNG " + System.nanoTime())
+                .type("Gas")
+                .price(new BigDecimal("80.00"))
+                .unit("Kg")
+                .manufacturerEmail("qa@fuelnexus.test")
+                .fuelType(FuelType.CNG)
+                .stockQuantity(0L)
+                .build());
+
+        inventory = fuelInventoryRepository.save(FuelInventory.builder()
+                .product(product)
+                .availableQuantity(INITIAL_STOCK)
+                .storageLocation("Concurrency Depot")
+                .lastUpdated(LocalDateTime.now())
+                .batchNumber("CONC-" + System.nanoTime())
+                .fuelType(FuelType.CNG)
+                .build());
+
+        // Deliveries take the oldest batches first; other free CNG stock would be drained instead.
+        // Both this and the restore are relative updates, so a restock in between is kept
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query("SELECT id, available_quantity - COALESCE(reserved_quantity, 0) FROM fuel_inventory " +
+                            "WHERE fuel_type = ? AND id <> ? AND available_quantity > COALESCE(reserved_quantity, 0) FOR UPDATE",
+                    rs -> {
+                        parked.put(rs.getLong(1), rs.getDouble(2));
+                    }, FuelType.CNG.ordinal(), inventory.getId());
+            parked.forEach((id, free) -> jdbcTemplate.update(
+                    "UPDATE fuel_inventory SET available_quantity = available_quantity - ? WHERE id = ?", free, id));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        parked.forEach((id, free) -> jdbcTemplate.update(
+                "UPDATE fuel_inventory SET available_quantity = available_quantity + ? WHERE id = ?", free, id));
+        jdbcTemplate.update("DELETE FROM booking_allocations WHERE inventory_id = ?", inventory.getId());
+        fuelInventoryRepository.deleteById(inventory.getId());
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    void concurrentDeliveriesNeverOversell() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger applied = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    if (deliverOne()) {
+                        applied.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        // 1600 attempts against 1000 units: exactly 1000 must succeed and the row must end at zero
+        double remaining = fuelInventoryRepository.findById(inventory.getId()).orElseThrow().getAvailableQuantity();
+        assertEquals((int) INITIAL_STOCK, applied.get());
+        assertEquals(0.0, remaining, 0.0001);
+        assertTrue(remaining >= 0.0);
+        assertEquals(INITIAL_STOCK, allocatedFromRow(), 0.0001);
+    }
+
+    @Test
+    void concurrentRestockAndDeliveryKeepExactTotal() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger delivered = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean restocker = t % 2 == 0;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    if (restocker) {
+                        fuelInventoryRepository.addStock(inventory.getId(), 1.0, LocalDateTime.now());
+                    } else if (deliverOne()) {
+                        delivered.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        double restocked = (THREADS / 2.0) * ATTEMPTS_PER_THREAD;
+        double remaining = fuelInventoryRepository.findById(inventory.getId()).orElseThrow().getAvailableQuantity();
+        assertEquals(INITIAL_STOCK + restocked - delivered.get(), remaining, 0.0001);
+        assertEquals(delivered.get(), allocatedFromRow(), 0.0001);
+    }
+
+    // One delivery of a single unit for a fresh booking id; false when it was out of stock
+    private boolean deliverOne() {
+        long bookingId = bookingIds.decrementAndGet();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    batchAllocator.allocate(bookingId, FuelType.CNG, 1.0, Map.of()));
+            return true;
+        } catch (OutOfStockException e) {
+            return false;
+        }
+    }
+
+    private double allocatedFromRow() {
+        Double total = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM booking_allocations WHERE inventory_id = ?",
+                Double.class, inventory.getId());
+        return total != null ? total : 0.0;
+    }
+}
@@ -0,0 +1,140 @@
+package com.fuel.nexus.service;
+
+import com.fuel.nexus.entity.Booking;
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.exception.exceptions.OutOfStockException;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.ProductRepository;
+import com.fuel.nexus.service.impl.FifoBatchAllocator;
+import com.fuel.nexus.service.impl.StockHoldManager;
+import com.fuel.nexus.service.impl.StockReservationLedger;
+import com.fuel.nexus.utility.FuelType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Delivers against a batch whose stock is partly held by another booking, before the
+ * ledger has flushed that hold to reserved_quantity. The scheduled flush is pushed out so
+ * the hold stays unflushed for the whole test.
+ */
+@SpringBootTest(properties = "fuelnexus.ledger.flush-interval-ms=3600000")
+class FifoBatchAllocatorTest {
+
+    private static final double STOCK = 10.0;
+    private static final double HOLD = 8.0;
+
+    @Autowired
+    private FifoBatchAllocator batchAllocator;
+
+    @Autowired
+    private StockHoldManager stockHoldManager;
+
+    @Autowired
+    private StockReservationLedger stockLedger;
+
+    @Autowired
+    private FuelInventoryRepository fuelInventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Product product;
+    private FuelInventory inventory;
+    private long holdingBookingId;
+    private long otherBookingId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        long suffix = System.nanoTime() % 100_000_000L;
+        holdingBookingId = -suffix;
+        otherBookingId = -suffix - 1;
+
+        product = productRepository.save(Product.builder()
+                .name("Allocation Kerosene " + suffix)
+                .type("Liquid")
+                .price(new BigDecimal("60.00"))
+                .unit("Litre")
+                .manufacturerEmail("qa@fuelnexus.test")
+                .fuelType(FuelType.KEROSENE)
+                .stockQuantity(0L)
+                .build());
+        inventory = fuelInventoryRepository.save(FuelInventory.builder()
+                .product(product)
+                .availableQuantity(STOCK)
+                .storageLocation("Allocation Depot")
+                .lastUpdated(LocalDateTime.now())
+                .batchNumber("ALLOC-" + suffix)
+                .fuelType(FuelType.KEROSENE)
+                .build());
+        stockLedger.track(inventory);
+
+        transactionTemplate.executeWithoutResult(status -> stockHoldManager.place(List.of(Booking.builder()
+                .id(holdingBookingId)
+                .quantity(HOLD)
+                .fuelType(FuelType.KEROSENE)
+                .build())));
+        // Older kerosene batches with free stock would take the hold instead of this one
+        assumeTrue(stockLedger.unflushedReserved(inventory.getId()) == HOLD,
+                "hold was not placed on the test batch");
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockHoldManager.release(holdingBookingId);
+        jdbcTemplate.update("DELETE FROM booking_allocations WHERE inventory_id = ?", inventory.getId());
+        stockLedger.untrack(inventory.getId());
+        fuelInventoryRepository.deleteById(inventory.getId());
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    void unflushedHoldOfAnotherBookingIsNotDelivered() {
+        assertThrows(OutOfStockException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                batchAllocator.allocate(otherBookingId, FuelType.KEROSENE, 5.0, Map.of())));
+        assertEquals(STOCK, stockOf(inventory.getId()), 0.0001);
+
+        List<FifoBatchAllocator.Allocation> plan = transactionTemplate.execute(status ->
+                batchAllocator.allocate(otherBookingId, FuelType.KEROSENE, STOCK - HOLD, Map.of()));
+        assertEquals(List.of(new FifoBatchAllocator.Allocation(inventory.getId(), STOCK - HOLD)), plan);
+        assertEquals(HOLD, stockOf(inventory.getId()), 0.0001);
+    }
+
+    @Test
+    void heldBookingTakesItsOwnUnflushedHold() {
+        List<FifoBatchAllocator.Allocation> plan = transactionTemplate.execute(status -> {
+            Map<Long, Double> held = stockHoldManager.consume(holdingBookingId);
+            return batchAllocator.allocate(holdingBookingId, FuelType.KEROSENE, HOLD, held);
+        });
+
+        assertEquals(List.of(new FifoBatchAllocator.Allocation(inventory.getId(), HOLD)), plan);
+        assertEquals(STOCK - HOLD, stockOf(inventory.getId()), 0.0001);
+    }
+
+    private double stockOf(Long inventoryId) {
+        return fuelInventoryRepository.findById(inventoryId).orElseThrow().getAvailableQuantity();
+    }
+}
@@ -0,0 +1,124 @@
+package com.fuel.nexus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.repository.ProductRepository;
+import com.fuel.nexus.service.impl.ProductCatalog;
+import com.fuel.nexus.utility.FuelType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.math.BigDecimal;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times product lookups by id and by name through ProductCatalog and through the path it
+ * replaced: a {@code @Cacheable("products")} read-through Redis cache by id and a MySQL
+ * query by name. Product is not Serializable, so the Redis cache here stores it as JSON
+ * under a benchmark prefix instead of using the application's cache manager. Logs the
+ * rates of both paths; the catalog must be faster. It needs a running MySQL and Redis, so
+ * it is a manual benchmark that only runs with -Dfuelnexus.benchmarks=true.
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "fuelnexus.benchmarks", matches = "true")
+@SpringBootTest
+class ProductCatalogBenchmarkTest {
+
+    private static final int LOOKUPS = 5_000;
+    private static final int WARMUP = 500;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private Cache redisCache;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime() % 100_000_000L;
+        product = productRepository.save(Product.builder()
+                .name("Catalog Petrol " + suffix)
+                .type("Liquid")
+                .price(new BigDecimal("105.00"))
+                .unit("Litre")
+                .manufacturerEmail("qa@fuelnexus.test")
+                .fuelType(FuelType.PETROL)
+                .stockQuantity(500L)
+                .build());
+        productCatalog.put(product);
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        RedisCacheManager cacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .prefixCacheNameWith("benchmark:")
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                                new Jackson2JsonRedisSerializer<>(mapper, Product.class))))
+                .build();
+        cacheManager.initializeCaches();
+        redisCache = cacheManager.getCache("products");
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisCache.evict(product.getId());
+        productRepository.deleteById(product.getId());
+        productCatalog.remove(product.getId());
+    }
+
+    @Test
+    void catalogReadsFasterThanRedisAndMysql() {
+        Long id = product.getId();
+        String name = product.getName();
+
+        double catalogById = rate(i -> productCatalog.findById(id).orElseThrow());
+        double catalogByName = rate(i -> productCatalog.findByName(name).orElseThrow());
+        double redisById = rate(i -> redisCache.get(id, () -> productRepository.findById(id).orElseThrow()));
+        double mysqlByName = rate(i -> productRepository.findByName(name).orElseThrow());
+
+        log.info("By id: catalog {} lookups/s, Redis cache {} lookups/s ({}x)",
+                String.format("%.0f", catalogById), String.format("%.0f", redisById),
+                String.format("%.1f", catalogById / redisById));
+        log.info("By name: catalog {} lookups/s, MySQL {} lookups/s ({}x)",
+                String.format("%.0f", catalogByName), String.format("%.0f", mysqlByName),
+                String.format("%.1f", catalogByName / mysqlByName));
+
+        assertTrue(catalogById > redisById, String.format(
+                "Catalog managed %.0f lookups/s by id, no faster than %.0f through Redis", catalogById, redisById));
+        assertTrue(catalogByName > mysqlByName, String.format(
+                "Catalog managed %.0f lookups/s by name, no faster than %.0f through MySQL", catalogByName, mysqlByName));
+    }
+
+    // Lookups per second after a warm-up, so class loading and pool start-up are not measured
+    private static double rate(LongFunction<Product> lookup) {
+        for (int i = 0; i < WARMUP; i++) {
+            lookup.apply(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookup.apply(i);
+        }
+        return LOOKUPS / ((System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,144 @@
+package com.fuel.nexus.service;
+
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.ProductRepository;
+import com.fuel.nexus.service.impl.StockReservationLedger;
+import com.fuel.nexus.utility.FuelType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times the same number of reserve/release cycles through the stock reservation ledger and
+ * through the JPA path it replaced, which reads the inventory row, checks its unreserved
+ * stock and saves the new reserved quantity in a transaction of its own. Logs both rates;
+ * the ledger must be faster. It needs a running MySQL, so it is a manual benchmark that only
+ * runs with -Dfuelnexus.benchmarks=true.
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "fuelnexus.benchmarks", matches = "true")
+@SpringBootTest
+class StockReservationLedgerBenchmarkTest {
+
+    private static final int CYCLES = 2_000;
+    private static final int WARMUP = 200;
+    private static final double QUANTITY = 1.0;
+
+    @Autowired
+    private StockReservationLedger stockLedger;
+
+    @Autowired
+    private FuelInventoryRepository fuelInventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Product product;
+    private FuelInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        long suffix = System.nanoTime() % 100_000_000L;
+        product = productRepository.save(Product.builder()
+                .name("Ledger Diesel " + suffix)
+                .type("Liquid")
+                .price(new BigDecimal("90.00"))
+                .unit("Litre")
+                .manufacturerEmail("qa@fuelnexus.test")
+                .fuelType(FuelType.DIESEL)
+                .stockQuantity(0L)
+                .build());
+
+        inventory = fuelInventoryRepository.save(FuelInventory.builder()
+                .product(product)
+                .availableQuantity(100.0)
+                .storageLocation("Ledger Depot")
+                .lastUpdated(LocalDateTime.now())
+                .batchNumber("LEDGER-" + suffix)
+                .fuelType(FuelType.DIESEL)
+                .build());
+        stockLedger.track(inventory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Every cycle releases what it reserved, so the flush only writes net zero deltas
+        stockLedger.flush();
+        stockLedger.untrack(inventory.getId());
+        fuelInventoryRepository.deleteById(inventory.getId());
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    void ledgerReservesFasterThanJpaPath() {
+        // Warm up both paths so class loading and pool start-up are not measured
+        ledgerCycles(WARMUP);
+        jpaCycles(WARMUP);
+
+        long ledgerStart = System.nanoTime();
+        ledgerCycles(CYCLES);
+        long ledgerNanos = System.nanoTime() - ledgerStart;
+
+        long jpaStart = System.nanoTime();
+        jpaCycles(CYCLES);
+        long jpaNanos = System.nanoTime() - jpaStart;
+
+        double ledgerRate = CYCLES / (ledgerNanos / 1e9);
+        double jpaRate = CYCLES / (jpaNanos / 1e9);
+        log.info("Reserve/release cycles through the ledger: {}/s, through JPA: {}/s ({}x)",
+                String.format("%.0f", ledgerRate), String.format("%.0f", jpaRate),
+                String.format("%.1f", ledgerRate / jpaRate));
+
+        double reserved = fuelInventoryRepository.findById(inventory.getId()).orElseThrow().getReservedQuantity();
+        assertEquals(0.0, reserved, 0.0001);
+        assertTrue(ledgerRate > jpaRate, String.format(
+                "Ledger managed %.0f cycles/s, no faster than %.0f through JPA", ledgerRate, jpaRate));
+    }
+
+    private void ledgerCycles(int count) {
+        for (int i = 0; i < count; i++) {
+            List<StockReservationLedger.Reservation> taken = stockLedger.reserve(FuelType.DIESEL, QUANTITY);
+            assertFalse(taken.isEmpty(), "Ledger could not reserve diesel stock");
+            taken.forEach(reservation -> stockLedger.release(reservation.inventoryId(), reservation.quantity()));
+        }
+    }
+
+    private void jpaCycles(int count) {
+        for (int i = 0; i < count; i++) {
+            transactionTemplate.executeWithoutResult(status -> adjustReserved(QUANTITY));
+            transactionTemplate.executeWithoutResult(status -> adjustReserved(-QUANTITY));
+        }
+    }
+
+    // The pre-ledger round trip: read the row, check its stock and save the new reservation
+    private void adjustReserved(double delta) {
+        FuelInventory row = fuelInventoryRepository.findById(inventory.getId()).orElseThrow();
+        double reserved = row.getReservedQuantity() != null ? row.getReservedQuantity() : 0.0;
+        assertTrue(row.getAvailableQuantity() - reserved >= delta, "JPA path could not reserve diesel stock");
+        row.setReservedQuantity(reserved + delta);
+        fuelInventoryRepository.save(row);
+    }
+}
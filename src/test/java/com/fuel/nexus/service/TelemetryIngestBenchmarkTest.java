@@ -0,0 +1,163 @@
+package com.fuel.nexus.service;
+
+import com.fuel.nexus.dto.TelemetryIngestResultDTO;
+import com.fuel.nexus.dto.TelemetrySampleDTO;
+import com.fuel.nexus.entity.FuelInventory;
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.ProductRepository;
+import com.fuel.nexus.service.impl.StockReservationLedger;
+import com.fuel.nexus.service.impl.TankTelemetryBuffer;
+import com.fuel.nexus.service.services.TelemetryService;
+import com.fuel.nexus.utility.FuelType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pushes tank readings for a set of tanks through TelemetryService.ingest in request-sized
+ * batches and reports the sample rate, which must reach
+ * -Dfuelnexus.benchmarks.telemetry-min-rate samples/s (default 50000, the ingestion target).
+ * Readings end at the current time, so none is refused as recorded in the future. It needs a
+ * running MySQL for the tanks' inventory rows, so it is a manual benchmark that only runs
+ * with -Dfuelnexus.benchmarks=true.
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "fuelnexus.benchmarks", matches = "true")
+@SpringBootTest
+class TelemetryIngestBenchmarkTest {
+
+    private static final int TANKS = 20;
+    private static final int SAMPLES = 500_000;
+    private static final int WARMUP = 50_000;
+    private static final int BATCH = 1_000;
+    private static final double MIN_RATE =
+            Double.parseDouble(System.getProperty("fuelnexus.benchmarks.telemetry-min-rate", "50000"));
+
+    @Autowired
+    private TelemetryService telemetryService;
+
+    @Autowired
+    private TankTelemetryBuffer telemetryBuffer;
+
+    @Autowired
+    private StockReservationLedger stockLedger;
+
+    @Autowired
+    private FuelInventoryRepository fuelInventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+    private final List<Long> tankIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime() % 100_000_000L;
+        product = productRepository.save(Product.builder()
+                .name("Telemetry Diesel " + suffix)
+                .type("Liquid")
+                .price(new BigDecimal("90.00"))
+                .unit("Litre")
+                .manufacturerEmail("qa@fuelnexus.test")
+                .fuelType(FuelType.DIESEL)
+                .stockQuantity(0L)
+                .build());
+        for (int i = 0; i < TANKS; i++) {
+            FuelInventory tank = fuelInventoryRepository.save(FuelInventory.builder()
+                    .product(product)
+                    .availableQuantity(10_000.0)
+                    .storageLocation("Telemetry Depot")
+                    .lastUpdated(LocalDateTime.now())
+                    .batchNumber("TELEMETRY-" + suffix + "-" + i)
+                    .fuelType(FuelType.DIESEL)
+                    .build());
+            stockLedger.track(tank);
+            tankIds.add(tank.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        telemetryBuffer.flush();
+        for (Long tankId : tankIds) {
+            jdbcTemplate.update("DELETE FROM tank_telemetry_minute WHERE inventory_id = ?", tankId);
+            jdbcTemplate.update("DELETE FROM tank_telemetry_hour WHERE inventory_id = ?", tankId);
+            stockLedger.untrack(tankId);
+        }
+        fuelInventoryRepository.deleteAllById(tankIds);
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    void ingestReachesTargetSampleRate() {
+        // Warm up so class loading and JIT compilation are not measured; the warm-up readings are
+        // older than the measured ones, so those do not arrive as late samples
+        LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+        ingest(samples(WARMUP, now.minusNanos(SAMPLES * 1_000_000L)));
+        List<List<TelemetrySampleDTO>> batches = samples(SAMPLES, now);
+
+        long start = System.nanoTime();
+        int accepted = ingest(batches);
+        long nanos = System.nanoTime() - start;
+
+        double rate = SAMPLES / (nanos / 1e9);
+        log.info("Telemetry ingest: {} samples/s over {} tanks, {} buckets pending",
+                String.format("%.0f", rate), TANKS, telemetryBuffer.pendingBuckets());
+
+        assertEquals(SAMPLES, accepted);
+        assertTrue(rate >= MIN_RATE, String.format(
+                "Ingest managed %.0f samples/s, expected at least %.0f", rate, MIN_RATE));
+    }
+
+    private int ingest(List<List<TelemetrySampleDTO>> batches) {
+        int accepted = 0;
+        for (List<TelemetrySampleDTO> batch : batches) {
+            TelemetryIngestResultDTO result = telemetryService.ingest(batch);
+            accepted += result.getAccepted();
+        }
+        return accepted;
+    }
+
+    // Readings one millisecond apart across the tanks, the last one recorded at end
+    private List<List<TelemetrySampleDTO>> samples(int count, LocalDateTime end) {
+        List<List<TelemetrySampleDTO>> batches = new ArrayList<>(count / BATCH + 1);
+        List<TelemetrySampleDTO> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            batch.add(TelemetrySampleDTO.builder()
+                    .inventoryId(tankIds.get(i % TANKS))
+                    .recordedAt(end.minusNanos((count - 1 - i) * 1_000_000L))
+                    .level(5_000.0 + (i % 100))
+                    .temperature(20.0 + (i % 10) / 10.0)
+                    .build());
+            if (batch.size() == BATCH) {
+                batches.add(batch);
+                batch = new ArrayList<>(BATCH);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,93 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.exception.exceptions.CustomerNotFoundException;
+import com.fuel.nexus.exception.exceptions.TooManyRequestsException;
+import com.fuel.nexus.repository.CustomerRepository;
+import com.fuel.nexus.utility.CustomerType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exercises the local GCRA buckets through admit: a full bucket admits its burst, then
+ * refuses until one emission interval has passed.
+ */
+class AdmissionServiceImplTest {
+
+    private static final long DOMESTIC = 1L;
+    private static final long COMMERCIAL = 2L;
+    private static final long DOMESTIC_NEIGHBOUR = 3L;
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+
+    @Test
+    void fullBucketAdmitsTheBurstThenRefuses() {
+        // Domestic: 6 per minute (one token every 10 s), burst of 3
+        AdmissionServiceImpl admission = admission(6, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(CustomerType.DOMESTIC, admission.admit(DOMESTIC));
+        }
+        TooManyRequestsException refused = assertThrows(TooManyRequestsException.class,
+                () -> admission.admit(DOMESTIC));
+        assertTrue(refused.getRetryAfterSeconds() >= 1 && refused.getRetryAfterSeconds() <= 10);
+    }
+
+    @Test
+    void bucketsArePerCustomerAndPerTier() {
+        AdmissionServiceImpl admission = admission(6, 1);
+
+        admission.admit(DOMESTIC);
+        assertThrows(TooManyRequestsException.class, () -> admission.admit(DOMESTIC));
+
+        assertEquals(CustomerType.DOMESTIC, admission.admit(DOMESTIC_NEIGHBOUR));
+        // Commercial keeps the default 30 per minute with a burst of 10
+        for (int i = 0; i < 10; i++) {
+            assertEquals(CustomerType.COMMERCIAL, admission.admit(COMMERCIAL));
+        }
+    }
+
+    @Test
+    void tokenIsRefilledAfterOneEmissionInterval() throws InterruptedException {
+        // Domestic: 300 per minute (one token every 200 ms), burst of 2
+        AdmissionServiceImpl admission = admission(300, 2);
+
+        admission.admit(DOMESTIC);
+        admission.admit(DOMESTIC);
+        assertThrows(TooManyRequestsException.class, () -> admission.admit(DOMESTIC));
+
+        Thread.sleep(250);
+        assertEquals(CustomerType.DOMESTIC, admission.admit(DOMESTIC));
+        // Only one token came back
+        assertThrows(TooManyRequestsException.class, () -> admission.admit(DOMESTIC));
+    }
+
+    @Test
+    void unknownCustomerIsNotAdmitted() {
+        AdmissionServiceImpl admission = admission(6, 3);
+
+        assertThrows(CustomerNotFoundException.class, () -> admission.admit(99L));
+    }
+
+    @Test
+    void rejectsNonPositiveRateOrBurst() {
+        assertThrows(IllegalArgumentException.class, () -> admission(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> admission(6, 0));
+    }
+
+    private AdmissionServiceImpl admission(double domesticRate, int domesticBurst) {
+        when(customerRepository.findCustomerTypeById(DOMESTIC)).thenReturn(Optional.of(CustomerType.DOMESTIC));
+        when(customerRepository.findCustomerTypeById(DOMESTIC_NEIGHBOUR)).thenReturn(Optional.of(CustomerType.DOMESTIC));
+        when(customerRepository.findCustomerTypeById(COMMERCIAL)).thenReturn(Optional.of(CustomerType.COMMERCIAL));
+        when(customerRepository.findCustomerTypeById(99L)).thenReturn(Optional.empty());
+        return new AdmissionServiceImpl(customerRepository, null, new SimpleMeterRegistry(), "local",
+                domesticRate, 30, 60, domesticBurst, 10, 20, 1000);
+    }
+}
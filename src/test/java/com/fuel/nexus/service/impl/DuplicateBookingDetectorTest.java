@@ -0,0 +1,113 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.exception.exceptions.DuplicateBookingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the detector outside a transaction, so nothing is forgotten on rollback and every
+ * checked booking stays remembered until it expires, is evicted or is forgotten.
+ */
+class DuplicateBookingDetectorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectModeRefusesTheSameBookingWithinTheWindow() {
+        DuplicateBookingDetector detector = detector("reject", 10, 1024);
+
+        assertTrue(detector.check(1L, 7L, 2.0) > 0);
+        assertThrows(DuplicateBookingException.class, () -> detector.check(1L, 7L, 2.0));
+        assertEquals(1.0, detected("rejected"), 0.0);
+    }
+
+    @Test
+    void differentQuantityProductOrCustomerIsNotADuplicate() {
+        DuplicateBookingDetector detector = detector("reject", 10, 1024);
+
+        detector.check(1L, 7L, 2.0);
+
+        assertTrue(detector.check(1L, 7L, 3.0) > 0);
+        assertTrue(detector.check(1L, 8L, 2.0) > 0);
+        assertTrue(detector.check(2L, 7L, 2.0) > 0);
+    }
+
+    @Test
+    void flagModeCountsTheDuplicateAndLetsItThrough() {
+        DuplicateBookingDetector detector = detector("flag", 10, 1024);
+
+        assertTrue(detector.check(1L, 7L, 2.0) > 0);
+        assertEquals(0, detector.check(1L, 7L, 2.0));
+        assertEquals(1.0, detected("flagged"), 0.0);
+        assertEquals(0.0, detected("rejected"), 0.0);
+    }
+
+    @Test
+    void offModeChecksNothing() {
+        DuplicateBookingDetector detector = detector("off", 10, 1024);
+
+        assertEquals(0, detector.check(1L, 7L, 2.0));
+        assertEquals(0, detector.check(1L, 7L, 2.0));
+    }
+
+    @Test
+    void bookingIsForgottenOnceTheWindowHasPassed() throws InterruptedException {
+        DuplicateBookingDetector detector = detector("reject", 1, 1024);
+
+        detector.check(1L, 7L, 2.0);
+        Thread.sleep(1100);
+
+        assertTrue(detector.check(1L, 7L, 2.0) > 0);
+    }
+
+    @Test
+    void forgottenBookingCanBeRetried() {
+        DuplicateBookingDetector detector = detector("reject", 10, 1024);
+
+        long recordedAt = detector.check(1L, 7L, 2.0);
+        detector.forget(1L, 7L, 2.0, recordedAt);
+
+        assertTrue(detector.check(1L, 7L, 2.0) > 0);
+    }
+
+    @Test
+    void forgetLeavesALaterRecordOfTheSameBookingAlone() throws InterruptedException {
+        DuplicateBookingDetector detector = detector("reject", 1, 1024);
+
+        long first = detector.check(1L, 7L, 2.0);
+        Thread.sleep(1100);
+        detector.check(1L, 7L, 2.0);
+        detector.forget(1L, 7L, 2.0, first);
+
+        assertThrows(DuplicateBookingException.class, () -> detector.check(1L, 7L, 2.0));
+    }
+
+    @Test
+    void fullGroupEvictsItsOldestEntry() throws InterruptedException {
+        // The smallest table: two groups of eight slots
+        DuplicateBookingDetector detector = detector("reject", 60, 8);
+
+        detector.check(1L, 7L, 2.0);
+        for (long customerId = 2; customerId <= 100; customerId++) {
+            // Distinct timestamps, so the oldest entry of a group is well defined
+            Thread.sleep(1);
+            detector.check(customerId, 7L, 2.0);
+        }
+
+        // The first booking was pushed out well within the window; the latest was not
+        assertTrue(detector.check(1L, 7L, 2.0) > 0);
+        assertThrows(DuplicateBookingException.class, () -> detector.check(100L, 7L, 2.0));
+    }
+
+    private DuplicateBookingDetector detector(String mode, long windowSeconds, int capacity) {
+        return new DuplicateBookingDetector(meterRegistry, mode, windowSeconds, capacity);
+    }
+
+    private double detected(String action) {
+        return meterRegistry.get("fuelnexus.duplicates.detected").tag("action", action).counter().count();
+    }
+}
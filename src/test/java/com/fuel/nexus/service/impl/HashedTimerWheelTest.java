@@ -0,0 +1,110 @@
+package com.fuel.nexus.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Schedules, cancels and expires timers on a small wheel (100 ms ticks, 8 buckets), so a
+ * revolution is 800 ms and the catch-up paths are easy to reach.
+ */
+class HashedTimerWheelTest {
+
+    private final HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+
+    @Test
+    void timerExpiresOnceItsDeadlineIsReached() {
+        wheel.schedule("a", 250);
+
+        assertTrue(wheel.contains("a"));
+        assertEquals(List.of(), wheel.advance(299));
+        assertEquals(List.of("a"), wheel.advance(300));
+        assertFalse(wheel.contains("a"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedulingAgainReplacesTheEarlierDeadline() {
+        wheel.schedule("a", 200);
+        wheel.schedule("a", 500);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(400));
+        assertEquals(List.of("a"), wheel.advance(500));
+    }
+
+    @Test
+    void cancelledTimerNeverExpires() {
+        wheel.schedule("a", 200);
+        wheel.schedule("b", 200);
+
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertFalse(wheel.contains("a"));
+        assertEquals(List.of("b"), wheel.advance(1000));
+    }
+
+    @Test
+    void timerMoreThanOneRevolutionAheadWaitsForItsOwnTick() {
+        // Ticks 1 and 9 share bucket 1
+        wheel.schedule("near", 100);
+        wheel.schedule("far", 900);
+
+        assertEquals(List.of("near"), wheel.advance(100));
+        assertTrue(wheel.contains("far"));
+        assertEquals(List.of(), wheel.advance(800));
+        assertEquals(List.of("far"), wheel.advance(900));
+    }
+
+    @Test
+    void lateAdvanceCatchesUpOnMissedTicks() {
+        wheel.schedule("a", 200);
+        wheel.schedule("b", 500);
+        wheel.schedule("c", 700);
+
+        assertEquals(Set.of("a", "b"), new HashSet<>(wheel.advance(600)));
+        assertEquals(List.of("c"), wheel.advance(700));
+    }
+
+    @Test
+    void pauseLongerThanARevolutionSweepsEveryBucket() {
+        wheel.schedule("a", 300);
+        wheel.schedule("b", 1500);
+        wheel.schedule("c", 5000);
+
+        assertEquals(Set.of("a", "b"), new HashSet<>(wheel.advance(4000)));
+        assertTrue(wheel.contains("c"));
+        assertEquals(List.of(), wheel.advance(4900));
+        assertEquals(List.of("c"), wheel.advance(5000));
+    }
+
+    @Test
+    void deadlineAlreadyPassedExpiresOnTheNextAdvance() {
+        wheel.advance(1000);
+        wheel.schedule("a", 500);
+
+        assertEquals(List.of("a"), wheel.advance(1100));
+    }
+
+    @Test
+    void advancingBackwardsExpiresNothing() {
+        wheel.advance(1000);
+        wheel.schedule("a", 1100);
+
+        assertEquals(List.of(), wheel.advance(500));
+        assertTrue(wheel.contains("a"));
+    }
+
+    @Test
+    void rejectsNonPositiveTickOrSize() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimerWheel<String>(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimerWheel<String>(100, 0, 0));
+    }
+}
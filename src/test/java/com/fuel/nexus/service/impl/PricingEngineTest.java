@@ -0,0 +1,171 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.entity.Product;
+import com.fuel.nexus.exception.exceptions.FuelNexusRuntimeException;
+import com.fuel.nexus.exception.exceptions.ProductNotFoundException;
+import com.fuel.nexus.exception.exceptions.ResourceNotFoundException;
+import com.fuel.nexus.utility.CustomerType;
+import com.fuel.nexus.utility.FuelType;
+import com.fuel.nexus.utility.QuantityUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Prices against a mocked catalog and price history whose current prices have been stable
+ * since yesterday, so today's instants use the compiled table and older ones fall back to
+ * the price history. Discounts are the defaults: 0% domestic, 5% commercial, 10% industrial.
+ */
+class PricingEngineTest {
+
+    private static final long DIESEL = 1L;
+    private static final long LPG = 2L;
+    private static final long UNTYPED = 3L;
+    // Too large for the id-indexed slot array
+    private static final long SPARSE = 5_000_000L;
+
+    private final ProductCatalog catalog = mock(ProductCatalog.class);
+    private final PriceHistory priceHistory = mock(PriceHistory.class);
+    private final LocalDateTime now = LocalDateTime.now();
+    private PricingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        when(catalog.version()).thenReturn(1L);
+        when(catalog.all()).thenReturn(List.of(
+                product(DIESEL, "Litre", FuelType.DIESEL),
+                product(LPG, "Kg", FuelType.LPG),
+                product(UNTYPED, "Kg", null),
+                product(SPARSE, "Litre", FuelType.PETROL)));
+        when(priceHistory.version()).thenReturn(1L);
+        when(priceHistory.toMillis(any())).thenAnswer(invocation -> millis(invocation.getArgument(0)));
+        when(priceHistory.stableWindow(anyLong()))
+                .thenReturn(new PriceHistory.Window(millis(now.minusDays(1)), Long.MAX_VALUE));
+        when(priceHistory.currentPrice(DIESEL)).thenReturn(new BigDecimal("100.00"));
+        when(priceHistory.currentPrice(LPG)).thenReturn(new BigDecimal("950.00"));
+        when(priceHistory.currentPrice(UNTYPED)).thenReturn(new BigDecimal("10.00"));
+        when(priceHistory.currentPrice(SPARSE)).thenReturn(new BigDecimal("105.00"));
+        engine = new PricingEngine(catalog, priceHistory, 0, 5, 10);
+    }
+
+    @Test
+    void quantityInTheProductUnitIsPricedAtTheListPrice() {
+        PricingEngine.Price price = engine.price(DIESEL, CustomerType.DOMESTIC, 10, null, now);
+
+        assertEquals(10.0, price.quantity(), 0.0);
+        assertDecimal("100.00", price.listPrice());
+        assertDecimal("100.00", price.unitPrice());
+        assertEquals(new BigDecimal("1000.00"), price.amount());
+    }
+
+    @Test
+    void customerTypeDiscountsApplyToTheUnitPrice() {
+        PricingEngine.Price commercial = engine.price(DIESEL, CustomerType.COMMERCIAL, 10, null, now);
+        PricingEngine.Price industrial = engine.price(DIESEL, CustomerType.INDUSTRIAL, 10, null, now);
+
+        assertDecimal("100.00", commercial.listPrice());
+        assertDecimal("95.00", commercial.unitPrice());
+        assertEquals(new BigDecimal("950.00"), commercial.amount());
+        assertDecimal("90.00", industrial.unitPrice());
+        assertEquals(new BigDecimal("900.00"), industrial.amount());
+        assertEquals(5.0, engine.discountPercent(CustomerType.COMMERCIAL), 0.0);
+    }
+
+    @Test
+    void gallonsAreConvertedToLitres() {
+        PricingEngine.Price price = engine.price(DIESEL, CustomerType.DOMESTIC, 2, QuantityUnit.GALLON, now);
+
+        assertEquals(7.570823568, price.quantity(), 1e-9);
+        assertEquals(new BigDecimal("757.08"), price.amount());
+    }
+
+    @Test
+    void litresAreConvertedToKilogramsThroughTheFuelDensity() {
+        // LPG: 0.54 kg per litre
+        PricingEngine.Price price = engine.price(LPG, CustomerType.DOMESTIC, 10, QuantityUnit.LITRE, now);
+
+        assertEquals(5.4, price.quantity(), 1e-9);
+        assertEquals(new BigDecimal("5130.00"), price.amount());
+    }
+
+    @Test
+    void volumeCannotBeConvertedWithoutAFuelType() {
+        assertThrows(FuelNexusRuntimeException.class,
+                () -> engine.price(UNTYPED, CustomerType.DOMESTIC, 10, QuantityUnit.LITRE, now));
+        assertEquals(new BigDecimal("100.00"),
+                engine.price(UNTYPED, CustomerType.DOMESTIC, 10, QuantityUnit.KG, now).amount());
+    }
+
+    @Test
+    void instantBeforeTheWindowTakesThePriceFromTheHistory() {
+        LocalDateTime lastMonth = now.minusDays(30);
+        when(priceHistory.priceAt(DIESEL, lastMonth)).thenReturn(new BigDecimal("80.00"));
+
+        PricingEngine.Price price = engine.price(DIESEL, CustomerType.INDUSTRIAL, 10, null, lastMonth);
+
+        assertDecimal("80.00", price.listPrice());
+        assertDecimal("72.00", price.unitPrice());
+        assertEquals(new BigDecimal("720.00"), price.amount());
+    }
+
+    @Test
+    void instantWithoutAPriceIsRefused() {
+        LocalDateTime longAgo = now.minusYears(5);
+        when(priceHistory.priceAt(DIESEL, longAgo)).thenReturn(null);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> engine.price(DIESEL, CustomerType.DOMESTIC, 10, null, longAgo));
+    }
+
+    @Test
+    void productWithALargeIdIsPriced() {
+        PricingEngine.Price price = engine.price(SPARSE, CustomerType.COMMERCIAL, 10, QuantityUnit.LITRE, now);
+
+        assertDecimal("105.00", price.listPrice());
+        assertDecimal("99.75", price.unitPrice());
+        assertEquals(new BigDecimal("997.50"), price.amount());
+    }
+
+    @Test
+    void unknownProductIsRefused() {
+        assertThrows(ProductNotFoundException.class,
+                () -> engine.price(99L, CustomerType.DOMESTIC, 10, null, now));
+        assertThrows(ProductNotFoundException.class,
+                () -> engine.price(SPARSE + 1, CustomerType.DOMESTIC, 10, null, now));
+    }
+
+    @Test
+    void discountMustBeBelowOneHundredPercent() {
+        assertThrows(IllegalArgumentException.class, () -> new PricingEngine(catalog, priceHistory, 0, 5, 100));
+        assertThrows(IllegalArgumentException.class, () -> new PricingEngine(catalog, priceHistory, -1, 5, 10));
+    }
+
+    private static Product product(long id, String unit, FuelType fuelType) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .price(new BigDecimal("1.00"))
+                .unit(unit)
+                .fuelType(fuelType)
+                .build();
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void assertDecimal(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}
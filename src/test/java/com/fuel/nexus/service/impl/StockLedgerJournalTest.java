@@ -0,0 +1,105 @@
+package com.fuel.nexus.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes journals into a temporary directory and reopens them the way the ledger does on
+ * startup, including segments cut short by a crash.
+ */
+class StockLedgerJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendedEntriesAreReplayedOnOpen() throws IOException {
+        try (StockLedgerJournal journal = new StockLedgerJournal(directory, false)) {
+            assertEquals(List.of(), journal.open());
+            journal.append(1, 10, 2500);
+            journal.append(2, 11, 1000);
+            journal.append(3, 10, -500);
+        }
+
+        try (StockLedgerJournal reopened = new StockLedgerJournal(directory, true)) {
+            assertEquals(List.of(
+                    new StockLedgerJournal.Entry(1, 10, 2500),
+                    new StockLedgerJournal.Entry(2, 11, 1000),
+                    new StockLedgerJournal.Entry(3, 10, -500)), reopened.open());
+        }
+    }
+
+    @Test
+    void tornLastLineIsSkipped() throws IOException {
+        Path segment;
+        try (StockLedgerJournal journal = new StockLedgerJournal(directory, false)) {
+            journal.open();
+            journal.append(1, 10, 2500);
+            journal.append(2, 11, 1000);
+            segment = journal.rotate().get(0);
+        }
+        // Crash in the middle of writing the third entry
+        Files.write(segment, "3,10,-5".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+
+        try (StockLedgerJournal reopened = new StockLedgerJournal(directory, false)) {
+            // The torn line would parse as a delta of -5; it is dropped because it has no newline
+            assertEquals(List.of(
+                    new StockLedgerJournal.Entry(1, 10, 2500),
+                    new StockLedgerJournal.Entry(2, 11, 1000)), reopened.open());
+        }
+    }
+
+    @Test
+    void rotateSealsTheActiveSegmentAndDiscardDeletesIt() throws IOException {
+        try (StockLedgerJournal journal = new StockLedgerJournal(directory, false)) {
+            journal.open();
+            // Nothing written yet: there is nothing to seal
+            assertEquals(List.of(), journal.rotate());
+
+            journal.append(1, 10, 2500);
+            List<Path> sealed = journal.rotate();
+            assertEquals(1, sealed.size());
+            assertTrue(Files.exists(sealed.get(0)));
+
+            journal.append(2, 10, 500);
+            journal.discard(sealed);
+            assertFalse(Files.exists(sealed.get(0)));
+        }
+
+        try (StockLedgerJournal reopened = new StockLedgerJournal(directory, false)) {
+            assertEquals(List.of(new StockLedgerJournal.Entry(2, 10, 500)), reopened.open());
+        }
+    }
+
+    @Test
+    void segmentsOfThePreviousRunStaySealedUntilDiscarded() throws IOException {
+        try (StockLedgerJournal journal = new StockLedgerJournal(directory, false)) {
+            journal.open();
+            journal.append(1, 10, 2500);
+        }
+
+        try (StockLedgerJournal reopened = new StockLedgerJournal(directory, false)) {
+            assertEquals(1, reopened.open().size());
+            reopened.append(2, 10, 500);
+
+            List<Path> sealed = reopened.rotate();
+            assertEquals(2, sealed.size());
+            reopened.discard(sealed);
+        }
+
+        try (StockLedgerJournal reopened = new StockLedgerJournal(directory, false)) {
+            assertEquals(List.of(), reopened.open());
+        }
+    }
+}
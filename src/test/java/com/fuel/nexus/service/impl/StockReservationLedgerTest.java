@@ -0,0 +1,139 @@
+package com.fuel.nexus.service.impl;
+
+import com.fuel.nexus.entity.StockLedgerCheckpoint;
+import com.fuel.nexus.repository.FuelInventoryRepository;
+import com.fuel.nexus.repository.StockLedgerCheckpointRepository;
+import com.fuel.nexus.utility.FuelType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the ledger against mocked repositories and a real journal in a temporary directory.
+ * Two diesel rows start with 10 units (2 of them reserved) and 5 units; a second ledger on
+ * the same directory stands in for a restart after a crash.
+ */
+class StockReservationLedgerTest {
+
+    private static final String NODE = "test-node";
+
+    @TempDir
+    Path journalDir;
+
+    private final FuelInventoryRepository fuelInventoryRepository = mock(FuelInventoryRepository.class);
+    private final StockLedgerCheckpointRepository checkpointRepository = mock(StockLedgerCheckpointRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<FuelInventoryRepository.StockLevelView> rows = new ArrayList<>();
+    private StockReservationLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        rows.add(level(1L, FuelType.DIESEL, 10.0, 2.0));
+        rows.add(level(2L, FuelType.DIESEL, 5.0, 0.0));
+        when(fuelInventoryRepository.findAllStockLevels()).thenAnswer(invocation -> List.copyOf(rows));
+        ledger = startLedger();
+    }
+
+    @Test
+    void reserveTakesRowsInIdOrderOrNothingAtAll() {
+        assertEquals(List.of(new StockReservationLedger.Reservation(1L, 8.0),
+                new StockReservationLedger.Reservation(2L, 2.0)), ledger.reserve(FuelType.DIESEL, 10.0));
+
+        // 3 units are left, so 4 cannot be covered and the partial take is given back
+        assertEquals(List.of(), ledger.reserve(FuelType.DIESEL, 4.0));
+        assertEquals(8.0, ledger.unflushedReserved(1L), 0.0);
+        assertEquals(2.0, ledger.unflushedReserved(2L), 0.0);
+        assertEquals(List.of(), ledger.reserve(FuelType.PETROL, 1.0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushWritesTheNetDeltaPerRowAndTheCheckpoint() {
+        ledger.reserve(FuelType.DIESEL, 8.0);
+        ledger.release(1L, 3.0);
+
+        ledger.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        assertArrayEquals(new Object[]{5.0, 1L}, batch.getValue().get(0));
+        ArgumentCaptor<StockLedgerCheckpoint> checkpoint = ArgumentCaptor.forClass(StockLedgerCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(NODE, checkpoint.getValue().getNodeId());
+        assertEquals(2L, checkpoint.getValue().getLastSequence());
+        assertEquals(0.0, ledger.unflushedReserved(1L), 0.0);
+    }
+
+    @Test
+    void unflushedReservationsAreReplayedAfterARestart() {
+        ledger.reserve(FuelType.DIESEL, 4.0);
+        ledger.reserve(FuelType.DIESEL, 2.0);
+
+        // Crash without a flush: both deltas come back from the journal
+        assertEquals(6.0, startLedger().unflushedReserved(1L), 0.0);
+
+        // Deltas at or below the checkpoint are already in reserved_quantity
+        when(checkpointRepository.findById(NODE)).thenReturn(Optional.of(
+                StockLedgerCheckpoint.builder().nodeId(NODE).lastSequence(1L).build()));
+        assertEquals(2.0, startLedger().unflushedReserved(1L), 0.0);
+    }
+
+    @Test
+    void refreshMovesARelabelledRowToItsNewFuelType() {
+        ledger.reserve(FuelType.DIESEL, 3.0);
+        rows.set(0, level(1L, FuelType.PETROL, 10.0, 2.0));
+
+        ledger.refresh();
+
+        assertEquals(Optional.of(FuelType.PETROL), ledger.fuelTypeOf(1L));
+        assertEquals(List.of(new StockReservationLedger.Reservation(2L, 1.0)), ledger.reserve(FuelType.DIESEL, 1.0));
+        // The unflushed 3 units moved with the row
+        assertEquals(List.of(new StockReservationLedger.Reservation(1L, 5.0)), ledger.reserve(FuelType.PETROL, 5.0));
+        assertEquals(8.0, ledger.unflushedReserved(1L), 0.0);
+    }
+
+    @Test
+    void refreshDropsRowsGoneFromTheTable() {
+        rows.remove(1);
+
+        ledger.refresh();
+
+        assertFalse(ledger.isTracked(2L));
+        assertEquals(List.of(), ledger.reserve(FuelType.DIESEL, 9.0));
+    }
+
+    private StockReservationLedger startLedger() {
+        StockReservationLedger started = new StockReservationLedger(fuelInventoryRepository, checkpointRepository,
+                jdbcTemplate, mock(PlatformTransactionManager.class), mock(ApplicationEventPublisher.class),
+                journalDir.toString(), false, NODE);
+        started.rebuild();
+        return started;
+    }
+
+    private static FuelInventoryRepository.StockLevelView level(Long id, FuelType fuelType, Double available, Double reserved) {
+        FuelInventoryRepository.StockLevelView view = mock(FuelInventoryRepository.StockLevelView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getFuelType()).thenReturn(fuelType);
+        when(view.getAvailableQuantity()).thenReturn(available);
+        when(view.getReservedQuantity()).thenReturn(reserved);
+        return view;
+    }
+}
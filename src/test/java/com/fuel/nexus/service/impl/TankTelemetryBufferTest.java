@@ -0,0 +1,86 @@
+package com.fuel.nexus.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Feeds samples into a buffer with a three-sample ring; the database and the stock ledger
+ * are mocked.
+ */
+class TankTelemetryBufferTest {
+
+    private static final long TANK = 1L;
+    private static final long OTHER_TANK = 2L;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StockReservationLedger stockLedger = mock(StockReservationLedger.class);
+    private final TankTelemetryBuffer buffer = new TankTelemetryBuffer(jdbcTemplate,
+            mock(PlatformTransactionManager.class), stockLedger, 3, 2);
+
+    @Test
+    void latestIsTheNewestByRecordingTime() {
+        long now = System.currentTimeMillis();
+        buffer.record(TANK, now, 70.0, 21.0);
+        // Delivered late by the sensor
+        buffer.record(TANK, now - 5_000, 72.0, 20.0);
+
+        TankTelemetryBuffer.Reading latest = buffer.latest(TANK).orElseThrow();
+
+        assertEquals(toTime(now), latest.recordedAt());
+        assertEquals(70.0, latest.level(), 0.0);
+        assertFalse(buffer.latest(OTHER_TANK).isPresent());
+    }
+
+    @Test
+    void latestIsFoundAgainWhenTheNewestSampleIsOverwritten() {
+        long now = System.currentTimeMillis();
+        buffer.record(TANK, now, 70.0, 21.0);
+        buffer.record(TANK, now - 3_000, 71.0, 21.0);
+        buffer.record(TANK, now - 2_000, 72.0, 21.0);
+        // Overwrites the sample recorded at 'now'
+        buffer.record(TANK, now - 1_000, 73.0, 21.0);
+
+        TankTelemetryBuffer.Reading latest = buffer.latest(TANK).orElseThrow();
+
+        assertEquals(toTime(now - 1_000), latest.recordedAt());
+        assertEquals(73.0, latest.level(), 0.0);
+    }
+
+    @Test
+    void flushDropsTanksTheLedgerNoLongerTracks() {
+        when(stockLedger.isTracked(TANK)).thenReturn(false);
+        when(stockLedger.isTracked(OTHER_TANK)).thenReturn(true);
+        long now = System.currentTimeMillis();
+        buffer.record(TANK, now, 70.0, 21.0);
+        buffer.record(OTHER_TANK, now, 50.0, 19.0);
+
+        buffer.flush();
+
+        assertFalse(buffer.latest(TANK).isPresent());
+        assertTrue(buffer.latest(OTHER_TANK).isPresent());
+        // The dropped tank's open minute is still written, to the minute and the hour table
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), eq(500), any());
+        assertEquals(0, buffer.pendingBuckets());
+    }
+
+    private static LocalDateTime toTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,101 @@
+package com.fuel.nexus.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bulk-loads a million synthetic customers, indexed the way SearchServiceImpl does, and
+ * times typeahead queries whose words match anything from about a hundred entries to a large
+ * share of the index. Logs the query rate of each; every one must reach
+ * -Dfuelnexus.benchmarks.typeahead-min-rate queries/s (default 100). The index needs a few
+ * gigabytes of heap, so it is a manual benchmark that only runs with
+ * -Dfuelnexus.benchmarks=true.
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "fuelnexus.benchmarks", matches = "true")
+class TypeaheadIndexBenchmarkTest {
+
+    private static final int CUSTOMERS = 1_000_000;
+    private static final int QUERIES = 2_000;
+    private static final int WARMUP = 200;
+    private static final int LIMIT = 10;
+    private static final int CANDIDATE_LIMIT = 2_000;
+    private static final double MIN_RATE =
+            Double.parseDouble(System.getProperty("fuelnexus.benchmarks.typeahead-min-rate", "200"));
+
+    private static final String[] FIRST_NAMES = {
+            "ravi", "ramesh", "rajesh", "rahul", "ramya", "rani", "anil", "anita", "amit", "arun",
+            "deepak", "divya", "ganesh", "gita", "kiran", "kavita", "mohan", "meena", "naresh", "neha",
+            "pooja", "prakash", "priya", "sanjay", "sunita", "suresh", "vijay", "vikram", "asha", "manoj"};
+    private static final String[] LAST_NAMES = {
+            "kumar", "sharma", "singh", "patel", "reddy", "rao", "nair", "iyer", "gupta", "das",
+            "joshi", "mehta", "verma", "yadav", "pillai", "menon", "shetty", "jain", "bose", "ghosh"};
+
+    // {query, why it is there}
+    private static final String[][] CASES = {
+            {"kumar", "exact last name shared by a twentieth of the index"},
+            {"ram", "prefix over several first names"},
+            {"ravi kum", "two words, both broad"},
+            {"987", "phone prefix spanning thousands of terms"},
+            {"5600", "pincode prefix, about a hundred entries"}};
+
+    private static final TypeaheadIndex index = new TypeaheadIndex();
+
+    @BeforeAll
+    static void load() {
+        Random random = new Random(42);
+        List<TypeaheadIndex.Entry> entries = new ArrayList<>(CUSTOMERS);
+        for (long id = 1; id <= CUSTOMERS; id++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String email = first + "." + last + id + "@fuel.test";
+            String mobileNumber = String.valueOf(9_000_000_000L + random.nextInt(1_000_000_000));
+            String pincode = String.valueOf(100_000 + random.nextInt(900_000));
+            String[] terms = {first, last, email, mobileNumber, pincode};
+            entries.add(new TypeaheadIndex.Entry(id, capitalize(first) + " " + capitalize(last), email, terms));
+        }
+        long start = System.nanoTime();
+        index.load(entries);
+        log.info("Loaded {} customers into the typeahead index in {} ms",
+                index.size(), String.format("%.0f", (System.nanoTime() - start) / 1e6));
+    }
+
+    @Test
+    void queriesStayFastOverAMillionCustomers() {
+        for (String[] testCase : CASES) {
+            String query = testCase[0];
+            assertFalse(index.search(query, LIMIT, CANDIDATE_LIMIT).isEmpty(), "No hits for " + query);
+
+            // Warm up each query so the first case does not pay for class loading and JIT compilation
+            for (int i = 0; i < WARMUP; i++) {
+                index.search(query, LIMIT, CANDIDATE_LIMIT);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                index.search(query, LIMIT, CANDIDATE_LIMIT);
+            }
+            long nanos = System.nanoTime() - start;
+
+            double rate = QUERIES / (nanos / 1e9);
+            log.info("Query '{}' ({}): {} queries/s, {} ms each", query, testCase[1],
+                    String.format("%.0f", rate), String.format("%.3f", nanos / 1e6 / QUERIES));
+            assertTrue(rate >= MIN_RATE, String.format(
+                    "Query '%s' managed %.0f queries/s, expected at least %.0f", query, rate, MIN_RATE));
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
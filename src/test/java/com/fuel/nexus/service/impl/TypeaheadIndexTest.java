@@ -0,0 +1,169 @@
+package com.fuel.nexus.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Indexes customers the way SearchServiceImpl does (name words, then e-mail and mobile
+ * number as whole terms) and checks matching, ranking and index maintenance.
+ */
+class TypeaheadIndexTest {
+
+    private final TypeaheadIndex index = new TypeaheadIndex();
+
+    @Test
+    void everyQueryWordMustPrefixATermOfTheEntry() {
+        index.put(customer(1, "Ravi Kumar", "ravi@fuel.test", "9876543210"));
+        index.put(customer(2, "Ravi Shankar", "shankar@fuel.test", "9123456780"));
+        index.put(customer(3, "Anil Kumar", "anil@fuel.test", "9988776655"));
+
+        assertEquals(List.of(1L, 2L), ids(index.search("rav", 10, 100)));
+        assertEquals(List.of(1L), ids(index.search("ravi kum", 10, 100)));
+        assertEquals(List.of(3L), ids(index.search("99887", 10, 100)));
+        assertEquals(List.of(2L), ids(index.search("shankar@fuel.test", 10, 100)));
+        assertEquals(List.of(), ids(index.search("ravi anil", 10, 100)));
+        assertEquals(List.of(), ids(index.search("  ", 10, 100)));
+    }
+
+    @Test
+    void exactAndLeadingTermMatchesRankFirst() {
+        index.put(customer(1, "Kumar Ravi", "k1@fuel.test", "9000000001"));
+        index.put(customer(2, "Ravindra Kumar", "k2@fuel.test", "9000000002"));
+        index.put(customer(3, "Ravi Kumar", "k3@fuel.test", "9000000003"));
+
+        List<TypeaheadIndex.Hit> hits = index.search("ravi", 10, 100);
+
+        // Exact first term 4, exact later term 3, prefix of the first term 3 (then by label)
+        assertEquals(List.of(3L, 1L, 2L), ids(hits));
+        assertEquals(List.of(4, 3, 3), hits.stream().map(TypeaheadIndex.Hit::score).toList());
+    }
+
+    @Test
+    void limitKeepsTheBestHitsAndCandidateLimitBoundsTheScoredEntries() {
+        for (long id = 1; id <= 5; id++) {
+            index.put(customer(id, "Amit " + (char) ('A' + id), "amit" + id + "@fuel.test", "900000000" + id));
+        }
+
+        assertEquals(List.of(1L, 2L), ids(index.search("amit", 2, 100)));
+        // Only the lowest ids are scored
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("amit", 10, 3)));
+        assertEquals(List.of(), ids(index.search("amit", 10, 0)));
+    }
+
+    @Test
+    void bestMatchPastTheCandidateLimitIsStillScored() {
+        for (long id = 1; id <= 5; id++) {
+            index.put(customer(id, "Suresh Ravindra", "s" + id + "@fuel.test", "900000000" + id));
+        }
+        index.put(customer(6, "Ravi Kumar", "ravi@fuel.test", "9000000006"));
+        index.put(customer(7, "Kumar Ravi", "kumar@fuel.test", "9000000007"));
+
+        // Only prefix matches of a later term among the lowest ids
+        assertEquals(List.of(6L, 7L), ids(index.search("ravi", 2, 3)));
+        assertEquals(List.of(6L, 7L, 1L), ids(index.search("ravi", 3, 3)));
+    }
+
+    @Test
+    void shortWordsOnlyMatchWholeTerms() {
+        index.put(customer(1, "Ravi Kumar", "ravi@fuel.test", "9876543210"));
+        index.put(customer(2, "Ra One", "ra@fuel.test", "9123456780"));
+        index.put(customer(3, "Anil Ra", "anil@fuel.test", "9988776655"));
+
+        assertEquals(List.of(2L, 3L), ids(index.search("ra", 10, 100)));
+        assertEquals(List.of(3L), ids(index.search("ani ra", 10, 100)));
+        assertEquals(List.of(), ids(index.search("r", 10, 100)));
+    }
+
+    @Test
+    void putReplacesTheTermsOfAnExistingEntry() {
+        index.put(customer(1, "Ravi Kumar", "ravi@fuel.test", "9876543210"));
+        index.put(customer(1, "Mohan Das", "mohan@fuel.test", "9876543210"));
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), ids(index.search("ravi", 10, 100)));
+        assertEquals(List.of(1L), ids(index.search("mohan", 10, 100)));
+        assertEquals("Mohan Das", index.search("98765", 10, 100).get(0).entry().label());
+    }
+
+    @Test
+    void removedEntryIsNoLongerFound() {
+        index.put(customer(1, "Ravi Kumar", "ravi@fuel.test", "9876543210"));
+        index.put(customer(2, "Ravi Shankar", "shankar@fuel.test", "9123456780"));
+
+        index.remove(1);
+        index.remove(42);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(2L), ids(index.search("ravi", 10, 100)));
+        assertEquals(List.of(), ids(index.search("kumar", 10, 100)));
+    }
+
+    @Test
+    void widePrefixRangeFollowsWritesOnceMerged() {
+        // One term per e-mail, so the "rav" range is too wide to merge per query
+        for (long id = 1; id <= 100; id++) {
+            index.put(customer(id, "Ravi Kumar", "ravi" + id + "@fuel.test", "90000" + (10_000 + id)));
+        }
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("rav", 3, 3)));
+
+        index.remove(1);
+        index.put(customer(2, "Mohan Das", "mohan@fuel.test", "9000010002"));
+        // Drops the e-mail but keeps the name, so the entry stays in the range
+        index.put(customer(3, "Ravi Kumar", "kumar3@fuel.test", "9000010003"));
+        index.put(customer(101, "Ravindra Rao", "rr@fuel.test", "9000010101"));
+
+        assertEquals(List.of(3L, 4L, 5L), ids(index.search("rav", 3, 3)));
+        assertEquals(99, index.search("rav", 200, 200).size());
+        assertEquals(List.of(101L), ids(index.search("rav rao", 10, 100)));
+    }
+
+    @Test
+    void bulkLoadBuildsTheSameIndexAsPut() {
+        index.load(List.of(
+                customer(2, "Ravi Shankar", "shankar@fuel.test", "9123456780"),
+                customer(1, "Ravi Kumar", "ravi@fuel.test", "9876543210"),
+                customer(1, "Duplicate Row", "dup@fuel.test", "9000000000")));
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(1L, 2L), ids(index.search("ravi", 10, 100)));
+        assertEquals(List.of(), ids(index.search("duplicate", 10, 100)));
+
+        index.put(customer(3, "Ravi Teja", "teja@fuel.test", "9555555555"));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("ravi", 10, 100)));
+    }
+
+    @Test
+    void bulkLoadNeedsAnEmptyIndex() {
+        index.put(customer(1, "Ravi Kumar", "ravi@fuel.test", "9876543210"));
+
+        assertThrows(IllegalStateException.class,
+                () -> index.load(List.of(customer(2, "Anil Kumar", "anil@fuel.test", "9988776655"))));
+    }
+
+    @Test
+    void tokenizeKeepsEmailsWholeAndSplitsOtherText() {
+        assertArrayEquals(new String[]{"ravi", "kumar", "ravi@fuel.test", "98", "765"},
+                TypeaheadIndex.tokenize("Ravi.Kumar  RAVI@fuel.test 98-765"));
+        assertArrayEquals(new String[0], TypeaheadIndex.tokenize(null));
+        assertEquals("a@b.com", TypeaheadIndex.keyword(" A@B.com "));
+        assertNull(TypeaheadIndex.keyword(null));
+    }
+
+    private static TypeaheadIndex.Entry customer(long id, String fullName, String email, String mobileNumber) {
+        List<String> terms = new ArrayList<>(List.of(TypeaheadIndex.tokenize(fullName)));
+        terms.add(TypeaheadIndex.keyword(email));
+        terms.add(TypeaheadIndex.keyword(mobileNumber));
+        return new TypeaheadIndex.Entry(id, fullName, email, terms.toArray(String[]::new));
+    }
+
+    private static List<Long> ids(List<TypeaheadIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.entry().id()).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.fuel.nexus.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the deficit round robin shares and the per-class capacities of the intake queue.
+ */
+class WeightedFairQueueTest {
+
+    @Test
+    void backloggedClassesAreServedInProportionToTheirWeights() throws InterruptedException {
+        WeightedFairQueue<String> queue = new WeightedFairQueue<>(new int[]{3, 1}, new int[]{100, 100});
+        fill(queue, 0, "a", 30);
+        fill(queue, 1, "b", 30);
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(40, queue.drainTo(drained, 40, 0, TimeUnit.MILLISECONDS));
+
+        assertEquals(30, count(drained, "a"));
+        assertEquals(10, count(drained, "b"));
+        assertEquals(List.of("a0", "a1", "a2", "b0", "a3", "a4", "a5", "b1"), drained.subList(0, 8));
+        assertEquals(20, queue.size(1));
+    }
+
+    @Test
+    void idleClassGivesItsShareToTheBusyOne() throws InterruptedException {
+        WeightedFairQueue<String> queue = new WeightedFairQueue<>(new int[]{3, 1}, new int[]{100, 100});
+        fill(queue, 1, "b", 10);
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(10, queue.drainTo(drained, 10, 0, TimeUnit.MILLISECONDS));
+
+        assertEquals(10, count(drained, "b"));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void fullClassRejectsWithoutBlockingTheOthers() throws InterruptedException {
+        WeightedFairQueue<String> queue = new WeightedFairQueue<>(new int[]{1, 1}, new int[]{2, 5});
+
+        assertTrue(queue.offer(0, "a0"));
+        assertTrue(queue.offer(0, "a1"));
+        assertFalse(queue.offer(0, "a2"));
+        assertTrue(queue.offer(1, "b0"));
+        assertEquals(3, queue.size());
+
+        List<String> drained = new ArrayList<>();
+        queue.drainTo(drained, 1, 0, TimeUnit.MILLISECONDS);
+        assertEquals(List.of("a0"), drained);
+        assertTrue(queue.offer(0, "a2"));
+    }
+
+    @Test
+    void drainReturnsNothingWhenNoItemArrivesBeforeTheTimeout() throws InterruptedException {
+        WeightedFairQueue<String> queue = new WeightedFairQueue<>(new int[]{1}, new int[]{1});
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(0, queue.drainTo(drained, 10, 10, TimeUnit.MILLISECONDS));
+        assertTrue(drained.isEmpty());
+    }
+
+    @Test
+    void rejectsMismatchedOrNonPositiveWeights() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WeightedFairQueue<String>(new int[]{1, 1}, new int[]{1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WeightedFairQueue<String>(new int[]{1, 0}, new int[]{1, 1}));
+    }
+
+    private static void fill(WeightedFairQueue<String> queue, int classIndex, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(queue.offer(classIndex, prefix + i));
+        }
+    }
+
+    private static long count(List<String> items, String prefix) {
+        return items.stream().filter(item -> item.startsWith(prefix)).count();
+    }
+}
@@ -0,0 +1,51 @@
+package com.fuel.nexus.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the booking lifecycle: PENDING -> APPROVED -> DELIVERED, cancellable until
+ * delivered, with DELIVERED and CANCELLED final.
+ */
+class BookingStatusTest {
+
+    @Test
+    void nextStatesFollowTheLifecycle() {
+        assertEquals(Set.of(BookingStatus.APPROVED, BookingStatus.CANCELLED), BookingStatus.PENDING.nextStates());
+        assertEquals(Set.of(BookingStatus.DELIVERED, BookingStatus.CANCELLED), BookingStatus.APPROVED.nextStates());
+        assertEquals(Set.of(), BookingStatus.DELIVERED.nextStates());
+        assertEquals(Set.of(), BookingStatus.CANCELLED.nextStates());
+    }
+
+    @Test
+    void canTransitionToAgreesWithNextStates() {
+        for (BookingStatus from : BookingStatus.values()) {
+            for (BookingStatus to : BookingStatus.values()) {
+                assertEquals(from.nextStates().contains(to), from.canTransitionTo(to), from + " -> " + to);
+            }
+        }
+    }
+
+    @Test
+    void noStatusTransitionsToItselfOrBackwards() {
+        for (BookingStatus status : BookingStatus.values()) {
+            assertFalse(status.canTransitionTo(status));
+        }
+        assertFalse(BookingStatus.APPROVED.canTransitionTo(BookingStatus.PENDING));
+        assertFalse(BookingStatus.DELIVERED.canTransitionTo(BookingStatus.CANCELLED));
+        assertFalse(BookingStatus.CANCELLED.canTransitionTo(BookingStatus.APPROVED));
+        assertTrue(BookingStatus.PENDING.canTransitionTo(BookingStatus.CANCELLED));
+    }
+
+    @Test
+    void nextStatesCannotBeModified() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> BookingStatus.PENDING.nextStates().add(BookingStatus.DELIVERED));
+    }
+}